@@ -27,6 +27,7 @@ dependencies {
     // Database
     implementation(libs.bundles.flyway)
     implementation(libs.mysql.connector.j)
+    implementation(libs.bundles.second.level.cache)
 
     // Firebase
     implementation(libs.firebase.admin)
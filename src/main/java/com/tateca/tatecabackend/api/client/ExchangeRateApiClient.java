@@ -3,24 +3,61 @@ package com.tateca.tatecabackend.api.client;
 
 import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
 import com.tateca.tatecabackend.exception.domain.ExternalServiceException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches the latest JPY rates from the primary provider, hedged with the secondary provider when one is enabled.
+ *
+ * <p>Each provider call goes through the provider's own circuit breaker. The primary is given
+ * {@link HedgeDelay#current()} to answer; if it has not, the secondary is called as well and the first successful
+ * response wins. A primary that fails (or whose circuit is open) goes to the secondary immediately.
+ * When every provider fails, the primary's failure is rethrown (the others are suppressed) so that
+ * {@code @Retry} retries the whole hedged call.
+ */
 @Component
 public class ExchangeRateApiClient {
     private static final Logger logger = LoggerFactory.getLogger(ExchangeRateApiClient.class);
+    private static final int HEDGE_WINDOW = 50;
+    private static final int HEDGE_MIN_SAMPLES = 5;
 
-    private final String apiKey;
-    private final ExchangeRateHttpClient httpClient;
+    private final Source primary;
+    private final Source secondary;
+    private final HedgeDelay hedgeDelay;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
     public ExchangeRateApiClient(
-            @Value("${exchange.rate.api-key}") String apiKey,
-            ExchangeRateHttpClient httpClient) {
-        this.apiKey = apiKey;
-        this.httpClient = httpClient;
+            ExchangeRateApiProvider primary,
+            @Nullable FrankfurterProvider secondary,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            @Value("${exchange.rate.hedge.initial-delay:PT2S}") Duration initialHedgeDelay,
+            @Value("${exchange.rate.hedge.min-delay:PT0.5S}") Duration minHedgeDelay,
+            @Value("${exchange.rate.hedge.max-delay:PT5S}") Duration maxHedgeDelay) {
+        this.primary = new Source(primary, circuitBreakerRegistry.circuitBreaker(primary.name()));
+        this.secondary = secondary != null
+                ? new Source(secondary, circuitBreakerRegistry.circuitBreaker(secondary.name()))
+                : null;
+        this.hedgeDelay = new HedgeDelay(initialHedgeDelay, minHedgeDelay, maxHedgeDelay,
+                HEDGE_WINDOW, HEDGE_MIN_SAMPLES);
     }
 
     @Retry(name = "exchangeRateApi", fallbackMethod = "fetchLatestFallback")
@@ -29,7 +66,7 @@ public class ExchangeRateApiClient {
         logger.info("Fetching latest exchange rate from external API");
 
         try {
-            ExchangeRateClientResponse response = httpClient.fetchLatest(apiKey);
+            ExchangeRateClientResponse response = secondary != null ? fetchHedged() : call(primary);
             long responseTimeMs = System.currentTimeMillis() - startTime;
             int rateCount = response.conversionRates() != null ? response.conversionRates().size() : 0;
 
@@ -44,8 +81,90 @@ public class ExchangeRateApiClient {
         }
     }
 
+    /**
+     * Waits for hedged calls still in flight (bounded by the providers' HTTP timeouts), then releases the executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    private ExchangeRateClientResponse fetchHedged() {
+        CompletableFuture<ExchangeRateClientResponse> primaryCall =
+                CompletableFuture.supplyAsync(() -> call(primary), executor);
+        Duration delay = hedgeDelay.current();
+        try {
+            return primaryCall.get(delay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            logger.info("Primary exchange rate provider slower than hedge delay: delayMs={}, hedging with {}",
+                    delay.toMillis(), secondary.provider().name());
+        } catch (ExecutionException e) {
+            logger.warn("Primary exchange rate provider failed, falling back to {}: error={}",
+                    secondary.provider().name(), e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primaryCall.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for exchange rates", e);
+        }
+
+        CompletableFuture<ExchangeRateClientResponse> secondaryCall =
+                CompletableFuture.supplyAsync(() -> call(secondary), executor);
+        try {
+            return firstSuccessful(primaryCall, secondaryCall).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Completes with the first successful response; fails with the primary's failure once both have failed.
+     * A primary rejected by its open circuit has nothing to report, so the secondary's failure is used instead.
+     */
+    private static CompletableFuture<ExchangeRateClientResponse> firstSuccessful(
+            CompletableFuture<ExchangeRateClientResponse> primaryCall,
+            CompletableFuture<ExchangeRateClientResponse> secondaryCall) {
+        CompletableFuture<ExchangeRateClientResponse> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        Runnable onFailure = () -> {
+            if (failures.incrementAndGet() == 2) {
+                Throwable primaryFailure = unwrap(primaryCall.exceptionNow());
+                Throwable secondaryFailure = unwrap(secondaryCall.exceptionNow());
+                Throwable failure = primaryFailure instanceof CallNotPermittedException
+                        ? secondaryFailure : primaryFailure;
+                failure.addSuppressed(failure == primaryFailure ? secondaryFailure : primaryFailure);
+                result.completeExceptionally(failure);
+            }
+        };
+        for (CompletableFuture<ExchangeRateClientResponse> call : List.of(primaryCall, secondaryCall)) {
+            call.whenComplete((response, failure) -> {
+                if (failure == null) {
+                    result.complete(response);
+                } else {
+                    onFailure.run();
+                }
+            });
+        }
+        return result;
+    }
+
+    private ExchangeRateClientResponse call(Source source) {
+        long start = System.nanoTime();
+        ExchangeRateClientResponse response = source.circuitBreaker().executeSupplier(source.provider()::fetchLatest);
+        if (source == primary) {
+            hedgeDelay.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+        return response;
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
     private ExchangeRateClientResponse fetchLatestFallback(Exception e) {
         logger.error("Failed to fetch latest exchange rate after all retries exhausted: {}", e.getMessage(), e);
         throw new ExternalServiceException("Exchange rate service unavailable", e);
     }
+
+    private record Source(ExchangeRateProvider provider, CircuitBreaker circuitBreaker) {
+    }
 }
@@ -0,0 +1,33 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Primary provider: exchangerate-api.com ({@code GET /{apiKey}/latest/JPY}).
+ */
+@Component
+public class ExchangeRateApiProvider implements ExchangeRateProvider {
+    static final String NAME = "exchangeRateApi";
+
+    private final String apiKey;
+    private final ExchangeRateHttpClient httpClient;
+
+    public ExchangeRateApiProvider(
+            @Value("${exchange.rate.api-key}") String apiKey,
+            ExchangeRateHttpClient httpClient) {
+        this.apiKey = apiKey;
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ExchangeRateClientResponse fetchLatest() {
+        return ExchangeRateResponseNormalizer.fromExchangeRateApi(httpClient.fetchLatest(apiKey));
+    }
+}
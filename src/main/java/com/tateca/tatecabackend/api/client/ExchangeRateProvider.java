@@ -0,0 +1,19 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+
+/**
+ * A source of JPY-based exchange rates.
+ *
+ * <p>Implementations return the provider's payload normalized by {@link ExchangeRateResponseNormalizer},
+ * so callers never see provider-specific shapes.
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * Provider name; also the name of its circuit breaker.
+     */
+    String name();
+
+    ExchangeRateClientResponse fetchLatest();
+}
@@ -0,0 +1,61 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import com.tateca.tatecabackend.api.response.FrankfurterResponse;
+import org.springframework.web.client.RestClientException;
+
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps provider payloads to {@link ExchangeRateClientResponse}: result {@code success}, a unix-seconds update
+ * time and JPY-based conversion rates including {@code JPY=1.0}.
+ *
+ * <p>Payloads that cannot be used are rejected with a {@link RestClientException}, so they count as a failed
+ * call for the provider's circuit breaker and the client's retry.
+ */
+final class ExchangeRateResponseNormalizer {
+    static final String BASE_CURRENCY = "JPY";
+    static final String SUCCESS = "success";
+
+    private ExchangeRateResponseNormalizer() {
+    }
+
+    static ExchangeRateClientResponse fromExchangeRateApi(ExchangeRateClientResponse response) {
+        if (response == null || !SUCCESS.equals(response.result())) {
+            throw invalid(ExchangeRateApiProvider.NAME, "result=" + (response != null ? response.result() : null));
+        }
+        if (response.timeLastUpdateUnix() == null) {
+            throw invalid(ExchangeRateApiProvider.NAME, "missing time_last_update_unix");
+        }
+        return new ExchangeRateClientResponse(SUCCESS, response.timeLastUpdateUnix(),
+                withBaseCurrency(ExchangeRateApiProvider.NAME, response.conversionRates()));
+    }
+
+    static ExchangeRateClientResponse fromFrankfurter(FrankfurterResponse response) {
+        if (response == null || !BASE_CURRENCY.equals(response.base())) {
+            throw invalid(FrankfurterProvider.NAME, "base=" + (response != null ? response.base() : null));
+        }
+        if (response.date() == null) {
+            throw invalid(FrankfurterProvider.NAME, "missing date");
+        }
+        String timeLastUpdateUnix = String.valueOf(response.date().atStartOfDay(ZoneOffset.UTC).toEpochSecond());
+        return new ExchangeRateClientResponse(SUCCESS, timeLastUpdateUnix,
+                withBaseCurrency(FrankfurterProvider.NAME, response.rates()));
+    }
+
+    private static Map<String, Double> withBaseCurrency(String provider, Map<String, Double> rates) {
+        if (rates == null || rates.isEmpty()) {
+            throw invalid(provider, "no rates");
+        }
+        Map<String, Double> normalized = new HashMap<>(rates);
+        normalized.values().removeIf(rate -> rate == null || rate <= 0);
+        normalized.put(BASE_CURRENCY, 1.0);
+        return normalized;
+    }
+
+    private static RestClientException invalid(String provider, String reason) {
+        return new RestClientException("Invalid exchange rate response from " + provider + ": " + reason);
+    }
+}
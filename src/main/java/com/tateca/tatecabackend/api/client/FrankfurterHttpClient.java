@@ -0,0 +1,13 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.tateca.tatecabackend.api.response.FrankfurterResponse;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.HttpExchange;
+
+@HttpExchange
+public interface FrankfurterHttpClient {
+
+    @GetExchange("/latest")
+    FrankfurterResponse fetchLatest(@RequestParam("from") String base);
+}
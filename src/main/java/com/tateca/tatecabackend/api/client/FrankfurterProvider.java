@@ -0,0 +1,33 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Secondary provider: Frankfurter ({@code GET /latest?from=JPY}), ECB reference rates without an API key.
+ *
+ * <p>It covers fewer currencies than the primary; currencies it does not quote are left untouched by ingestion.
+ */
+@Component
+@ConditionalOnProperty(name = "exchange.rate.secondary.enabled", havingValue = "true")
+public class FrankfurterProvider implements ExchangeRateProvider {
+    static final String NAME = "frankfurter";
+
+    private final FrankfurterHttpClient httpClient;
+
+    public FrankfurterProvider(FrankfurterHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public ExchangeRateClientResponse fetchLatest() {
+        return ExchangeRateResponseNormalizer.fromFrankfurter(
+                httpClient.fetchLatest(ExchangeRateResponseNormalizer.BASE_CURRENCY));
+    }
+}
@@ -0,0 +1,61 @@
+package com.tateca.tatecabackend.api.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How long to wait for the primary provider before hedging: the p95 of its recent successful latencies,
+ * clamped to {@code [min, max]}. Until {@code minSamples} latencies are known, {@code initial} is used.
+ */
+final class HedgeDelay {
+    private static final double QUANTILE = 0.95;
+
+    private final Duration initial;
+    private final Duration min;
+    private final Duration max;
+    private final int minSamples;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] samples;
+    private int count;
+    private int next;
+
+    HedgeDelay(Duration initial, Duration min, Duration max, int window, int minSamples) {
+        this.initial = initial;
+        this.min = min;
+        this.max = max;
+        this.minSamples = minSamples;
+        this.samples = new long[window];
+    }
+
+    void record(Duration latency) {
+        lock.lock();
+        try {
+            samples[next] = latency.toNanos();
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Duration current() {
+        long[] sorted;
+        lock.lock();
+        try {
+            if (count < minSamples) {
+                return initial;
+            }
+            sorted = Arrays.copyOf(samples, count);
+        } finally {
+            lock.unlock();
+        }
+        Arrays.sort(sorted);
+        Duration p95 = Duration.ofNanos(sorted[(int) Math.ceil(QUANTILE * sorted.length) - 1]);
+        if (p95.compareTo(min) < 0) {
+            return min;
+        }
+        return p95.compareTo(max) > 0 ? max : p95;
+    }
+}
@@ -0,0 +1,12 @@
+package com.tateca.tatecabackend.api.response;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public record FrankfurterResponse(
+        Double amount,
+        String base,
+        LocalDate date,
+        Map<String, Double> rates
+) {
+}
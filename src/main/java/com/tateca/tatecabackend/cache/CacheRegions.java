@@ -0,0 +1,49 @@
+package com.tateca.tatecabackend.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions. Each region is created up front with its own size cap and expiry
+ * by {@link com.tateca.tatecabackend.config.SecondLevelCacheConfig}; a region missing there fails startup.
+ */
+public final class CacheRegions {
+
+    /**
+     * {@code CurrencyEntity}, read-only.
+     */
+    public static final String CURRENCIES = "currencies";
+
+    /**
+     * {@code ExchangeRateEntity} (rates pinned by transactions), nonstrict read-write.
+     */
+    public static final String EXCHANGE_RATES = "exchange-rates";
+
+    /**
+     * {@code ExchangeRateRangeEntity}, nonstrict read-write: entries changed by ingestion are evicted on commit.
+     */
+    public static final String EXCHANGE_RATE_RANGES = "exchange-rate-ranges";
+
+    /**
+     * Results of the all-currency rate lookup by date.
+     */
+    public static final String EXCHANGE_RATE_QUERIES = "exchange-rate-queries";
+
+    /**
+     * Hibernate's region for cacheable queries without an explicit region.
+     */
+    public static final String DEFAULT_QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    /**
+     * Hibernate's last-modified time per table, used to invalidate cached query results.
+     */
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    public static final List<String> ALL = List.of(
+            CURRENCIES, EXCHANGE_RATES, EXCHANGE_RATE_RANGES, EXCHANGE_RATE_QUERIES,
+            DEFAULT_QUERY_RESULTS, UPDATE_TIMESTAMPS);
+
+    private CacheRegions() {
+    }
+}
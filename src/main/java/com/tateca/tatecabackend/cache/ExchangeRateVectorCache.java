@@ -0,0 +1,148 @@
+package com.tateca.tatecabackend.cache;
+
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory JPY rate vector per date, for cross-currency conversion without database access.
+ *
+ * <p>A {@link RateVector} holds the active currencies' JPY rates of one date in a {@code double[]}; a cross rate
+ * is two array lookups and a division. Vectors of past dates are loaded once and kept (their rates no longer
+ * change). Today's and later dates are reloaded after {@code refresh-interval}, and immediately after a local
+ * ingestion run via {@link #evictFrom}. At most {@code max-dates} vectors are kept; the least recently loaded
+ * one is dropped first.
+ *
+ * <p>Loads are per date: concurrent misses on one date share a single query, while misses on other dates load
+ * in parallel.
+ */
+@Component
+public class ExchangeRateVectorCache {
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateVectorCache.class);
+
+    private final ExchangeRateRangeRepository exchangeRateRangeRepository;
+    private final long refreshIntervalNanos;
+    private final int maxDates;
+
+    private final ConcurrentHashMap<LocalDate, RateVector> vectors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<LocalDate, CompletableFuture<RateVector>> loading = new ConcurrentHashMap<>();
+
+    public ExchangeRateVectorCache(
+            ExchangeRateRangeRepository exchangeRateRangeRepository,
+            @Value("${exchange.rate.conversion.refresh-interval:PT1H}") Duration refreshInterval,
+            @Value("${exchange.rate.conversion.max-dates:400}") int maxDates) {
+        this.exchangeRateRangeRepository = exchangeRateRangeRepository;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+        this.maxDates = maxDates;
+    }
+
+    public RateVector get(LocalDate date) {
+        RateVector vector = vectors.get(date);
+        if (vector != null && isFresh(vector)) {
+            return vector;
+        }
+
+        CompletableFuture<RateVector> pending = new CompletableFuture<>();
+        CompletableFuture<RateVector> inFlight = loading.putIfAbsent(date, pending);
+        if (inFlight != null) {
+            return await(inFlight);
+        }
+        try {
+            // Another thread may have finished loading between the first check and claiming the load
+            vector = vectors.get(date);
+            if (vector == null || !isFresh(vector)) {
+                vector = load(date);
+                vectors.put(date, vector);
+                evictOverflow();
+            }
+            pending.complete(vector);
+            return vector;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(date, pending);
+        }
+    }
+
+    /**
+     * Drop the vectors of {@code date} and later: an ingestion run changes the open-ended ranges,
+     * which cover every date from their start on.
+     */
+    public void evictFrom(LocalDate date) {
+        vectors.keySet().removeIf(cached -> !cached.isBefore(date));
+    }
+
+    private static RateVector await(CompletableFuture<RateVector> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private boolean isFresh(RateVector vector) {
+        boolean settled = vector.date().isBefore(LocalDate.now()) && vector.size() > 0;
+        return settled || System.nanoTime() - vector.loadedAtNanos() < refreshIntervalNanos;
+    }
+
+    private RateVector load(LocalDate date) {
+        List<ExchangeRateRangeEntity> entities = exchangeRateRangeRepository.findAllActiveEffectiveOn(date);
+        Map<String, Integer> index = new HashMap<>(entities.size() * 2);
+        double[] rates = new double[entities.size()];
+        for (ExchangeRateRangeEntity entity : entities) {
+            if (entity.getExchangeRate().signum() <= 0) {
+                continue;
+            }
+            int slot = index.size();
+            index.put(entity.getCurrencyCode(), slot);
+            rates[slot] = entity.getExchangeRate().doubleValue();
+        }
+        logger.debug("Loaded exchange rate vector: date={}, currencies={}", date, index.size());
+        return new RateVector(date, Map.copyOf(index), Arrays.copyOf(rates, index.size()), System.nanoTime());
+    }
+
+    private void evictOverflow() {
+        while (vectors.size() > maxDates) {
+            vectors.values().stream()
+                    .min(Comparator.comparingLong(RateVector::loadedAtNanos))
+                    .ifPresent(oldest -> vectors.remove(oldest.date(), oldest));
+        }
+    }
+
+    /**
+     * JPY rates of one date: {@code rates[index.get(code)]} units of {@code code} per 1 JPY.
+     */
+    public record RateVector(LocalDate date, Map<String, Integer> index, double[] rates, long loadedAtNanos) {
+
+        /**
+         * Units of {@code to} per 1 {@code from}, or {@link Double#NaN} when either currency has no rate.
+         */
+        public double crossRate(String from, String to) {
+            Integer fromSlot = index.get(from);
+            Integer toSlot = index.get(to);
+            if (fromSlot == null || toSlot == null) {
+                return Double.NaN;
+            }
+            return rates[toSlot] / rates[fromSlot];
+        }
+
+        public int size() {
+            return rates.length;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.tateca.tatecabackend.config;
+
+import com.tateca.tatecabackend.resilience.ReadYourWritesTracker;
+import com.tateca.tatecabackend.resilience.ReplicaRoutingDataSource;
+import com.tateca.tatecabackend.resilience.WorkloadRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * HikariCP pools behind one routing DataSource (connection bulkhead, optional read replica).
+ *
+ * <ul>
+ *   <li>{@code userDataSource} - user traffic, configured by {@code spring.datasource.hikari.*}</li>
+ *   <li>{@code internalDataSource} - internal jobs ({@code @InternalJob}), a small separate pool configured by
+ *       {@code internal-jobs.datasource.hikari.*}</li>
+ *   <li>{@code replicaDataSource} - read-only transactions, only when {@code replica.datasource.enabled};
+ *       configured by {@code replica.datasource.hikari.*}</li>
+ * </ul>
+ * A slow ingestion run can only exhaust its own pool; user requests keep all of theirs.
+ * The user and internal pools connect to the same database ({@code spring.datasource.*} or a
+ * {@link JdbcConnectionDetails} bean such as a Testcontainers service connection); the replica pool starts from
+ * the same settings with its own URL (and credentials, if set).
+ * <p>
+ * With a replica, the routing DataSource sits behind a {@link LazyConnectionDataSourceProxy}: the physical
+ * connection is fetched on the first statement, once the transaction has marked it read-only, and read-only
+ * connections go through {@link ReplicaRoutingDataSource} (the replica, unless the user wrote recently).
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource userDataSource(DataSourceProperties properties,
+                                           ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        return createPool(properties, connectionDetails.getIfAvailable(), "user-pool");
+    }
+
+    @Bean
+    @ConfigurationProperties("internal-jobs.datasource.hikari")
+    public HikariDataSource internalDataSource(DataSourceProperties properties,
+                                               ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        return createPool(properties, connectionDetails.getIfAvailable(), "internal-pool");
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "replica.datasource.enabled", havingValue = "true")
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        HikariDataSource dataSource = createPool(properties, connectionDetails.getIfAvailable(), "replica-pool");
+        // A write routed here by mistake fails instead of diverging the replica; overridable like the pool name
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "replica.datasource.enabled", havingValue = "true")
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${replica.datasource.read-your-writes-window:PT5S}") Duration window,
+            @Value("${replica.datasource.read-your-writes-max-entries:10000}") int maxEntries) {
+        return new ReadYourWritesTracker(window, maxEntries);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("userDataSource") DataSource userDataSource,
+                                 @Qualifier("internalDataSource") DataSource internalDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 ObjectProvider<ReadYourWritesTracker> readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        DataSource primary = new WorkloadRoutingDataSource(userDataSource, internalDataSource);
+        DataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            return primary;
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replica,
+                readYourWritesTracker.getObject(), meterRegistry));
+        return dataSource;
+    }
+
+    private static HikariDataSource createPool(DataSourceProperties properties,
+                                               JdbcConnectionDetails connectionDetails,
+                                               String poolName) {
+        DataSourceBuilder<HikariDataSource> builder = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class);
+        if (connectionDetails != null) {
+            builder.url(connectionDetails.getJdbcUrl())
+                    .username(connectionDetails.getUsername())
+                    .password(connectionDetails.getPassword())
+                    .driverClassName(connectionDetails.getDriverClassName());
+        }
+        HikariDataSource dataSource = builder.build();
+        // Overridable through the bound hikari properties
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
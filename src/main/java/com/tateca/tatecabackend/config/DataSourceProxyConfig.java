@@ -1,41 +1,70 @@
 package com.tateca.tatecabackend.config;
 
+import com.tateca.tatecabackend.metrics.JdbcMetricsQueryListener;
+import com.tateca.tatecabackend.metrics.SqlStatementStats;
+import com.tateca.tatecabackend.metrics.SqlStatsQueryListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
 import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
 import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.util.ReflectionUtils;
 
 import javax.sql.DataSource;
 import java.lang.reflect.Method;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 /**
- * Configuration for datasource-proxy to log database queries with execution time.
+ * Configuration for datasource-proxy to instrument database queries.
  * <p>
- * Wraps the DataSource bean (HikariCP) with a proxy that logs:
- * - All SQL queries with execution time
- * - Slow queries (>1000ms) at WARN level
- * - Query results and parameters
+ * Wraps the HikariCP pools (see DataSourceConfig) with a proxy that feeds:
+ * - Per-fingerprint statement statistics and sampled slow-query logs (SqlStatementStats, /actuator/sqlstats)
+ * - Per-request statement count and JDBC time for metrics (JdbcMetricsQueryListener)
+ * - In 'dev' only: every query with parameters and execution time, logged at INFO in multiline form
+ * - Any {@link QueryExecutionListener} bean in the context (tests register one to capture statements)
  * <p>
- * Only active in 'dev' and 'prod' profiles (disabled in 'test' profile).
+ * Active in 'dev', 'prod' and 'test' profiles; under 'test' the per-request metrics let
+ * integration tests fail on N+1 query patterns (NPlusOneDetector).
  */
 @Configuration
-@Profile({"dev", "prod"})
+@Profile({"dev", "prod", "test"})
 public class DataSourceProxyConfig implements BeanPostProcessor {
 
+    // Resolved lazily when the DataSource is wrapped; BeanPostProcessors must not pull beans in eagerly
+    private final ObjectProvider<SqlStatementStats> sqlStatementStats;
+    private final ObjectProvider<QueryExecutionListener> additionalListeners;
+    private final Environment environment;
+
+    public DataSourceProxyConfig(ObjectProvider<SqlStatementStats> sqlStatementStats,
+                                 ObjectProvider<QueryExecutionListener> additionalListeners,
+                                 Environment environment) {
+        this.sqlStatementStats = sqlStatementStats;
+        this.additionalListeners = additionalListeners;
+        this.environment = environment;
+    }
+
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
-        if (bean instanceof DataSource && !(bean instanceof net.ttddyy.dsproxy.support.ProxyDataSource)) {
+        // The routing DataSource (and the lazy proxy in front of it) only delegates to the pools,
+        // which are wrapped themselves
+        if (bean instanceof DataSource && !(bean instanceof net.ttddyy.dsproxy.support.ProxyDataSource)
+                && !(bean instanceof AbstractRoutingDataSource) && !(bean instanceof DelegatingDataSource)) {
             // Wrap DataSource with datasource-proxy
             ProxyFactory proxyFactory = new ProxyFactory(bean);
             proxyFactory.setProxyTargetClass(true);
-            proxyFactory.addAdvice(new ProxyDataSourceInterceptor((DataSource) bean));
+            proxyFactory.addAdvice(new ProxyDataSourceInterceptor((DataSource) bean,
+                    sqlStatementStats.getObject(), additionalListeners.orderedStream().toList(),
+                    environment.acceptsProfiles(Profiles.of("dev"))));
             return proxyFactory.getProxy();
         }
         return bean;
@@ -44,17 +73,22 @@ public class DataSourceProxyConfig implements BeanPostProcessor {
     private static class ProxyDataSourceInterceptor implements MethodInterceptor {
         private final DataSource dataSource;
 
-        public ProxyDataSourceInterceptor(DataSource dataSource) {
-            this.dataSource = ProxyDataSourceBuilder.create(dataSource)
+        public ProxyDataSourceInterceptor(DataSource dataSource, SqlStatementStats sqlStatementStats,
+                                          List<QueryExecutionListener> additionalListeners,
+                                          boolean logAllQueries) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
                     .name("tateca-backend-datasource")
-                    // Log all queries with execution time
-                    .logQueryBySlf4j(SLF4JLogLevel.INFO)
-                    // Log slow queries (>1000ms) at WARN level
-                    .logSlowQueryBySlf4j(1000, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
-                    // Include query parameters in logs
-                    .multiline()
                     .countQuery()
-                    .build();
+                    // Aggregate per-fingerprint statistics; slow queries are logged at a sampled rate
+                    .listener(new SqlStatsQueryListener(sqlStatementStats))
+                    // Feed per-request JDBC metrics (JdbcMetricsInterceptor)
+                    .listener(new JdbcMetricsQueryListener(sqlStatementStats));
+            additionalListeners.forEach(builder::listener);
+            if (logAllQueries) {
+                // Log all queries with parameters and execution time
+                builder.logQueryBySlf4j(SLF4JLogLevel.INFO).multiline();
+            }
+            this.dataSource = builder.build();
         }
 
         @Override
@@ -0,0 +1,56 @@
+package com.tateca.tatecabackend.config;
+
+import com.tateca.tatecabackend.cache.CacheRegions;
+import com.tateca.tatecabackend.metrics.RepositoryQueryMetrics;
+import com.tateca.tatecabackend.metrics.SecondLevelCacheMetrics;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ObligationRepository;
+import com.tateca.tatecabackend.repository.UserGroupRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Publishes Hibernate statistics to Micrometer (and so to Prometheus).
+ *
+ * <p>Enabling {@code hibernate.metrics.enabled} turns on {@code hibernate.generate_statistics}. The
+ * {@code hibernate.*} meters themselves (entity loads/fetches, flushes, query executions, second-level cache
+ * hits/misses, connections obtained) are bound by Boot's {@code HibernateMetricsAutoConfiguration}; this
+ * class only adds:
+ * <ul>
+ *   <li>{@link RepositoryQueryMetrics} - per-query max time and execution count for the JPQL queries
+ *       of the hot repositories</li>
+ *   <li>{@link SecondLevelCacheMetrics} - hit ratio per second-level cache region</li>
+ * </ul>
+ * Switch it off with {@code HIBERNATE_METRICS_ENABLED=false} if statistics collection shows up in profiles.
+ */
+@Configuration
+@ConditionalOnProperty(name = "hibernate.metrics.enabled", havingValue = "true")
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatisticsCustomizer() {
+        return properties -> properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+    }
+
+    @Bean
+    public RepositoryQueryMetrics repositoryQueryMetrics(EntityManagerFactory entityManagerFactory) {
+        return new RepositoryQueryMetrics(
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                List.of(ObligationRepository.class, ExchangeRateRepository.class,
+                        ExchangeRateRangeRepository.class, UserGroupRepository.class));
+    }
+
+    @Bean
+    public SecondLevelCacheMetrics secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheMetrics(
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics(), CacheRegions.ALL);
+    }
+}
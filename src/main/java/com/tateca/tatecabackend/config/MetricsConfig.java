@@ -0,0 +1,35 @@
+package com.tateca.tatecabackend.config;
+
+import com.tateca.tatecabackend.interceptor.JdbcMetricsInterceptor;
+import com.tateca.tatecabackend.metrics.NPlusOneDetector;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Application-specific Micrometer instrumentation.
+ *
+ * <p>HTTP latency per route comes from the actuator's {@code http.server.requests} timer
+ * (SLO buckets are set in application-observability.properties); this configuration adds
+ * the per-request JDBC metrics collected through datasource-proxy and the N+1 detector built on them.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public NPlusOneDetector nPlusOneDetector(
+            MeterRegistry meterRegistry,
+            @Value("${jdbc.n-plus-one.threshold:10}") int threshold,
+            @Value("${jdbc.n-plus-one.warn-sample-interval:1m}") Duration warnSampleInterval,
+            @Value("${jdbc.n-plus-one.fail-on-detection:false}") boolean failOnDetection) {
+        return new NPlusOneDetector(meterRegistry, threshold, warnSampleInterval, failOnDetection);
+    }
+
+    @Bean
+    public JdbcMetricsInterceptor jdbcMetricsInterceptor(MeterRegistry meterRegistry, NPlusOneDetector nPlusOneDetector) {
+        return new JdbcMetricsInterceptor(meterRegistry, nPlusOneDetector);
+    }
+}
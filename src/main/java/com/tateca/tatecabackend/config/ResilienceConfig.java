@@ -0,0 +1,95 @@
+package com.tateca.tatecabackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tateca.tatecabackend.resilience.AdaptiveConcurrencyLimiter;
+import com.tateca.tatecabackend.resilience.AdmissionControlFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Load protection in front of the request handlers.
+ *
+ * <p>Virtual threads let Tomcat accept far more concurrent requests than the Hikari pool can serve;
+ * without a limit, excess requests wait in {@code HikariPool.getConnection} until the connection timeout.
+ * The admission control filter sheds them early instead (503 + Retry-After). Threads waiting on the user pool
+ * and, when a read replica is configured, on the replica pool both count as congestion.
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilienceConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            @Qualifier("userDataSource") DataSource userDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+            MeterRegistry meterRegistry,
+            @Value("${admission.initial-limit:40}") int initialLimit,
+            @Value("${admission.min-limit:10}") int minLimit,
+            @Value("${admission.max-limit:400}") int maxLimit,
+            @Value("${admission.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${admission.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${admission.low-priority-share:0.7}") double lowPriorityShare) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTolerance, backoffRatio, lowPriorityShare,
+                pendingConnections(userDataSource, replicaDataSource.getIfAvailable()), System::nanoTime);
+
+        Gauge.builder("http.server.requests.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.admission.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Requests currently admitted")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    /**
+     * Runs before Spring Security, so shed requests cost neither a token verification nor a DB connection.
+     */
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            AdaptiveConcurrencyLimiter limiter,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${admission.critical-paths:/internal/**,/actuator/**}") List<String> criticalPaths,
+            @Value("${admission.low-priority-paths:}") List<String> lowPriorityPaths,
+            @Value("${admission.retry-after-seconds:1}") int retryAfterSeconds) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new AdmissionControlFilter(limiter, criticalPaths, lowPriorityPaths,
+                retryAfterSeconds, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/*");
+        // After body capture and JFR request events, before the security filter chain
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    static IntSupplier pendingConnections(DataSource userDataSource, DataSource replicaDataSource) {
+        IntSupplier user = pendingConnections(userDataSource);
+        IntSupplier replica = pendingConnections(replicaDataSource);
+        return () -> user.getAsInt() + replica.getAsInt();
+    }
+
+    private static IntSupplier pendingConnections(DataSource dataSource) {
+        if (!(dataSource instanceof HikariDataSource hikariDataSource)) {
+            return () -> 0;
+        }
+        return () -> {
+            // Null until the pool has been started by the first connection request
+            HikariPoolMXBean pool = hikariDataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        };
+    }
+}
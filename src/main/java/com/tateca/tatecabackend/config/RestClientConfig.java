@@ -1,7 +1,9 @@
 package com.tateca.tatecabackend.config;
 
 import com.tateca.tatecabackend.api.client.ExchangeRateHttpClient;
+import com.tateca.tatecabackend.api.client.FrankfurterHttpClient;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -12,28 +14,61 @@ import org.springframework.web.client.RestClient;
 import org.springframework.web.client.support.RestClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 @Configuration
 @EnableScheduling
 public class RestClientConfig {
 
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+
+    public RestClientConfig(
+            @Value("${exchange.rate.connect-timeout:PT3S}") Duration connectTimeout,
+            @Value("${exchange.rate.read-timeout:PT10S}") Duration readTimeout
+    ) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
     @Bean
     public RestClient exchangeRateRestClient(
             @Value("${exchange.rate.base-url}") String baseUrl
     ) {
-        return RestClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
-                .requestFactory(new JdkClientHttpRequestFactory())
-                .build();
+        return restClient(baseUrl);
     }
 
     @Bean
     public ExchangeRateHttpClient exchangeRateHttpClient(
             RestClient exchangeRateRestClient
     ) {
+        return createClient(exchangeRateRestClient, ExchangeRateHttpClient.class);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "exchange.rate.secondary.enabled", havingValue = "true")
+    public FrankfurterHttpClient frankfurterHttpClient(
+            @Value("${exchange.rate.secondary.base-url}") String baseUrl
+    ) {
+        return createClient(restClient(baseUrl), FrankfurterHttpClient.class);
+    }
+
+    private RestClient restClient(String baseUrl) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+                HttpClient.newBuilder().connectTimeout(connectTimeout).build());
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder()
+                .baseUrl(baseUrl)
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    private static <T> T createClient(RestClient restClient, Class<T> clientType) {
         HttpServiceProxyFactory factory = HttpServiceProxyFactory
-                .builderFor(RestClientAdapter.create(exchangeRateRestClient))
+                .builderFor(RestClientAdapter.create(restClient))
                 .build();
-        return factory.createClient(ExchangeRateHttpClient.class);
+        return factory.createClient(clientType);
     }
 }
@@ -0,0 +1,87 @@
+package com.tateca.tatecabackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.tateca.tatecabackend.cache.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache on Caffeine (JCache), with a size cap and expiry per region.
+ *
+ * <p>Region policies:
+ * <ul>
+ *   <li>{@code currencies} - read-only reference data (about 160 rows); expiry only picks up manual edits</li>
+ *   <li>{@code exchange-rates}, {@code exchange-rate-ranges} - nonstrict read-write: Hibernate evicts an entry
+ *       when a transaction changes it, so each ingestion run evicts the ranges it closes or corrects</li>
+ *   <li>{@code exchange-rate-queries} - results of the all-currency lookup by date; Hibernate discards them
+ *       once {@code exchange_rate_ranges} has been written after they were cached</li>
+ *   <li>Hibernate's default query-results and update-timestamps regions; the latter never expires,
+ *       as required for query cache correctness (one entry per table)</li>
+ * </ul>
+ * Caps are entry counts. At the defaults the cache stays around 10 MB, well within a 256 MB heap.
+ * Regions are created here and {@code missing_cache_strategy=fail} rejects any other region,
+ * so nothing can be cached without a cap.
+ */
+@Configuration
+@ConditionalOnProperty(name = "second-level-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    private static final long QUERY_RESULTS_MAX_ENTRIES = 200;
+    private static final long UPDATE_TIMESTAMPS_MAX_ENTRIES = 100;
+
+    @Bean
+    public CacheManager hibernateCacheManager(
+            @Value("${second-level-cache.currencies.max-entries:500}") long currenciesMaxEntries,
+            @Value("${second-level-cache.exchange-rates.max-entries:10000}") long exchangeRatesMaxEntries,
+            @Value("${second-level-cache.exchange-rate-ranges.max-entries:5000}") long rangesMaxEntries,
+            @Value("${second-level-cache.exchange-rate-queries.max-entries:400}") long queriesMaxEntries,
+            @Value("${second-level-cache.reference-ttl:PT24H}") Duration referenceTtl,
+            @Value("${second-level-cache.rate-ttl:PT6H}") Duration rateTtl) {
+        // One manager per application context; the provider shares managers by URI
+        URI uri = URI.create("urn:tateca:hibernate-cache:" + System.identityHashCode(this));
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+
+        createRegion(cacheManager, CacheRegions.CURRENCIES, currenciesMaxEntries, referenceTtl);
+        createRegion(cacheManager, CacheRegions.EXCHANGE_RATES, exchangeRatesMaxEntries, referenceTtl);
+        createRegion(cacheManager, CacheRegions.EXCHANGE_RATE_RANGES, rangesMaxEntries, rateTtl);
+        createRegion(cacheManager, CacheRegions.EXCHANGE_RATE_QUERIES, queriesMaxEntries, rateTtl);
+        createRegion(cacheManager, CacheRegions.DEFAULT_QUERY_RESULTS, QUERY_RESULTS_MAX_ENTRIES, rateTtl);
+        createRegion(cacheManager, CacheRegions.UPDATE_TIMESTAMPS, UPDATE_TIMESTAMPS_MAX_ENTRIES, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Qualifier("hibernateCacheManager") CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static void createRegion(CacheManager cacheManager, String region, long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -1,26 +1,24 @@
 package com.tateca.tatecabackend.config;
 
 import com.tateca.tatecabackend.annotation.UIdArgumentResolver;
+import com.tateca.tatecabackend.interceptor.GroupAccessInterceptor;
+import com.tateca.tatecabackend.interceptor.JdbcMetricsInterceptor;
 import com.tateca.tatecabackend.interceptor.LoggingInterceptor;
+import com.tateca.tatecabackend.jfr.JfrRequestFilter;
+import com.tateca.tatecabackend.logging.BodyCaptureFilter;
 
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
-import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.io.IOException;
 import java.util.List;
 
 @Configuration
@@ -28,6 +26,10 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
     private final UIdArgumentResolver UIdArgumentResolver;
     private final LoggingInterceptor loggingInterceptor;
+    // Defined in SecurityConfig; absent in @WebMvcTest slices
+    private final ObjectProvider<GroupAccessInterceptor> groupAccessInterceptor;
+    // Defined in MetricsConfig; absent in @WebMvcTest slices
+    private final ObjectProvider<JdbcMetricsInterceptor> jdbcMetricsInterceptor;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
@@ -36,30 +38,46 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // First in, last out: JDBC stats cover the whole request and are still readable when LoggingInterceptor completes
+        jdbcMetricsInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/**")
+                .order(0));
         registry.addInterceptor(loggingInterceptor)
                 .addPathPatterns("/**")
                 .order(1);
+        groupAccessInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/groups/*", "/groups/*/**")
+                .excludePathPatterns("/groups/list")
+                .order(2));
     }
 
+    /**
+     * Size-capped, sampled body capture for request/response logging.
+     * Routes that are excluded (or not included when an include list is set) are not wrapped at all.
+     */
     @Bean
-    public FilterRegistrationBean<OncePerRequestFilter> contentCachingFilter() {
-        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>();
-        OncePerRequestFilter filter = new OncePerRequestFilter() {
-            @Override
-            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-                    throws ServletException, IOException {
-                ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-                ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
-                try {
-                    filterChain.doFilter(wrappedRequest, wrappedResponse);
-                } finally {
-                    wrappedResponse.copyBodyToResponse();
-                }
-            }
-        };
-        registration.setFilter(filter);
+    public FilterRegistrationBean<BodyCaptureFilter> bodyCaptureFilter(
+            @Value("${logging.body-capture.max-bytes:4096}") int maxBytes,
+            @Value("${logging.body-capture.include-paths:}") List<String> includePaths,
+            @Value("${logging.body-capture.exclude-paths:/actuator/**}") List<String> excludePaths,
+            @Value("${logging.body-capture.success-sample-rate:1.0}") double successSampleRate
+    ) {
+        FilterRegistrationBean<BodyCaptureFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new BodyCaptureFilter(maxBytes, includePaths, excludePaths, successSampleRate));
         registration.addUrlPatterns("/*");
         registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
         return registration;
     }
+
+    /**
+     * JFR request events (com.tateca.RequestHandling), only committed while a recording enables them.
+     */
+    @Bean
+    public FilterRegistrationBean<JfrRequestFilter> jfrRequestFilter() {
+        FilterRegistrationBean<JfrRequestFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(new JfrRequestFilter());
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
 }
\ No newline at end of file
@@ -4,4 +4,5 @@ public class AttributeConstants {
 
     public static final String REQUEST_TIME_ATTRIBUTE = "requestTime";
     public static final String REQUEST_ID_ATTRIBUTE = "requestId";
+    public static final String BODY_CAPTURE_SAMPLED_ATTRIBUTE = "bodyCaptureSampled";
 }
@@ -27,6 +27,11 @@ public class BusinessConstants {
      */
     public static final int MAX_TRANSACTION_OBLIGATIONS = MAX_GROUP_PARTICIPANTS; // 9
 
+    /**
+     * Maximum number of conversions in one batch conversion request.
+     */
+    public static final int MAX_BATCH_CONVERSIONS = 100;
+
     private BusinessConstants() {
         // Private constructor to prevent instantiation
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
@@ -1,13 +1,20 @@
 package com.tateca.tatecabackend.controller;
 
+import com.tateca.tatecabackend.dto.request.BatchCurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.request.CurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.response.BatchCurrencyConversionResponseDTO;
+import com.tateca.tatecabackend.dto.response.CurrencyConversionResponseDTO;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
 import com.tateca.tatecabackend.service.ExchangeRateService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,7 +23,8 @@ import java.time.LocalDate;
 /**
  * REST controller for exchange rate operations.
  *
- * <p>Provides public API endpoints for querying currency exchange rates.
+ * <p>Provides public API endpoints for querying currency exchange rates and converting amounts between
+ * currencies.
  * All endpoints require Firebase JWT authentication.
  */
 @RestController
@@ -40,4 +48,38 @@ public class ExchangeRateController {
     ) {
         return ResponseEntity.ok(service.getExchangeRate(date));
     }
+
+    /**
+     * Convert an amount between two currencies with the rates of a specific date.
+     *
+     * <p>The cross rate is derived from both currencies' JPY rates, served from memory after the
+     * first request for the date.
+     *
+     * @param date The date whose rates are used (ISO 8601 format: YYYY-MM-DD)
+     * @param request Query parameters {@code from}, {@code to} and {@code amount}
+     * @return The converted amount and the rate used
+     */
+    @GetMapping("/{date}/convert")
+    public ResponseEntity<CurrencyConversionResponseDTO> convert(
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid CurrencyConversionRequestDTO request
+    ) {
+        return ResponseEntity.ok(service.convert(date, request));
+    }
+
+    /**
+     * Convert several amounts with the rates of a specific date.
+     *
+     * @param date The date whose rates are used (ISO 8601 format: YYYY-MM-DD)
+     * @param request Up to {@code MAX_BATCH_CONVERSIONS} conversions
+     * @return The conversions in request order
+     */
+    @PostMapping(value = "/{date}/convert", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchCurrencyConversionResponseDTO> convertAll(
+            @PathVariable("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @Valid @RequestBody BatchCurrencyConversionRequestDTO request
+    ) {
+        return ResponseEntity.ok(new BatchCurrencyConversionResponseDTO(
+                service.convertAll(date, request.conversions())));
+    }
 }
@@ -1,13 +1,19 @@
 package com.tateca.tatecabackend.controller;
 
-import com.tateca.tatecabackend.service.InternalExchangeRateService;
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
+import com.tateca.tatecabackend.service.ExchangeRateIngestionJobService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
 
 @RestController
 @RequestMapping("/internal/exchange-rates")
@@ -15,16 +21,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class InternalExchangeRateController {
     private static final Logger logger = LoggerFactory.getLogger(InternalExchangeRateController.class);
 
-    private final InternalExchangeRateService exchangeRateService;
+    private final ExchangeRateIngestionJobService ingestionJobService;
 
     @PostMapping
-    public ResponseEntity<Void> updateExchangeRates() {
+    public ResponseEntity<IngestionJobResponseDTO> updateExchangeRates() {
         logger.info("Exchange rate update triggered via HTTP endpoint");
 
-        int ratesUpdated = exchangeRateService.fetchAndStoreLatestExchangeRate();
+        IngestionJobResponseDTO job = ingestionJobService.submit();
 
-        logger.info("Exchange rate update completed successfully. Stored {} total rates (today + tomorrow)", ratesUpdated);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/jobs/{jobId}")
+                .buildAndExpand(job.jobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(job);
+    }
 
-        return ResponseEntity.noContent().build();
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobResponseDTO> getIngestionJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ingestionJobService.getJob(jobId));
     }
 }
@@ -0,0 +1,60 @@
+package com.tateca.tatecabackend.controller;
+
+import com.tateca.tatecabackend.service.JfrRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/internal/jfr/recording")
+@RequiredArgsConstructor
+public class InternalJfrController {
+    private static final Logger logger = LoggerFactory.getLogger(InternalJfrController.class);
+
+    private final JfrRecordingService jfrRecordingService;
+
+    @PostMapping
+    public ResponseEntity<Void> startRecording(
+            @RequestParam(defaultValue = "PT5M") Duration duration,
+            @RequestParam(defaultValue = "profile") String settings) {
+        logger.info("JFR recording start requested via HTTP endpoint: duration={}, settings={}", duration, settings);
+
+        jfrRecordingService.start(duration, settings);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> stopRecording() {
+        logger.info("JFR recording stop requested via HTTP endpoint");
+
+        jfrRecordingService.stop();
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> downloadRecording() {
+        // Fail with 404 before the streaming response is committed
+        jfrRecordingService.requireRecording();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("tateca-recording.jfr").build().toString())
+                .body(jfrRecordingService::download);
+    }
+}
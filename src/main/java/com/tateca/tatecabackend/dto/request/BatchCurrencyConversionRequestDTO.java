@@ -0,0 +1,18 @@
+package com.tateca.tatecabackend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tateca.tatecabackend.constants.BusinessConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCurrencyConversionRequestDTO(
+        @NotEmpty(message = "Conversions list cannot be empty")
+        @Size(max = BusinessConstants.MAX_BATCH_CONVERSIONS, message = "Conversions list must not exceed " + BusinessConstants.MAX_BATCH_CONVERSIONS + " items")
+        @Valid
+        @JsonProperty("conversions")
+        List<CurrencyConversionRequestDTO> conversions
+) {
+}
@@ -0,0 +1,27 @@
+package com.tateca.tatecabackend.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public record CurrencyConversionRequestDTO(
+        @NotBlank(message = "Source currency code is required and cannot be blank")
+        @Pattern(regexp = "^[A-Z]{3}$", message = "Currency code must be exactly 3 uppercase letters")
+        @JsonProperty("from")
+        String from,
+
+        @NotBlank(message = "Target currency code is required and cannot be blank")
+        @Pattern(regexp = "^[A-Z]{3}$", message = "Currency code must be exactly 3 uppercase letters")
+        @JsonProperty("to")
+        String to,
+
+        @NotNull(message = "Amount is required")
+        @Positive(message = "Amount must be greater than 0")
+        @JsonProperty("amount")
+        BigDecimal amount
+) {
+}
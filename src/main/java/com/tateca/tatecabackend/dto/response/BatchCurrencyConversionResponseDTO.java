@@ -0,0 +1,11 @@
+package com.tateca.tatecabackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public record BatchCurrencyConversionResponseDTO(
+        @JsonProperty("conversions")
+        List<CurrencyConversionResponseDTO> conversions
+) {
+}
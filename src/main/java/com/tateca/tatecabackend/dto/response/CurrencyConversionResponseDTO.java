@@ -0,0 +1,52 @@
+package com.tateca.tatecabackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+public record CurrencyConversionResponseDTO(
+        @JsonProperty("date")
+        LocalDate date,
+
+        @JsonProperty("from")
+        String from,
+
+        @JsonProperty("to")
+        String to,
+
+        @JsonProperty("amount")
+        String amount,
+
+        @JsonProperty("rate")
+        String rate,
+
+        @JsonProperty("converted_amount")
+        String convertedAmount
+) {
+    /**
+     * Rates are derived from {@code decimal(18,6)} JPY rates; more significant digits would be noise.
+     */
+    private static final MathContext RATE_PRECISION = new MathContext(10);
+
+    /**
+     * Amounts are rounded by scale, not significant digits, so large amounts (VND, IDR) keep every integer unit.
+     */
+    private static final int AMOUNT_SCALE = 6;
+
+    public static CurrencyConversionResponseDTO of(
+            LocalDate date, String from, String to, BigDecimal amount, double rate) {
+        BigDecimal exactRate = BigDecimal.valueOf(rate);
+        return new CurrencyConversionResponseDTO(
+                date,
+                from,
+                to,
+                amount.toPlainString(),
+                exactRate.round(RATE_PRECISION).stripTrailingZeros().toPlainString(),
+                amount.multiply(exactRate).setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN)
+                        .stripTrailingZeros().toPlainString()
+        );
+    }
+}
@@ -2,7 +2,7 @@ package com.tateca.tatecabackend.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tateca.tatecabackend.dto.response.internal.ExchangeRateResponse;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 
 import java.util.List;
 
@@ -10,9 +10,9 @@ public record ExchangeRateResponseDTO(
         @JsonProperty("exchange_rate")
         List<ExchangeRateResponse> exchangeRateResponseResponseList
 ) {
-    public static ExchangeRateResponseDTO from(List<ExchangeRateEntity> exchangeRateEntityList) {
+    public static ExchangeRateResponseDTO from(List<ExchangeRateRangeEntity> exchangeRateRangeEntityList) {
         return new ExchangeRateResponseDTO(
-                exchangeRateEntityList.stream()
+                exchangeRateRangeEntityList.stream()
                         .map(ExchangeRateResponse::from)
                         .toList()
         );
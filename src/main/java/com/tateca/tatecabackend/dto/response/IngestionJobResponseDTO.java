@@ -0,0 +1,28 @@
+package com.tateca.tatecabackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.tateca.tatecabackend.model.IngestionJobStatus;
+
+public record IngestionJobResponseDTO(
+        @JsonProperty("job_id")
+        String jobId,
+
+        @JsonProperty("status")
+        IngestionJobStatus status,
+
+        @JsonProperty("submitted_at")
+        String submittedAt,
+
+        @JsonProperty("started_at")
+        String startedAt,
+
+        @JsonProperty("finished_at")
+        String finishedAt,
+
+        @JsonProperty("rates_stored")
+        Integer ratesStored,
+
+        @JsonProperty("error")
+        String error
+) {
+}
@@ -3,8 +3,11 @@ package com.tateca.tatecabackend.dto.response.internal;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.model.SymbolPosition;
 
+import java.math.BigDecimal;
+
 public record ExchangeRateResponse(
         @JsonProperty("currency_code")
         String currencyCode,
@@ -31,8 +34,14 @@ public record ExchangeRateResponse(
         String exchangeRate
 ) {
     public static ExchangeRateResponse from(ExchangeRateEntity exchangeRateEntity) {
-        CurrencyEntity currencyEntity = exchangeRateEntity.getCurrency();
+        return of(exchangeRateEntity.getCurrency(), exchangeRateEntity.getExchangeRate());
+    }
+
+    public static ExchangeRateResponse from(ExchangeRateRangeEntity exchangeRateRangeEntity) {
+        return of(exchangeRateRangeEntity.getCurrency(), exchangeRateRangeEntity.getExchangeRate());
+    }
 
+    private static ExchangeRateResponse of(CurrencyEntity currencyEntity, BigDecimal exchangeRate) {
         return new ExchangeRateResponse(
                 currencyEntity.getCurrencyCode(),
                 currencyEntity.getJpCurrencyName(),
@@ -41,7 +50,7 @@ public record ExchangeRateResponse(
                 currencyEntity.getEngCountryName(),
                 currencyEntity.getCurrencySymbol(),
                 currencyEntity.getSymbolPosition(),
-                exchangeRateEntity.getExchangeRate().toString()
+                exchangeRate.toString()
         );
     }
 }
@@ -1,6 +1,8 @@
 package com.tateca.tatecabackend.entity;
 
+import com.tateca.tatecabackend.cache.CacheRegions;
 import com.tateca.tatecabackend.model.SymbolPosition;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,6 +13,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
@@ -18,6 +23,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 @Table(name = "currencies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CacheRegions.CURRENCIES)
+@BatchSize(size = 50)
 public class CurrencyEntity {
     @Id
     @Column(name = "currency_code", length = 3)
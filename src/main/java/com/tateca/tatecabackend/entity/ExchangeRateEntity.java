@@ -1,5 +1,7 @@
 package com.tateca.tatecabackend.entity;
 
+import com.tateca.tatecabackend.cache.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +17,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
@@ -28,6 +32,8 @@ import java.time.LocalDate;
 @Builder
 @IdClass(ExchangeRateId.class)
 @Table(name = "exchange_rates")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.EXCHANGE_RATES)
 public class ExchangeRateEntity implements Persistable<ExchangeRateId> {
     @Id
     @Column(name = "currency_code", nullable = false)
@@ -0,0 +1,110 @@
+package com.tateca.tatecabackend.entity;
+
+import com.tateca.tatecabackend.cache.CacheRegions;
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * JPY rate of a currency over {@code [effectiveFrom, effectiveTo]} (both inclusive).
+ *
+ * <p>Ranges of a currency do not overlap. The currently effective range is open-ended
+ * ({@code effectiveTo = OPEN_END}); ingestion only starts a new range when the rate changes.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(ExchangeRateRangeId.class)
+@Table(name = "exchange_rate_ranges")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.EXCHANGE_RATE_RANGES)
+public class ExchangeRateRangeEntity implements Persistable<ExchangeRateRangeId> {
+    /**
+     * {@code effectiveTo} of a range that is still effective.
+     */
+    public static final LocalDate OPEN_END = LocalDate.of(9999, 12, 31);
+
+    /**
+     * Scale of the {@code exchange_rate} column; rates are compared at this scale.
+     */
+    public static final int RATE_SCALE = 6;
+
+    @Id
+    @Column(name = "currency_code", nullable = false)
+    private String currencyCode;
+
+    @Id
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Column(name = "effective_to", nullable = false)
+    private LocalDate effectiveTo;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "currency_code", referencedColumnName = "currency_code", nullable = false, insertable = false, updatable = false)
+    private CurrencyEntity currency;
+
+    @Column(name = "exchange_rate", nullable = false)
+    private BigDecimal exchangeRate;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @PrePersist
+    public void prePersist() {
+        Instant now = Instant.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = Instant.now();
+    }
+
+    @Override
+    public ExchangeRateRangeId getId() {
+        return new ExchangeRateRangeId(currencyCode, effectiveFrom);
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew || createdAt == null;
+    }
+
+    /**
+     * Mark this entity as not new (existing in database)
+     */
+    public void markAsNotNew() {
+        this.isNew = false;
+    }
+}
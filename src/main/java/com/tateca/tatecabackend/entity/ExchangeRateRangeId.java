@@ -0,0 +1,16 @@
+package com.tateca.tatecabackend.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ExchangeRateRangeId implements Serializable {
+    private String currencyCode;
+    private LocalDate effectiveFrom;
+}
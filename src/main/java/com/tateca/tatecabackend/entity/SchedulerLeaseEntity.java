@@ -0,0 +1,45 @@
+package com.tateca.tatecabackend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Lease of a scheduled job, shared by all instances (see SchedulerLeaseRepository).
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "`scheduler_leases`")
+public class SchedulerLeaseEntity {
+    @Id
+    @Column(name = "name", nullable = false, length = 64)
+    private String name;
+
+    @Column(name = "owner", length = 128)
+    private String owner;
+
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
+    @Column(name = "last_success_at")
+    private Instant lastSuccessAt;
+
+    @Column(name = "failure_count", nullable = false)
+    private int failureCount;
+
+    @Column(name = "next_attempt_at")
+    private Instant nextAttemptAt;
+}
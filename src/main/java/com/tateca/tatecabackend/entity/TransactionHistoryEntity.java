@@ -1,6 +1,7 @@
 package com.tateca.tatecabackend.entity;
 
 import com.tateca.tatecabackend.model.TransactionType;
+import com.tateca.tatecabackend.util.UuidV7Generator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
@@ -93,7 +94,7 @@ public class TransactionHistoryEntity {
             GroupEntity group,
             ExchangeRateEntity exchangeRate) {
         return TransactionHistoryEntity.builder()
-                .uuid(UUID.randomUUID())
+                .uuid(UuidV7Generator.generate())
                 .group(group)
                 .transactionType(transactionType)
                 .title(title)
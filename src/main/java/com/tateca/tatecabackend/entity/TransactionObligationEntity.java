@@ -1,5 +1,6 @@
 package com.tateca.tatecabackend.entity;
 
+import com.tateca.tatecabackend.util.UuidV7Generator;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -63,7 +64,7 @@ public class TransactionObligationEntity {
 
     public static TransactionObligationEntity from(TransactionHistoryEntity transaction, UserEntity recipient) {
         return TransactionObligationEntity.builder()
-                .uuid(UUID.randomUUID())
+                .uuid(UuidV7Generator.generate())
                 .transaction(transaction)
                 .user(recipient)
                 .amount(transaction.getAmount())
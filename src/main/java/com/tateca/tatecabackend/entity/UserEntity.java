@@ -6,6 +6,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -23,7 +25,14 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Table(name = "users")
+@NamedEntityGraph(name = UserEntity.WITH_AUTH_USER, attributeNodes = @NamedAttributeNode("authUser"))
 public class UserEntity {
+    /**
+     * Fetch graph for the call sites that map the auth user ({@code UserResponseDTO}); everywhere else
+     * {@link #authUser} stays a lazy proxy whose {@code getUid()} does not hit the database.
+     */
+    public static final String WITH_AUTH_USER = "UserEntity.withAuthUser";
+
     @Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID uuid;
@@ -31,7 +40,7 @@ public class UserEntity {
     @Column(name = "name", nullable = false, length = 50)
     private String name;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "auth_user_uid", referencedColumnName = "uid")
     private AuthUserEntity authUser;
 
@@ -89,7 +89,40 @@ public enum ErrorCode {
     /**
      * Target member is involved in transactions and cannot be removed
      */
-    MEMBER_HAS_TRANSACTIONS("MEMBER.HAS_TRANSACTIONS", "Member has transactions and cannot be removed");
+    MEMBER_HAS_TRANSACTIONS("MEMBER.HAS_TRANSACTIONS", "Member has transactions and cannot be removed"),
+
+    // ==================== Exchange Rate Errors ====================
+    /**
+     * No exchange rate for a requested currency on the requested date
+     */
+    EXCHANGE_RATE_NOT_FOUND("EXCHANGE_RATE.NOT_FOUND", "Exchange rate not found for the currency and date"),
+
+    // ==================== System Errors ====================
+    /**
+     * Request shed by admission control because the server is at its concurrency limit
+     */
+    SERVICE_OVERLOADED("SYSTEM.OVERLOADED", "Server is busy, please retry later"),
+
+    // ==================== Internal Errors ====================
+    /**
+     * An on-demand JFR recording is already running
+     */
+    JFR_RECORDING_ALREADY_RUNNING("JFR.RECORDING_ALREADY_RUNNING", "A JFR recording is already running"),
+
+    /**
+     * No on-demand JFR recording has been started (or it is not running when stopping)
+     */
+    JFR_RECORDING_NOT_FOUND("JFR.RECORDING_NOT_FOUND", "No JFR recording found"),
+
+    /**
+     * An internal job was rejected because its bulkhead has no free permit (e.g. ingestion already running)
+     */
+    INTERNAL_JOB_BUSY("INTERNAL.JOB_BUSY", "Internal job is already running"),
+
+    /**
+     * Exchange-rate ingestion job not found (unknown id, or evicted from the job history)
+     */
+    INGESTION_JOB_NOT_FOUND("INGESTION_JOB.NOT_FOUND", "Ingestion job not found");
 
     private final String code;
     private final String defaultMessage;
@@ -0,0 +1,96 @@
+package com.tateca.tatecabackend.interceptor;
+
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.domain.ForbiddenException;
+import com.tateca.tatecabackend.repository.GroupRepository;
+import com.tateca.tatecabackend.security.FirebaseAuthentication;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
+import com.tateca.tatecabackend.util.PiiMaskingUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rejects requests to {@code /groups/{groupId}/**} from users who are not members of the group.
+ *
+ * <p>Exceptions:
+ * <ul>
+ *   <li>{@code POST /groups/{groupId}} (join) — the requester is not a member yet</li>
+ *   <li>Non-existent groups — passed through so the service reports GROUP.NOT_FOUND</li>
+ * </ul>
+ */
+@RequiredArgsConstructor
+public class GroupAccessInterceptor implements HandlerInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(GroupAccessInterceptor.class);
+    private static final String GROUP_ID_VARIABLE = "groupId";
+    private static final String JOIN_PATTERN = "/groups/{groupId}";
+
+    private final GroupMembershipCache groupMembershipCache;
+    private final GroupRepository groupRepository;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod) || isJoinRequest(request)) {
+            return true;
+        }
+
+        String uid = getUidFromSecurityContext();
+        UUID groupId = getGroupId(request);
+        if (uid == null || groupId == null) {
+            return true;
+        }
+
+        if (groupMembershipCache.isMember(uid, groupId)) {
+            return true;
+        }
+
+        // Denial path only: one extra query keeps 404 semantics for unknown groups
+        if (!groupRepository.existsById(groupId)) {
+            return true;
+        }
+
+        logger.warn("Group access denied: uid={}, groupId={}",
+                PiiMaskingUtil.maskUid(uid), PiiMaskingUtil.maskUuid(groupId));
+        throw new ForbiddenException(ErrorCode.USER_NOT_GROUP_MEMBER, "Only group members can access this group");
+    }
+
+    private boolean isJoinRequest(HttpServletRequest request) {
+        return "POST".equals(request.getMethod())
+                && JOIN_PATTERN.equals(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private UUID getGroupId(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables != null ? variables.get(GROUP_ID_VARIABLE) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            // Let argument conversion report the invalid format as 400
+            return null;
+        }
+    }
+
+    private String getUidFromSecurityContext() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof FirebaseAuthentication) {
+            return ((FirebaseAuthentication) authentication).getUid();
+        }
+
+        return null;
+    }
+}
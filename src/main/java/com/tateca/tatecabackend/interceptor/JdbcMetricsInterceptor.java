@@ -0,0 +1,81 @@
+package com.tateca.tatecabackend.interceptor;
+
+import com.tateca.tatecabackend.metrics.NPlusOneDetector;
+import com.tateca.tatecabackend.metrics.RequestJdbcStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes per-request JDBC usage next to {@code http.server.requests}:
+ * <ul>
+ *   <li>{@code http.server.requests.jdbc.statements} - statements executed by the request</li>
+ *   <li>{@code http.server.requests.jdbc.time} - time spent inside JDBC calls</li>
+ * </ul>
+ * Tags use the same {@code uri}/{@code method}/{@code status} names as {@code http.server.requests},
+ * so the series can be joined in Prometheus to see which routes are DB-bound.
+ * <p>
+ * The finished request is also handed to {@link NPlusOneDetector} to flag repeated statements.
+ */
+@RequiredArgsConstructor
+public class JdbcMetricsInterceptor implements HandlerInterceptor {
+    private static final double[] STATEMENT_SLOS = {1, 2, 5, 10, 20, 50};
+    private static final Duration[] JDBC_TIME_SLOS = {
+            Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final NPlusOneDetector nPlusOneDetector;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestJdbcStats.begin();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestJdbcStats stats = RequestJdbcStats.end();
+        if (stats == null) {
+            return;
+        }
+
+        String route = getRoute(request);
+        Tags tags = Tags.of(
+                "uri", route,
+                "method", request.getMethod(),
+                "status", String.valueOf(response.getStatus()));
+
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .baseUnit("statements")
+                .serviceLevelObjectives(STATEMENT_SLOS)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        Timer.builder("http.server.requests.jdbc.time")
+                .description("Time spent in JDBC calls per request")
+                .serviceLevelObjectives(JDBC_TIME_SLOS)
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        nPlusOneDetector.inspect(request.getMethod(), route, stats);
+    }
+
+    private static String getRoute(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -1,5 +1,9 @@
 package com.tateca.tatecabackend.interceptor;
 
+import com.tateca.tatecabackend.logging.BodyCaptureFilter;
+import com.tateca.tatecabackend.logging.CappedContentCachingRequestWrapper;
+import com.tateca.tatecabackend.logging.CappedContentCachingResponseWrapper;
+import com.tateca.tatecabackend.metrics.RequestJdbcStats;
 import com.tateca.tatecabackend.security.FirebaseAuthentication;
 import com.tateca.tatecabackend.util.JsonBodyMaskingUtil;
 import com.tateca.tatecabackend.util.PiiMaskingUtil;
@@ -12,13 +16,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 import org.springframework.web.util.WebUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import static com.tateca.tatecabackend.constants.AttributeConstants.REQUEST_ID_ATTRIBUTE;
 import static com.tateca.tatecabackend.constants.AttributeConstants.REQUEST_TIME_ATTRIBUTE;
@@ -62,8 +65,11 @@ public class LoggingInterceptor implements HandlerInterceptor {
         MDC.put("method", request.getMethod());
         MDC.put("path", request.getRequestURI());
 
+        // Bodies are decoded and masked only for sampled requests (always for 4xx/5xx)
+        boolean logBodies = BodyCaptureFilter.shouldLogBodies(request, status);
+
         // Add request body to MDC if available
-        String requestBody = extractRequestBody(request);
+        String requestBody = logBodies ? extractRequestBody(request) : null;
         if (requestBody != null && !requestBody.isEmpty()) {
             MDC.put("requestBody", requestBody);
         }
@@ -75,8 +81,15 @@ public class LoggingInterceptor implements HandlerInterceptor {
         MDC.put("status", String.valueOf(status));
         MDC.put("latencyMs", String.valueOf(processingTimeMs));
 
+        // JDBC usage collected by JdbcMetricsInterceptor (completes after this interceptor)
+        RequestJdbcStats jdbcStats = RequestJdbcStats.current();
+        if (jdbcStats != null) {
+            MDC.put("dbStatements", String.valueOf(jdbcStats.getStatements()));
+            MDC.put("dbTimeMs", String.valueOf(TimeUnit.NANOSECONDS.toMillis(jdbcStats.getJdbcNanos())));
+        }
+
         // Add response body to MDC if available
-        String responseBody = extractResponseBody(response);
+        String responseBody = logBodies ? extractResponseBody(response) : null;
         if (responseBody != null && !responseBody.isEmpty()) {
             MDC.put("responseBody", responseBody);
         }
@@ -100,12 +113,16 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
     private String extractRequestBody(HttpServletRequest request) {
         // Use WebUtils to get the native wrapper from the request chain
-        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        CappedContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, CappedContentCachingRequestWrapper.class);
 
         if (wrapper != null) {
             byte[] content = wrapper.getContentAsByteArray();
             if (content.length > 0) {
                 String body = new String(content, StandardCharsets.UTF_8);
+                if (wrapper.isTruncated()) {
+                    return JsonBodyMaskingUtil.maskTruncatedJsonBody(body)
+                            + BodyCaptureFilter.truncationMarker(request.getContentLengthLong());
+                }
                 return JsonBodyMaskingUtil.maskJsonBody(body);
             }
         }
@@ -115,12 +132,16 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
     private String extractResponseBody(HttpServletResponse response) {
         // Use WebUtils to get the native wrapper from the response chain
-        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        CappedContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CappedContentCachingResponseWrapper.class);
 
         if (wrapper != null) {
             byte[] content = wrapper.getContentAsByteArray();
             if (content.length > 0) {
                 String body = new String(content, StandardCharsets.UTF_8);
+                if (wrapper.isTruncated()) {
+                    return JsonBodyMaskingUtil.maskTruncatedJsonBody(body)
+                            + BodyCaptureFilter.truncationMarker(wrapper.getTotalBytes());
+                }
                 return JsonBodyMaskingUtil.maskJsonBody(body);
             }
         }
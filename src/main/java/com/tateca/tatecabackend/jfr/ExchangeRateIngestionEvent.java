@@ -0,0 +1,35 @@
+package com.tateca.tatecabackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One run of the exchange-rate ingestion (fetch from the provider and store as rate ranges).
+ */
+@Name("com.tateca.ExchangeRateIngestion")
+@Label("Exchange Rate Ingestion")
+@Category({"Tateca", "Service"})
+@Description("Fetch latest exchange rates from the provider and store them")
+@StackTrace(false)
+public class ExchangeRateIngestionEvent extends Event {
+
+    @Label("Rates Fetched")
+    @Description("Currency rates returned by the provider")
+    public int ratesFetched;
+
+    @Label("Rows Inserted")
+    @Description("New rate ranges starting today")
+    public int rowsInserted;
+
+    @Label("Rows Updated")
+    @Description("Open rate ranges closed or corrected because the rate changed")
+    public int rowsUpdated;
+
+    @Label("Fetch Duration")
+    @Description("Time spent calling the provider, in milliseconds")
+    public long fetchMillis;
+}
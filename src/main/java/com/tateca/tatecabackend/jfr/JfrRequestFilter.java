@@ -0,0 +1,36 @@
+package com.tateca.tatecabackend.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits a {@link RequestHandlingEvent} per request. When no recording has the event enabled,
+ * {@code begin}/{@code end} are effectively free and nothing is committed.
+ */
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestHandlingEvent event = new RequestHandlingEvent();
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.route = pattern != null ? pattern.toString() : "UNKNOWN";
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.tateca.tatecabackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP request, from the servlet filter chain to the response.
+ */
+@Name("com.tateca.RequestHandling")
+@Label("Request Handling")
+@Category({"Tateca", "HTTP"})
+@Description("HTTP request handled by the application")
+@StackTrace(false)
+public class RequestHandlingEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    @Description("Matched route pattern, e.g. /groups/{groupId}")
+    public String route;
+
+    @Label("Status")
+    public int status;
+}
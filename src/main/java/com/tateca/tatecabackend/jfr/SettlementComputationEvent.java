@@ -0,0 +1,34 @@
+package com.tateca.tatecabackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Settlement calculation for one group (balances and optimized transfers).
+ */
+@Name("com.tateca.SettlementComputation")
+@Label("Settlement Computation")
+@Category({"Tateca", "Service"})
+@Description("Balance and settlement calculation for a group")
+@StackTrace(false)
+public class SettlementComputationEvent extends Event {
+
+    @Label("Group ID")
+    public String groupId;
+
+    @Label("Group Size")
+    @Description("Members of the group")
+    public int groupSize;
+
+    @Label("Obligation Count")
+    @Description("Obligations loaded for the balance calculation")
+    public int obligationCount;
+
+    @Label("Settlement Count")
+    @Description("Transfers produced by the optimization")
+    public int settlementCount;
+}
@@ -0,0 +1,25 @@
+package com.tateca.tatecabackend.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verification of a Firebase ID token, including the revocation check round trip.
+ */
+@Name("com.tateca.TokenVerification")
+@Label("Token Verification")
+@Category({"Tateca", "Security"})
+@Description("Firebase ID token verification")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Revocation Checked")
+    public boolean revocationChecked;
+
+    @Label("Success")
+    public boolean success;
+}
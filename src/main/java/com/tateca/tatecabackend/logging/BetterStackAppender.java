@@ -3,30 +3,66 @@ package com.tateca.tatecabackend.logging;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.encoder.Encoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Logback Appender for sending logs to Better Stack via HTTP.
  * <p>
  * This appender sends logs asynchronously to avoid blocking the main application thread.
- * Logs are queued and sent to Better Stack's HTTP endpoint.
+ * Logs are queued and shipped by a single worker that drains the queue into batches:
+ * <ul>
+ *   <li>A batch is closed when it reaches {@code batchMaxEvents}, {@code batchMaxBytes}
+ *       or {@code maxLingerMillis} after its first event, whichever comes first</li>
+ *   <li>Each batch is sent as one JSON array body, gzip-compressed when {@code compress} is set</li>
+ *   <li>At most {@code maxInFlightRequests} requests are outstanding; when the cap is reached the
+ *       worker waits, the queue fills up and new events are dropped instead of piling up in memory</li>
+ * </ul>
+ * <p>
+ * Optional disk spillover ({@code spillDirectory}): events that do not fit into the full queue,
+ * and batches Better Stack failed to accept, are written to a size-capped {@link DiskSpillBuffer}
+ * instead of being dropped. The logging thread only hands an overflowing event to a second bounded
+ * queue; encoding and disk writes happen on the worker, and an event is dropped only when both
+ * queues are full. The worker replays the spill file in order, alternating spilled and live batches
+ * while the endpoint is healthy, and retries it every {@code spillReplayRetryMillis} after a failure.
+ * <p>
+ * Metrics are registered on the Micrometer global registry (the appender is created by Logback,
+ * before the Spring context): {@code betterstack.events.sent}, {@code betterstack.events.dropped}
+ * (tagged by reason), {@code betterstack.events.spilled} and {@code betterstack.batch.size}.
  */
 public class BetterStackAppender extends AppenderBase<ILoggingEvent> {
 
     private static final int DEFAULT_QUEUE_SIZE = 1000;
+    private static final int DEFAULT_BATCH_MAX_EVENTS = 100;
+    private static final int DEFAULT_BATCH_MAX_BYTES = 1024 * 1024;
+    private static final long DEFAULT_MAX_LINGER_MILLIS = 1000;
+    private static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 2;
+    private static final int DEFAULT_SPILL_SEGMENT_BYTES = 4 * 1024 * 1024;
+    private static final long DEFAULT_SPILL_MAX_BYTES = 64L * 1024 * 1024;
+    private static final long DEFAULT_SPILL_REPLAY_RETRY_MILLIS = 5000;
+    private static final long POLL_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
     private static final Duration HTTP_TIMEOUT = Duration.ofSeconds(5);
     private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
 
@@ -34,11 +70,38 @@ public class BetterStackAppender extends AppenderBase<ILoggingEvent> {
     @Setter @Getter private String endpoint = "https://in.logs.betterstack.com";
     @Setter @Getter private Encoder<ILoggingEvent> encoder;
     @Setter @Getter private int queueSize = DEFAULT_QUEUE_SIZE;
+    @Setter @Getter private int batchMaxEvents = DEFAULT_BATCH_MAX_EVENTS;
+    @Setter @Getter private int batchMaxBytes = DEFAULT_BATCH_MAX_BYTES;
+    @Setter @Getter private long maxLingerMillis = DEFAULT_MAX_LINGER_MILLIS;
+    @Setter @Getter private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    @Setter @Getter private boolean compress = true;
+    @Setter @Getter private String spillDirectory;
+    @Setter @Getter private int spillSegmentBytes = DEFAULT_SPILL_SEGMENT_BYTES;
+    @Setter @Getter private long spillMaxBytes = DEFAULT_SPILL_MAX_BYTES;
+    @Setter @Getter private long spillReplayRetryMillis = DEFAULT_SPILL_REPLAY_RETRY_MILLIS;
 
     private BlockingQueue<ILoggingEvent> eventQueue;
+    // Events the full eventQueue could not take, waiting for the worker to spill them
+    private BlockingQueue<ILoggingEvent> overflowQueue;
+    // Batches Better Stack rejected, handed from the HTTP client threads to the worker to spill
+    private final ConcurrentLinkedQueue<List<byte[]>> failedBatches = new ConcurrentLinkedQueue<>();
     private ExecutorService executorService;
     private HttpClient httpClient;
+    private Semaphore inFlightPermits;
     private volatile boolean running = false;
+    private DiskSpillBuffer spillBuffer;
+    private volatile boolean endpointHealthy = true;
+    private long nextSpillReplayNanos;
+
+    // Encoded event that did not fit into the previous batch
+    private byte[] carryOver;
+
+    private Counter sentCounter;
+    private Counter droppedQueueFullCounter;
+    private Counter droppedSendFailedCounter;
+    private Counter droppedSpillEvictedCounter;
+    private Counter spilledCounter;
+    private DistributionSummary batchSizeSummary;
 
     @Override
     public void start() {
@@ -54,9 +117,15 @@ public class BetterStackAppender extends AppenderBase<ILoggingEvent> {
 
         encoder.start();
         eventQueue = new ArrayBlockingQueue<>(queueSize);
+        inFlightPermits = new Semaphore(Math.max(1, maxInFlightRequests));
         httpClient = HttpClient.newBuilder()
                 .connectTimeout(HTTP_TIMEOUT)
                 .build();
+        registerMetrics();
+        openSpillBuffer();
+        if (spillBuffer != null) {
+            overflowQueue = new ArrayBlockingQueue<>(queueSize);
+        }
         running = true;
 
         executorService = Executors.newSingleThreadExecutor(r -> {
@@ -80,12 +149,21 @@ public class BetterStackAppender extends AppenderBase<ILoggingEvent> {
                 if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT.getSeconds(), TimeUnit.SECONDS)) {
                     executorService.shutdownNow();
                 }
+                // Give outstanding requests the chance to complete before the JVM exits
+                int permits = Math.max(1, maxInFlightRequests);
+                if (inFlightPermits.tryAcquire(permits, HTTP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                    inFlightPermits.release(permits);
+                }
             } catch (InterruptedException e) {
                 executorService.shutdownNow();
                 Thread.currentThread().interrupt();
             }
         }
 
+        // The worker has exited; spill what it left behind, including batches that failed during shutdown
+        spillPending();
+        closeSpillBuffer();
+
         if (encoder != null) {
             encoder.stop();
         }
@@ -100,53 +178,330 @@ public class BetterStackAppender extends AppenderBase<ILoggingEvent> {
             return;
         }
 
-        if (!eventQueue.offer(eventObject)) {
+        if (!eventQueue.offer(eventObject) && (overflowQueue == null || !overflowQueue.offer(eventObject))) {
+            droppedQueueFullCounter.increment();
             addWarn("Better Stack event queue is full. Dropping log event.");
         }
     }
 
     private void processQueue() {
-        while (running || !eventQueue.isEmpty()) {
+        boolean replayTurn = true;
+        while (running || !eventQueue.isEmpty() || carryOver != null || hasPendingSpill()) {
             try {
-                ILoggingEvent event = eventQueue.poll(1, TimeUnit.SECONDS);
-                if (event != null) {
-                    sendToBetterStack(event);
+                spillPending();
+                // Alternate with live batches so a large spill backlog does not hold back current events
+                if (running && isSpillReplayDue() && (replayTurn || !hasLiveEvents())) {
+                    replaySpill();
+                    replayTurn = false;
+                    continue;
+                }
+                replayTurn = true;
+                List<byte[]> batch = collectBatch();
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
                 }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 break;
             } catch (Exception e) {
-                addError("Error processing log event", e);
+                addError("Error processing log events", e);
+            }
+        }
+    }
+
+    private boolean hasLiveEvents() {
+        return carryOver != null || !eventQueue.isEmpty();
+    }
+
+    private boolean hasPendingSpill() {
+        return (overflowQueue != null && !overflowQueue.isEmpty()) || !failedBatches.isEmpty();
+    }
+
+    /**
+     * Writes overflowed events and rejected batches to the spill buffer, on the worker thread.
+     */
+    private void spillPending() {
+        if (spillBuffer == null) {
+            return;
+        }
+        List<byte[]> failed;
+        while ((failed = failedBatches.poll()) != null) {
+            spill(failed, droppedSendFailedCounter);
+        }
+        List<byte[]> overflowed = new ArrayList<>();
+        ILoggingEvent event;
+        while ((event = overflowQueue.poll()) != null) {
+            byte[] encoded = encode(event);
+            if (encoded != null) {
+                overflowed.add(encoded);
             }
         }
+        if (!overflowed.isEmpty()) {
+            spill(overflowed, droppedQueueFullCounter);
+        }
     }
 
-    private void sendToBetterStack(ILoggingEvent event) {
+    /**
+     * Blocks for the first event, then keeps draining until a count, size or linger bound is hit.
+     */
+    private List<byte[]> collectBatch() throws InterruptedException {
+        List<byte[]> batch = new ArrayList<>();
+        int batchBytes = 0;
+
+        if (carryOver != null) {
+            batch.add(carryOver);
+            batchBytes += carryOver.length;
+            carryOver = null;
+        } else {
+            ILoggingEvent first = eventQueue.poll(1, TimeUnit.SECONDS);
+            if (first == null) {
+                return batch;
+            }
+            byte[] encoded = encode(first);
+            if (encoded == null) {
+                return batch;
+            }
+            batch.add(encoded);
+            batchBytes += encoded.length;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLingerMillis);
+        while (batch.size() < batchMaxEvents && batchBytes < batchMaxBytes) {
+            long remaining = deadline - System.nanoTime();
+            // Short poll slices so stop() flushes promptly instead of waiting out the linger window
+            ILoggingEvent event = running && remaining > 0
+                    ? eventQueue.poll(Math.min(remaining, POLL_SLICE_NANOS), TimeUnit.NANOSECONDS)
+                    : eventQueue.poll();
+            if (event == null) {
+                if (running && deadline - System.nanoTime() > 0) {
+                    continue;
+                }
+                break;
+            }
+            byte[] encoded = encode(event);
+            if (encoded == null) {
+                continue;
+            }
+            if (batchBytes + encoded.length + 1 > batchMaxBytes) {
+                carryOver = encoded;
+                break;
+            }
+            batch.add(encoded);
+            batchBytes += encoded.length + 1;
+        }
+        return batch;
+    }
+
+    private byte[] encode(ILoggingEvent event) {
         try {
-            byte[] encodedEvent = encoder.encode(event);
-            String jsonPayload = new String(encodedEvent, StandardCharsets.UTF_8);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(endpoint))
-                    .header("Authorization", "Bearer " + sourceToken)
-                    .header("Content-Type", "application/json")
-                    .timeout(HTTP_TIMEOUT)
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
-                    .build();
-
-            httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
-                    .thenAccept(response -> {
-                        if (response.statusCode() >= 400) {
-                            addWarn("Better Stack returned HTTP " + response.statusCode() + ": " + response.body());
+            return trimTrailingWhitespace(encoder.encode(event));
+        } catch (Exception e) {
+            droppedSendFailedCounter.increment();
+            addError("Error encoding log event", e);
+            return null;
+        }
+    }
+
+    private void sendBatch(List<byte[]> batch) throws InterruptedException {
+        byte[] body;
+        try {
+            body = toRequestBody(batch);
+        } catch (IOException e) {
+            droppedSendFailedCounter.increment(batch.size());
+            addError("Error building Better Stack request body", e);
+            return;
+        }
+
+        int eventCount = batch.size();
+        batchSizeSummary.record(eventCount);
+        inFlightPermits.acquire();
+        try {
+            httpClient.sendAsync(buildRequest(body), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, throwable) -> {
+                        try {
+                            if (throwable != null) {
+                                addError("Failed to send logs to Better Stack", throwable);
+                                onSendFailed(batch);
+                            } else if (response.statusCode() >= 400) {
+                                addWarn("Better Stack returned HTTP " + response.statusCode() + ": " + response.body());
+                                onSendFailed(batch);
+                            } else {
+                                endpointHealthy = true;
+                                sentCounter.increment(eventCount);
+                            }
+                        } finally {
+                            inFlightPermits.release();
                         }
-                    })
-                    .exceptionally(throwable -> {
-                        addError("Failed to send log to Better Stack", throwable);
-                        return null;
                     });
+        } catch (RuntimeException e) {
+            inFlightPermits.release();
+            addError("Error sending logs to Better Stack", e);
+            onSendFailed(batch);
+        }
+    }
 
-        } catch (Exception e) {
-            addError("Error encoding or sending log event", e);
+    private void onSendFailed(List<byte[]> batch) {
+        endpointHealthy = false;
+        if (spillBuffer != null) {
+            failedBatches.add(batch);
+        } else {
+            droppedSendFailedCounter.increment(batch.size());
+        }
+    }
+
+    private boolean isSpillReplayDue() {
+        if (spillBuffer == null || spillBuffer.isEmpty()) {
+            return false;
+        }
+        return endpointHealthy || System.nanoTime() - nextSpillReplayNanos >= 0;
+    }
+
+    /**
+     * Sends the oldest spilled batch synchronously and consumes it only once Better Stack accepts it,
+     * so spilled events are delivered in order and survive repeated failures.
+     */
+    private void replaySpill() throws InterruptedException {
+        List<byte[]> batch = spillBuffer.peek(batchMaxEvents, batchMaxBytes);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        boolean accepted = false;
+        inFlightPermits.acquire();
+        try {
+            HttpResponse<String> response = httpClient.send(buildRequest(toRequestBody(batch)),
+                    HttpResponse.BodyHandlers.ofString());
+            accepted = response.statusCode() < 400;
+            if (!accepted) {
+                addWarn("Better Stack returned HTTP " + response.statusCode() + " while replaying spilled logs");
+            }
+        } catch (IOException e) {
+            addWarn("Failed to replay spilled logs to Better Stack: " + e.getMessage());
+        } finally {
+            inFlightPermits.release();
+        }
+
+        if (accepted) {
+            spillBuffer.commit();
+            endpointHealthy = true;
+            sentCounter.increment(batch.size());
+            batchSizeSummary.record(batch.size());
+        } else {
+            endpointHealthy = false;
+            nextSpillReplayNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(spillReplayRetryMillis);
+        }
+    }
+
+    private void spill(List<byte[]> events, Counter dropCounter) {
+        int spilled = 0;
+        try {
+            for (byte[] event : events) {
+                if (spillBuffer.append(event)) {
+                    spilled++;
+                }
+            }
+        } catch (IOException e) {
+            addError("Error writing to Better Stack spill file", e);
+        }
+        spilledCounter.increment(spilled);
+        dropCounter.increment(events.size() - spilled);
+        droppedSpillEvictedCounter.increment(spillBuffer.drainEvictedCount());
+    }
+
+    private void openSpillBuffer() {
+        if (spillDirectory == null || spillDirectory.isBlank()) {
+            return;
+        }
+        try {
+            spillBuffer = new DiskSpillBuffer(Path.of(spillDirectory), spillSegmentBytes, spillMaxBytes);
+            addInfo("Better Stack spill buffer opened at " + spillDirectory);
+        } catch (IOException | RuntimeException e) {
+            addError("Could not open Better Stack spill buffer. Continuing without spillover.", e);
         }
     }
+
+    private void closeSpillBuffer() {
+        if (spillBuffer == null) {
+            return;
+        }
+        try {
+            spillBuffer.close();
+        } catch (IOException e) {
+            addError("Error closing Better Stack spill buffer", e);
+        }
+    }
+
+    private HttpRequest buildRequest(byte[] body) {
+        HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(endpoint))
+                .header("Authorization", "Bearer " + sourceToken)
+                .header("Content-Type", "application/json")
+                .timeout(HTTP_TIMEOUT)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (compress) {
+            requestBuilder.header("Content-Encoding", "gzip");
+        }
+        return requestBuilder.build();
+    }
+
+    private byte[] toRequestBody(List<byte[]> batch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        buffer.write('[');
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                buffer.write(',');
+            }
+            buffer.write(batch.get(i));
+        }
+        buffer.write(']');
+
+        if (!compress) {
+            return buffer.toByteArray();
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(buffer.size() / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            buffer.writeTo(gzip);
+        }
+        return compressed.toByteArray();
+    }
+
+    // LogstashEncoder terminates every event with a line separator
+    private static byte[] trimTrailingWhitespace(byte[] encoded) {
+        int end = encoded.length;
+        while (end > 0 && Character.isWhitespace(encoded[end - 1])) {
+            end--;
+        }
+        if (end == encoded.length) {
+            return encoded;
+        }
+        byte[] trimmed = new byte[end];
+        System.arraycopy(encoded, 0, trimmed, 0, end);
+        return trimmed;
+    }
+
+    private void registerMetrics() {
+        sentCounter = Counter.builder("betterstack.events.sent")
+                .description("Log events accepted by Better Stack")
+                .register(Metrics.globalRegistry);
+        droppedQueueFullCounter = Counter.builder("betterstack.events.dropped")
+                .description("Log events that were not delivered to Better Stack")
+                .tag("reason", "queue_full")
+                .register(Metrics.globalRegistry);
+        droppedSendFailedCounter = Counter.builder("betterstack.events.dropped")
+                .description("Log events that were not delivered to Better Stack")
+                .tag("reason", "send_failed")
+                .register(Metrics.globalRegistry);
+        droppedSpillEvictedCounter = Counter.builder("betterstack.events.dropped")
+                .description("Log events that were not delivered to Better Stack")
+                .tag("reason", "spill_evicted")
+                .register(Metrics.globalRegistry);
+        spilledCounter = Counter.builder("betterstack.events.spilled")
+                .description("Log events written to the disk spill buffer")
+                .register(Metrics.globalRegistry);
+        batchSizeSummary = DistributionSummary.builder("betterstack.batch.size")
+                .description("Number of log events per Better Stack request")
+                .baseUnit("events")
+                .register(Metrics.globalRegistry);
+    }
 }
@@ -0,0 +1,99 @@
+package com.tateca.tatecabackend.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.tateca.tatecabackend.constants.AttributeConstants.BODY_CAPTURE_SAMPLED_ATTRIBUTE;
+
+/**
+ * Wraps requests and responses so {@code LoggingInterceptor} can log their bodies, within bounds.
+ *
+ * <p>Capture rules:
+ * <ul>
+ *   <li>Only the first {@code maxBytes} of each body are kept; longer bodies are logged with a truncation marker</li>
+ *   <li>Routes matching {@code excludePaths}, or not matching a non-empty {@code includePaths}, are not wrapped at all</li>
+ *   <li>4xx/5xx bodies are always logged; other responses are logged for a {@code successSampleRate} fraction of requests</li>
+ * </ul>
+ */
+public class BodyCaptureFilter extends OncePerRequestFilter {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final int maxBytes;
+    private final List<String> includePaths;
+    private final List<String> excludePaths;
+    private final double successSampleRate;
+
+    public BodyCaptureFilter(int maxBytes, List<String> includePaths, List<String> excludePaths, double successSampleRate) {
+        this.maxBytes = maxBytes;
+        this.includePaths = includePaths;
+        this.excludePaths = excludePaths;
+        this.successSampleRate = successSampleRate;
+    }
+
+    /**
+     * Whether the interceptor should decode and log the captured bodies for this request.
+     */
+    public static boolean shouldLogBodies(HttpServletRequest request, int status) {
+        Object sampled = request.getAttribute(BODY_CAPTURE_SAMPLED_ATTRIBUTE);
+        if (sampled == null) {
+            // Route is not captured
+            return false;
+        }
+        return status >= 400 || Boolean.TRUE.equals(sampled);
+    }
+
+    /**
+     * Marker appended to a body that was cut at the capture limit.
+     */
+    public static String truncationMarker(long totalBytes) {
+        return totalBytes > 0 ? "...[truncated, " + totalBytes + " bytes]" : "...[truncated]";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (maxBytes <= 0) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (matchesAny(excludePaths, path)) {
+            return true;
+        }
+        return !includePaths.isEmpty() && !matchesAny(includePaths, path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(BODY_CAPTURE_SAMPLED_ATTRIBUTE, isSampled());
+        CappedContentCachingResponseWrapper responseWrapper = new CappedContentCachingResponseWrapper(response, maxBytes);
+        try {
+            filterChain.doFilter(new CappedContentCachingRequestWrapper(request, maxBytes), responseWrapper);
+        } finally {
+            responseWrapper.flushWriter();
+        }
+    }
+
+    private boolean isSampled() {
+        return successSampleRate >= 1.0
+                || (successSampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+
+    private static boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
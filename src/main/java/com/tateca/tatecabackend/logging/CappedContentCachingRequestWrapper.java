@@ -0,0 +1,27 @@
+package com.tateca.tatecabackend.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+/**
+ * {@link ContentCachingRequestWrapper} that caches at most {@code limit} bytes and remembers
+ * whether the body was longer than that.
+ */
+public class CappedContentCachingRequestWrapper extends ContentCachingRequestWrapper {
+
+    private boolean truncated;
+
+    public CappedContentCachingRequestWrapper(HttpServletRequest request, int limit) {
+        super(request, limit);
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    protected void handleContentOverflow(int contentCacheLimit) {
+        // Keep reading: the application still gets the full body, only the cached copy is capped
+        truncated = true;
+    }
+}
@@ -0,0 +1,155 @@
+package com.tateca.tatecabackend.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response wrapper that writes straight through to the client and keeps a copy of
+ * the first {@code limit} bytes for logging.
+ *
+ * <p>Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper}, the full body is
+ * never buffered, so no {@code copyBodyToResponse()} call is needed and memory per request is bounded.
+ */
+public class CappedContentCachingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream content;
+    private long totalBytes;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    public CappedContentCachingResponseWrapper(HttpServletResponse response, int limit) {
+        super(response);
+        this.limit = limit;
+        this.content = new ByteArrayOutputStream(Math.min(limit, 1024));
+    }
+
+    public byte[] getContentAsByteArray() {
+        return content.toByteArray();
+    }
+
+    public boolean isTruncated() {
+        return totalBytes > limit;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new CapturingOutputStream(getResponse().getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called on this response");
+        }
+        if (writer == null) {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+            writer = new PrintWriter(new OutputStreamWriter(
+                    new CapturingOutputStream(getResponse().getOutputStream()), charset), false);
+        }
+        return writer;
+    }
+
+    /**
+     * Push characters still buffered in the {@link #getWriter()} encoder through to the client (and the capture).
+     * A caller that never flushes its writer would otherwise lose them, since this wrapper owns that writer.
+     */
+    public void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        clearCapture();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        clearCapture();
+    }
+
+    private void clearCapture() {
+        content.reset();
+        totalBytes = 0;
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int remaining = (int) Math.max(0, limit - totalBytes);
+        if (remaining > 0) {
+            content.write(bytes, offset, Math.min(remaining, length));
+        }
+        totalBytes += length;
+    }
+
+    private final class CapturingOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+
+        private CapturingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.tateca.tatecabackend.logging;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Segmented, memory-mapped FIFO of encoded log events used by {@link BetterStackAppender}
+ * when its in-memory queue is full or Better Stack is unreachable.
+ * <p>
+ * Layout: the directory holds fixed-size segment files named {@code spill-<sequence>.seg}.
+ * Each segment starts with a 4-byte header holding the committed read offset, followed by
+ * length-prefixed records. A zero length marks the end of the written area, so a segment
+ * can be recovered after a restart without a separate index.
+ * <p>
+ * Reads are two-phase ({@link #peek} then {@link #commit}) so a failed replay leaves the
+ * records in place. When the total size would exceed the cap the oldest segment is deleted.
+ * <p>
+ * Only the appender's worker thread reads and writes it, so no logging call waits on disk I/O;
+ * methods are synchronized because {@code stop()} may close it while a timed-out worker still runs.
+ */
+final class DiskSpillBuffer implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private long nextSequence;
+    private long evictedRecords;
+    private Segment pendingSegment;
+    private int pendingReadPosition;
+    private int pendingRecords;
+    private boolean closed;
+
+    DiskSpillBuffer(Path directory, int segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes <= HEADER_BYTES + LENGTH_BYTES) {
+            throw new IllegalArgumentException("Segment size is too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(2, maxBytes / segmentBytes);
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Appends one record, evicting the oldest segment when the size cap is reached.
+     *
+     * @return false if the record can never fit into a segment or the buffer is closed
+     */
+    synchronized boolean append(byte[] record) throws IOException {
+        if (closed || record.length == 0 || HEADER_BYTES + LENGTH_BYTES + record.length > segmentBytes) {
+            return false;
+        }
+
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writePosition + LENGTH_BYTES + record.length > segmentBytes) {
+            if (segments.size() >= maxSegments) {
+                evictOldest();
+            }
+            tail = createSegment(nextSequence++);
+            segments.addLast(tail);
+        }
+
+        tail.buffer.put(tail.writePosition + LENGTH_BYTES, record);
+        // Length is written last so a torn write is never mistaken for a record on recovery
+        tail.buffer.putInt(tail.writePosition, record.length);
+        tail.writePosition += LENGTH_BYTES + record.length;
+        tail.records++;
+        return true;
+    }
+
+    /**
+     * Returns up to the given number of oldest records without consuming them.
+     * Only the head segment is read, so one call never spans segments.
+     */
+    synchronized List<byte[]> peek(int maxRecords, int maxBytes) {
+        List<byte[]> records = new ArrayList<>();
+        pendingSegment = null;
+        if (closed) {
+            return records;
+        }
+
+        Segment head = segments.peekFirst();
+        while (head != null && head.isFullyRead() && head != segments.peekLast()) {
+            deleteHead();
+            head = segments.peekFirst();
+        }
+        if (head == null) {
+            return records;
+        }
+
+        int position = head.readPosition;
+        int bytes = 0;
+        while (records.size() < maxRecords && position < head.writePosition) {
+            int length = head.buffer.getInt(position);
+            if (!records.isEmpty() && bytes + length > maxBytes) {
+                break;
+            }
+            byte[] record = new byte[length];
+            head.buffer.get(position + LENGTH_BYTES, record);
+            records.add(record);
+            bytes += length;
+            position += LENGTH_BYTES + length;
+        }
+
+        pendingSegment = head;
+        pendingReadPosition = position;
+        pendingRecords = records.size();
+        return records;
+    }
+
+    /**
+     * Consumes the records returned by the last {@link #peek}.
+     */
+    synchronized void commit() {
+        Segment segment = pendingSegment;
+        pendingSegment = null;
+        // The segment may have been evicted while the replay was in flight
+        if (closed || segment == null || !segments.contains(segment)) {
+            return;
+        }
+
+        segment.readPosition = pendingReadPosition;
+        segment.readRecords += pendingRecords;
+        segment.buffer.putInt(0, segment.readPosition);
+        if (segment.isFullyRead() && segment != segments.peekLast()) {
+            deleteHead();
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        for (Segment segment : segments) {
+            if (!segment.isFullyRead()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.records - segment.readRecords;
+        }
+        return size;
+    }
+
+    /**
+     * Returns and resets the number of unread records lost to segment eviction.
+     */
+    synchronized long drainEvictedCount() {
+        long count = evictedRecords;
+        evictedRecords = 0;
+        return count;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        segments.clear();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(directory)) {
+            files = stream
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+
+        for (Path file : files) {
+            long sequence = sequenceOf(file);
+            if (sequence < 0) {
+                continue;
+            }
+            Segment segment = openSegment(file);
+            scan(segment);
+            segments.addLast(segment);
+            nextSequence = sequence + 1;
+        }
+
+        while (segments.size() > maxSegments) {
+            evictOldest();
+        }
+    }
+
+    private void scan(Segment segment) {
+        int committedRead = segment.buffer.getInt(0);
+        int position = HEADER_BYTES;
+        while (position + LENGTH_BYTES <= segmentBytes) {
+            int length = segment.buffer.getInt(position);
+            if (length <= 0 || position + LENGTH_BYTES + length > segmentBytes) {
+                break;
+            }
+            if (position < committedRead) {
+                segment.readRecords++;
+            }
+            segment.records++;
+            position += LENGTH_BYTES + length;
+        }
+        segment.writePosition = position;
+        segment.readPosition = Math.clamp(committedRead, HEADER_BYTES, position);
+    }
+
+    private Segment createSegment(long sequence) throws IOException {
+        Segment segment = openSegment(directory.resolve(SEGMENT_PREFIX + sequence + SEGMENT_SUFFIX));
+        segment.buffer.putInt(0, HEADER_BYTES);
+        segment.readPosition = HEADER_BYTES;
+        segment.writePosition = HEADER_BYTES;
+        return segment;
+    }
+
+    private Segment openSegment(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        return new Segment(path, channel, buffer);
+    }
+
+    private void evictOldest() {
+        Segment oldest = segments.peekFirst();
+        if (oldest != null) {
+            evictedRecords += oldest.records - oldest.readRecords;
+            deleteHead();
+        }
+    }
+
+    private void deleteHead() {
+        Segment head = segments.pollFirst();
+        if (head == null) {
+            return;
+        }
+        try {
+            head.channel.close();
+            Files.deleteIfExists(head.path);
+        } catch (IOException e) {
+            // Leftover file is re-read on the next start; nothing else to do here
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            return -1;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+        private int records;
+        private int readRecords;
+
+        private Segment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private boolean isFullyRead() {
+            return readPosition >= writePosition;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.tateca.tatecabackend.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that feeds {@link RequestJdbcStats} for the request on the current thread.
+ *
+ * <p>A batch execution counts as one statement per batched entry. Executions are also counted per SQL
+ * fingerprint for {@link NPlusOneDetector}, where a batch is a single round trip; statement batches of mixed
+ * SQL are not attributed to a fingerprint.
+ */
+public class JdbcMetricsQueryListener implements QueryExecutionListener {
+
+    private final SqlStatementStats sqlStatementStats;
+
+    // Fingerprints come from the SqlStatementStats cache the SQL stats listener fills for the same statement
+    public JdbcMetricsQueryListener(SqlStatementStats sqlStatementStats) {
+        this.sqlStatementStats = sqlStatementStats;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+        if (stats != null) {
+            stats.queryStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestJdbcStats stats = RequestJdbcStats.current();
+        if (stats != null) {
+            int statementCount = execInfo.isBatch() ? Math.max(1, execInfo.getBatchSize()) : 1;
+            if (queryInfoList.size() == 1) {
+                stats.queryFinished(sqlStatementStats.fingerprint(queryInfoList.get(0).getQuery()), statementCount);
+            } else {
+                stats.queryFinished(null, statementCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flags requests that run the same statement more than {@code threshold} times (N+1 access patterns).
+ *
+ * <p>Each detection increments {@code jdbc.repeated.statements} tagged by route, and is logged at WARN
+ * at most once per route and fingerprint per sample interval. When {@code failOnDetection} is set
+ * (test profile), detections are also collected so integration tests can fail on them,
+ * see {@link #drainViolations()}.
+ */
+public class NPlusOneDetector {
+    private static final Logger logger = LoggerFactory.getLogger(NPlusOneDetector.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    private final long warnSampleIntervalNanos;
+    private final boolean failOnDetection;
+
+    private final ConcurrentHashMap<String, AtomicLong> lastWarnedAt = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Violation> violations = new ConcurrentLinkedQueue<>();
+
+    public NPlusOneDetector(MeterRegistry meterRegistry, int threshold, Duration warnSampleInterval,
+                            boolean failOnDetection) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.warnSampleIntervalNanos = warnSampleInterval.toNanos();
+        this.failOnDetection = failOnDetection;
+    }
+
+    /**
+     * Inspect the statements of a finished request.
+     */
+    public void inspect(String method, String route, RequestJdbcStats stats) {
+        for (Map.Entry<String, Integer> execution : stats.getExecutionsByFingerprint().entrySet()) {
+            int count = execution.getValue();
+            if (count <= threshold) {
+                continue;
+            }
+
+            String fingerprint = execution.getKey();
+            Counter.builder("jdbc.repeated.statements")
+                    .description("Requests that ran the same statement more than the N+1 threshold")
+                    .tags("uri", route, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+
+            if (shouldWarn(route + ' ' + fingerprint)) {
+                logger.warn("Possible N+1 query: {} {} ran the same statement {} times (threshold={}): {}",
+                        method, route, count, threshold, fingerprint);
+            }
+            if (failOnDetection) {
+                violations.add(new Violation(method, route, fingerprint, count));
+            }
+        }
+    }
+
+    /**
+     * Return and clear the detections collected since the last call. Always empty unless failOnDetection is set.
+     */
+    public List<Violation> drainViolations() {
+        List<Violation> drained = new ArrayList<>();
+        Violation violation;
+        while ((violation = violations.poll()) != null) {
+            drained.add(violation);
+        }
+        return drained;
+    }
+
+    private boolean shouldWarn(String key) {
+        long now = System.nanoTime();
+        AtomicLong last = lastWarnedAt.computeIfAbsent(key, k -> new AtomicLong(now - warnSampleIntervalNanos));
+        long previous = last.get();
+        return now - previous >= warnSampleIntervalNanos && last.compareAndSet(previous, now);
+    }
+
+    public record Violation(String method, String route, String fingerprint, int executions) {
+    }
+}
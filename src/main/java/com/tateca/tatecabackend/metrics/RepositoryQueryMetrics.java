@@ -0,0 +1,67 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Per-query Hibernate statistics for the JPQL {@link Query} methods of the given repositories.
+ *
+ * <p>Each query is tagged {@code query=Repository.method} and publishes:
+ * <ul>
+ *   <li>{@code hibernate.query.execution.max} - slowest execution since startup, in milliseconds</li>
+ *   <li>{@code hibernate.query.executions} - number of executions</li>
+ * </ul>
+ * Hibernate keys its query statistics by the query string, so the gauges read the statistics
+ * of the exact JPQL declared on the method. Native queries are skipped.
+ */
+public class RepositoryQueryMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final List<Class<?>> repositories;
+
+    public RepositoryQueryMetrics(Statistics statistics, List<Class<?>> repositories) {
+        this.statistics = statistics;
+        this.repositories = repositories;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Class<?> repository : repositories) {
+            Stream.of(repository.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Query.class))
+                    .filter(method -> !method.getAnnotation(Query.class).nativeQuery())
+                    .sorted(Comparator.comparing(Method::getName))
+                    .forEach(method -> bindQuery(registry, repository.getSimpleName() + "." + method.getName(),
+                            method.getAnnotation(Query.class).value()));
+        }
+    }
+
+    private void bindQuery(MeterRegistry registry, String queryName, String jpql) {
+        Gauge.builder("hibernate.query.execution.max", statistics,
+                        stats -> stats.getQueryStatistics(jpql).getExecutionMaxTime())
+                .description("Slowest execution of the query since startup")
+                .baseUnit("milliseconds")
+                .tag("query", queryName)
+                .register(registry);
+
+        FunctionCounter.builder("hibernate.query.executions", statistics,
+                        stats -> executionCount(stats.getQueryStatistics(jpql)))
+                .description("Executions of the query")
+                .tag("query", queryName)
+                .register(registry);
+    }
+
+    private static double executionCount(QueryStatistics queryStatistics) {
+        return queryStatistics.getExecutionCount();
+    }
+}
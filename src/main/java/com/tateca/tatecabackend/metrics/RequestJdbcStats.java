@@ -0,0 +1,80 @@
+package com.tateca.tatecabackend.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request JDBC counters, bound to the request thread.
+ *
+ * <p>{@link JdbcMetricsQueryListener} adds to the counters while a request is active;
+ * statements executed outside a request (startup, schedulers) are not tracked.
+ */
+public final class RequestJdbcStats {
+
+    private static final ThreadLocal<RequestJdbcStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+    private long queryStartNanos;
+    // Keyed by SqlFingerprint, so inlined literals and IN lists of different sizes count as the same statement
+    private final Map<String, Integer> executionsByFingerprint = new HashMap<>();
+
+    private RequestJdbcStats() {
+    }
+
+    /**
+     * Start tracking for the current thread, discarding anything left over.
+     */
+    public static void begin() {
+        CURRENT.set(new RequestJdbcStats());
+    }
+
+    /**
+     * Stop tracking for the current thread.
+     *
+     * @return the collected stats, or null if tracking was not started
+     */
+    public static RequestJdbcStats end() {
+        RequestJdbcStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    /**
+     * @return the stats of the request running on this thread, or null outside a request
+     */
+    public static RequestJdbcStats current() {
+        return CURRENT.get();
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+
+    /**
+     * @return how many round trips each statement fingerprint made during the request; a batch is one
+     */
+    public Map<String, Integer> getExecutionsByFingerprint() {
+        return Collections.unmodifiableMap(executionsByFingerprint);
+    }
+
+    void queryStarted() {
+        queryStartNanos = System.nanoTime();
+    }
+
+    void queryFinished(String fingerprint, int statementCount) {
+        statements += statementCount;
+        if (fingerprint != null) {
+            executionsByFingerprint.merge(fingerprint, 1, Integer::sum);
+        }
+        if (queryStartNanos != 0) {
+            jdbcNanos += System.nanoTime() - queryStartNanos;
+            queryStartNanos = 0;
+        }
+    }
+}
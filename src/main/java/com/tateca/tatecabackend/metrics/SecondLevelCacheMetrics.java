@@ -0,0 +1,47 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.List;
+
+/**
+ * Hit ratio per Hibernate second-level cache region.
+ *
+ * <p>Each region is tagged {@code region=name} and publishes {@code hibernate.cache.region.hit.ratio}:
+ * hits / (hits + misses) since startup, NaN until the region has been read. Hit, miss and put counts
+ * themselves are published by Boot's Hibernate metrics binding ({@code hibernate.second.level.cache.requests}).
+ */
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final List<String> regions;
+
+    public SecondLevelCacheMetrics(Statistics statistics, List<String> regions) {
+        this.statistics = statistics;
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            Gauge.builder("hibernate.cache.region.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                    .description("Second-level cache hits / (hits + misses) of the region since startup")
+                    .tag("region", region)
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long requests = hits + regionStatistics.getMissCount();
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+}
@@ -0,0 +1,160 @@
+package com.tateca.tatecabackend.metrics;
+
+/**
+ * Normalizes SQL into a fingerprint so executions of the same statement shape aggregate together.
+ *
+ * <p>Rules (single pass, no regex):
+ * <ul>
+ *   <li>String and numeric literals become {@code ?}</li>
+ *   <li>Lists of placeholders such as {@code IN (?, ?, ?)} collapse to {@code (?+)}</li>
+ *   <li>Comments are dropped, whitespace runs collapse to one space, keywords and identifiers are lowercased</li>
+ * </ul>
+ */
+public final class SqlFingerprint {
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        if (sql == null) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+                appendPlaceholder(out);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipLineComment(sql, i);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipBlockComment(sql, i);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(out);
+                i++;
+            } else if (Character.isDigit(c) && !isIdentifierPart(out)) {
+                i = skipNumber(sql, i);
+                appendPlaceholder(out);
+            } else if (c == '?') {
+                appendPlaceholder(out);
+                i++;
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+
+        return collapsePlaceholderLists(out.toString().trim());
+    }
+
+    private static void appendPlaceholder(StringBuilder out) {
+        out.append('?');
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+
+    private static boolean isIdentifierPart(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$';
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                // Doubled quote is an escaped quote inside the literal
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static int skipNumber(String sql, int start) {
+        int i = start;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int skipLineComment(String sql, int start) {
+        int end = sql.indexOf('\n', start);
+        return end < 0 ? sql.length() : end;
+    }
+
+    private static int skipBlockComment(String sql, int start) {
+        int end = sql.indexOf("*/", start + 2);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    /**
+     * Collapse "(?, ?, ?)" and "(?,?)" into "(?+)" so IN lists of different sizes share a fingerprint.
+     */
+    private static String collapsePlaceholderLists(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                int end = matchPlaceholderList(sql, i + 1);
+                if (end > 0) {
+                    out.append("(?+)");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static int matchPlaceholderList(String sql, int start) {
+        int i = start;
+        boolean expectPlaceholder = true;
+        int placeholders = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == ' ') {
+                i++;
+            } else if (expectPlaceholder && c == '?') {
+                placeholders++;
+                expectPlaceholder = false;
+                i++;
+            } else if (!expectPlaceholder && c == ',') {
+                expectPlaceholder = true;
+                i++;
+            } else if (!expectPlaceholder && c == ')') {
+                return placeholders > 1 ? i : -1;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,205 @@
+package com.tateca.tatecabackend.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process statement statistics, aggregated per {@link SqlFingerprint} (similar to pg_stat_statements).
+ *
+ * <p>Recording is lock-free: counters are {@link LongAdder}s, the max is a {@link LongAccumulator}
+ * and the histogram uses fixed buckets. The number of fingerprints is capped; statements beyond the cap
+ * are aggregated under {@link #OTHER_FINGERPRINT}.
+ *
+ * <p>Slow statements are logged at most once per fingerprint per sample interval, together with the
+ * number of slow executions suppressed since the previous sample.
+ */
+@Component
+public class SqlStatementStats {
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementStats.class);
+
+    static final String OTHER_FINGERPRINT = "<other>";
+
+    /** Histogram bucket upper bounds in milliseconds; the last bucket is unbounded. */
+    private static final long[] BUCKET_BOUNDS_MS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 5000};
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // Hibernate reuses the same SQL strings, so normalization is done once per distinct statement
+    private final ConcurrentHashMap<String, String> fingerprintCache = new ConcurrentHashMap<>();
+    private final int maxFingerprints;
+    private final long slowThresholdNanos;
+    private final long slowSampleIntervalNanos;
+
+    public SqlStatementStats(
+            @Value("${sql-stats.max-fingerprints:1000}") int maxFingerprints,
+            @Value("${sql-stats.slow-query-threshold:1s}") Duration slowQueryThreshold,
+            @Value("${sql-stats.slow-query-sample-interval:1m}") Duration slowQuerySampleInterval) {
+        this.maxFingerprints = maxFingerprints;
+        this.slowThresholdNanos = slowQueryThreshold.toNanos();
+        this.slowSampleIntervalNanos = slowQuerySampleInterval.toNanos();
+    }
+
+    /**
+     * Record one execution of {@code sql}.
+     *
+     * @param rows affected rows, or a negative value when unknown (e.g. SELECT result sets)
+     */
+    public void record(String sql, long elapsedNanos, long rows) {
+        Entry entry = entryFor(fingerprint(sql));
+        entry.record(elapsedNanos, rows);
+
+        if (elapsedNanos >= slowThresholdNanos) {
+            long suppressed = entry.trySampleSlow(System.nanoTime(), slowSampleIntervalNanos);
+            if (suppressed >= 0) {
+                logger.warn("Slow query: elapsedMs={}, rows={}, suppressedSinceLastSample={}, fingerprint={}",
+                        TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, suppressed, entry.fingerprint);
+            }
+        }
+    }
+
+    /**
+     * Top {@code limit} fingerprints ordered by total execution time.
+     */
+    public List<Snapshot> top(int limit) {
+        return entries.values().stream()
+                .sorted(Comparator.comparingLong(Entry::totalNanos).reversed())
+                .limit(Math.max(0, limit))
+                .map(Entry::snapshot)
+                .toList();
+    }
+
+    public void reset() {
+        entries.clear();
+        fingerprintCache.clear();
+    }
+
+    /**
+     * {@link SqlFingerprint#of} of {@code sql}, normalized once per distinct SQL string. Shared with
+     * {@link JdbcMetricsQueryListener}, so each statement is normalized once for both listeners.
+     */
+    public String fingerprint(String sql) {
+        String cached = fingerprintCache.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        if (fingerprintCache.size() < maxFingerprints * 4) {
+            fingerprintCache.putIfAbsent(sql, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private Entry entryFor(String fingerprint) {
+        Entry entry = entries.get(fingerprint);
+        if (entry != null) {
+            return entry;
+        }
+        if (entries.size() >= maxFingerprints) {
+            return entries.computeIfAbsent(OTHER_FINGERPRINT, Entry::new);
+        }
+        return entries.computeIfAbsent(fingerprint, Entry::new);
+    }
+
+    public record Snapshot(
+            String fingerprint,
+            long calls,
+            double totalMs,
+            double meanMs,
+            double maxMs,
+            long rows,
+            Map<String, Long> histogram
+    ) {
+    }
+
+    private static final class Entry {
+        private final String fingerprint;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+        private final AtomicLong lastSlowSampleNanos = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder suppressedSlow = new LongAdder();
+
+        Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedNanos, long affectedRows) {
+            calls.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            if (affectedRows > 0) {
+                rows.add(affectedRows);
+            }
+            buckets[bucketIndex(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))].increment();
+        }
+
+        /**
+         * @return the number of slow executions suppressed since the last sample when this one should be logged,
+         * or -1 when it falls inside the current sample interval
+         */
+        long trySampleSlow(long now, long intervalNanos) {
+            long last = lastSlowSampleNanos.get();
+            if (last != Long.MIN_VALUE && now - last < intervalNanos) {
+                suppressedSlow.increment();
+                return -1;
+            }
+            if (!lastSlowSampleNanos.compareAndSet(last, now)) {
+                suppressedSlow.increment();
+                return -1;
+            }
+            return suppressedSlow.sumThenReset();
+        }
+
+        long totalNanos() {
+            return totalNanos.sum();
+        }
+
+        Snapshot snapshot() {
+            long callCount = calls.sum();
+            long total = totalNanos.sum();
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                String label = i < BUCKET_BOUNDS_MS.length ? "le_" + BUCKET_BOUNDS_MS[i] + "ms" : "inf";
+                histogram.put(label, buckets[i].sum());
+            }
+            return new Snapshot(
+                    fingerprint,
+                    callCount,
+                    toMillis(total),
+                    callCount == 0 ? 0 : toMillis(total) / callCount,
+                    toMillis(maxNanos.get()),
+                    rows.sum(),
+                    histogram);
+        }
+
+        private static int bucketIndex(long elapsedMs) {
+            for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+                if (elapsedMs <= BUCKET_BOUNDS_MS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_BOUNDS_MS.length;
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
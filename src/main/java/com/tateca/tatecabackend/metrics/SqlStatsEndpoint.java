@@ -0,0 +1,35 @@
+package com.tateca.tatecabackend.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/sqlstats}: top statement fingerprints by total execution time.
+ *
+ * <p>{@code GET /actuator/sqlstats?limit=N} returns the top N (default 20);
+ * {@code DELETE /actuator/sqlstats} resets the counters.
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@RequiredArgsConstructor
+public class SqlStatsEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SqlStatementStats sqlStatementStats;
+
+    @ReadOperation
+    public List<SqlStatementStats.Snapshot> top(@Nullable Integer limit) {
+        return sqlStatementStats.top(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatementStats.reset();
+    }
+}
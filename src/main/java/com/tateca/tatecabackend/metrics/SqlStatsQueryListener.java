@@ -0,0 +1,80 @@
+package com.tateca.tatecabackend.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * datasource-proxy listener that feeds {@link SqlStatementStats}.
+ *
+ * <p>Rows are taken from update counts; SELECT result sets are not consumed here, so their rows are not counted.
+ * A statement batch of different SQL strings splits its elapsed time evenly and records no rows.
+ *
+ * <p>Elapsed time is measured with {@code System.nanoTime()} around the execution, since datasource-proxy
+ * only reports whole milliseconds and most statements here finish in less than one.
+ */
+public class SqlStatsQueryListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatsQueryListener.class.getName() + ".startNanos";
+
+    private final SqlStatementStats stats;
+    private final LongSupplier nanoClock;
+
+    public SqlStatsQueryListener(SqlStatementStats stats) {
+        this(stats, System::nanoTime);
+    }
+
+    SqlStatsQueryListener(SqlStatementStats stats, LongSupplier nanoClock) {
+        this.stats = stats;
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, nanoClock.getAsLong());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return;
+        }
+        Long startNanos = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (startNanos == null) {
+            return;
+        }
+        long elapsedNanos = nanoClock.getAsLong() - startNanos;
+        if (queryInfoList.size() == 1) {
+            stats.record(queryInfoList.get(0).getQuery(), elapsedNanos, affectedRows(execInfo.getResult()));
+            return;
+        }
+
+        // Statement batch of different SQL strings: the driver reports one timing for all of them
+        long perQueryNanos = elapsedNanos / queryInfoList.size();
+        for (QueryInfo queryInfo : queryInfoList) {
+            stats.record(queryInfo.getQuery(), perQueryNanos, -1);
+        }
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return count;
+        }
+        if (result instanceof Long count) {
+            return count;
+        }
+        if (result instanceof int[] counts) {
+            long sum = 0;
+            for (int count : counts) {
+                if (count > 0) {
+                    sum += count;
+                }
+            }
+            return sum;
+        }
+        return -1;
+    }
+}
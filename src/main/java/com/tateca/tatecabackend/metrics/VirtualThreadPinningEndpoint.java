@@ -0,0 +1,37 @@
+package com.tateca.tatecabackend.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/vtpinning}: frames that pinned virtual threads, ordered by total pinned time.
+ *
+ * <p>{@code GET /actuator/vtpinning?limit=N} returns the top N (default 20);
+ * {@code DELETE /actuator/vtpinning} resets the aggregation.
+ */
+@Component
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true")
+@Endpoint(id = "vtpinning")
+@RequiredArgsConstructor
+public class VirtualThreadPinningEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    @ReadOperation
+    public List<VirtualThreadPinningMonitor.FrameSnapshot> top(@Nullable Integer limit) {
+        return monitor.top(limit != null ? limit : DEFAULT_LIMIT);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        monitor.reset();
+    }
+}
@@ -0,0 +1,188 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streams virtual-thread JFR events in-process and aggregates them by offending frame.
+ *
+ * <p>Consumed events:
+ * <ul>
+ *   <li>{@code jdk.VirtualThreadPinned} - a virtual thread parked while pinned to its carrier
+ *       (inside {@code synchronized} on JDK 21-23, or under a native frame), for longer than the threshold</li>
+ *   <li>{@code jdk.VirtualThreadSubmitFailed} - the scheduler could not accept a virtual thread (carrier saturation)</li>
+ * </ul>
+ *
+ * <p>Published metrics: {@code jvm.threads.virtual.pinned} (timer) and
+ * {@code jvm.threads.virtual.submit.failed} (counter). The offending frames are not used as tags to keep
+ * cardinality bounded; they are served by {@link VirtualThreadPinningEndpoint}.
+ *
+ * <p>The offending frame is the first frame outside the JDK ({@code java.*}, {@code jdk.*}, {@code sun.*}),
+ * i.e. the application or library code that held the monitor. Frames beyond {@code maxFrames} are grouped
+ * under {@link #OTHER_FRAME}.
+ */
+@Component
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String OTHER_FRAME = "<other>";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String SUBMIT_FAILED_EVENT = "jdk.VirtualThreadSubmitFailed";
+    private static final int STACK_DEPTH = 16;
+
+    private final Duration threshold;
+    private final int maxFrames;
+    private final Timer pinnedTimer;
+    private final Counter submitFailedCounter;
+
+    private final ConcurrentHashMap<String, FrameStats> frames = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            @Value("${virtual-threads.pinning-monitor.max-frames:200}") int maxFrames) {
+        this.threshold = threshold;
+        this.maxFrames = maxFrames;
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual thread parks while pinned to the carrier thread")
+                .register(meterRegistry);
+        this.submitFailedCounter = Counter.builder("jvm.threads.virtual.submit.failed")
+                .description("Virtual threads the scheduler failed to start or unpark")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        try {
+            RecordingStream recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.enable(SUBMIT_FAILED_EVENT).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.onEvent(SUBMIT_FAILED_EVENT, event -> submitFailedCounter.increment());
+            recordingStream.startAsync();
+            stream = recordingStream;
+            logger.info("Virtual thread pinning monitor started: threshold={}", threshold);
+        } catch (RuntimeException e) {
+            // JFR can be unavailable (e.g. -XX:-FlightRecorder); the application must still start
+            logger.warn("Virtual thread pinning monitor not started: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recordingStream = stream;
+        stream = null;
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * Top {@code limit} offending frames ordered by total pinned time.
+     */
+    public List<FrameSnapshot> top(int limit) {
+        return frames.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(FrameSnapshot::totalMs).reversed())
+                .limit(Math.max(0, limit))
+                .toList();
+    }
+
+    public void reset() {
+        frames.clear();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> stack = describe(event.getStackTrace());
+        record(stack, event.getDuration().toNanos());
+    }
+
+    /**
+     * Aggregate one pinned park. {@code stack} is top-first, formatted as {@code class.method:line}.
+     */
+    void record(List<String> stack, long durationNanos) {
+        pinnedTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+
+        String frame = offendingFrame(stack);
+        FrameStats stats = frames.get(frame);
+        if (stats == null) {
+            String key = frames.size() >= maxFrames ? OTHER_FRAME : frame;
+            stats = frames.computeIfAbsent(key, k -> new FrameStats(String.join("\n", stack)));
+        }
+        stats.record(durationNanos);
+    }
+
+    static String offendingFrame(List<String> stack) {
+        for (String frame : stack) {
+            if (!frame.startsWith("java.") && !frame.startsWith("jdk.") && !frame.startsWith("sun.")) {
+                return frame;
+            }
+        }
+        return stack.isEmpty() ? "<unknown>" : stack.get(0);
+    }
+
+    private static List<String> describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        return stackTrace.getFrames().stream()
+                .limit(STACK_DEPTH)
+                .map(VirtualThreadPinningMonitor::describe)
+                .toList();
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    public record FrameSnapshot(String frame, long count, double totalMs, double maxMs, String sampleStack) {
+    }
+
+    private static final class FrameStats {
+        private final String sampleStack;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        FrameStats(String sampleStack) {
+            this.sampleStack = sampleStack;
+        }
+
+        void record(long durationNanos) {
+            count.increment();
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+        }
+
+        FrameSnapshot snapshot(String frame) {
+            return new FrameSnapshot(frame, count.sum(), totalNanos.sum() / 1_000_000.0,
+                    maxNanos.get() / 1_000_000.0, sampleStack);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.tateca.tatecabackend.model;
+
+public enum IngestionJobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
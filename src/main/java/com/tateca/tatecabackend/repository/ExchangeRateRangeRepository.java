@@ -0,0 +1,90 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.cache.CacheRegions;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExchangeRateRangeRepository extends JpaRepository<ExchangeRateRangeEntity, ExchangeRateRangeId> {
+
+    /**
+     * Find the range of a currency that covers a date.
+     * Ranges do not overlap, so the latest range starting on or before the date is the only candidate:
+     * one backward scan of the primary key (currency_code, effective_from).
+     *
+     * @param currencyCode Currency code to fetch
+     * @param date Target date
+     * @return Optional containing the covering range, or empty if the date precedes the currency's first range
+     */
+    @Query("""
+            SELECT r FROM ExchangeRateRangeEntity r
+            JOIN FETCH r.currency
+            WHERE r.currencyCode = :currencyCode
+            AND r.effectiveFrom <= :date AND r.effectiveTo >= :date
+            ORDER BY r.effectiveFrom DESC
+            LIMIT 1
+            """)
+    Optional<ExchangeRateRangeEntity> findEffectiveOn(
+            @Param("currencyCode") String currencyCode,
+            @Param("date") LocalDate date);
+
+    /**
+     * Find the ranges of all active currencies that cover a date.
+     * Uses idx_exchange_rate_ranges_effective_to: for recent dates only the few ranges ending on or
+     * after the date are read.
+     * Uses JOIN FETCH to eagerly load currency.
+     * Results are kept in the query cache (region {@code exchange-rate-queries}) until
+     * exchange_rate_ranges is written again.
+     *
+     * @param date Target date
+     * @return One range per active currency that has a rate on the date
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.EXCHANGE_RATE_QUERIES)
+    })
+    @Query("""
+            SELECT r FROM ExchangeRateRangeEntity r
+            JOIN FETCH r.currency c
+            WHERE r.effectiveTo >= :date AND r.effectiveFrom <= :date
+            AND c.isActive = TRUE
+            """)
+    List<ExchangeRateRangeEntity> findAllActiveEffectiveOn(@Param("date") LocalDate date);
+
+    /**
+     * Find the most recent range of a currency.
+     * This is the fallback for dates before the currency's first range.
+     *
+     * @param currencyCode Currency code to fetch
+     * @return Optional containing the latest range, or empty if the currency has no rates
+     */
+    @Query("""
+            SELECT r FROM ExchangeRateRangeEntity r
+            JOIN FETCH r.currency
+            WHERE r.currencyCode = :currencyCode
+            ORDER BY r.effectiveFrom DESC
+            LIMIT 1
+            """)
+    Optional<ExchangeRateRangeEntity> findLatestByCurrencyCode(@Param("currencyCode") String currencyCode);
+
+    /**
+     * Find the ranges of the given currencies that end on a date; with {@code OPEN_END} these are
+     * the currently effective ranges.
+     *
+     * @param currencyCodes Currency codes to fetch
+     * @param effectiveTo End date of the ranges
+     * @return Matching ranges, at most one per currency
+     */
+    List<ExchangeRateRangeEntity> findByCurrencyCodeInAndEffectiveTo(List<String> currencyCodes, LocalDate effectiveTo);
+}
@@ -2,9 +2,13 @@ package com.tateca.tatecabackend.repository;
 
 import com.tateca.tatecabackend.entity.TransactionObligationEntity;
 import com.tateca.tatecabackend.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,17 +18,22 @@ import java.util.UUID;
 public interface ObligationRepository extends JpaRepository<TransactionObligationEntity, UUID> {
 
     boolean existsByUser(UserEntity user);
+
+    // Obligation users are mapped to UserResponseDTO (transaction detail)
+    @EntityGraph(attributePaths = {"user", "user.authUser"})
     @Query("SELECT o FROM TransactionObligationEntity o WHERE o.transaction.uuid = :loanId")
     List<TransactionObligationEntity> findByTransactionId(UUID loanId);
 
+    // No DISTINCT: only to-one associations are fetched, so rows cannot repeat (DISTINCT costs a temporary table)
+    // Read-only: settlement only reads the result, so no entity keeps a dirty-check snapshot
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @Query("""
-            SELECT DISTINCT o
+            SELECT o
             FROM TransactionObligationEntity o
             JOIN FETCH o.transaction t
             JOIN FETCH o.user
             JOIN FETCH t.payer
-            JOIN FETCH t.exchangeRate er
-            JOIN FETCH er.currency
+            JOIN FETCH t.exchangeRate
             WHERE t.group.uuid = :groupId
             """)
     List<TransactionObligationEntity> findByGroupId(UUID groupId);
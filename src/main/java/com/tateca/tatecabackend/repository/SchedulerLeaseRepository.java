@@ -0,0 +1,76 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.entity.SchedulerLeaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Lease rows for scheduled jobs. Every state change is a single conditional UPDATE,
+ * so concurrent instances never both hold a lease.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLeaseEntity, String> {
+
+    /**
+     * Acquire the lease if nobody changed it since it was read and it is not held (or has expired).
+     *
+     * @return 1 if acquired, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLeaseEntity l
+            SET l.owner = :owner, l.lockedUntil = :lockedUntil
+            WHERE l.name = :name
+            AND l.generation = :generation
+            AND (l.lockedUntil IS NULL OR l.lockedUntil < :now)
+            """)
+    int tryAcquire(
+            @Param("name") String name,
+            @Param("generation") long generation,
+            @Param("owner") String owner,
+            @Param("now") Instant now,
+            @Param("lockedUntil") Instant lockedUntil);
+
+    /**
+     * Release the lease after a successful run.
+     *
+     * @return 0 if the lease was lost (expired and taken over) before the run finished
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLeaseEntity l
+            SET l.owner = NULL, l.lockedUntil = NULL, l.generation = l.generation + 1,
+                l.lastSuccessAt = :finishedAt, l.failureCount = 0, l.nextAttemptAt = NULL
+            WHERE l.name = :name AND l.owner = :owner
+            """)
+    int releaseAfterSuccess(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("finishedAt") Instant finishedAt);
+
+    /**
+     * Release the lease after a failed run; no instance retries before {@code nextAttemptAt}.
+     *
+     * @return 0 if the lease was lost (expired and taken over) before the run finished
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE SchedulerLeaseEntity l
+            SET l.owner = NULL, l.lockedUntil = NULL, l.generation = l.generation + 1,
+                l.failureCount = l.failureCount + 1, l.nextAttemptAt = :nextAttemptAt
+            WHERE l.name = :name AND l.owner = :owner
+            """)
+    int releaseAfterFailure(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("nextAttemptAt") Instant nextAttemptAt);
+}
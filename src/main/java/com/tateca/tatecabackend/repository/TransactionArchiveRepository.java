@@ -0,0 +1,334 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
+import com.tateca.tatecabackend.entity.TransactionObligationEntity;
+import com.tateca.tatecabackend.entity.UserEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Transactions of inactive groups, moved out of {@code transaction_history}/{@code transaction_obligations}
+ * into {@code transaction_history_archive}/{@code transaction_obligations_archive} (compressed, see V6).
+ *
+ * <p>Rows move under a lock on the group's {@code groups} row: the archival job takes it for each batch and
+ * re-checks that the group is still inactive, a write to a group with archived rows takes it to move the
+ * group back first ({@link #restoreGroup}). The job moves the oldest transactions first, so the archived
+ * transactions of a group are always older than its hot ones.
+ *
+ * <p>Archived rows are read back as the same entities, read-only. Members and exchange rates are loaded
+ * first, so the lazy associations of the archived rows resolve from the persistence context.
+ */
+@Repository
+public class TransactionArchiveRepository {
+
+    // Native DML only invalidates these tables' cached queries instead of the whole second-level cache
+    private static final String[] QUERY_SPACES = {
+            "transaction_history", "transaction_obligations",
+            "transaction_history_archive", "transaction_obligations_archive"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Lease row of TransactionArchiveScheduler; its resume_after column holds the scan position between runs
+    private static final String ARCHIVAL_JOB = "transaction-archival";
+    // The all-zero uuid sorts before every stored key in BINARY(16) order, so a scan from here starts at the first
+    private static final UUID SCAN_START = new UUID(0, 0);
+
+    /**
+     * One page of groups after {@code after} in primary key order, with those whose transactions were all
+     * updated before the cutoff. Each group costs two probes on (group_uuid, updated_at) instead of aggregating
+     * the whole history; archiveOldestTransactions re-checks under the group lock.
+     *
+     * @param after the last group of the previous page, or {@code null} to start at the first group
+     */
+    public GroupScan findInactiveGroups(UUID after, Instant cutoff, int limit) {
+        List<?> rows = entityManager.createNativeQuery("""
+                SELECT g.uuid,
+                    EXISTS (SELECT 1 FROM transaction_history h WHERE h.group_uuid = g.uuid)
+                    AND NOT EXISTS (SELECT 1 FROM transaction_history h
+                                    WHERE h.group_uuid = g.uuid AND h.updated_at >= :cutoff)
+                FROM `groups` g
+                WHERE g.uuid > :after
+                ORDER BY g.uuid
+                LIMIT :limit
+                """)
+                .setParameter("after", bytes(after != null ? after : SCAN_START))
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+
+        List<UUID> inactiveGroupIds = new ArrayList<>();
+        UUID lastGroupId = null;
+        for (Object row : rows) {
+            Object[] columns = (Object[]) row;
+            lastGroupId = uuid((byte[]) columns[0]);
+            if (((Number) columns[1]).intValue() == 1) {
+                inactiveGroupIds.add(lastGroupId);
+            }
+        }
+        return new GroupScan(inactiveGroupIds, rows.size(), lastGroupId);
+    }
+
+    public Optional<UUID> findScanPosition() {
+        List<?> positions = entityManager.createNativeQuery(
+                        "SELECT resume_after FROM scheduler_leases WHERE name = :name AND resume_after IS NOT NULL")
+                .setParameter("name", ARCHIVAL_JOB)
+                .getResultList();
+        return positions.stream().findFirst().map(position -> uuid((byte[]) position));
+    }
+
+    // null starts the next scan at the first group again
+    public int saveScanPosition(UUID after) {
+        NativeQuery<?> query = entityManager.createNativeQuery(after != null
+                        ? "UPDATE scheduler_leases SET resume_after = :after WHERE name = :name"
+                        : "UPDATE scheduler_leases SET resume_after = NULL WHERE name = :name")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("scheduler_leases")
+                .setParameter("name", ARCHIVAL_JOB);
+        if (after != null) {
+            query.setParameter("after", bytes(after));
+        }
+        return query.executeUpdate();
+    }
+
+    /**
+     * Move up to {@code limit} of the group's oldest transactions, with their obligations, to the archive tables.
+     * The group stays locked until the caller's transaction ends, so keep {@code limit} small.
+     *
+     * @return the number of transactions moved; 0 once the group is empty or had activity since {@code cutoff}
+     */
+    public int archiveOldestTransactions(UUID groupId, Instant cutoff, int limit) {
+        byte[] group = bytes(groupId);
+        if (!lockGroup(group)) {
+            return 0;
+        }
+        boolean active = !entityManager.createNativeQuery("""
+                SELECT 1 FROM transaction_history
+                WHERE group_uuid = :groupId AND updated_at >= :cutoff
+                LIMIT 1
+                FOR SHARE
+                """)
+                .setParameter("groupId", group)
+                .setParameter("cutoff", cutoff)
+                .getResultList().isEmpty();
+        if (active) {
+            return 0;
+        }
+
+        List<?> transactionIds = entityManager.createNativeQuery("""
+                SELECT uuid FROM transaction_history
+                WHERE group_uuid = :groupId
+                ORDER BY created_at, uuid
+                LIMIT :limit
+                FOR UPDATE
+                """)
+                .setParameter("groupId", group)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (transactionIds.isEmpty()) {
+            return 0;
+        }
+
+        execute("""
+                INSERT INTO transaction_history_archive (uuid, transaction_type, group_uuid, title, amount,
+                    currency_code, exchange_rate_date, transaction_date, payer_id, created_at, updated_at)
+                SELECT uuid, transaction_type, group_uuid, title, amount,
+                    currency_code, exchange_rate_date, transaction_date, payer_id, created_at, updated_at
+                FROM transaction_history
+                WHERE uuid IN (:ids)
+                """, "ids", transactionIds);
+        execute("""
+                INSERT INTO transaction_obligations_archive (uuid, transaction_uuid, user_uuid, amount,
+                    created_at, updated_at)
+                SELECT uuid, transaction_uuid, user_uuid, amount, created_at, updated_at
+                FROM transaction_obligations
+                WHERE transaction_uuid IN (:ids)
+                """, "ids", transactionIds);
+        execute("DELETE FROM transaction_obligations WHERE transaction_uuid IN (:ids)", "ids", transactionIds);
+        execute("DELETE FROM transaction_history WHERE uuid IN (:ids)", "ids", transactionIds);
+        return transactionIds.size();
+    }
+
+    /**
+     * Move all archived transactions of the group back to the hot tables. Called before every write to a group;
+     * for a group that is not archived (almost always) this is one non-locking index probe, so writes to a
+     * group are not serialized on its row. A batch the archiver commits after the probe only leaves the group
+     * partly archived (new writes count as activity, so its re-check stops there); a write to a row that batch
+     * moved fails as stale and can be retried.
+     *
+     * @return the number of transactions moved back
+     */
+    public int restoreGroup(UUID groupId) {
+        if (!existsByGroup(groupId)) {
+            return 0;
+        }
+        byte[] group = bytes(groupId);
+        if (!lockGroup(group)) {
+            return 0;
+        }
+        int restored = execute("""
+                INSERT INTO transaction_history (uuid, transaction_type, group_uuid, title, amount,
+                    currency_code, exchange_rate_date, transaction_date, payer_id, created_at, updated_at)
+                SELECT uuid, transaction_type, group_uuid, title, amount,
+                    currency_code, exchange_rate_date, transaction_date, payer_id, created_at, updated_at
+                FROM transaction_history_archive
+                WHERE group_uuid = :groupId
+                """, "groupId", group);
+        if (restored == 0) {
+            return 0;
+        }
+
+        execute("""
+                INSERT INTO transaction_obligations (uuid, transaction_uuid, user_uuid, amount, created_at, updated_at)
+                SELECT o.uuid, o.transaction_uuid, o.user_uuid, o.amount, o.created_at, o.updated_at
+                FROM transaction_obligations_archive o
+                JOIN transaction_history_archive t ON t.uuid = o.transaction_uuid
+                WHERE t.group_uuid = :groupId
+                """, "groupId", group);
+        execute("""
+                DELETE o FROM transaction_obligations_archive o
+                JOIN transaction_history_archive t ON t.uuid = o.transaction_uuid
+                WHERE t.group_uuid = :groupId
+                """, "groupId", group);
+        execute("DELETE FROM transaction_history_archive WHERE group_uuid = :groupId", "groupId", group);
+        return restored;
+    }
+
+    public boolean existsByGroup(UUID groupId) {
+        return !entityManager.createNativeQuery(
+                        "SELECT 1 FROM transaction_history_archive WHERE group_uuid = :groupId LIMIT 1")
+                .setParameter("groupId", bytes(groupId))
+                .getResultList().isEmpty();
+    }
+
+    public long countByGroup(UUID groupId) {
+        return ((Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM transaction_history_archive WHERE group_uuid = :groupId")
+                .setParameter("groupId", bytes(groupId))
+                .getSingleResult()).longValue();
+    }
+
+    public Optional<UUID> findGroupIdByTransactionId(UUID transactionId) {
+        List<?> groupIds = entityManager.createNativeQuery(
+                        "SELECT group_uuid FROM transaction_history_archive WHERE uuid = :transactionId")
+                .setParameter("transactionId", bytes(transactionId))
+                .getResultList();
+        return groupIds.stream().findFirst().map(groupId -> uuid((byte[]) groupId));
+    }
+
+    // Same order as TransactionRepository.findTransactionsByGroupWithLimit; all older than the group's hot rows
+    public List<TransactionHistoryEntity> findTransactionsByGroupWithLimit(UUID groupId, int limit) {
+        loadMembersAndExchangeRates(groupId);
+        return readOnly(entityManager.createNativeQuery("""
+                SELECT * FROM transaction_history_archive
+                WHERE group_uuid = :groupId
+                ORDER BY created_at DESC
+                LIMIT :limit
+                """, TransactionHistoryEntity.class)
+                .setParameter("groupId", bytes(groupId))
+                .setParameter("limit", limit));
+    }
+
+    public List<TransactionObligationEntity> findObligationsByGroupId(UUID groupId) {
+        loadMembersAndExchangeRates(groupId);
+        readOnly(entityManager.createNativeQuery(
+                        "SELECT * FROM transaction_history_archive WHERE group_uuid = :groupId",
+                        TransactionHistoryEntity.class)
+                .setParameter("groupId", bytes(groupId)));
+        return readOnly(entityManager.createNativeQuery("""
+                SELECT o.* FROM transaction_obligations_archive o
+                JOIN transaction_history_archive t ON t.uuid = o.transaction_uuid
+                WHERE t.group_uuid = :groupId
+                """, TransactionObligationEntity.class)
+                .setParameter("groupId", bytes(groupId)));
+    }
+
+    public Optional<TransactionHistoryEntity> findDetailByUuid(UUID transactionId) {
+        Optional<UUID> groupId = findGroupIdByTransactionId(transactionId);
+        if (groupId.isEmpty()) {
+            return Optional.empty();
+        }
+        loadMembersAndExchangeRates(groupId.get());
+        List<TransactionHistoryEntity> transactions = readOnly(entityManager.createNativeQuery(
+                        "SELECT * FROM transaction_history_archive WHERE uuid = :transactionId",
+                        TransactionHistoryEntity.class)
+                .setParameter("transactionId", bytes(transactionId)));
+        return transactions.stream().findFirst();
+    }
+
+    // After findDetailByUuid, whose members are already loaded
+    public List<TransactionObligationEntity> findByTransactionId(UUID transactionId) {
+        return readOnly(entityManager.createNativeQuery(
+                        "SELECT * FROM transaction_obligations_archive WHERE transaction_uuid = :transactionId",
+                        TransactionObligationEntity.class)
+                .setParameter("transactionId", bytes(transactionId)));
+    }
+
+    // Payers and obligation users are members of the group (members with transactions cannot be removed)
+    private void loadMembersAndExchangeRates(UUID groupId) {
+        readOnly(entityManager.createQuery("""
+                SELECT u FROM UserEntity u
+                LEFT JOIN FETCH u.authUser
+                WHERE u.uuid IN (SELECT ug.userUuid FROM UserGroupEntity ug WHERE ug.groupUuid = :groupId)
+                """, UserEntity.class)
+                .setParameter("groupId", groupId));
+        readOnly(entityManager.createNativeQuery("""
+                SELECT r.* FROM exchange_rates r
+                WHERE (r.currency_code, r.date) IN (
+                    SELECT DISTINCT currency_code, exchange_rate_date FROM transaction_history_archive
+                    WHERE group_uuid = :groupId)
+                """, ExchangeRateEntity.class)
+                .setParameter("groupId", bytes(groupId)));
+    }
+
+    private boolean lockGroup(byte[] groupId) {
+        return !entityManager.createNativeQuery("SELECT uuid FROM `groups` WHERE uuid = :groupId FOR UPDATE")
+                .setParameter("groupId", groupId)
+                .getResultList().isEmpty();
+    }
+
+    private int execute(String sql, String parameter, Object value) {
+        NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        for (String querySpace : QUERY_SPACES) {
+            query.addSynchronizedQuerySpace(querySpace);
+        }
+        return query.setParameter(parameter, value).executeUpdate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> readOnly(Query query) {
+        return query.setHint(HibernateHints.HINT_READ_ONLY, true).getResultList();
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * @param inactiveGroupIds the scanned groups without activity since the cutoff
+     * @param scanned          the number of groups scanned; less than the limit once the last group was reached
+     * @param lastGroupId      where the next page starts after, {@code null} if nothing was scanned
+     */
+    public record GroupScan(List<UUID> inactiveGroupIds, int scanned, UUID lastGroupId) {
+    }
+}
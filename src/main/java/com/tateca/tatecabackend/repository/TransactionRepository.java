@@ -2,9 +2,11 @@ package com.tateca.tatecabackend.repository;
 
 import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
 import com.tateca.tatecabackend.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -12,4 +14,8 @@ public interface TransactionRepository extends JpaRepository<TransactionHistoryE
     Long countByGroup_Uuid(UUID groupUuid);
 
     boolean existsByPayer(UserEntity payer);
+
+    // Transaction detail maps the payer to UserResponseDTO
+    @EntityGraph(attributePaths = {"payer", "payer.authUser", "exchangeRate"})
+    Optional<TransactionHistoryEntity> findDetailByUuid(UUID uuid);
 }
@@ -3,6 +3,7 @@ package com.tateca.tatecabackend.repository;
 import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,18 +15,19 @@ public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
     @PersistenceContext
     private EntityManager entityManager;
 
+    // Read-only: history only maps the result to DTOs, so no entity keeps a dirty-check snapshot
     @Override
     public List<TransactionHistoryEntity> findTransactionsByGroupWithLimit(UUID groupId, int limit) {
         return entityManager.createQuery("""
                 SELECT t FROM TransactionHistoryEntity t
                 JOIN FETCH t.payer p
-                JOIN FETCH t.exchangeRate er
-                JOIN FETCH er.currency
+                JOIN FETCH t.exchangeRate
                 WHERE t.group.uuid = :groupId
                 ORDER BY t.createdAt DESC
                 """, TransactionHistoryEntity.class)
                 .setParameter("groupId", groupId)
                 .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
                 .getResultList();
     }
 }
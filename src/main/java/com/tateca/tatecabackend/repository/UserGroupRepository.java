@@ -23,7 +23,11 @@ public interface UserGroupRepository extends JpaRepository<UserGroupEntity, User
     List<UserGroupEntity> findByGroupUuidWithUserDetails(@Param("groupUuid") UUID groupUuid);
 
     @EntityGraph(attributePaths = {"group"})
-    @Query("SELECT DISTINCT uge FROM UserGroupEntity uge WHERE uge.userUuid IN :userUuidList")
+    @Query("SELECT uge FROM UserGroupEntity uge WHERE uge.userUuid IN :userUuidList")
     List<UserGroupEntity> findByUserUuidListWithGroup(@Param("userUuidList") List<UUID> userUuidList);
 
+    // Group IDs only (no entity hydration) for the membership cache
+    @Query("SELECT uge.groupUuid FROM UserGroupEntity uge WHERE uge.user.authUser.uid = :uid")
+    List<UUID> findGroupUuidsByAuthUserUid(@Param("uid") String uid);
+
 }
\ No newline at end of file
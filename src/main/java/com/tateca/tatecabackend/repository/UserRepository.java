@@ -1,16 +1,26 @@
 package com.tateca.tatecabackend.repository;
 
 import com.tateca.tatecabackend.entity.UserEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, UUID> {
     @Query("SELECT u FROM UserEntity u WHERE u.authUser.uid = :uid")
     List<UserEntity> findByAuthUserUid(@Param("uid") String uid);
+
+    @EntityGraph(UserEntity.WITH_AUTH_USER)
+    Optional<UserEntity> findWithAuthUserByUuid(UUID uuid);
+
+    // One query for all users of a request, instead of findById per obligation
+    @EntityGraph(UserEntity.WITH_AUTH_USER)
+    List<UserEntity> findAllWithAuthUserByUuidIn(Collection<UUID> uuids);
 }
@@ -0,0 +1,117 @@
+package com.tateca.tatecabackend.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive concurrency limit for request handling (AIMD driven by a latency gradient).
+ *
+ * <p>Every completed request updates a short-term and a long-term latency average (EWMA). The system is
+ * considered congested when the short-term latency exceeds {@code tolerance} times the long-term one, or when
+ * threads are waiting for a pooled DB connection. Then the limit shrinks multiplicatively (at most once per
+ * {@link #DECREASE_INTERVAL_NANOS}); otherwise, while the limit is actually in use, it grows by one per
+ * limit's worth of completions.
+ *
+ * <p>Admission is lock-free; only the limit update after completion takes a short lock.
+ */
+public class AdaptiveConcurrencyLimiter {
+    static final long DECREASE_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 0.01;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final double lowPriorityShare;
+    private final IntSupplier pendingConnections;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private volatile double limit;
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+    private long lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double backoffRatio, double lowPriorityShare,
+                                      IntSupplier pendingConnections, LongSupplier nanoClock) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.lowPriorityShare = lowPriorityShare;
+        this.pendingConnections = pendingConnections;
+        this.nanoClock = nanoClock;
+        this.lastDecreaseNanos = nanoClock.getAsLong() - DECREASE_INTERVAL_NANOS;
+    }
+
+    /**
+     * Try to admit a request. Every successful call must be paired with {@link #release(long)}.
+     *
+     * @return false if the request should be shed
+     */
+    public boolean tryAcquire(RoutePriority priority) {
+        if (priority == RoutePriority.CRITICAL) {
+            inflight.incrementAndGet();
+            return true;
+        }
+
+        int allowed = (int) (priority == RoutePriority.LOW ? limit * lowPriorityShare : limit);
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release an admitted request and feed its latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+
+        updateLock.lock();
+        try {
+            if (longLatencyNanos == 0) {
+                shortLatencyNanos = latencyNanos;
+                longLatencyNanos = latencyNanos;
+                return;
+            }
+            shortLatencyNanos += SHORT_SMOOTHING * (latencyNanos - shortLatencyNanos);
+            longLatencyNanos += LONG_SMOOTHING * (latencyNanos - longLatencyNanos);
+
+            boolean congested = shortLatencyNanos > tolerance * longLatencyNanos
+                    || pendingConnections.getAsInt() > 0;
+            if (congested) {
+                long now = nanoClock.getAsLong();
+                if (now - lastDecreaseNanos >= DECREASE_INTERVAL_NANOS) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (inflightAtCompletion >= limit / 2) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
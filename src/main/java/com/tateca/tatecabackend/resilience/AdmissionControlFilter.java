@@ -0,0 +1,119 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sheds requests above the {@link AdaptiveConcurrencyLimiter} limit with 503 and {@code Retry-After},
+ * before authentication and before any DB connection is requested.
+ *
+ * <p>Routes are classified by Ant patterns: critical routes (internal jobs, actuator) are never shed,
+ * low-priority routes are shed first, everything else is normal.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<String> criticalPaths;
+    private final List<String> lowPriorityPaths;
+    private final int retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+    private final Map<RoutePriority, Counter> rejected = new EnumMap<>(RoutePriority.class);
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter limiter, List<String> criticalPaths,
+                                  List<String> lowPriorityPaths, int retryAfterSeconds,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.criticalPaths = criticalPaths;
+        this.lowPriorityPaths = lowPriorityPaths;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+        for (RoutePriority priority : RoutePriority.values()) {
+            rejected.put(priority, Counter.builder("http.server.requests.shed")
+                    .description("Requests rejected by admission control")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RoutePriority priority = priorityOf(request.getRequestURI());
+
+        if (!limiter.tryAcquire(priority)) {
+            rejected.get(priority).increment();
+            logger.warn("Request shed by admission control: {} {} (priority={}, limit={}, inflight={})",
+                    request.getMethod(), request.getRequestURI(), priority, limiter.getLimit(), limiter.getInflight());
+            writeOverloadedResponse(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    RoutePriority priorityOf(String path) {
+        if (matchesAny(criticalPaths, path)) {
+            return RoutePriority.CRITICAL;
+        }
+        if (matchesAny(lowPriorityPaths, path)) {
+            return RoutePriority.LOW;
+        }
+        return RoutePriority.NORMAL;
+    }
+
+    private static boolean matchesAny(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeOverloadedResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(Instant.now().toString())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(ErrorCode.SERVICE_OVERLOADED.getDefaultMessage())
+                .path(request.getRequestURI())
+                .errorCode(ErrorCode.SERVICE_OVERLOADED.getCode())
+                .build();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+        response.getWriter().flush();
+    }
+}
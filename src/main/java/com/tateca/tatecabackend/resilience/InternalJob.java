@@ -0,0 +1,24 @@
+package com.tateca.tatecabackend.resilience;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an internal job (e.g. exchange-rate ingestion) that must not compete with user traffic.
+ *
+ * <p>The call runs inside the resilience4j bulkhead named {@link #value()} and, including any transaction
+ * it opens, on the internal connection pool. See {@link InternalJobAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface InternalJob {
+
+    /**
+     * Bulkhead instance name ({@code resilience4j.bulkhead.instances.<name>.*}).
+     */
+    String value();
+}
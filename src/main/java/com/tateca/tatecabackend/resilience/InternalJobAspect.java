@@ -0,0 +1,69 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs {@link InternalJob} methods inside their bulkhead and as {@link Workload#INTERNAL}.
+ *
+ * <p>Ordered before {@code @Transactional}, so the transaction of the job already obtains its connection
+ * from the internal pool. A call rejected by a full bulkhead fails with
+ * {@link ErrorCode#INTERNAL_JOB_BUSY} (409) without touching the database.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InternalJobAspect {
+    private static final Logger logger = LoggerFactory.getLogger(InternalJobAspect.class);
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public InternalJobAspect(BulkheadRegistry bulkheadRegistry) {
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Around("@annotation(com.tateca.tatecabackend.resilience.InternalJob)")
+    public Object runInternalJob(ProceedingJoinPoint joinPoint) throws Throwable {
+        InternalJob internalJob = ((MethodSignature) joinPoint.getSignature()).getMethod()
+                .getAnnotation(InternalJob.class);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(internalJob.value());
+        try {
+            return bulkhead.executeCheckedSupplier(
+                    () -> Workload.callAs(Workload.INTERNAL, () -> proceed(joinPoint)));
+        } catch (BulkheadFullException e) {
+            logger.warn("Internal job rejected, bulkhead full: bulkhead={}", internalJob.value());
+            throw new BusinessRuleViolationException(ErrorCode.INTERNAL_JOB_BUSY);
+        } catch (ProceedFailure e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            throw new ProceedFailure(t);
+        }
+    }
+
+    /**
+     * Carries any throwable of the job through {@link java.util.concurrent.Callable} unchanged.
+     */
+    private static final class ProceedFailure extends RuntimeException {
+        ProceedFailure(Throwable cause) {
+            super(null, cause, false, false);
+        }
+    }
+}
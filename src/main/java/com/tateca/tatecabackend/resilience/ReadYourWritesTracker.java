@@ -0,0 +1,154 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.tateca.tatecabackend.security.ApiKeyAuthentication;
+import com.tateca.tatecabackend.security.FirebaseAuthentication;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers which auth users committed a write recently, so that their reads stay on the primary
+ * until the replica has caught up ({@link ReplicaRoutingDataSource}).
+ *
+ * <p>Registered as a transaction listener: every committed read-write transaction of an authenticated request
+ * marks its uid for {@code window}. The window should exceed the replica's usual lag; reads of other users
+ * may still see the replica a little behind.
+ *
+ * <p>The mark is kept in two places. In memory it only covers requests served by the same instance. The
+ * {@value #COOKIE_NAME} cookie holds the epoch millis the window ends, so it covers whichever instance serves
+ * the next request. A client that does not send cookies back only gets the per-instance mark, and its next
+ * read may hit a replica that has not caught up when the load balancer moves it. A forged cookie can only move
+ * that client's reads to the primary, and never for longer than one window.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    public static final String COOKIE_NAME = "tateca_rw";
+    private static final String COOKIE_SET_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".cookieSet";
+
+    private final Duration window;
+    private final long windowNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(Duration window, int maxEntries) {
+        this.window = window;
+        this.windowNanos = window.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String uid = currentUid();
+            if (uid != null) {
+                recordWrite(uid);
+                markClient();
+            }
+        }
+    }
+
+    /**
+     * Whether the current request's user wrote within the window, on this instance or as told by the cookie.
+     */
+    public boolean isCurrentUserSticky() {
+        return isSticky(currentUid()) || hasStickyCookie();
+    }
+
+    void recordWrite(String uid) {
+        if (uid == null) {
+            return;
+        }
+        if (lastWriteNanos.size() >= maxEntries) {
+            // Expired marks are harmless, only dropped to bound memory; live ones are few
+            long now = System.nanoTime();
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt > windowNanos);
+        }
+        lastWriteNanos.put(uid, System.nanoTime());
+    }
+
+    boolean isSticky(String uid) {
+        if (uid == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteNanos.get(uid);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt > windowNanos) {
+            lastWriteNanos.remove(uid, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private void markClient() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        // One cookie per request, however many transactions it commits
+        if (response == null || response.isCommitted()
+                || attributes.getAttribute(COOKIE_SET_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        long until = System.currentTimeMillis() + window.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(until))
+                .maxAge(window)
+                .path("/")
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        attributes.setAttribute(COOKIE_SET_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private boolean hasStickyCookie() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return isWithinWindow(cookie.getValue());
+            }
+        }
+        return false;
+    }
+
+    private boolean isWithinWindow(String until) {
+        try {
+            long remainingMillis = Long.parseLong(until) - System.currentTimeMillis();
+            return remainingMillis > 0 && remainingMillis <= window.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String currentUid() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof FirebaseAuthentication firebaseAuthentication) {
+            return firebaseAuthentication.getUid();
+        }
+        if (authentication instanceof ApiKeyAuthentication apiKeyAuthentication) {
+            return apiKeyAuthentication.getUid();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tateca.tatecabackend.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Picks the pool for a read-only connection: the replica, unless the read must see the primary.
+ *
+ * <p>Used as the read-only side of a {@code LazyConnectionDataSourceProxy}, which only fetches the physical
+ * connection once the transaction has marked it read-only. Reads stay on {@code primaryDataSource} when
+ * <ul>
+ *   <li>the current user committed a write within the read-your-writes window ({@link ReadYourWritesTracker})</li>
+ *   <li>an internal job is running ({@link Workload#INTERNAL} keeps its own pool)</li>
+ * </ul>
+ * Each decision is counted in {@code jdbc.connections.routed}, tagged by target and reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        REPLICA,
+        PRIMARY
+    }
+
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Counter replicaCounter;
+    private final Counter stickyCounter;
+    private final Counter internalCounter;
+
+    public ReplicaRoutingDataSource(DataSource primaryDataSource, DataSource replicaDataSource,
+                                    ReadYourWritesTracker readYourWritesTracker, MeterRegistry meterRegistry) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.replicaCounter = routedCounter(meterRegistry, "replica", "read-only");
+        this.stickyCounter = routedCounter(meterRegistry, "primary", "read-your-writes");
+        this.internalCounter = routedCounter(meterRegistry, "primary", "internal-job");
+        setTargetDataSources(Map.of(Target.PRIMARY, primaryDataSource, Target.REPLICA, replicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (Workload.current() == Workload.INTERNAL) {
+            internalCounter.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWritesTracker.isCurrentUserSticky()) {
+            stickyCounter.increment();
+            return Target.PRIMARY;
+        }
+        replicaCounter.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("jdbc.connections.routed")
+                .description("Read-only connections by the pool they were routed to")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
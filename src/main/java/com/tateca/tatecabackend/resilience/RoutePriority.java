@@ -0,0 +1,21 @@
+package com.tateca.tatecabackend.resilience;
+
+/**
+ * Admission priority of a route under {@link AdaptiveConcurrencyLimiter}.
+ */
+public enum RoutePriority {
+    /**
+     * Always admitted (internal jobs, actuator probes). Still counted as in-flight.
+     */
+    CRITICAL,
+
+    /**
+     * Admitted up to the full concurrency limit.
+     */
+    NORMAL,
+
+    /**
+     * Admitted only up to a share of the limit, so it is shed first.
+     */
+    LOW
+}
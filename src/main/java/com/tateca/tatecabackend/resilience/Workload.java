@@ -0,0 +1,32 @@
+package com.tateca.tatecabackend.resilience;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Kind of work the current thread is doing; selects the DB connection pool ({@link WorkloadRoutingDataSource}).
+ *
+ * <p>Threads run as {@link #USER} unless they enter an {@link InternalJob}.
+ */
+public enum Workload {
+    USER,
+    INTERNAL;
+
+    private static final ThreadLocal<Workload> CURRENT = ThreadLocal.withInitial(() -> USER);
+
+    public static Workload current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run {@code task} as {@code workload}, restoring the previous workload afterwards.
+     */
+    public static <T> T callAs(Workload workload, Callable<T> task) throws Exception {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return task.call();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tateca.tatecabackend.resilience;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections to the pool of the current {@link Workload}.
+ *
+ * <p>Hibernate obtains the connection when the transaction begins, so the workload in effect at that
+ * point decides the pool for the whole transaction.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(DataSource userDataSource, DataSource internalDataSource) {
+        setTargetDataSources(Map.of(Workload.USER, userDataSource, Workload.INTERNAL, internalDataSource));
+        setDefaultTargetDataSource(userDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return Workload.current();
+    }
+}
@@ -0,0 +1,51 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import com.tateca.tatecabackend.service.InternalExchangeRateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs exchange-rate ingestion in-process on a cron schedule, on exactly one instance per cycle, through the
+ * {@code exchange-rate-ingestion} lease row (see {@link LeasedScheduledJob}). A missed run is caught up once,
+ * since ingestion always fetches the latest rates.
+ */
+@Component
+@Lazy(value = false)  // @Scheduled methods are only registered for instantiated beans (prod uses lazy init)
+@ConditionalOnProperty(name = "exchange.rate.ingestion.schedule.enabled", havingValue = "true")
+public class ExchangeRateIngestionScheduler {
+
+    static final String LEASE_NAME = "exchange-rate-ingestion";
+
+    private final LeasedScheduledJob job;
+
+    public ExchangeRateIngestionScheduler(
+            InternalExchangeRateService exchangeRateService,
+            SchedulerLeaseRepository leaseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${exchange.rate.ingestion.schedule.cron:0 1 0 * * *}") String cron,
+            @Value("${exchange.rate.ingestion.schedule.lease-duration:PT10M}") Duration leaseDuration,
+            @Value("${exchange.rate.ingestion.schedule.retry-base-delay:PT1M}") Duration retryBaseDelay,
+            @Value("${exchange.rate.ingestion.schedule.retry-max-delay:PT30M}") Duration retryMaxDelay) {
+        this.job = new LeasedScheduledJob(LEASE_NAME, "exchange rate ingestion",
+                exchangeRateService::fetchAndStoreLatestExchangeRate, leaseRepository, meterRegistry,
+                "exchange.rate.ingestion.scheduled", cron, leaseDuration, retryBaseDelay, retryMaxDelay);
+    }
+
+    @Scheduled(initialDelayString = "${exchange.rate.ingestion.schedule.initial-delay:PT30S}",
+            fixedDelayString = "${exchange.rate.ingestion.schedule.check-interval:PT5M}")
+    public void runIfDue() {
+        job.runIfDue();
+    }
+
+    boolean runIfDue(Instant now) {
+        return job.runIfDue(now);
+    }
+}
@@ -0,0 +1,149 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.entity.SchedulerLeaseEntity;
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import com.tateca.tatecabackend.resilience.Workload;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs an in-process job on a cron schedule, on exactly one instance per cycle, guarded by a
+ * {@code scheduler_leases} row. The {@code @Scheduled} beans call {@link #runIfDue()} every check interval:
+ * <ul>
+ *   <li>A cycle is due when the cron fired since the last successful run. A run missed while no instance
+ *       was up is caught up at the next check, once rather than once per missed cycle.</li>
+ *   <li>The instance that acquires the lease (conditional UPDATE on generation and expiry) runs the job;
+ *       the others see the lease held, or the cycle done, and skip.</li>
+ *   <li>A failed run schedules the next attempt with exponential backoff and jitter, shared by all
+ *       instances through the lease row.</li>
+ * </ul>
+ * Lease expiry guards against an instance dying mid-run; the lease duration must exceed the longest run
+ * plus the clock skew between instances.
+ */
+class LeasedScheduledJob {
+    private static final Logger logger = LoggerFactory.getLogger(LeasedScheduledJob.class);
+
+    private final String leaseName;
+    private final String jobName;
+    private final IntSupplier job;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final CronExpression cron;
+    private final Duration leaseDuration;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final String owner = instanceId();
+    private final Counter successCounter;
+    private final Counter failureCounter;
+
+    /**
+     * @param jobName used in log messages and the counter description, e.g. "transaction archival"
+     * @param job     the run; its result is logged as the outcome of a successful run
+     */
+    LeasedScheduledJob(String leaseName, String jobName, IntSupplier job,
+                       SchedulerLeaseRepository leaseRepository, MeterRegistry meterRegistry, String meterName,
+                       String cron, Duration leaseDuration, Duration retryBaseDelay, Duration retryMaxDelay) {
+        this.leaseName = leaseName;
+        this.jobName = jobName;
+        this.job = job;
+        this.leaseRepository = leaseRepository;
+        this.cron = CronExpression.parse(cron);
+        this.leaseDuration = leaseDuration;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.successCounter = runCounter(meterRegistry, meterName, "success");
+        this.failureCounter = runCounter(meterRegistry, meterName, "failure");
+    }
+
+    void runIfDue() {
+        try {
+            // Lease updates use the internal pool too, like the job itself
+            Workload.callAs(Workload.INTERNAL, () -> runIfDue(Instant.now()));
+        } catch (Exception e) {
+            logger.error("Scheduled {} check failed", jobName, e);
+        }
+    }
+
+    /**
+     * @return true if this instance ran the job
+     */
+    boolean runIfDue(Instant now) {
+        SchedulerLeaseEntity lease = leaseRepository.findById(leaseName).orElse(null);
+        if (lease == null) {
+            logger.warn("Scheduler lease row missing: name={}", leaseName);
+            return false;
+        }
+        if (!isDue(lease, now)) {
+            return false;
+        }
+        if (leaseRepository.tryAcquire(leaseName, lease.getGeneration(), owner, now, now.plus(leaseDuration)) == 0) {
+            logger.debug("Scheduled {} handled by another instance", jobName);
+            return false;
+        }
+
+        logger.info("Scheduled {} started: owner={}, lastSuccessAt={}, failureCount={}",
+                jobName, owner, lease.getLastSuccessAt(), lease.getFailureCount());
+        try {
+            int result = job.getAsInt();
+            successCounter.increment();
+            if (leaseRepository.releaseAfterSuccess(leaseName, owner, Instant.now()) == 0) {
+                logger.warn("Scheduler lease expired before the run finished: name={}, leaseDuration={}",
+                        leaseName, leaseDuration);
+            }
+            logger.info("Scheduled {} succeeded: result={}", jobName, result);
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            int failures = lease.getFailureCount() + 1;
+            Instant nextAttemptAt = Instant.now().plus(
+                    retryDelay(failures, retryBaseDelay, retryMaxDelay, ThreadLocalRandom.current().nextDouble()));
+            leaseRepository.releaseAfterFailure(leaseName, owner, nextAttemptAt);
+            logger.error("Scheduled {} failed: failureCount={}, nextAttemptAt={}", jobName, failures, nextAttemptAt, e);
+        }
+        return true;
+    }
+
+    private boolean isDue(SchedulerLeaseEntity lease, Instant now) {
+        if (lease.getNextAttemptAt() != null && now.isBefore(lease.getNextAttemptAt())) {
+            return false;
+        }
+        if (lease.getLastSuccessAt() == null) {
+            return true;
+        }
+        var nextFire = cron.next(lease.getLastSuccessAt().atZone(ZoneOffset.UTC));
+        return nextFire != null && !now.isBefore(nextFire.toInstant());
+    }
+
+    /**
+     * Exponential backoff ({@code base * 2^(failures-1)}, capped at {@code max}) with equal jitter:
+     * the delay is uniformly spread over its upper half so retrying instances do not synchronize.
+     *
+     * @param random uniform sample in [0, 1)
+     */
+    static Duration retryDelay(int failures, Duration base, Duration max, double random) {
+        long capMillis = max.toMillis();
+        long backoffMillis = base.toMillis() << Math.min(Math.max(failures - 1, 0), 20);
+        long delayMillis = Math.min(capMillis, backoffMillis);
+        return Duration.ofMillis(delayMillis / 2 + (long) (random * (delayMillis / 2)));
+    }
+
+    private Counter runCounter(MeterRegistry meterRegistry, String meterName, String outcome) {
+        return Counter.builder(meterName)
+                .description("Scheduled " + jobName + " runs executed by this instance")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String instanceId() {
+        String host = System.getenv().getOrDefault("HOSTNAME", "instance");
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import com.tateca.tatecabackend.service.TransactionArchiveService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs transaction archival on a cron schedule, on exactly one instance per cycle, through the
+ * {@code transaction-archival} lease row (see {@link LeasedScheduledJob}). Archival is safe to repeat, so a
+ * run cut short by a failure or the lease expiring simply continues in the next one.
+ */
+@Component
+@Lazy(value = false)  // @Scheduled methods are only registered for instantiated beans (prod uses lazy init)
+@ConditionalOnProperty(name = "transaction.archive.schedule.enabled", havingValue = "true")
+public class TransactionArchiveScheduler {
+
+    static final String LEASE_NAME = "transaction-archival";
+
+    private final LeasedScheduledJob job;
+
+    public TransactionArchiveScheduler(
+            TransactionArchiveService archiveService,
+            SchedulerLeaseRepository leaseRepository,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.archive.schedule.cron:0 0 18 * * *}") String cron,
+            @Value("${transaction.archive.schedule.lease-duration:PT1H}") Duration leaseDuration,
+            @Value("${transaction.archive.schedule.retry-base-delay:PT5M}") Duration retryBaseDelay,
+            @Value("${transaction.archive.schedule.retry-max-delay:PT2H}") Duration retryMaxDelay) {
+        this.job = new LeasedScheduledJob(LEASE_NAME, "transaction archival", archiveService::archiveInactiveGroups,
+                leaseRepository, meterRegistry, "transaction.archive.scheduled",
+                cron, leaseDuration, retryBaseDelay, retryMaxDelay);
+    }
+
+    @Scheduled(initialDelayString = "${transaction.archive.schedule.initial-delay:PT1M}",
+            fixedDelayString = "${transaction.archive.schedule.check-interval:PT15M}")
+    public void runIfDue() {
+        job.runIfDue();
+    }
+
+    boolean runIfDue(Instant now) {
+        return job.runIfDue(now);
+    }
+}
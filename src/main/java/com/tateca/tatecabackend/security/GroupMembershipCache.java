@@ -0,0 +1,107 @@
+package com.tateca.tatecabackend.security;
+
+import com.tateca.tatecabackend.repository.UserGroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache of group memberships keyed by Firebase UID.
+ *
+ * <p>Backs the group access check on {@code /groups/{groupId}/**}, so a member's
+ * request costs a hash lookup instead of a {@code user_groups} query.
+ *
+ * <p>Consistency rules:
+ * <ul>
+ *   <li>Positive hits are trusted until the entry expires (TTL bounds staleness across instances)</li>
+ *   <li>Negative hits always reload from the database, so a join on another instance is never denied</li>
+ *   <li>Membership-changing services evict entries; eviction is repeated after commit so a
+ *       concurrent reload cannot re-cache pre-commit state</li>
+ * </ul>
+ */
+@Component
+public class GroupMembershipCache {
+
+    private final UserGroupRepository userGroupRepository;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public GroupMembershipCache(
+            UserGroupRepository userGroupRepository,
+            @Value("${security.group-access.cache-ttl:PT5M}") Duration ttl,
+            @Value("${security.group-access.cache-max-entries:10000}") int maxEntries
+    ) {
+        this.userGroupRepository = userGroupRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns whether the auth user is linked to a member of the group.
+     */
+    public boolean isMember(String uid, UUID groupId) {
+        Entry entry = entries.get(uid);
+        if (entry != null && !entry.isExpired(ttlNanos) && entry.groupIds().contains(groupId)) {
+            return true;
+        }
+        return load(uid).groupIds().contains(groupId);
+    }
+
+    /**
+     * Drops the cached memberships of a single auth user.
+     */
+    public void evict(String uid) {
+        if (uid == null) {
+            return;
+        }
+        entries.remove(uid);
+        afterCommit(() -> entries.remove(uid));
+    }
+
+    /**
+     * Drops every cached entry that references the group.
+     */
+    public void evictGroup(UUID groupId) {
+        entries.values().removeIf(entry -> entry.groupIds().contains(groupId));
+        afterCommit(() -> entries.values().removeIf(entry -> entry.groupIds().contains(groupId)));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private Entry load(String uid) {
+        Entry entry = new Entry(Set.copyOf(userGroupRepository.findGroupUuidsByAuthUserUid(uid)), System.nanoTime());
+        if (entries.size() >= maxEntries) {
+            // Simple bound: entries are cheap to rebuild, so dropping everything beats tracking LRU order
+            entries.clear();
+        }
+        entries.put(uid, entry);
+        return entry;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private record Entry(Set<UUID> groupIds, long loadedAtNanos) {
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - loadedAtNanos > ttlNanos;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.tateca.tatecabackend.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tateca.tatecabackend.interceptor.GroupAccessInterceptor;
+import com.tateca.tatecabackend.repository.GroupRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -17,7 +19,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * Security Architecture:
  * - Stateless JWT-based authentication
  * - Two authentication methods: Firebase JWT (users) and API Key (Lambda)
- * - No authorization layer (trusts UID from client)
+ * - Group membership authorization for /groups/{groupId}/** (GroupAccessInterceptor)
  * - CORS enabled for iOS client
  * - Security headers for production
  * - Dev mode: x-uid header bypass (dev profile only)
@@ -45,7 +47,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints (no authentication required)
                 .requestMatchers(
-                    "/error"
+                    "/error",
+                    "/actuator/health"
                 ).permitAll()
 
                 // Dev endpoints (will be disabled in production via @Profile)
@@ -72,4 +75,10 @@ public class SecurityConfig {
     public TatecaAuthenticationFilter tatecaAuthenticationFilter() {
         return new TatecaAuthenticationFilter(environment, objectMapper);
     }
+
+    @Bean
+    public GroupAccessInterceptor groupAccessInterceptor(GroupMembershipCache groupMembershipCache,
+                                                         GroupRepository groupRepository) {
+        return new GroupAccessInterceptor(groupMembershipCache, groupRepository);
+    }
 }
@@ -8,6 +8,7 @@ import com.google.firebase.auth.FirebaseToken;
 import com.tateca.tatecabackend.constants.ApiConstants;
 import com.tateca.tatecabackend.exception.ErrorResponse;
 import com.tateca.tatecabackend.exception.domain.AuthenticationException;
+import com.tateca.tatecabackend.jfr.TokenVerificationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,7 +32,7 @@ import java.util.List;
 
 /**
  * Spring Security filter that handles multiple authentication methods:
- * - API Key authentication for internal endpoints (/internal/**)
+ * - API Key authentication for internal and actuator endpoints (/internal/**, /actuator/**)
  * - Firebase JWT authentication for user endpoints
  * - Dev mode: x-uid header bypass (dev profile only)
  */
@@ -53,7 +54,8 @@ public class TatecaAuthenticationFilter extends OncePerRequestFilter {
     // Public endpoints that don't require authentication
     private static final List<String> PUBLIC_PATHS = Arrays.asList(
         "/error",
-        "/dev"
+        "/dev",
+        "/actuator/health"
     );
 
     @Override
@@ -70,7 +72,8 @@ public class TatecaAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             // Route to appropriate authentication method based on path
-            if (path.startsWith("/internal/")) {
+            // Actuator endpoints (metrics, prometheus) are scraped with the same API key as internal jobs
+            if (path.startsWith("/internal/") || path.startsWith("/actuator/")) {
                 authenticateWithApiKey(request);
             } else {
                 authenticateWithFirebaseToken(request);
@@ -144,7 +147,19 @@ public class TatecaAuthenticationFilter extends OncePerRequestFilter {
         // SECURITY: Enable token revocation check to immediately invalidate logged-out users
         // This prevents compromised tokens from being used after logout/password change
         // Performance impact: +10-50ms per request (Firebase database lookup)
-        FirebaseToken firebaseToken = FirebaseAuth.getInstance().verifyIdToken(idToken, true);
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        FirebaseToken firebaseToken;
+        try {
+            firebaseToken = FirebaseAuth.getInstance().verifyIdToken(idToken, true);
+            event.success = true;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.revocationChecked = true;
+                event.commit();
+            }
+        }
 
         // Validate audience
         String audience = (String) firebaseToken.getClaims().get("aud");
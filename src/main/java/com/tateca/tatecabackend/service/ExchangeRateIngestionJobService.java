@@ -0,0 +1,28 @@
+package com.tateca.tatecabackend.service;
+
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
+
+/**
+ * Service for running exchange-rate ingestion as an asynchronous job (internal endpoints).
+ * The HTTP trigger only submits the job, so it no longer waits for the external API and its retries.
+ *
+ * Jobs run one at a time on a background executor; finished jobs are kept in a bounded
+ * in-memory history for status queries.
+ */
+public interface ExchangeRateIngestionJobService {
+    /**
+     * Submits an ingestion job.
+     *
+     * @return the queued job
+     * @throws com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException INTERNAL.JOB_BUSY
+     *         if a job is queued or running
+     */
+    IngestionJobResponseDTO submit();
+
+    /**
+     * Returns the current state of a job.
+     *
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if the job is unknown
+     */
+    IngestionJobResponseDTO getJob(String jobId);
+}
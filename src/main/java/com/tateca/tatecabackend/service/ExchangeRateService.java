@@ -1,8 +1,11 @@
 package com.tateca.tatecabackend.service;
 
+import com.tateca.tatecabackend.dto.request.CurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.response.CurrencyConversionResponseDTO;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service for exchange rate query operations (read-only).
@@ -16,4 +19,24 @@ public interface ExchangeRateService {
      * @return Exchange rates for the specified date
      */
     ExchangeRateResponseDTO getExchangeRate(LocalDate date);
+
+    /**
+     * Converts an amount between two currencies using the cross rate of their JPY rates on a date.
+     *
+     * @param date The date whose rates are used
+     * @param request Source currency, target currency and amount
+     * @return The conversion
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if either currency has no rate
+     */
+    CurrencyConversionResponseDTO convert(LocalDate date, CurrencyConversionRequestDTO request);
+
+    /**
+     * Converts several amounts using the rates of one date.
+     *
+     * @param date The date whose rates are used
+     * @param requests Conversions, answered in the same order
+     * @return The conversions
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if any currency has no rate
+     */
+    List<CurrencyConversionResponseDTO> convertAll(LocalDate date, List<CurrencyConversionRequestDTO> requests);
 }
@@ -8,14 +8,16 @@ package com.tateca.tatecabackend.service;
 public interface InternalExchangeRateService {
     /**
      * Fetches latest exchange rates from external API and stores them in database.
-     * The rates are stored with both today's date and tomorrow's date
-     * (LocalDate.now() and LocalDate.now().plusDays(1)).
+     * The rates are stored as ranges: a currency whose rate is unchanged keeps its open-ended range;
+     * a changed rate closes that range yesterday and starts a new one today
+     * (a range that already starts today is corrected in place).
      *
-     * Each day's update will:
-     * - Create/update today's record (overwrites yesterday's pre-created record)
-     * - Create tomorrow's record (new, will be overwritten tomorrow)
+     * Runs as an internal job: one run at a time, on the internal connection pool.
+     * The external API is called outside any transaction; the rates are then written in one short transaction.
      *
-     * @return Total number of exchange rate records stored (today + tomorrow)
+     * @return Number of new rate ranges started today
+     * @throws com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException INTERNAL.JOB_BUSY
+     *         if a run is already in progress
      */
     int fetchAndStoreLatestExchangeRate();
 }
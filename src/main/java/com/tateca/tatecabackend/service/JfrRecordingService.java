@@ -0,0 +1,45 @@
+package com.tateca.tatecabackend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+
+/**
+ * Service for on-demand JDK Flight Recorder recordings (internal endpoints).
+ * Lets us profile production hot paths without restarting or attaching a profiler.
+ *
+ * Only one recording exists at a time. It is bounded by the configured maximum duration and size,
+ * and kept after it stops so it can still be downloaded until the next one starts.
+ */
+public interface JfrRecordingService {
+    /**
+     * Starts a recording.
+     *
+     * @param duration requested duration, capped at the configured maximum
+     * @param settings JFR settings name ("default" or "profile")
+     * @throws com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException if a recording is running
+     * @throws IllegalArgumentException if the settings name is unknown
+     */
+    void start(Duration duration, String settings);
+
+    /**
+     * Stops the running recording.
+     *
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if no recording is running
+     */
+    void stop();
+
+    /**
+     * Writes the data of the current (running or stopped) recording in .jfr format.
+     *
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if no recording exists
+     */
+    void download(OutputStream outputStream) throws IOException;
+
+    /**
+     * Checks that a recording exists, so callers can fail before committing a download response.
+     *
+     * @throws com.tateca.tatecabackend.exception.domain.EntityNotFoundException if no recording exists
+     */
+    void requireRecording();
+}
@@ -0,0 +1,21 @@
+package com.tateca.tatecabackend.service;
+
+/**
+ * Service for archiving the transactions of inactive groups.
+ * Archived transactions stay readable through {@link TransactionService}; any write to the group restores them.
+ */
+public interface TransactionArchiveService {
+    /**
+     * Moves the transactions of groups without any transaction created or updated for the configured number
+     * of months into the archive tables.
+     *
+     * Runs as an internal job: one run at a time, on the internal connection pool.
+     * Each group is moved in batches of short transactions, oldest transactions first; a group that becomes
+     * active again while it is being moved is left as it is.
+     *
+     * @return Number of groups archived
+     * @throws com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException INTERNAL.JOB_BUSY
+     *         if a run is already in progress
+     */
+    int archiveInactiveGroups();
+}
@@ -11,6 +11,7 @@ import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.model.AppReviewStatus;
 import com.tateca.tatecabackend.repository.AuthUserRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
 import com.tateca.tatecabackend.service.AuthUserService;
 import com.tateca.tatecabackend.util.PiiMaskingUtil;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class AuthUserServiceImpl implements AuthUserService {
     private static final Logger logger = LoggerFactory.getLogger(AuthUserServiceImpl.class);
     private final AuthUserRepository repository;
     private final UserRepository userRepository;
+    private final GroupMembershipCache groupMembershipCache;
 
     @Override
     @Transactional
@@ -94,6 +96,7 @@ public class AuthUserServiceImpl implements AuthUserService {
 
         userRepository.saveAll(userEntityList);
         repository.deleteById(uid);
+        groupMembershipCache.evict(uid);
 
         logger.info("User account deleted successfully: userId={}, email={}, groupCount={}",
                 PiiMaskingUtil.maskUid(uid),
@@ -0,0 +1,198 @@
+package com.tateca.tatecabackend.service.impl;
+
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.model.IngestionJobStatus;
+import com.tateca.tatecabackend.service.ExchangeRateIngestionJobService;
+import com.tateca.tatecabackend.service.InternalExchangeRateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.tateca.tatecabackend.util.TimeHelper.convertToTokyoTime;
+
+@Service
+public class ExchangeRateIngestionJobServiceImpl implements ExchangeRateIngestionJobService {
+    private static final Logger logger = LoggerFactory.getLogger(ExchangeRateIngestionJobServiceImpl.class);
+
+    private static final String METRIC_NAME = "exchange.rate.ingestion";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final InternalExchangeRateService exchangeRateService;
+    private final MeterRegistry meterRegistry;
+    private final int historySize;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("exchange-rate-ingestion").factory());
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private Job activeJob;
+
+    public ExchangeRateIngestionJobServiceImpl(
+            InternalExchangeRateService exchangeRateService,
+            MeterRegistry meterRegistry,
+            @Value("${exchange.rate.ingestion.job-history-size:20}") int historySize) {
+        this.exchangeRateService = exchangeRateService;
+        this.meterRegistry = meterRegistry;
+        this.historySize = historySize;
+    }
+
+    @Override
+    public IngestionJobResponseDTO submit() {
+        lock.lock();
+        try {
+            if (activeJob != null) {
+                throw new BusinessRuleViolationException(ErrorCode.INTERNAL_JOB_BUSY);
+            }
+            Job job = new Job(UUID.randomUUID().toString(), Instant.now());
+            activeJob = job;
+            jobs.put(job.id, job);
+            evictFinishedJobs();
+
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                // Only after shutdown has started
+                activeJob = null;
+                jobs.remove(job.id);
+                throw new IllegalStateException("Exchange rate ingestion executor is shut down", e);
+            }
+            logger.info("Exchange rate ingestion job submitted: jobId={}", job.id);
+            return job.toResponse();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public IngestionJobResponseDTO getJob(String jobId) {
+        lock.lock();
+        try {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw new EntityNotFoundException(ErrorCode.INGESTION_JOB_NOT_FOUND);
+            }
+            return job.toResponse();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("Exchange rate ingestion job did not finish within {}s of shutdown", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(Job job) {
+        update(job, IngestionJobStatus.RUNNING, null, null);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            int ratesStored = exchangeRateService.fetchAndStoreLatestExchangeRate();
+            update(job, IngestionJobStatus.SUCCEEDED, ratesStored, null);
+            logger.info("Exchange rate ingestion job succeeded: jobId={}, ratesStored={}", job.id, ratesStored);
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            update(job, IngestionJobStatus.FAILED, null, e.getMessage());
+            logger.error("Exchange rate ingestion job failed: jobId={}", job.id, e);
+        } finally {
+            // An Error skips the catch above; still finish the job so it does not block every later submit
+            if (failIfUnfinished(job)) {
+                outcome = "failure";
+                logger.error("Exchange rate ingestion job terminated unexpectedly: jobId={}", job.id);
+            }
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Exchange rate ingestion job duration")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void update(Job job, IngestionJobStatus status, Integer ratesStored, String error) {
+        lock.lock();
+        try {
+            job.status = status;
+            if (status == IngestionJobStatus.RUNNING) {
+                job.startedAt = Instant.now();
+                return;
+            }
+            job.finishedAt = Instant.now();
+            job.ratesStored = ratesStored;
+            job.error = error;
+            activeJob = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean failIfUnfinished(Job job) {
+        lock.lock();
+        try {
+            if (job.status != IngestionJobStatus.RUNNING) {
+                return false;
+            }
+            update(job, IngestionJobStatus.FAILED, null, "Terminated unexpectedly");
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Keeps the most recent {@code historySize} jobs; the active job is never evicted.
+     */
+    private void evictFinishedJobs() {
+        var iterator = jobs.values().iterator();
+        while (jobs.size() > historySize && iterator.hasNext()) {
+            if (iterator.next() != activeJob) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Instant submittedAt;
+        private IngestionJobStatus status = IngestionJobStatus.QUEUED;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private Integer ratesStored;
+        private String error;
+
+        Job(String id, Instant submittedAt) {
+            this.id = id;
+            this.submittedAt = submittedAt;
+        }
+
+        IngestionJobResponseDTO toResponse() {
+            return new IngestionJobResponseDTO(
+                    id,
+                    status,
+                    convertToTokyoTime(submittedAt),
+                    startedAt != null ? convertToTokyoTime(startedAt) : null,
+                    finishedAt != null ? convertToTokyoTime(finishedAt) : null,
+                    ratesStored,
+                    error);
+        }
+    }
+}
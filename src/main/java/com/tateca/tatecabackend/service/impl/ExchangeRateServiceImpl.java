@@ -1,23 +1,54 @@
 package com.tateca.tatecabackend.service.impl;
 
+import com.tateca.tatecabackend.cache.ExchangeRateVectorCache;
+import com.tateca.tatecabackend.dto.request.CurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.response.CurrencyConversionResponseDTO;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.service.ExchangeRateService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class ExchangeRateServiceImpl implements ExchangeRateService {
 
-    private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRateRangeRepository exchangeRateRangeRepository;
+    private final ExchangeRateVectorCache exchangeRateVectorCache;
 
     @Override
     @Transactional(readOnly = true)
     public ExchangeRateResponseDTO getExchangeRate(LocalDate date) {
-        return ExchangeRateResponseDTO.from(exchangeRateRepository.findAllActiveByDate(date));
+        return ExchangeRateResponseDTO.from(exchangeRateRangeRepository.findAllActiveEffectiveOn(date));
+    }
+
+    @Override
+    public CurrencyConversionResponseDTO convert(LocalDate date, CurrencyConversionRequestDTO request) {
+        return convert(exchangeRateVectorCache.get(date), request);
+    }
+
+    @Override
+    public List<CurrencyConversionResponseDTO> convertAll(LocalDate date, List<CurrencyConversionRequestDTO> requests) {
+        ExchangeRateVectorCache.RateVector vector = exchangeRateVectorCache.get(date);
+        return requests.stream()
+                .map(request -> convert(vector, request))
+                .toList();
+    }
+
+    private CurrencyConversionResponseDTO convert(
+            ExchangeRateVectorCache.RateVector vector, CurrencyConversionRequestDTO request) {
+        double rate = vector.crossRate(request.from(), request.to());
+        if (Double.isNaN(rate)) {
+            String missing = vector.index().containsKey(request.from()) ? request.to() : request.from();
+            throw new EntityNotFoundException(ErrorCode.EXCHANGE_RATE_NOT_FOUND,
+                    "Exchange rate not found for " + missing + " on " + vector.date());
+        }
+        return CurrencyConversionResponseDTO.of(vector.date(), request.from(), request.to(), request.amount(), rate);
     }
 }
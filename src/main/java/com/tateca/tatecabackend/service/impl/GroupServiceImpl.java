@@ -19,10 +19,13 @@ import com.tateca.tatecabackend.exception.domain.ForbiddenException;
 import com.tateca.tatecabackend.repository.AuthUserRepository;
 import com.tateca.tatecabackend.repository.GroupRepository;
 import com.tateca.tatecabackend.repository.ObligationRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
 import com.tateca.tatecabackend.repository.UserGroupRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
 import com.tateca.tatecabackend.service.GroupService;
 import com.tateca.tatecabackend.util.PiiMaskingUtil;
+import com.tateca.tatecabackend.util.UuidV7Generator;
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -46,7 +49,9 @@ public class GroupServiceImpl implements GroupService {
     private final UserGroupRepository userGroupRepository;
     private final TransactionRepository transactionRepository;
     private final ObligationRepository obligationRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
     private final BusinessRuleConfig businessRuleConfig;
+    private final GroupMembershipCache groupMembershipCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -58,7 +63,7 @@ public class GroupServiceImpl implements GroupService {
 
         List<UserEntity> users = userGroups.stream().map(UserGroupEntity::getUser).collect(Collectors.toList());
         GroupEntity groupEntity = userGroups.stream().map(UserGroupEntity::getGroup).toList().get(0);
-        Long transactionCount = transactionRepository.countByGroup_Uuid(groupId);
+        Long transactionCount = countTransactions(groupId);
 
         return GroupResponseDTO.from(users, groupEntity, transactionCount);
     }
@@ -108,7 +113,7 @@ public class GroupServiceImpl implements GroupService {
 
         // Create new record into groups table.
         GroupEntity groupEntity = GroupEntity.builder()
-                .uuid(UUID.randomUUID())
+                .uuid(UuidV7Generator.generate())
                 .name(request.groupName())
                 .joinToken(UUID.randomUUID())
                 .build();
@@ -124,14 +129,14 @@ public class GroupServiceImpl implements GroupService {
         List<UserEntity> userEntityList = new ArrayList<>();
 
         UserEntity creator = UserEntity.builder()
-                .uuid(UUID.randomUUID())
+                .uuid(UuidV7Generator.generate())
                 .name(request.yourName())
                 .authUser(authUser)
                 .build();
         userEntityList.add(creator);
         request.memberNames().forEach(userName -> {
             UserEntity user = UserEntity.builder()
-                    .uuid(UUID.randomUUID())
+                    .uuid(UuidV7Generator.generate())
                     .name(userName)
                     .build();
             userEntityList.add(user);
@@ -150,6 +155,7 @@ public class GroupServiceImpl implements GroupService {
             userGroupEntityList.add(userGroupEntity);
         });
         userGroupRepository.saveAll(userGroupEntityList);
+        groupMembershipCache.evict(uid);
 
         logger.info("Group created successfully: groupId={}, userId={}, memberCount={}",
                 PiiMaskingUtil.maskUuid(groupEntitySaved.getUuid()),
@@ -211,8 +217,13 @@ public class GroupServiceImpl implements GroupService {
                     logger.warn("Auth user not found: uid={}", PiiMaskingUtil.maskUid(uid));
                     return new EntityNotFoundException(ErrorCode.AUTH_USER_NOT_FOUND);
                 });
+        AuthUserEntity previousAuthUser = userEntity.getAuthUser();
         userEntity.setAuthUser(authUserEntity);
         userRepository.save(userEntity);
+        groupMembershipCache.evict(uid);
+        if (previousAuthUser != null) {
+            groupMembershipCache.evict(previousAuthUser.getUid());
+        }
 
         logger.info("User successfully joined group: userId={}, groupId={}, groupName={}",
                 PiiMaskingUtil.maskUid(uid),
@@ -222,7 +233,7 @@ public class GroupServiceImpl implements GroupService {
         // Build response
         // Check if user has already in the group requested.
         List<UserEntity> users = userGroupEntityList.stream().map(UserGroupEntity::getUser).collect(Collectors.toList());
-        Long transactionCount = transactionRepository.countByGroup_Uuid(groupId);
+        Long transactionCount = countTransactions(groupId);
 
         return GroupResponseDTO.from(users, groupEntity, transactionCount);
     }
@@ -255,6 +266,7 @@ public class GroupServiceImpl implements GroupService {
         String authUserId = userEntity.getAuthUser() != null ? userEntity.getAuthUser().getUid() : null;
         userEntity.setAuthUser(null);
         userRepository.save(userEntity);
+        groupMembershipCache.evict(authUserId);
 
         logger.info("User successfully left group: userId={}, groupId={}, groupName={}",
                 authUserId != null ? PiiMaskingUtil.maskUid(authUserId) : "unknown",
@@ -292,7 +304,7 @@ public class GroupServiceImpl implements GroupService {
 
         // Create new user entity for the member
         UserEntity member = UserEntity.builder()
-                .uuid(UUID.randomUUID())
+                .uuid(UuidV7Generator.generate())
                 .name(request.memberName())
                 .build();
         UserEntity savedMember = userRepository.save(member);
@@ -306,6 +318,7 @@ public class GroupServiceImpl implements GroupService {
                 .group(group)
                 .build();
         userGroupRepository.save(userGroupEntity);
+        groupMembershipCache.evictGroup(groupId);
 
         logger.info("Member added successfully: groupId={}, memberUuid={}, newMemberCount={}",
                 PiiMaskingUtil.maskUuid(groupId),
@@ -317,7 +330,7 @@ public class GroupServiceImpl implements GroupService {
                 .map(UserGroupEntity::getUser)
                 .collect(Collectors.toList());
         users.add(savedMember);
-        Long transactionCount = transactionRepository.countByGroup_Uuid(groupId);
+        Long transactionCount = countTransactions(groupId);
 
         return GroupResponseDTO.from(users, group, transactionCount);
     }
@@ -353,6 +366,8 @@ public class GroupServiceImpl implements GroupService {
             throw new BusinessRuleViolationException(ErrorCode.MEMBER_ALREADY_JOINED);
         }
 
+        // Removing a member is a write to the group: archived transactions come back and are checked too
+        transactionArchiveRepository.restoreGroup(groupId);
         if (transactionRepository.existsByPayer(targetUser)
                 || obligationRepository.existsByUser(targetUser)) {
             logger.warn("Cannot remove member involved in transactions: userUuid={}",
@@ -362,11 +377,17 @@ public class GroupServiceImpl implements GroupService {
 
         userGroupRepository.delete(targetUserGroup);
         userRepository.delete(targetUser);
+        groupMembershipCache.evictGroup(groupId);
 
         logger.info("Member removed successfully: userUuid={}, groupId={}",
                 PiiMaskingUtil.maskUuid(userUuid), PiiMaskingUtil.maskUuid(groupId));
     }
 
+    // Archived transactions still belong to the group
+    private Long countTransactions(UUID groupId) {
+        return transactionRepository.countByGroup_Uuid(groupId) + transactionArchiveRepository.countByGroup(groupId);
+    }
+
     private void validateRequesterIsGroupMember(List<UserGroupEntity> userGroups, String uid) {
         boolean isRequesterMember = userGroups.stream()
                 .anyMatch(ug -> {
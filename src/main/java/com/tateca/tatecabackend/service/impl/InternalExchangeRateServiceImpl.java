@@ -2,22 +2,27 @@ package com.tateca.tatecabackend.service.impl;
 
 import com.tateca.tatecabackend.api.client.ExchangeRateApiClient;
 import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import com.tateca.tatecabackend.cache.ExchangeRateVectorCache;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.jfr.ExchangeRateIngestionEvent;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
+import com.tateca.tatecabackend.resilience.InternalJob;
 import com.tateca.tatecabackend.service.InternalExchangeRateService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,58 +31,46 @@ import java.util.stream.Collectors;
 public class InternalExchangeRateServiceImpl implements InternalExchangeRateService {
     private static final Logger logger = LoggerFactory.getLogger(InternalExchangeRateServiceImpl.class);
 
-    private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRateRangeRepository exchangeRateRangeRepository;
     private final CurrencyRepository currencyRepository;
     private final ExchangeRateApiClient exchangeRateApiClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ExchangeRateVectorCache exchangeRateVectorCache;
 
     @Override
-    @Transactional
+    @InternalJob("exchangeRateIngestion")
     public int fetchAndStoreLatestExchangeRate() {
+        ExchangeRateIngestionEvent event = new ExchangeRateIngestionEvent();
+        event.begin();
+
+        // Fetch (including retries and backoff) outside any transaction: no connection is held meanwhile
+        long fetchStart = System.nanoTime();
         ExchangeRateClientResponse exchangeRateClientResponse =
                 exchangeRateApiClient.fetchLatestExchangeRate();
+        event.fetchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fetchStart);
 
-        // Store rates for today
-        LocalDate today = LocalDate.now();
-        List<ExchangeRateEntity> todayEntities =
-                updateExchangeRateEntities(exchangeRateClientResponse, today);
-
-        // Store rates for tomorrow
-        LocalDate tomorrow = today.plusDays(1);
-        List<ExchangeRateEntity> tomorrowEntities =
-                updateExchangeRateEntities(exchangeRateClientResponse, tomorrow);
-
-        // Save only new entities (existing entities are updated via Dirty Checking)
-        List<ExchangeRateEntity> newEntities = new ArrayList<>();
-        newEntities.addAll(todayEntities);
-        newEntities.addAll(tomorrowEntities);
-
-        if (!newEntities.isEmpty()) {
-            exchangeRateRepository.saveAll(newEntities);
-        }
+        // Write in one short transaction
+        Integer totalCount = transactionTemplate.execute(status -> storeRates(exchangeRateClientResponse, event));
+        exchangeRateVectorCache.evictFrom(LocalDate.now());
 
-        int totalCount = todayEntities.size() + tomorrowEntities.size();
-        logger.info("Stored exchange rates: {} new for today ({}), {} new for tomorrow ({})",
-                todayEntities.size(), today, tomorrowEntities.size(), tomorrow);
+        event.ratesFetched = exchangeRateClientResponse.conversionRates().size();
+        event.rowsInserted = totalCount;
+        event.commit();
 
         return totalCount;
     }
 
-    private List<ExchangeRateEntity> updateExchangeRateEntities(
-            ExchangeRateClientResponse exchangeRateClientResponse,
-            LocalDate date) {
-
-        List<ExchangeRateEntity> newEntities = new ArrayList<>();
+    private int storeRates(ExchangeRateClientResponse exchangeRateClientResponse, ExchangeRateIngestionEvent event) {
+        LocalDate today = LocalDate.now();
         List<String> currencyCodes = new ArrayList<>(exchangeRateClientResponse.conversionRates().keySet());
 
         // Build Maps for O(1) lookup
         Map<String, CurrencyEntity> currencyMap = buildCurrencyMap(currencyCodes);
-        Map<String, ExchangeRateEntity> existingRatesMap = buildExistingRatesMap(currencyCodes, date);
+        Map<String, ExchangeRateRangeEntity> openRangesMap = buildOpenRangesMap(currencyCodes);
 
-        // Process each exchange rate
+        List<ExchangeRateRangeEntity> newRanges = new ArrayList<>();
         for (Map.Entry<String, Double> entry : exchangeRateClientResponse.conversionRates().entrySet()) {
             String currencyCode = entry.getKey();
-            Double exchangeRate = entry.getValue();
-
             CurrencyEntity currencyEntity = currencyMap.get(currencyCode);
 
             if (currencyEntity == null) {
@@ -85,19 +78,35 @@ public class InternalExchangeRateServiceImpl implements InternalExchangeRateServ
                 continue;
             }
 
-            ExchangeRateEntity existingEntity = existingRatesMap.get(currencyCode);
+            BigDecimal rate = BigDecimal.valueOf(entry.getValue())
+                    .setScale(ExchangeRateRangeEntity.RATE_SCALE, RoundingMode.HALF_UP);
+            ExchangeRateRangeEntity openRange = openRangesMap.get(currencyCode);
 
-            if (existingEntity != null) {
-                // Update existing entity (will be automatically saved via Dirty Checking)
-                updateExistingRate(existingEntity, exchangeRate);
+            if (openRange == null) {
+                newRanges.add(createOpenRange(currencyEntity, today, rate));
+            } else if (openRange.getExchangeRate().compareTo(rate) == 0) {
+                // Unchanged rate: the open range already covers today
+                continue;
+            } else if (!openRange.getEffectiveFrom().isBefore(today)) {
+                // Range started today: correct its rate in place (saved via Dirty Checking)
+                openRange.setExchangeRate(rate);
+                event.rowsUpdated++;
             } else {
-                // Create new entity and add to list for batch insert
-                ExchangeRateEntity newEntity = createNewRate(currencyEntity, date, exchangeRate);
-                newEntities.add(newEntity);
+                // Rate changed: close the open range yesterday and start a new one today
+                openRange.setEffectiveTo(today.minusDays(1));
+                event.rowsUpdated++;
+                newRanges.add(createOpenRange(currencyEntity, today, rate));
             }
         }
 
-        return newEntities;
+        if (!newRanges.isEmpty()) {
+            exchangeRateRangeRepository.saveAll(newRanges);
+        }
+
+        logger.info("Stored exchange rates: {} new ranges from {}, {} ranges updated",
+                newRanges.size(), today, event.rowsUpdated);
+
+        return newRanges.size();
     }
 
     /**
@@ -113,52 +122,36 @@ public class InternalExchangeRateServiceImpl implements InternalExchangeRateServ
     }
 
     /**
-     * Builds a map of existing exchange rates to avoid N+1 query problem
+     * Builds a map of the currently effective (open-ended) ranges to avoid N+1 query problem
      */
-    private Map<String, ExchangeRateEntity> buildExistingRatesMap(List<String> currencyCodes, LocalDate date) {
-        List<ExchangeRateEntity> existingRates =
-                exchangeRateRepository.findByCurrencyCodeInAndDate(currencyCodes, date);
+    private Map<String, ExchangeRateRangeEntity> buildOpenRangesMap(List<String> currencyCodes) {
+        List<ExchangeRateRangeEntity> openRanges = exchangeRateRangeRepository
+                .findByCurrencyCodeInAndEffectiveTo(currencyCodes, ExchangeRateRangeEntity.OPEN_END);
 
         // Mark fetched entities as not new to avoid SELECT during save
-        existingRates.forEach(ExchangeRateEntity::markAsNotNew);
+        openRanges.forEach(ExchangeRateRangeEntity::markAsNotNew);
 
-        return existingRates.stream()
+        return openRanges.stream()
                 .collect(Collectors.toMap(
-                        ExchangeRateEntity::getCurrencyCode,
+                        ExchangeRateRangeEntity::getCurrencyCode,
                         Function.identity()
                 ));
     }
 
     /**
-     * Updates an existing exchange rate entity
-     * Skips update if the rate is unchanged
-     * Note: updatedAt is automatically set by @PreUpdate
-     */
-    private void updateExistingRate(ExchangeRateEntity entity, Double newRate) {
-        BigDecimal newRateValue = BigDecimal.valueOf(newRate);
-
-        // Skip update if rate is unchanged
-        if (entity.getExchangeRate().compareTo(newRateValue) == 0) {
-            return;
-        }
-
-        entity.setExchangeRate(newRateValue);
-        // updatedAt is automatically set by @PreUpdate, so no manual setting is needed
-    }
-
-    /**
-     * Creates a new exchange rate entity
+     * Creates a new open-ended range starting on {@code effectiveFrom}
      * Note: createdAt and updatedAt are automatically set by @PrePersist
      */
-    private ExchangeRateEntity createNewRate(
+    private ExchangeRateRangeEntity createOpenRange(
             CurrencyEntity currencyEntity,
-            LocalDate date,
-            Double rate) {
-        return ExchangeRateEntity.builder()
+            LocalDate effectiveFrom,
+            BigDecimal rate) {
+        return ExchangeRateRangeEntity.builder()
                 .currencyCode(currencyEntity.getCurrencyCode())
-                .date(date)
+                .effectiveFrom(effectiveFrom)
+                .effectiveTo(ExchangeRateRangeEntity.OPEN_END)
                 .currency(currencyEntity)
-                .exchangeRate(BigDecimal.valueOf(rate))
+                .exchangeRate(rate)
                 // createdAt and updatedAt are automatically set by @PrePersist, so no manual setting is needed
                 .build();
     }
@@ -0,0 +1,123 @@
+package com.tateca.tatecabackend.service.impl;
+
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.service.JfrRecordingService;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class JfrRecordingServiceImpl implements JfrRecordingService {
+    private static final Logger logger = LoggerFactory.getLogger(JfrRecordingServiceImpl.class);
+
+    private static final String RECORDING_NAME = "tateca-on-demand";
+    private static final Set<String> ALLOWED_SETTINGS = Set.of("default", "profile");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+
+    // ReentrantLock rather than synchronized: recordings are dumped to disk while holding it,
+    // which would pin a carrier thread under virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+
+    public JfrRecordingServiceImpl(
+            @Value("${jfr.recording.max-duration:10m}") Duration maxDuration,
+            @Value("${jfr.recording.max-size:50MB}") DataSize maxSize) {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void start(Duration duration, String settings) {
+        if (!ALLOWED_SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings + " (expected default or profile)");
+        }
+        Duration bounded = duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0
+                ? maxDuration : duration;
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new BusinessRuleViolationException(ErrorCode.JFR_RECORDING_ALREADY_RUNNING);
+            }
+            if (recording != null) {
+                recording.close();
+            }
+
+            Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+            newRecording.setName(RECORDING_NAME);
+            newRecording.setToDisk(true);
+            newRecording.setDuration(bounded);
+            newRecording.setMaxAge(bounded);
+            newRecording.setMaxSize(maxSize.toBytes());
+            newRecording.start();
+            recording = newRecording;
+
+            logger.info("JFR recording started: settings={}, duration={}, maxSize={}", settings, bounded, maxSize);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load JFR settings: " + settings, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void stop() {
+        lock.lock();
+        try {
+            if (recording == null || recording.getState() != RecordingState.RUNNING) {
+                throw new EntityNotFoundException(ErrorCode.JFR_RECORDING_NOT_FOUND, "No JFR recording is running");
+            }
+            recording.stop();
+            logger.info("JFR recording stopped: size={} bytes", recording.getSize());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void download(OutputStream outputStream) throws IOException {
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        try {
+            lock.lock();
+            try {
+                requireRecording();
+                recording.dump(file);
+            } finally {
+                lock.unlock();
+            }
+            Files.copy(file, outputStream);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public void requireRecording() {
+        lock.lock();
+        try {
+            if (recording == null) {
+                throw new EntityNotFoundException(ErrorCode.JFR_RECORDING_NOT_FOUND);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.tateca.tatecabackend.service.impl;
+
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository.GroupScan;
+import com.tateca.tatecabackend.resilience.InternalJob;
+import com.tateca.tatecabackend.service.TransactionArchiveService;
+import com.tateca.tatecabackend.util.PiiMaskingUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+@Service
+public class TransactionArchiveServiceImpl implements TransactionArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveServiceImpl.class);
+
+    private static final int GROUPS_PER_PAGE = 100;
+
+    private final TransactionArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int inactiveMonths;
+    private final int batchSize;
+    private final int maxGroupsPerRun;
+    private final Counter groupCounter;
+    private final Counter transactionCounter;
+
+    public TransactionArchiveServiceImpl(
+            TransactionArchiveRepository archiveRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${transaction.archive.inactive-months:6}") int inactiveMonths,
+            @Value("${transaction.archive.batch-size:200}") int batchSize,
+            @Value("${transaction.archive.max-groups-per-run:1000}") int maxGroupsPerRun) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.inactiveMonths = inactiveMonths;
+        this.batchSize = batchSize;
+        this.maxGroupsPerRun = maxGroupsPerRun;
+        this.groupCounter = Counter.builder("transaction.archive.groups")
+                .description("Groups whose transactions were moved to the archive tables")
+                .register(meterRegistry);
+        this.transactionCounter = Counter.builder("transaction.archive.transactions")
+                .description("Transactions moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Scan up to max-groups-per-run groups in primary key order, starting after the group the previous run
+     * stopped at, and archive the inactive ones. The position is saved after every page, so a failed run
+     * resumes where it stopped; a run that reaches the last group starts the next one at the first again.
+     */
+    @Override
+    @InternalJob("transactionArchival")
+    public int archiveInactiveGroups() {
+        Instant cutoff = Instant.now().atZone(ZoneOffset.UTC).minusMonths(inactiveMonths).toInstant();
+        UUID after = archiveRepository.findScanPosition().orElse(null);
+
+        int scannedGroups = 0;
+        int candidateGroups = 0;
+        int archivedGroups = 0;
+        int archivedTransactions = 0;
+        while (scannedGroups < maxGroupsPerRun) {
+            int limit = Math.min(GROUPS_PER_PAGE, maxGroupsPerRun - scannedGroups);
+            GroupScan page = archiveRepository.findInactiveGroups(after, cutoff, limit);
+            for (UUID groupId : page.inactiveGroupIds()) {
+                int moved = archiveGroup(groupId, cutoff);
+                if (moved > 0) {
+                    archivedGroups++;
+                    archivedTransactions += moved;
+                }
+            }
+            scannedGroups += page.scanned();
+            candidateGroups += page.inactiveGroupIds().size();
+            after = page.scanned() < limit ? null : page.lastGroupId();
+            UUID position = after;
+            transactionTemplate.execute(status -> archiveRepository.saveScanPosition(position));
+            if (after == null) {
+                break;
+            }
+        }
+
+        groupCounter.increment(archivedGroups);
+        transactionCounter.increment(archivedTransactions);
+        logger.info("Transaction archival finished: cutoff={}, scannedGroups={}, candidateGroups={}, archivedGroups={}, "
+                + "archivedTransactions={}, completedPass={}",
+                cutoff, scannedGroups, candidateGroups, archivedGroups, archivedTransactions, after == null);
+        return archivedGroups;
+    }
+
+    /**
+     * Move the group one batch per transaction, so the group lock is only held for a batch at a time.
+     * Stops early when a write reactivated the group (that write moved the group back). A run that fails
+     * between batches leaves the group partly archived, which reads back like a fully archived group.
+     */
+    private int archiveGroup(UUID groupId, Instant cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(
+                    status -> archiveRepository.archiveOldestTransactions(groupId, cutoff, batchSize));
+            total += moved;
+        } while (moved == batchSize);
+
+        logger.debug("Group archived: groupId={}, transactions={}", PiiMaskingUtil.maskUuid(groupId), total);
+        return total;
+    }
+}
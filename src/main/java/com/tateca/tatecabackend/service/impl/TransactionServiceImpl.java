@@ -1,6 +1,8 @@
 package com.tateca.tatecabackend.service.impl;
 
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
 import com.tateca.tatecabackend.repository.TransactionRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
 import com.tateca.tatecabackend.repository.GroupRepository;
 import com.tateca.tatecabackend.repository.ObligationRepository;
@@ -12,19 +14,23 @@ import com.tateca.tatecabackend.dto.response.TransactionSettlementResponseDTO.Tr
 import com.tateca.tatecabackend.dto.response.TransactionSettlementResponseDTO;
 import com.tateca.tatecabackend.dto.response.TransactionHistoryResponseDTO;
 import com.tateca.tatecabackend.dto.response.UserResponseDTO;
+import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.entity.GroupEntity;
 import com.tateca.tatecabackend.entity.TransactionObligationEntity;
 import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
 import com.tateca.tatecabackend.entity.UserEntity;
 import com.tateca.tatecabackend.entity.UserGroupEntity;
 import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.jfr.SettlementComputationEvent;
 import com.tateca.tatecabackend.model.ParticipantModel;
 import com.tateca.tatecabackend.model.TransactionType;
 import com.tateca.tatecabackend.repository.UserRepository;
 import com.tateca.tatecabackend.service.TransactionService;
 import com.tateca.tatecabackend.util.LogFactory;
 import com.tateca.tatecabackend.util.PiiMaskingUtil;
+import com.tateca.tatecabackend.util.UuidV7Generator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
@@ -34,12 +40,15 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.tateca.tatecabackend.util.TimeHelper.convertToLocalDateInUtc;
@@ -55,18 +64,30 @@ public class TransactionServiceImpl implements TransactionService {
     private final TransactionRepository transactionRepository;
     private final ObligationRepository obligationRepository;
     private final ExchangeRateRepository exchangeRateRepository;
+    private final ExchangeRateRangeRepository exchangeRateRangeRepository;
+    private final TransactionArchiveRepository transactionArchiveRepository;
 
     @Override
     @Transactional(readOnly = true)
     public TransactionHistoryResponseDTO getTransactionHistory(int count, UUID groupId) {
         List<TransactionHistoryEntity> transactionHistoryEntityList = transactionRepository.findTransactionsByGroupWithLimit(groupId, count);
 
+        // Archived transactions are older than the hot ones, so they only fill up a short page
+        if (transactionHistoryEntityList.size() < count && transactionArchiveRepository.existsByGroup(groupId)) {
+            transactionHistoryEntityList = new ArrayList<>(transactionHistoryEntityList);
+            transactionHistoryEntityList.addAll(transactionArchiveRepository.findTransactionsByGroupWithLimit(
+                    groupId, count - transactionHistoryEntityList.size()));
+        }
+
         return TransactionHistoryResponseDTO.buildResponse(transactionHistoryEntityList);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TransactionSettlementResponseDTO getSettlements(UUID groupId) {
+        SettlementComputationEvent event = new SettlementComputationEvent();
+        event.begin();
+
         List<UserGroupEntity> userGroups = userGroupRepository.findByGroupUuidWithUserDetails(groupId);
 
         List<String> userIds = userGroups.stream()
@@ -75,10 +96,23 @@ public class TransactionServiceImpl implements TransactionService {
                 .toList();
 
         List<TransactionObligationEntity> transactionObligationEntityList = obligationRepository.findByGroupId(groupId);
+        if (transactionArchiveRepository.existsByGroup(groupId)) {
+            transactionObligationEntityList = new ArrayList<>(transactionObligationEntityList);
+            transactionObligationEntityList.addAll(transactionArchiveRepository.findObligationsByGroupId(groupId));
+        }
 
         Map<String, BigDecimal> balances = getUserBalances(userIds, transactionObligationEntityList);
         List<TransactionSettlement> transactions = optimizeTransactions(balances, userGroups);
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.groupId = groupId.toString();
+            event.groupSize = userGroups.size();
+            event.obligationCount = transactionObligationEntityList.size();
+            event.settlementCount = transactions.size();
+            event.commit();
+        }
+
         return new TransactionSettlementResponseDTO(transactions);
     }
 
@@ -212,48 +246,31 @@ public class TransactionServiceImpl implements TransactionService {
 
         // Save into transaction_history
         LocalDate date = convertToLocalDateInUtc(request.dateStr());
-        ExchangeRateEntity exchangeRate = exchangeRateRepository
-                .findByCurrencyCodeAndDate(request.currencyCode(), date)
-                .orElseGet(() -> {
-                    /*
-                    If the exchange rate for the specified date doesn't exist, use the latest
-                    (most recent) available exchange rate for that currency. This provides a
-                    more accurate fallback than LocalDate.now(), especially for historical dates
-                    or when the current date's rate hasn't been updated yet.
-                    */
-                    ExchangeRateEntity latestRate = exchangeRateRepository
-                            .findLatestByCurrencyCode(request.currencyCode())
-                            .orElseThrow(() -> new EntityNotFoundException(
-                                    "No exchange rate found for currency code: " + request.currencyCode()
-                            ));
-
-                    logger.debug("Using latest exchange rate as fallback: currency={}, date={}, rate={}",
-                            request.currencyCode(), date, latestRate.getExchangeRate());
+        ExchangeRateEntity exchangeRate = resolveExchangeRate(request.currencyCode(), date);
 
-                    ExchangeRateEntity newExchangeRateEntity = ExchangeRateEntity.builder()
-                            .currencyCode(latestRate.getCurrencyCode())
-                            .date(date)
-                            .exchangeRate(latestRate.getExchangeRate())
-                            .currency(latestRate.getCurrency())
-                            .build();
-                    return exchangeRateRepository.save(newExchangeRateEntity);
-                });
+        List<UUID> userUuids = new ArrayList<>();
+        userUuids.add(request.payerId());
+        if (request.transactionType() == TransactionType.LOAN) {
+            request.loan().obligations().forEach(obligation -> userUuids.add(obligation.userUuid()));
+        } else {
+            userUuids.add(request.repayment().recipientId());
+        }
+        Map<UUID, UserEntity> users = findUsersWithAuthUser(userUuids);
 
-        UserEntity payer = userRepository.findById(request.payerId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + request.payerId()));
+        UserEntity payer = requireUser(users, request.payerId());
         GroupEntity group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new EntityNotFoundException("Group not found: " + groupId));
+        transactionArchiveRepository.restoreGroup(groupId);
         TransactionHistoryEntity savedTransaction = transactionRepository.save(TransactionHistoryEntity.from(request.transactionType(), request.title(), request.amount(), dateStringToInstant(request.dateStr()), payer, group, exchangeRate));
 
         // Save into transaction_obligations
         if (request.transactionType() == TransactionType.LOAN) {
             List<TransactionObligationEntity> transactionObligationEntityList = request.loan().obligations().stream()
                     .map(obligation -> {
-                        UserEntity obligationUser = userRepository.findById(obligation.userUuid())
-                                .orElseThrow(() -> new EntityNotFoundException("User not found: " + obligation.userUuid()));
+                        UserEntity obligationUser = requireUser(users, obligation.userUuid());
 
                         return TransactionObligationEntity.builder()
-                                .uuid(UUID.randomUUID())
+                                .uuid(UuidV7Generator.generate())
                                 .transaction(savedTransaction)
                                 .user(obligationUser)
                                 .amount(obligation.amount())
@@ -269,8 +286,7 @@ public class TransactionServiceImpl implements TransactionService {
 
             return CreateTransactionResponseDTO.from(savedTransaction, savedObligations);
         } else {
-            UserEntity recipient = userRepository.findById(request.repayment().recipientId())
-                    .orElseThrow(() -> new EntityNotFoundException("User not found: " + request.repayment().recipientId()));
+            UserEntity recipient = requireUser(users, request.repayment().recipientId());
 
             TransactionObligationEntity savedObligation = obligationRepository.save(TransactionObligationEntity.from(savedTransaction, recipient));
 
@@ -285,12 +301,19 @@ public class TransactionServiceImpl implements TransactionService {
     @Override
     @Transactional(readOnly = true)
     public CreateTransactionResponseDTO getTransactionDetail(UUID transactionId) {
-        TransactionHistoryEntity transaction = transactionRepository.findById(transactionId)
-                .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + transactionId));
+        TransactionHistoryEntity transaction;
+        List<TransactionObligationEntity> transactionObligationEntityList;
+        Optional<TransactionHistoryEntity> hotTransaction = transactionRepository.findDetailByUuid(transactionId);
+        if (hotTransaction.isPresent()) {
+            transaction = hotTransaction.get();
+            transactionObligationEntityList = obligationRepository.findByTransactionId(transactionId);
+        } else {
+            transaction = transactionArchiveRepository.findDetailByUuid(transactionId)
+                    .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + transactionId));
+            transactionObligationEntityList = transactionArchiveRepository.findByTransactionId(transactionId);
+        }
         TransactionType transactionType = transaction.getTransactionType();
 
-        List<TransactionObligationEntity> transactionObligationEntityList = obligationRepository.findByTransactionId(transactionId);
-
         if (transactionType == TransactionType.LOAN) {
            return CreateTransactionResponseDTO.from(transaction, transactionObligationEntityList);
         } else {
@@ -302,6 +325,7 @@ public class TransactionServiceImpl implements TransactionService {
     @Transactional
     public void deleteTransaction(UUID transactionId) {
         logger.info("Deleting transaction: transactionId={}", PiiMaskingUtil.maskUuid(transactionId));
+        findTransactionToWrite(transactionId);
 
         // Delete Obligations first
         List<TransactionObligationEntity> transactionObligationEntityList = obligationRepository.findByTransactionId(transactionId);
@@ -324,7 +348,7 @@ public class TransactionServiceImpl implements TransactionService {
                 request.currencyCode());
 
         // 1. Fetch existing transaction
-        TransactionHistoryEntity existingTransaction = transactionRepository.findById(transactionId)
+        TransactionHistoryEntity existingTransaction = findTransactionToWrite(transactionId)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found: " + transactionId));
 
         // 2. Business rule: Only LOAN transactions can be updated
@@ -339,32 +363,17 @@ public class TransactionServiceImpl implements TransactionService {
         existingTransaction.setTransactionDate(dateStringToInstant(request.dateStr()));
 
         // 4. Update payer
-        UserEntity newPayer = userRepository.findById(request.payerId())
-                .orElseThrow(() -> new EntityNotFoundException("User not found: " + request.payerId()));
+        List<UUID> userUuids = new ArrayList<>();
+        userUuids.add(request.payerId());
+        request.loan().obligations().forEach(obligation -> userUuids.add(obligation.userUuid()));
+        Map<UUID, UserEntity> users = findUsersWithAuthUser(userUuids);
+
+        UserEntity newPayer = requireUser(users, request.payerId());
         existingTransaction.setPayer(newPayer);
 
         // 5. Update exchange rate
         LocalDate date = convertToLocalDateInUtc(request.dateStr());
-        ExchangeRateEntity exchangeRate = exchangeRateRepository
-                .findByCurrencyCodeAndDate(request.currencyCode(), date)
-                .orElseGet(() -> {
-                    ExchangeRateEntity latestRate = exchangeRateRepository
-                            .findLatestByCurrencyCode(request.currencyCode())
-                            .orElseThrow(() -> new EntityNotFoundException(
-                                    "No exchange rate found for currency code: " + request.currencyCode()
-                            ));
-
-                    logger.debug("Using latest exchange rate as fallback: currency={}, date={}, rate={}",
-                            request.currencyCode(), date, latestRate.getExchangeRate());
-
-                    ExchangeRateEntity newExchangeRateEntity = ExchangeRateEntity.builder()
-                            .currencyCode(latestRate.getCurrencyCode())
-                            .date(date)
-                            .exchangeRate(latestRate.getExchangeRate())
-                            .currency(latestRate.getCurrency())
-                            .build();
-                    return exchangeRateRepository.save(newExchangeRateEntity);
-                });
+        ExchangeRateEntity exchangeRate = resolveExchangeRate(request.currencyCode(), date);
         existingTransaction.setExchangeRate(exchangeRate);
 
         // 6. Replace obligations: delete all old obligations and create new ones
@@ -372,11 +381,10 @@ public class TransactionServiceImpl implements TransactionService {
 
         List<TransactionObligationEntity> newObligations = request.loan().obligations().stream()
                 .map(obligation -> {
-                    UserEntity obligationUser = userRepository.findById(obligation.userUuid())
-                            .orElseThrow(() -> new EntityNotFoundException("User not found: " + obligation.userUuid()));
+                    UserEntity obligationUser = requireUser(users, obligation.userUuid());
 
                     return TransactionObligationEntity.builder()
-                            .uuid(UUID.randomUUID())
+                            .uuid(UuidV7Generator.generate())
                             .transaction(existingTransaction)
                             .user(obligationUser)
                             .amount(obligation.amount())
@@ -395,4 +403,78 @@ public class TransactionServiceImpl implements TransactionService {
 
         return CreateTransactionResponseDTO.from(updatedTransaction, savedObligations);
     }
+
+    /**
+     * Load a transaction about to change, after moving its group back from the archive if it was archived:
+     * every write reactivates the group.
+     */
+    private Optional<TransactionHistoryEntity> findTransactionToWrite(UUID transactionId) {
+        Optional<TransactionHistoryEntity> transaction = transactionRepository.findById(transactionId);
+        Optional<UUID> groupId = transaction.map(t -> t.getGroup().getUuid())
+                .or(() -> transactionArchiveRepository.findGroupIdByTransactionId(transactionId));
+        if (groupId.isPresent() && transactionArchiveRepository.restoreGroup(groupId.get()) > 0
+                && transaction.isEmpty()) {
+            transaction = transactionRepository.findById(transactionId);
+        }
+        return transaction;
+    }
+
+    /**
+     * Load the users of a request in one query, with the auth users the response maps.
+     */
+    private Map<UUID, UserEntity> findUsersWithAuthUser(Collection<UUID> uuids) {
+        return userRepository.findAllWithAuthUserByUuidIn(uuids).stream()
+                .collect(Collectors.toMap(UserEntity::getUuid, Function.identity()));
+    }
+
+    private static UserEntity requireUser(Map<UUID, UserEntity> users, UUID uuid) {
+        UserEntity user = users.get(uuid);
+        if (user == null) {
+            throw new EntityNotFoundException("User not found: " + uuid);
+        }
+        return user;
+    }
+
+    /**
+     * Resolve the rate a transaction on {@code date} is priced with, pinned as an exchange_rates row
+     * (transaction_history references exchange_rates by currency code and date).
+     *
+     * <p>An existing row for the date is reused. Otherwise the rate range effective on the date is pinned.
+     * If the date precedes every range (or the currency has none), the latest available rate is used:
+     * this provides a more accurate fallback than LocalDate.now(), especially for historical dates
+     * or when the current date's rate hasn't been updated yet.
+     */
+    private ExchangeRateEntity resolveExchangeRate(String currencyCode, LocalDate date) {
+        return exchangeRateRepository
+                .findByCurrencyCodeAndDate(currencyCode, date)
+                .orElseGet(() -> {
+                    ExchangeRateRangeEntity range = exchangeRateRangeRepository.findEffectiveOn(currencyCode, date)
+                            .or(() -> exchangeRateRangeRepository.findLatestByCurrencyCode(currencyCode))
+                            .orElse(null);
+                    if (range != null) {
+                        return pinExchangeRate(range.getCurrency(), date, range.getExchangeRate());
+                    }
+
+                    ExchangeRateEntity latestRate = exchangeRateRepository
+                            .findLatestByCurrencyCode(currencyCode)
+                            .orElseThrow(() -> new EntityNotFoundException(
+                                    "No exchange rate found for currency code: " + currencyCode
+                            ));
+
+                    logger.debug("Using latest exchange rate as fallback: currency={}, date={}, rate={}",
+                            currencyCode, date, latestRate.getExchangeRate());
+
+                    return pinExchangeRate(latestRate.getCurrency(), date, latestRate.getExchangeRate());
+                });
+    }
+
+    private ExchangeRateEntity pinExchangeRate(CurrencyEntity currency, LocalDate date, BigDecimal rate) {
+        ExchangeRateEntity newExchangeRateEntity = ExchangeRateEntity.builder()
+                .currencyCode(currency.getCurrencyCode())
+                .date(date)
+                .exchangeRate(rate)
+                .currency(currency)
+                .build();
+        return exchangeRateRepository.save(newExchangeRateEntity);
+    }
 }
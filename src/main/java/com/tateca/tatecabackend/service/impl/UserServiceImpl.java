@@ -28,7 +28,7 @@ public class UserServiceImpl implements UserService {
     public UserResponseDTO updateUserName(String authUid, UUID userId, UpdateUserNameRequestDTO request) {
         logger.info("Updating user name: userId={}", PiiMaskingUtil.maskUuid(userId));
 
-        UserEntity user = repository.findById(userId)
+        UserEntity user = repository.findWithAuthUserByUuid(userId)
                 .orElseThrow(() -> new EntityNotFoundException(ErrorCode.USER_NOT_FOUND));
 
         String resourceOwnerUid = user.getAuthUser() != null ? user.getAuthUser().getUid() : null;
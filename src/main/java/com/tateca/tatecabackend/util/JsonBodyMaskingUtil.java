@@ -1,13 +1,18 @@
 package com.tateca.tatecabackend.util;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 /**
  * Utility class for masking sensitive fields in JSON request/response bodies.
@@ -17,6 +22,7 @@ import java.util.Set;
  *   <li>Masks PII fields: userId, uid, email, password, token, apiKey, etc.</li>
  *   <li>Preserves business data: amount, description, transactionType, status, etc.</li>
  *   <li>Works recursively for nested objects and arrays</li>
+ *   <li>Field names are matched case-insensitively</li>
  *   <li>Development environment (dev): No masking applied</li>
  *   <li>Production environment (prod): Masks sensitive fields</li>
  * </ul>
@@ -49,14 +55,41 @@ public class JsonBodyMaskingUtil {
         "authorization"
     );
 
+    /**
+     * Case-insensitive view of {@link #SENSITIVE_FIELDS}, so a lookup neither lowercases the key nor scans the set.
+     */
+    private static final SortedSet<String> SENSITIVE_FIELD_LOOKUP = createSensitiveFieldLookup();
+
     /**
      * Mask sensitive fields in JSON body.
      * If the body is not valid JSON, returns the original string.
      *
+     * <p>The body is streamed token by token from a {@link JsonParser} into a {@link JsonGenerator},
+     * so no intermediate Map/List tree is built; only the values of sensitive fields are rewritten.
+     *
+     * <p>Duplicate keys are kept as sent, each value masked on its own. The former tree-based masker
+     * collapsed them into one entry holding the last value, so the log now shows every occurrence.
+     *
      * @param jsonBody JSON string to mask
      * @return Masked JSON string, or original string if parsing fails
      */
     public static String maskJsonBody(String jsonBody) {
+        return mask(jsonBody, false);
+    }
+
+    /**
+     * Mask a JSON body that was cut off at a capture limit.
+     * Everything up to the cut is masked and returned; a value cut in the middle is dropped,
+     * so a partially captured sensitive value is never logged.
+     *
+     * @param truncatedJsonBody leading part of a JSON body
+     * @return Masked prefix, or original string if it does not start like JSON
+     */
+    public static String maskTruncatedJsonBody(String truncatedJsonBody) {
+        return mask(truncatedJsonBody, true);
+    }
+
+    private static String mask(String jsonBody, boolean truncated) {
         if (jsonBody == null || jsonBody.isEmpty()) {
             return jsonBody;
         }
@@ -66,16 +99,24 @@ public class JsonBodyMaskingUtil {
             return jsonBody;
         }
 
-        try {
-            // Parse JSON to Map/List
-            Object parsed = OBJECT_MAPPER.readValue(jsonBody, Object.class);
-
-            // Mask sensitive fields recursively
-            Object masked = maskObject(parsed);
+        StringWriter writer = new StringWriter(jsonBody.length());
+        try (JsonParser parser = OBJECT_MAPPER.createParser(jsonBody)) {
+            if (parser.nextToken() == null) {
+                return jsonBody;
+            }
 
-            // Convert back to JSON string
-            return OBJECT_MAPPER.writeValueAsString(masked);
+            try (JsonGenerator generator = OBJECT_MAPPER.createGenerator(writer)) {
+                if (truncated) {
+                    // Do not invent closing brackets for content that was cut off
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                }
+                copyMasked(parser, generator);
+            }
+            return writer.toString();
 
+        } catch (JsonEOFException e) {
+            // Expected for truncated bodies: keep what was masked before the cut
+            return truncated ? writer.toString() : jsonBody;
         } catch (Exception e) {
             // If JSON parsing fails, return original string
             // This can happen for non-JSON bodies (plain text, XML, etc.)
@@ -85,46 +126,59 @@ public class JsonBodyMaskingUtil {
     }
 
     /**
-     * Recursively mask sensitive fields in an object.
+     * Copy the root value token by token, masking the values of sensitive fields.
+     * Trailing content after the root value is ignored.
      */
-    @SuppressWarnings("unchecked")
-    private static Object maskObject(Object obj) {
-        if (obj == null) {
-            return null;
-        }
-
-        if (obj instanceof Map) {
-            Map<String, Object> map = (Map<String, Object>) obj;
-            Map<String, Object> maskedMap = new LinkedHashMap<>();
-
-            for (Map.Entry<String, Object> entry : map.entrySet()) {
-                String key = entry.getKey();
-                Object value = entry.getValue();
-
-                if (isSensitiveField(key)) {
-                    // Mask the value based on its type
-                    maskedMap.put(key, maskValue(value));
-                } else {
-                    // Recursively process nested objects
-                    maskedMap.put(key, maskObject(value));
+    private static void copyMasked(JsonParser parser, JsonGenerator generator) throws IOException {
+        int depth = 0;
+        JsonToken token = parser.currentToken();
+
+        do {
+            if (token == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                generator.writeFieldName(fieldName);
+
+                if (isSensitiveField(fieldName)) {
+                    parser.nextToken();
+                    writeMaskedValue(parser, generator);
+                }
+            } else {
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
                 }
+                copyToken(parser, generator, token);
             }
 
-            return maskedMap;
-
-        } else if (obj instanceof List) {
-            List<Object> list = (List<Object>) obj;
-            List<Object> maskedList = new ArrayList<>();
-
-            for (Object item : list) {
-                maskedList.add(maskObject(item));
-            }
+            token = depth > 0 ? parser.nextToken() : null;
+        } while (token != null);
+    }
 
-            return maskedList;
+    private static void copyToken(JsonParser parser, JsonGenerator generator, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+            // Floats are read as Double, matching what Object deserialization produces
+            generator.writeNumber(parser.getDoubleValue());
+        } else {
+            generator.copyCurrentEvent(parser);
+        }
+    }
 
+    /**
+     * Replace the current value with its masked string form.
+     * Objects and arrays are rendered like {@code Map#toString()} / {@code List#toString()} before masking.
+     */
+    private static void writeMaskedValue(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NULL) {
+            generator.writeNull();
+        } else if (token.isStructStart()) {
+            generator.writeString(maskValue(OBJECT_MAPPER.readValue(parser, Object.class)));
+        } else if (token.isNumeric()) {
+            generator.writeString(maskValue(parser.getNumberValue()));
         } else {
-            // Primitive types, strings, numbers, etc. - return as is
-            return obj;
+            generator.writeString(maskValue(parser.getText()));
         }
     }
 
@@ -132,15 +186,13 @@ public class JsonBodyMaskingUtil {
      * Check if a field name is sensitive and should be masked.
      */
     private static boolean isSensitiveField(String fieldName) {
-        if (fieldName == null) {
-            return false;
-        }
-
-        // Case-insensitive matching
-        String lowerFieldName = fieldName.toLowerCase();
+        return fieldName != null && SENSITIVE_FIELD_LOOKUP.contains(fieldName);
+    }
 
-        return SENSITIVE_FIELDS.stream()
-            .anyMatch(sensitive -> lowerFieldName.equals(sensitive.toLowerCase()));
+    private static SortedSet<String> createSensitiveFieldLookup() {
+        SortedSet<String> lookup = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        lookup.addAll(SENSITIVE_FIELDS);
+        return Collections.unmodifiableSortedSet(lookup);
     }
 
     /**
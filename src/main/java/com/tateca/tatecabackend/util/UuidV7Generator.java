@@ -0,0 +1,41 @@
+package com.tateca.tatecabackend.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDs (version 7, RFC 9562) for new primary keys.
+ *
+ * <p>Keys stored as {@code BINARY(16)} sort by creation time, so InnoDB appends new rows at the right edge of
+ * the clustered index instead of splitting random pages, and recent rows share pages in the buffer pool.
+ *
+ * <p>Layout: 48-bit Unix epoch milliseconds, version, 12-bit sequence, variant, 62 random bits.
+ * The sequence restarts at 0 each millisecond and is incremented with a CAS, so ids are strictly increasing
+ * within this JVM without locking. More than 4096 ids in one millisecond borrow the next millisecond's
+ * timestamp rather than wrap.
+ */
+public final class UuidV7Generator {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7Generator() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long next = LAST.updateAndGet(last -> Math.max(now, last + 1));
+        long timestamp = next >>> SEQUENCE_BITS;
+        long mostSigBits = (timestamp << 16) | VERSION | (next & SEQUENCE_MASK);
+        long leastSigBits = VARIANT | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
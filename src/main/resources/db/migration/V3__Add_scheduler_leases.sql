@@ -0,0 +1,21 @@
+-- ============================================================================
+-- Migration: V3__Add_scheduler_leases.sql
+-- Purpose: Lease rows for in-process scheduled jobs (one instance runs each cycle)
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- An instance runs a job only after acquiring its row with a conditional UPDATE
+-- (generation unchanged and lease expired). generation is bumped on every release,
+-- so an instance acting on a stale read cannot acquire the lease again.
+CREATE TABLE IF NOT EXISTS `scheduler_leases` (
+  `name` varchar(64) NOT NULL,
+  `owner` varchar(128) DEFAULT NULL,
+  `locked_until` timestamp(6) NULL DEFAULT NULL,
+  `generation` bigint NOT NULL DEFAULT '0',
+  `last_success_at` timestamp(6) NULL DEFAULT NULL,
+  `failure_count` int NOT NULL DEFAULT '0',
+  `next_attempt_at` timestamp(6) NULL DEFAULT NULL,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+INSERT INTO `scheduler_leases` (`name`) VALUES ('exchange-rate-ingestion');
@@ -0,0 +1,51 @@
+-- ============================================================================
+-- Migration: V4__Add_exchange_rate_ranges.sql
+-- Purpose: Store exchange rates as validity ranges and compact the per-day rows
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- One row per (currency, period with an unchanged rate). effective_to is inclusive;
+-- the currently effective range ends on 9999-12-31.
+-- The primary key serves single-currency lookups (latest effective_from <= date);
+-- idx_exchange_rate_ranges_effective_to serves "all currencies on a date", which for recent
+-- dates only touches the open ranges.
+CREATE TABLE IF NOT EXISTS `exchange_rate_ranges` (
+  `currency_code` char(3) NOT NULL,
+  `effective_from` date NOT NULL,
+  `effective_to` date NOT NULL,
+  `exchange_rate` decimal(18,6) NOT NULL,
+  `created_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP,
+  `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`currency_code`,`effective_from`),
+  KEY `idx_exchange_rate_ranges_effective_to` (`effective_to`,`effective_from`),
+  CONSTRAINT `exchange_rate_ranges_ibfk_1` FOREIGN KEY (`currency_code`) REFERENCES `currencies` (`currency_code`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+
+-- Compact the per-day rows: a range starts at every day whose rate differs from the previous
+-- stored day of the currency and lasts until the day before the next range starts.
+-- Days missing between stored days belong to the preceding range.
+INSERT INTO `exchange_rate_ranges` (`currency_code`, `effective_from`, `effective_to`, `exchange_rate`)
+SELECT
+  `currency_code`,
+  `date`,
+  COALESCE(
+    DATE_SUB(LEAD(`date`) OVER (PARTITION BY `currency_code` ORDER BY `date`), INTERVAL 1 DAY),
+    '9999-12-31'),
+  `exchange_rate`
+FROM (
+  SELECT
+    `currency_code`,
+    `date`,
+    `exchange_rate`,
+    LAG(`exchange_rate`) OVER (PARTITION BY `currency_code` ORDER BY `date`) AS `previous_rate`
+  FROM `exchange_rates`
+) AS `daily`
+WHERE `previous_rate` IS NULL OR `previous_rate` <> `exchange_rate`;
+
+-- exchange_rates now only keeps the rows transactions are priced with
+-- (transaction_history joins it on currency_code and exchange_rate_date).
+DELETE `er` FROM `exchange_rates` AS `er`
+LEFT JOIN `transaction_history` AS `th`
+  ON `th`.`currency_code` = `er`.`currency_code`
+  AND `th`.`exchange_rate_date` = `er`.`date`
+WHERE `th`.`uuid` IS NULL;
@@ -0,0 +1,27 @@
+-- ============================================================================
+-- Migration: V5__Redesign_indexes.sql
+-- Purpose: Drop the duplicate obligation indexes kept from production (V1) and
+--          add composite indexes for the group-scoped queries
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- transaction_obligations: one index per foreign key column is enough.
+-- idx_transaction_obligations_transaction_uuid serves findByTransactionId and the settlement join,
+-- idx_transaction_obligations_user_uuid serves existsByUser; the copies only slowed down inserts.
+ALTER TABLE `transaction_obligations`
+  DROP INDEX `idx_transaction_uuid`,
+  DROP INDEX `user_uuid`;
+
+-- transaction_history: history reads the latest transactions of a group (ORDER BY created_at DESC LIMIT n).
+-- (group_uuid, created_at) returns them in order without a filesort, covers the per-group count,
+-- and replaces the single-column index on the group_uuid foreign key.
+ALTER TABLE `transaction_history`
+  ADD KEY `idx_transaction_history_group_uuid_created_at` (`group_uuid`, `created_at`),
+  DROP INDEX `idx_transaction_history_group_uuid`;
+
+-- user_groups: lookups by group read the member uuids from the index alone and join users by primary key.
+-- InnoDB already appended user_uuid (the rest of the primary key) to `group_uuid`; naming it makes the
+-- covering index explicit instead of relying on that.
+ALTER TABLE `user_groups`
+  ADD KEY `idx_user_groups_group_uuid_user_uuid` (`group_uuid`, `user_uuid`),
+  DROP INDEX `group_uuid`;
@@ -0,0 +1,43 @@
+-- ============================================================================
+-- Migration: V6__Add_transaction_archive.sql
+-- Purpose: Archive tables for transactions of inactive groups, and the lease row of the archival job
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- Transactions of groups without activity for transaction.archive.inactive-months are moved here
+-- (TransactionArchiveRepository), keeping the hot tables and their indexes to the groups still in use.
+-- Same stored columns as the hot tables (the generated *_text columns are left out); compressed pages,
+-- since archived rows are read rarely and never updated in place. Any write to the group moves its
+-- rows back first.
+CREATE TABLE IF NOT EXISTS `transaction_history_archive` (
+  `uuid` binary(16) NOT NULL,
+  `transaction_type` enum('LOAN','REPAYMENT') NOT NULL,
+  `group_uuid` binary(16) NOT NULL,
+  `title` varchar(50) DEFAULT NULL,
+  `amount` int NOT NULL,
+  `currency_code` char(3) NOT NULL,
+  `exchange_rate_date` date NOT NULL,
+  `transaction_date` timestamp NOT NULL,
+  `payer_id` binary(16) NOT NULL,
+  `created_at` timestamp NULL DEFAULT NULL,
+  `updated_at` timestamp NULL DEFAULT NULL,
+  PRIMARY KEY (`uuid`),
+  KEY `idx_transaction_history_archive_group_uuid_created_at` (`group_uuid`, `created_at`),
+  CONSTRAINT `transaction_history_archive_ibfk_1` FOREIGN KEY (`group_uuid`) REFERENCES `groups` (`uuid`),
+  CONSTRAINT `transaction_history_archive_ibfk_2` FOREIGN KEY (`payer_id`) REFERENCES `users` (`uuid`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+CREATE TABLE IF NOT EXISTS `transaction_obligations_archive` (
+  `uuid` binary(16) NOT NULL,
+  `transaction_uuid` binary(16) NOT NULL,
+  `user_uuid` binary(16) NOT NULL,
+  `amount` int NOT NULL,
+  `created_at` timestamp NULL DEFAULT NULL,
+  `updated_at` timestamp NULL DEFAULT NULL,
+  PRIMARY KEY (`uuid`),
+  KEY `idx_transaction_obligations_archive_transaction_uuid` (`transaction_uuid`),
+  CONSTRAINT `transaction_obligations_archive_ibfk_1` FOREIGN KEY (`transaction_uuid`) REFERENCES `transaction_history_archive` (`uuid`),
+  CONSTRAINT `transaction_obligations_archive_ibfk_2` FOREIGN KEY (`user_uuid`) REFERENCES `users` (`uuid`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8;
+
+INSERT INTO `scheduler_leases` (`name`) VALUES ('transaction-archival');
@@ -0,0 +1,20 @@
+-- ============================================================================
+-- Migration: V7__Add_transaction_activity_index.sql
+-- Purpose: Index the last activity of a group's transactions and keep the archival
+--          job's scan position between runs
+-- Date: 2026-10-19
+-- ============================================================================
+
+-- The archival job probes each group for a transaction updated since the cutoff
+-- (TransactionArchiveRepository.findInactiveGroups). updated_at is set on insert and on
+-- every update, so rows without it predate that; backfill them so the probe needs no
+-- COALESCE(updated_at, created_at), which no index can serve.
+UPDATE `transaction_history` SET `updated_at` = `created_at` WHERE `updated_at` IS NULL;
+
+ALTER TABLE `transaction_history`
+  ADD KEY `idx_transaction_history_group_uuid_updated_at` (`group_uuid`, `updated_at`);
+
+-- Last group scanned by a job that pages through a table across runs (keyset on the
+-- primary key); NULL starts the next run at the beginning.
+ALTER TABLE `scheduler_leases`
+  ADD COLUMN `resume_after` binary(16) NULL DEFAULT NULL;
@@ -1,8 +1,14 @@
 package com.tateca.tatecabackend;
 
+import com.tateca.tatecabackend.metrics.NPlusOneDetector;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.test.context.ActiveProfiles;
@@ -11,6 +17,8 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MySQLContainer;
 import org.wiremock.integrations.testcontainers.WireMockContainer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Base class for Integration tests with MySQL and WireMock containers.
  * Provides shared Testcontainers infrastructure (MySQL + WireMock).
@@ -18,6 +26,14 @@ import org.wiremock.integrations.testcontainers.WireMockContainer;
  * All subclasses share a single MySQL instance via Testcontainers.
  * {@code @ResourceLock("DATABASE")} serializes DB-dependent test classes
  * while allowing Unit/WebMvc tests to run in parallel.
+ * <p>
+ * Requests made during a test must not repeat a statement beyond the N+1 threshold
+ * ({@code jdbc.n-plus-one.threshold}); violations fail the test after it runs.
+ * <p>
+ * The second-level cache is emptied before each test: {@code cleanup.sql} truncates tables behind Hibernate's back.
+ * <p>
+ * Query-count assertions use Hibernate statistics: call {@link #clearStatistics()} right before the request
+ * under test, then check {@link #lazyFetches(Class)} - an association loaded lazily, one row per select.
  */
 @SpringBootTest
 @ActiveProfiles("test")
@@ -47,6 +63,39 @@ public abstract class AbstractIntegrationTest {
     @PersistenceContext
     protected EntityManager entityManager;
 
+    @Autowired
+    private NPlusOneDetector nPlusOneDetector;
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void assertNoNPlusOneQueries() {
+        assertThat(nPlusOneDetector.drainViolations())
+                .as("Requests repeated the same statement beyond the N+1 threshold")
+                .isEmpty();
+    }
+
+    /**
+     * Clears Hibernate statistics so that they count only what runs next.
+     */
+    protected Statistics clearStatistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    /**
+     * Number of {@code entityClass} rows fetched one at a time (lazy association or proxy initialization)
+     * since the last {@link #clearStatistics()}; second-level cache hits are not counted.
+     */
+    protected long lazyFetches(Class<?> entityClass) {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(entityClass.getName()).getFetchCount();
+    }
+
     /**
      * Flushes pending changes to the database.
      */
@@ -0,0 +1,230 @@
+package com.tateca.tatecabackend.api.client;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ExchangeRateApiClient Hedging Tests")
+class ExchangeRateApiClientHedgingTest {
+
+    @RegisterExtension
+    static WireMockExtension primaryServer = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    @RegisterExtension
+    static WireMockExtension secondaryServer = WireMockExtension.newInstance()
+            .options(wireMockConfig().dynamicPort())
+            .build();
+
+    private static final String API_KEY = "test-api-key";
+    private static final String PRIMARY_PATH = "/" + API_KEY + "/latest/JPY";
+    private static final String SECONDARY_PATH = "/latest?from=JPY";
+
+    private static final String PRIMARY_BODY = """
+            {
+              "result": "success",
+              "time_last_update_unix": "1704067200",
+              "conversion_rates": {"JPY": 1.0, "USD": 0.0067, "EUR": 0.0061}
+            }
+            """;
+    private static final String SECONDARY_BODY = """
+            {
+              "amount": 1.0,
+              "base": "JPY",
+              "date": "2024-01-02",
+              "rates": {"USD": 0.0068, "EUR": 0.0062}
+            }
+            """;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private ExchangeRateApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        apiClient = new ExchangeRateApiClient(
+                new ExchangeRateApiProvider(API_KEY,
+                        createClient(primaryServer.baseUrl(), ExchangeRateHttpClient.class)),
+                new FrankfurterProvider(createClient(secondaryServer.baseUrl(), FrankfurterHttpClient.class)),
+                circuitBreakerRegistry,
+                Duration.ofMillis(200), Duration.ofMillis(100), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        apiClient.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Given the primary provider answers within the hedge delay")
+    class WhenPrimaryIsFast {
+
+        @Test
+        @DisplayName("Then should return the primary's rates without calling the secondary")
+        void thenShouldNotCallSecondary() {
+            stubPrimary(aResponse().withStatus(200).withBody(PRIMARY_BODY));
+            stubSecondary(aResponse().withStatus(200).withBody(SECONDARY_BODY));
+
+            ExchangeRateClientResponse response = apiClient.fetchLatestExchangeRate();
+
+            assertThat(response.timeLastUpdateUnix()).isEqualTo("1704067200");
+            assertThat(response.conversionRates()).containsEntry("USD", 0.0067);
+            secondaryServer.verify(0, getRequestedFor(urlEqualTo(SECONDARY_PATH)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the primary provider is slower than the hedge delay")
+    class WhenPrimaryIsSlow {
+
+        @Test
+        @DisplayName("Then should hedge with the secondary and return its normalized rates")
+        void thenShouldReturnSecondaryResponse() {
+            stubPrimary(aResponse().withStatus(200).withBody(PRIMARY_BODY).withFixedDelay(1500));
+            stubSecondary(aResponse().withStatus(200).withBody(SECONDARY_BODY));
+
+            long start = System.nanoTime();
+            ExchangeRateClientResponse response = apiClient.fetchLatestExchangeRate();
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1500));
+            assertThat(response.result()).isEqualTo("success");
+            assertThat(response.timeLastUpdateUnix()).isEqualTo("1704153600");
+            assertThat(response.conversionRates())
+                    .containsEntry("JPY", 1.0)
+                    .containsEntry("USD", 0.0068);
+            primaryServer.verify(1, getRequestedFor(urlEqualTo(PRIMARY_PATH)));
+            secondaryServer.verify(1, getRequestedFor(urlEqualTo(SECONDARY_PATH)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the primary provider fails")
+    class WhenPrimaryFails {
+
+        @Test
+        @DisplayName("Then should fall back to the secondary")
+        void thenShouldFallBackToSecondary() {
+            stubPrimary(aResponse().withStatus(500));
+            stubSecondary(aResponse().withStatus(200).withBody(SECONDARY_BODY));
+
+            ExchangeRateClientResponse response = apiClient.fetchLatestExchangeRate();
+
+            assertThat(response.conversionRates()).containsEntry("EUR", 0.0062);
+        }
+
+        @Test
+        @DisplayName("Then should fall back to the secondary when the primary's payload is not a success")
+        void thenShouldRejectUnsuccessfulPayload() {
+            stubPrimary(aResponse().withStatus(200).withBody("""
+                    {"result": "error", "error-type": "quota-reached"}
+                    """));
+            stubSecondary(aResponse().withStatus(200).withBody(SECONDARY_BODY));
+
+            ExchangeRateClientResponse response = apiClient.fetchLatestExchangeRate();
+
+            assertThat(response.conversionRates()).containsEntry("EUR", 0.0062);
+        }
+
+        @Test
+        @DisplayName("Then should throw the primary's failure when the secondary fails too")
+        void thenShouldThrowPrimaryFailure() {
+            stubPrimary(aResponse().withStatus(500));
+            stubSecondary(aResponse().withStatus(503));
+
+            assertThatThrownBy(() -> apiClient.fetchLatestExchangeRate())
+                    .isInstanceOf(HttpServerErrorException.InternalServerError.class)
+                    .satisfies(e -> assertThat(e.getSuppressed())
+                            .hasOnlyElementsOfType(HttpServerErrorException.ServiceUnavailable.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the primary provider's circuit is open")
+    class WhenPrimaryCircuitIsOpen {
+
+        @Test
+        @DisplayName("Then should use the secondary without calling the primary")
+        void thenShouldSkipPrimary() {
+            circuitBreakerRegistry.circuitBreaker(ExchangeRateApiProvider.NAME).transitionToOpenState();
+            stubPrimary(aResponse().withStatus(200).withBody(PRIMARY_BODY));
+            stubSecondary(aResponse().withStatus(200).withBody(SECONDARY_BODY));
+
+            ExchangeRateClientResponse response = apiClient.fetchLatestExchangeRate();
+
+            assertThat(response.conversionRates()).containsEntry("USD", 0.0068);
+            primaryServer.verify(0, getRequestedFor(urlEqualTo(PRIMARY_PATH)));
+        }
+
+        @Test
+        @DisplayName("Then should throw CallNotPermittedException when both circuits are open")
+        void thenShouldRejectWhenBothOpen() {
+            circuitBreakerRegistry.circuitBreaker(ExchangeRateApiProvider.NAME).transitionToOpenState();
+            circuitBreakerRegistry.circuitBreaker(FrankfurterProvider.NAME).transitionToOpenState();
+
+            assertThatThrownBy(() -> apiClient.fetchLatestExchangeRate())
+                    .isInstanceOf(CallNotPermittedException.class);
+            primaryServer.verify(0, getRequestedFor(urlEqualTo(PRIMARY_PATH)));
+            secondaryServer.verify(0, getRequestedFor(urlEqualTo(SECONDARY_PATH)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the client has been shut down")
+    class WhenShutDown {
+
+        @Test
+        @DisplayName("Then should reject new hedged calls")
+        void thenShouldRejectCalls() {
+            stubPrimary(aResponse().withStatus(200).withBody(PRIMARY_BODY));
+
+            apiClient.shutdown();
+
+            assertThatThrownBy(() -> apiClient.fetchLatestExchangeRate())
+                    .isInstanceOf(RejectedExecutionException.class);
+            primaryServer.verify(0, getRequestedFor(urlEqualTo(PRIMARY_PATH)));
+        }
+    }
+
+    private static void stubPrimary(ResponseDefinitionBuilder response) {
+        primaryServer.stubFor(get(urlEqualTo(PRIMARY_PATH))
+                .willReturn(response.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+
+    private static void stubSecondary(ResponseDefinitionBuilder response) {
+        secondaryServer.stubFor(get(urlEqualTo(SECONDARY_PATH))
+                .willReturn(response.withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+
+    private static <T> T createClient(String baseUrl, Class<T> clientType) {
+        RestClient restClient = RestClient.builder().baseUrl(baseUrl).build();
+        return HttpServiceProxyFactory.builderFor(RestClientAdapter.create(restClient))
+                .build()
+                .createClient(clientType);
+    }
+}
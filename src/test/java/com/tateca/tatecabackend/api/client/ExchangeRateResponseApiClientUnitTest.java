@@ -2,6 +2,7 @@ package com.tateca.tatecabackend.api.client;
 
 import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,6 +12,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClientException;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
@@ -29,7 +32,8 @@ class ExchangeRateResponseApiClientUnitTest {
 
     @BeforeEach
     void setUp() {
-        apiClient = new ExchangeRateApiClient(TEST_API_KEY, httpClient);
+        apiClient = new ExchangeRateApiClient(new ExchangeRateApiProvider(TEST_API_KEY, httpClient), null,
+                CircuitBreakerRegistry.ofDefaults(), Duration.ofSeconds(2), Duration.ofMillis(500), Duration.ofSeconds(5));
     }
 
     @Nested
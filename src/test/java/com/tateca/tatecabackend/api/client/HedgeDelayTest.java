@@ -0,0 +1,62 @@
+package com.tateca.tatecabackend.api.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HedgeDelay Unit Tests")
+class HedgeDelayTest {
+
+    private final HedgeDelay hedgeDelay = new HedgeDelay(
+            Duration.ofSeconds(2), Duration.ofMillis(100), Duration.ofSeconds(1), 20, 5);
+
+    @Nested
+    @DisplayName("Given fewer latencies than the minimum sample count")
+    class WhenTooFewSamples {
+
+        @Test
+        @DisplayName("Then should use the initial delay")
+        void thenShouldUseInitialDelay() {
+            IntStream.range(0, 4).forEach(i -> hedgeDelay.record(Duration.ofMillis(300)));
+
+            assertThat(hedgeDelay.current()).isEqualTo(Duration.ofSeconds(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given enough latencies")
+    class WhenEnoughSamples {
+
+        @Test
+        @DisplayName("Then should use the p95 latency")
+        void thenShouldUseP95() {
+            IntStream.rangeClosed(1, 20).forEach(i -> hedgeDelay.record(Duration.ofMillis(i * 10L)));
+
+            assertThat(hedgeDelay.current()).isEqualTo(Duration.ofMillis(190));
+        }
+
+        @Test
+        @DisplayName("Then should clamp the p95 latency to the configured bounds")
+        void thenShouldClamp() {
+            IntStream.range(0, 5).forEach(i -> hedgeDelay.record(Duration.ofMillis(10)));
+            assertThat(hedgeDelay.current()).isEqualTo(Duration.ofMillis(100));
+
+            IntStream.range(0, 20).forEach(i -> hedgeDelay.record(Duration.ofSeconds(3)));
+            assertThat(hedgeDelay.current()).isEqualTo(Duration.ofSeconds(1));
+        }
+
+        @Test
+        @DisplayName("Then should only consider the most recent window")
+        void thenShouldSlideWindow() {
+            IntStream.range(0, 20).forEach(i -> hedgeDelay.record(Duration.ofMillis(900)));
+            IntStream.range(0, 20).forEach(i -> hedgeDelay.record(Duration.ofMillis(200)));
+
+            assertThat(hedgeDelay.current()).isEqualTo(Duration.ofMillis(200));
+        }
+    }
+}
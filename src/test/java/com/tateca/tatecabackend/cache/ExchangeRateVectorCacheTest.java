@@ -0,0 +1,213 @@
+package com.tateca.tatecabackend.cache;
+
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ExchangeRateVectorCache Unit Tests")
+class ExchangeRateVectorCacheTest {
+
+    private static final LocalDate PAST_DATE = LocalDate.of(2024, 1, 15);
+
+    private final ExchangeRateRangeRepository exchangeRateRangeRepository = mock(ExchangeRateRangeRepository.class);
+
+    @Nested
+    @DisplayName("Given a past date")
+    class WhenDateIsPast {
+
+        @Test
+        @DisplayName("Then should load the rates once and compute cross rates from memory")
+        void thenShouldLoadOnce() {
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE)).thenReturn(List.of(
+                    rate("JPY", "1.000000"), rate("USD", "0.006700"), rate("EUR", "0.006100")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            ExchangeRateVectorCache.RateVector first = cache.get(PAST_DATE);
+            ExchangeRateVectorCache.RateVector second = cache.get(PAST_DATE);
+
+            assertThat(second).isSameAs(first);
+            assertThat(second.crossRate("EUR", "USD")).isCloseTo(0.0067 / 0.0061, within(1e-12));
+            assertThat(second.crossRate("USD", "JPY")).isCloseTo(1 / 0.0067, within(1e-9));
+            verify(exchangeRateRangeRepository, times(1)).findAllActiveEffectiveOn(PAST_DATE);
+        }
+
+        @Test
+        @DisplayName("Then should report a missing or non-positive rate as NaN")
+        void thenShouldReturnNaNForMissingRate() {
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE)).thenReturn(List.of(
+                    rate("JPY", "1.000000"), rate("XAU", "0.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            ExchangeRateVectorCache.RateVector vector = cache.get(PAST_DATE);
+
+            assertThat(vector.crossRate("JPY", "USD")).isNaN();
+            assertThat(vector.crossRate("XAU", "JPY")).isNaN();
+        }
+
+        @Test
+        @DisplayName("Then should keep loading a date that has no rates yet")
+        void thenShouldReloadEmptyDate() {
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE)).thenReturn(List.of());
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            cache.get(PAST_DATE);
+            cache.get(PAST_DATE);
+
+            verify(exchangeRateRangeRepository, times(2)).findAllActiveEffectiveOn(PAST_DATE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given today's date")
+    class WhenDateIsToday {
+
+        @Test
+        @DisplayName("Then should reuse the vector within the refresh interval")
+        void thenShouldReuseWithinRefreshInterval() {
+            LocalDate today = LocalDate.now();
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(today)).thenReturn(List.of(rate("JPY", "1.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ofHours(1), 10);
+
+            cache.get(today);
+            cache.get(today);
+
+            verify(exchangeRateRangeRepository, times(1)).findAllActiveEffectiveOn(today);
+        }
+
+        @Test
+        @DisplayName("Then should reload after the refresh interval")
+        void thenShouldReloadAfterRefreshInterval() {
+            LocalDate today = LocalDate.now();
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(today)).thenReturn(List.of(rate("JPY", "1.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            cache.get(today);
+            cache.get(today);
+
+            verify(exchangeRateRangeRepository, times(2)).findAllActiveEffectiveOn(today);
+        }
+
+        @Test
+        @DisplayName("Then should reload today and later dates after being evicted, keeping earlier dates")
+        void thenShouldReloadAfterEvict() {
+            LocalDate today = LocalDate.now();
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(any())).thenReturn(List.of(rate("JPY", "1.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ofHours(1), 10);
+
+            cache.get(PAST_DATE);
+            cache.get(today);
+            cache.get(today.plusDays(1));
+            cache.evictFrom(today);
+            cache.get(PAST_DATE);
+            cache.get(today);
+            cache.get(today.plusDays(1));
+
+            verify(exchangeRateRangeRepository, times(1)).findAllActiveEffectiveOn(PAST_DATE);
+            verify(exchangeRateRangeRepository, times(2)).findAllActiveEffectiveOn(today);
+            verify(exchangeRateRangeRepository, times(2)).findAllActiveEffectiveOn(today.plusDays(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given concurrent misses")
+    class WhenLoadedConcurrently {
+
+        @Test
+        @DisplayName("Then should load another date while one date's load is still running")
+        void thenShouldNotBlockOtherDates() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE)).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(rate("JPY", "1.000000"));
+            });
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE.plusDays(1)))
+                    .thenReturn(List.of(rate("JPY", "1.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<ExchangeRateVectorCache.RateVector> slow = executor.submit(() -> cache.get(PAST_DATE));
+                verify(exchangeRateRangeRepository, timeout(5_000)).findAllActiveEffectiveOn(PAST_DATE);
+
+                Future<ExchangeRateVectorCache.RateVector> other = executor.submit(() -> cache.get(PAST_DATE.plusDays(1)));
+
+                assertThat(other.get(1, TimeUnit.SECONDS).date()).isEqualTo(PAST_DATE.plusDays(1));
+                assertThat(slow.isDone()).isFalse();
+                release.countDown();
+                assertThat(slow.get(5, TimeUnit.SECONDS).date()).isEqualTo(PAST_DATE);
+            }
+        }
+
+        @Test
+        @DisplayName("Then should share one load between concurrent misses on the same date")
+        void thenShouldLoadSameDateOnce() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(PAST_DATE)).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return List.of(rate("JPY", "1.000000"));
+            });
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 10);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<ExchangeRateVectorCache.RateVector> first = executor.submit(() -> cache.get(PAST_DATE));
+                verify(exchangeRateRangeRepository, timeout(5_000)).findAllActiveEffectiveOn(PAST_DATE);
+                Future<ExchangeRateVectorCache.RateVector> second = executor.submit(() -> cache.get(PAST_DATE));
+
+                release.countDown();
+
+                assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+            }
+            verify(exchangeRateRangeRepository, times(1)).findAllActiveEffectiveOn(PAST_DATE);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given more dates than max-dates")
+    class WhenTooManyDates {
+
+        @Test
+        @DisplayName("Then should drop the least recently loaded date")
+        void thenShouldDropOldest() {
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(any())).thenReturn(List.of(rate("JPY", "1.000000")));
+            ExchangeRateVectorCache cache = new ExchangeRateVectorCache(exchangeRateRangeRepository, Duration.ZERO, 2);
+
+            cache.get(PAST_DATE);
+            cache.get(PAST_DATE.plusDays(1));
+            cache.get(PAST_DATE.plusDays(2));
+            cache.get(PAST_DATE.plusDays(1));
+            cache.get(PAST_DATE);
+
+            verify(exchangeRateRangeRepository, times(1)).findAllActiveEffectiveOn(PAST_DATE.plusDays(1));
+            verify(exchangeRateRangeRepository, times(2)).findAllActiveEffectiveOn(PAST_DATE);
+        }
+    }
+
+    private static ExchangeRateRangeEntity rate(String currencyCode, String rate) {
+        return ExchangeRateRangeEntity.builder()
+                .currencyCode(currencyCode)
+                .effectiveFrom(PAST_DATE)
+                .effectiveTo(ExchangeRateRangeEntity.OPEN_END)
+                .exchangeRate(new BigDecimal(rate))
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.tateca.tatecabackend.config;
+
+import com.tateca.tatecabackend.security.FirebaseAuthentication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read-only transactions against a real primary/replica pair: two MySQL containers with GTID replication.
+ *
+ * <p>The replica skips what the primary ran while its container initialized (both created the same database
+ * and user), then replicates everything from the Flyway migrations on. Which server answered is told by
+ * {@code @@server_id}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Read Replica Routing Integration Tests")
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final int PRIMARY_SERVER_ID = 1;
+    private static final int REPLICA_SERVER_ID = 2;
+    private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(2);
+
+    private static final Network network = Network.newNetwork();
+
+    private static final MySQLContainer<?> primary = mysql("primary", PRIMARY_SERVER_ID);
+    private static final MySQLContainer<?> replica = mysql("replica", REPLICA_SERVER_ID);
+
+    static {
+        primary.start();
+        replica.start();
+        startReplication();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("replica.datasource.enabled", () -> "true");
+        registry.add("replica.datasource.hikari.jdbc-url", replica::getJdbcUrl);
+        registry.add("replica.datasource.read-your-writes-window", READ_YOUR_WRITES_WINDOW::toString);
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Nested
+    @DisplayName("Given transactions of a user without recent writes")
+    class WhenNoRecentWrites {
+
+        @Test
+        @DisplayName("Then should run read-only transactions on the replica and the others on the primary")
+        void thenShouldRouteByReadOnlyFlag() {
+            signIn("reader-" + UUID.randomUUID());
+
+            assertThat(serverIdIn(true)).isEqualTo(REPLICA_SERVER_ID);
+            assertThat(serverIdIn(false)).isEqualTo(PRIMARY_SERVER_ID);
+        }
+
+        @Test
+        @DisplayName("Then should see the primary's writes on the replica once replicated")
+        void thenShouldReplicateWrites() throws InterruptedException {
+            String uid = "writer-" + UUID.randomUUID();
+            insertAuthUser(uid);
+            signIn("reader-" + UUID.randomUUID());
+
+            assertThat(awaitOnReplica(uid)).as("Row replicated within 10 seconds").isTrue();
+        }
+
+        @Test
+        @DisplayName("Then should report the replica pool and the routing decisions as metrics")
+        void thenShouldReportMetrics() {
+            signIn("reader-" + UUID.randomUUID());
+            serverIdIn(true);
+
+            assertThat(meterRegistry.find("hikaricp.connections.max").tag("pool", "replica-pool").gauge())
+                    .isNotNull();
+            assertThat(meterRegistry.get("jdbc.connections.routed").tag("target", "replica").counter().count())
+                    .isPositive();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a user who just wrote")
+    class WhenUserJustWrote {
+
+        @Test
+        @DisplayName("Then should read the user's own write from the primary until the window ends")
+        void thenShouldReadOwnWritesFromPrimary() throws InterruptedException {
+            String uid = "writer-" + UUID.randomUUID();
+            signIn(uid);
+            insertAuthUser(uid);
+
+            assertThat(serverIdIn(true)).isEqualTo(PRIMARY_SERVER_ID);
+            assertThat(countAuthUsersIn(true, uid)).isEqualTo(1);
+
+            signIn("reader-" + UUID.randomUUID());
+            assertThat(serverIdIn(true)).isEqualTo(REPLICA_SERVER_ID);
+
+            Thread.sleep(READ_YOUR_WRITES_WINDOW.plusMillis(200).toMillis());
+            signIn(uid);
+            assertThat(serverIdIn(true)).isEqualTo(REPLICA_SERVER_ID);
+        }
+    }
+
+    private int serverIdIn(boolean readOnly) {
+        return transaction(readOnly).execute(status -> jdbcTemplate.queryForObject("SELECT @@server_id", Integer.class));
+    }
+
+    private int countAuthUsersIn(boolean readOnly, String uid) {
+        return transaction(readOnly).execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM auth_users WHERE uid = ?", Integer.class, uid));
+    }
+
+    private void insertAuthUser(String uid) {
+        transaction(false).executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO auth_users (uid, name, email) VALUES (?, ?, ?)", uid, "Replica Test", uid + "@example.com"));
+    }
+
+    private boolean awaitOnReplica(String uid) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (countAuthUsersIn(true, uid) == 1) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    private TransactionTemplate transaction(boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template;
+    }
+
+    private static void signIn(String uid) {
+        SecurityContextHolder.getContext().setAuthentication(new FirebaseAuthentication(uid));
+    }
+
+    private static MySQLContainer<?> mysql(String alias, int serverId) {
+        return new MySQLContainer<>("mysql:8.0")
+                .withNetwork(network)
+                .withNetworkAliases(alias)
+                .withDatabaseName("testdb")
+                .withUsername("testuser")
+                .withPassword("testpass")
+                .withCommand("--server-id=" + serverId, "--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+    }
+
+    private static void startReplication() {
+        try (Connection source = rootConnection(primary); Connection target = rootConnection(replica);
+             Statement sourceStatement = source.createStatement();
+             Statement statement = target.createStatement()) {
+            String initialized;
+            try (ResultSet resultSet = sourceStatement.executeQuery("SELECT @@GLOBAL.gtid_executed")) {
+                resultSet.next();
+                initialized = resultSet.getString(1);
+            }
+            // Both containers ran the same initialization; the replica starts after it
+            statement.execute("RESET MASTER");
+            statement.execute("SET GLOBAL gtid_purged = '" + initialized + "'");
+            statement.execute("CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'primary', SOURCE_PORT = 3306, "
+                    + "SOURCE_USER = 'root', SOURCE_PASSWORD = '" + primary.getPassword() + "', "
+                    + "SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1");
+            statement.execute("START REPLICA");
+            // Replication threads still apply changes; client writes fail like on a managed replica
+            statement.execute("SET GLOBAL super_read_only = ON");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not start replication", e);
+        }
+    }
+
+    private static Connection rootConnection(MySQLContainer<?> container) throws SQLException {
+        return DriverManager.getConnection(container.getJdbcUrl(), "root", container.getPassword());
+    }
+}
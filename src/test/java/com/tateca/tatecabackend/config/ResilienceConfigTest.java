@@ -0,0 +1,54 @@
+package com.tateca.tatecabackend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ResilienceConfig Unit Tests")
+class ResilienceConfigTest {
+
+    @Nested
+    @DisplayName("Given threads waiting on the user and replica pools")
+    class WhenPoolsHaveWaiters {
+
+        @Test
+        @DisplayName("Then should report the waiters of both pools to the limiter")
+        void thenShouldSumBothPools() {
+            IntSupplier pending = ResilienceConfig.pendingConnections(pool(3), pool(4));
+
+            assertThat(pending.getAsInt()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("Then should report only the user pool without a replica")
+        void thenShouldIgnoreMissingReplica() {
+            IntSupplier pending = ResilienceConfig.pendingConnections(pool(3), null);
+
+            assertThat(pending.getAsInt()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Then should count a pool that has not started yet as idle")
+        void thenShouldTreatUnstartedPoolAsIdle() {
+            HikariDataSource unstarted = mock(HikariDataSource.class);
+
+            assertThat(ResilienceConfig.pendingConnections(pool(2), unstarted).getAsInt()).isEqualTo(2);
+        }
+    }
+
+    private static HikariDataSource pool(int threadsAwaiting) {
+        HikariPoolMXBean poolBean = mock(HikariPoolMXBean.class);
+        when(poolBean.getThreadsAwaitingConnection()).thenReturn(threadsAwaiting);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(poolBean);
+        return dataSource;
+    }
+}
@@ -0,0 +1,99 @@
+package com.tateca.tatecabackend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.tateca.tatecabackend.cache.CacheRegions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SecondLevelCacheConfig Unit Tests")
+class SecondLevelCacheConfigTest {
+
+    private final SecondLevelCacheConfig config = new SecondLevelCacheConfig();
+    private final CacheManager cacheManager = config.hibernateCacheManager(
+            500, 10_000, 5_000, 400, Duration.ofHours(24), Duration.ofHours(6));
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Nested
+    @DisplayName("Given the configured region policies")
+    class WhenRegionsAreCreated {
+
+        @Test
+        @DisplayName("Then should create every region with its own cap")
+        void thenShouldCapEveryRegion() {
+            assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrderElementsOf(CacheRegions.ALL);
+            assertThat(maximumSize(CacheRegions.CURRENCIES)).hasValue(500);
+            assertThat(maximumSize(CacheRegions.EXCHANGE_RATES)).hasValue(10_000);
+            assertThat(maximumSize(CacheRegions.EXCHANGE_RATE_RANGES)).hasValue(5_000);
+            assertThat(maximumSize(CacheRegions.EXCHANGE_RATE_QUERIES)).hasValue(400);
+            assertThat(CacheRegions.ALL).allSatisfy(region -> assertThat(maximumSize(region)).isPresent());
+        }
+
+        @Test
+        @DisplayName("Then should expire rate regions sooner than reference data and never expire update timestamps")
+        void thenShouldApplyExpiryPerRegion() {
+            assertThat(expireAfterWrite(CacheRegions.CURRENCIES)).hasValue(Duration.ofHours(24).toNanos());
+            assertThat(expireAfterWrite(CacheRegions.EXCHANGE_RATE_RANGES)).hasValue(Duration.ofHours(6).toNanos());
+            assertThat(expireAfterWrite(CacheRegions.EXCHANGE_RATE_QUERIES)).hasValue(Duration.ofHours(6).toNanos());
+            assertThat(expireAfterWrite(CacheRegions.UPDATE_TIMESTAMPS)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Then should give each application context its own cache manager")
+        void thenShouldNotShareCacheManagerBetweenContexts() {
+            CacheManager other = new SecondLevelCacheConfig().hibernateCacheManager(
+                    1, 1, 1, 1, Duration.ofMinutes(1), Duration.ofMinutes(1));
+            try {
+                assertThat(other).isNotSameAs(cacheManager);
+                assertThat(maximumSize(CacheRegions.CURRENCIES)).hasValue(500);
+            } finally {
+                other.close();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the Hibernate properties")
+    class WhenHibernateIsConfigured {
+
+        @Test
+        @DisplayName("Then should enable the entity and query caches on the configured manager and reject unknown regions")
+        void thenShouldConfigureHibernate() {
+            Map<String, Object> properties = new HashMap<>();
+
+            config.secondLevelCacheCustomizer(cacheManager).customize(properties);
+
+            assertThat(properties)
+                    .containsEntry(AvailableSettings.USE_SECOND_LEVEL_CACHE, true)
+                    .containsEntry(AvailableSettings.USE_QUERY_CACHE, true)
+                    .containsEntry(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME)
+                    .containsEntry(ConfigSettings.CACHE_MANAGER, cacheManager)
+                    .containsEntry(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private OptionalLong maximumSize(String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class).getMaximumSize();
+    }
+
+    @SuppressWarnings("unchecked")
+    private OptionalLong expireAfterWrite(String region) {
+        return cacheManager.getCache(region).getConfiguration(CaffeineConfiguration.class).getExpireAfterWrite();
+    }
+}
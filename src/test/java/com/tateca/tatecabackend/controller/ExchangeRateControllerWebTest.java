@@ -1,12 +1,17 @@
 package com.tateca.tatecabackend.controller;
 
 import com.tateca.tatecabackend.config.TestSecurityConfig;
+import com.tateca.tatecabackend.dto.request.CurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.response.CurrencyConversionResponseDTO;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
 import com.tateca.tatecabackend.dto.response.internal.ExchangeRateResponse;
+import com.tateca.tatecabackend.exception.ErrorCode;
 import com.tateca.tatecabackend.exception.GlobalExceptionHandler;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.model.SymbolPosition;
 import com.tateca.tatecabackend.service.ExchangeRateService;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -17,6 +22,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,6 +31,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -181,6 +188,117 @@ class ExchangeRateControllerWebTest {
         verify(exchangeRateService).getExchangeRate(futureDate);
     }
 
+    @Nested
+    @DisplayName("Given GET /exchange-rate/{date}/convert")
+    class WhenConverting {
+
+        @Test
+        @DisplayName("Then should return 200 with the converted amount")
+        void thenShouldReturnConversion() throws Exception {
+            LocalDate testDate = LocalDate.of(2024, 1, 15);
+            when(exchangeRateService.convert(testDate,
+                    new CurrencyConversionRequestDTO("EUR", "USD", new BigDecimal("100"))))
+                    .thenReturn(new CurrencyConversionResponseDTO(testDate, "EUR", "USD", "100", "1.098", "109.8"));
+
+            mockMvc.perform(get(BASE_ENDPOINT + "/{date}/convert", testDate)
+                            .param("from", "EUR")
+                            .param("to", "USD")
+                            .param("amount", "100"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.date").value("2024-01-15"))
+                    .andExpect(jsonPath("$.from").value("EUR"))
+                    .andExpect(jsonPath("$.to").value("USD"))
+                    .andExpect(jsonPath("$.rate").value("1.098"))
+                    .andExpect(jsonPath("$.converted_amount").value("109.8"));
+        }
+
+        @Test
+        @DisplayName("Then should return 400 when a currency code is malformed")
+        void thenShouldRejectMalformedCurrency() throws Exception {
+            mockMvc.perform(get(BASE_ENDPOINT + "/{date}/convert", LocalDate.now())
+                            .param("from", "eur")
+                            .param("to", "USD")
+                            .param("amount", "100"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error_code").value("VALIDATION.FAILED"));
+
+            verify(exchangeRateService, never()).convert(any(), any());
+        }
+
+        @Test
+        @DisplayName("Then should return 400 when the amount is missing or not positive")
+        void thenShouldRejectInvalidAmount() throws Exception {
+            mockMvc.perform(get(BASE_ENDPOINT + "/{date}/convert", LocalDate.now())
+                            .param("from", "EUR")
+                            .param("to", "USD"))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get(BASE_ENDPOINT + "/{date}/convert", LocalDate.now())
+                            .param("from", "EUR")
+                            .param("to", "USD")
+                            .param("amount", "-1"))
+                    .andExpect(status().isBadRequest());
+
+            verify(exchangeRateService, never()).convert(any(), any());
+        }
+
+        @Test
+        @DisplayName("Then should return 404 when a currency has no rate on the date")
+        void thenShouldReturn404WhenRateMissing() throws Exception {
+            when(exchangeRateService.convert(any(), any()))
+                    .thenThrow(new EntityNotFoundException(ErrorCode.EXCHANGE_RATE_NOT_FOUND));
+
+            mockMvc.perform(get(BASE_ENDPOINT + "/{date}/convert", LocalDate.now())
+                            .param("from", "EUR")
+                            .param("to", "XXX")
+                            .param("amount", "100"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.error_code").value("EXCHANGE_RATE.NOT_FOUND"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given POST /exchange-rate/{date}/convert")
+    class WhenConvertingBatch {
+
+        @Test
+        @DisplayName("Then should return 200 with the conversions in request order")
+        void thenShouldReturnConversions() throws Exception {
+            LocalDate testDate = LocalDate.of(2024, 1, 15);
+            List<CurrencyConversionRequestDTO> requests = List.of(
+                    new CurrencyConversionRequestDTO("EUR", "USD", new BigDecimal("100")),
+                    new CurrencyConversionRequestDTO("USD", "JPY", new BigDecimal("2.5")));
+            when(exchangeRateService.convertAll(testDate, requests)).thenReturn(List.of(
+                    new CurrencyConversionResponseDTO(testDate, "EUR", "USD", "100", "1.098", "109.8"),
+                    new CurrencyConversionResponseDTO(testDate, "USD", "JPY", "2.5", "149.25", "373.125")));
+
+            mockMvc.perform(post(BASE_ENDPOINT + "/{date}/convert", testDate)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"conversions": [
+                                      {"from": "EUR", "to": "USD", "amount": 100},
+                                      {"from": "USD", "to": "JPY", "amount": 2.5}
+                                    ]}
+                                    """))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conversions.length()").value(2))
+                    .andExpect(jsonPath("$.conversions[1].converted_amount").value("373.125"));
+        }
+
+        @Test
+        @DisplayName("Then should return 400 when the conversions list is empty")
+        void thenShouldRejectEmptyBatch() throws Exception {
+            mockMvc.perform(post(BASE_ENDPOINT + "/{date}/convert", LocalDate.now())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"conversions": []}
+                                    """))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error_code").value("VALIDATION.FAILED"));
+
+            verify(exchangeRateService, never()).convertAll(any(), any());
+        }
+    }
+
     private ExchangeRateResponse createExchangeRateResponse(
             String currencyCode,
             String jpCurrencyName,
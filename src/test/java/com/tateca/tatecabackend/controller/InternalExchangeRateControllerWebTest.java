@@ -1,22 +1,27 @@
 package com.tateca.tatecabackend.controller;
 
 import com.tateca.tatecabackend.config.TestSecurityConfig;
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
+import com.tateca.tatecabackend.exception.ErrorCode;
 import com.tateca.tatecabackend.exception.GlobalExceptionHandler;
-import com.tateca.tatecabackend.service.InternalExchangeRateService;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.model.IngestionJobStatus;
+import com.tateca.tatecabackend.service.ExchangeRateIngestionJobService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
-import org.springframework.http.HttpStatus;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.web.server.ResponseStatusException;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,38 +35,68 @@ class InternalExchangeRateControllerWebTest {
     private MockMvc mockMvc;
 
     @MockitoBean
-    private InternalExchangeRateService exchangeRateService;
+    private ExchangeRateIngestionJobService ingestionJobService;
 
     private static final String ENDPOINT = "/internal/exchange-rates";
+    private static final String JOB_ID = "8f14e45f-ceea-4e7a-9b6b-1c2d3e4f5a6b";
 
     @Test
-    @DisplayName("Should return 204 No Content when update succeeds")
-    void shouldReturn204WhenUpdateSucceeds() throws Exception {
-        // Given: Service successfully updates rates (3 currencies × 2 dates = 6 records)
-        when(exchangeRateService.fetchAndStoreLatestExchangeRate()).thenReturn(6);
+    @DisplayName("Should return 202 Accepted with the job and its status location when update is submitted")
+    void shouldReturn202WhenUpdateSubmitted() throws Exception {
+        // Given: Service queues an ingestion job
+        when(ingestionJobService.submit()).thenReturn(job(IngestionJobStatus.QUEUED, null, null));
 
         // When: Calling endpoint without request body
         mockMvc.perform(post(ENDPOINT))
-                .andExpect(status().isNoContent());
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost" + ENDPOINT + "/jobs/" + JOB_ID))
+                .andExpect(jsonPath("$.job_id").value(JOB_ID))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
 
-        // Then: Service should be called
-        verify(exchangeRateService).fetchAndStoreLatestExchangeRate();
+        // Then: Job should be submitted
+        verify(ingestionJobService).submit();
     }
 
     @Test
-    @DisplayName("Should propagate service exceptions to GlobalExceptionHandler")
-    void shouldPropagateServiceExceptions() throws Exception {
-        // Given: Service throws ResponseStatusException
-        when(exchangeRateService.fetchAndStoreLatestExchangeRate())
-                .thenThrow(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "API unavailable"));
-
-        // When: Calling endpoint
-        // Then: Should return 500 (handled by GlobalExceptionHandler)
+    @DisplayName("Should return 409 Conflict when an update is already running")
+    void shouldReturn409WhenUpdateAlreadyRunning() throws Exception {
+        // Given: A job is already queued or running
+        when(ingestionJobService.submit()).thenThrow(new BusinessRuleViolationException(ErrorCode.INTERNAL_JOB_BUSY));
+
+        // When & Then
         mockMvc.perform(post(ENDPOINT))
-                .andExpect(status().isInternalServerError())
-                .andExpect(jsonPath("$.status").value(500))
-                .andExpect(jsonPath("$.message").exists());
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error_code").value("INTERNAL.JOB_BUSY"));
+    }
+
+    @Test
+    @DisplayName("Should return the job status")
+    void shouldReturnJobStatus() throws Exception {
+        // Given: Job has finished
+        when(ingestionJobService.getJob(JOB_ID)).thenReturn(job(IngestionJobStatus.SUCCEEDED, 6, null));
+
+        // When & Then
+        mockMvc.perform(get(ENDPOINT + "/jobs/" + JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.rates_stored").value(6));
+    }
+
+    @Test
+    @DisplayName("Should return 404 Not Found for an unknown job")
+    void shouldReturn404ForUnknownJob() throws Exception {
+        // Given: Job id is unknown
+        when(ingestionJobService.getJob(JOB_ID))
+                .thenThrow(new EntityNotFoundException(ErrorCode.INGESTION_JOB_NOT_FOUND));
+
+        // When & Then
+        mockMvc.perform(get(ENDPOINT + "/jobs/" + JOB_ID))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error_code").value("INGESTION_JOB.NOT_FOUND"));
+    }
 
-        verify(exchangeRateService).fetchAndStoreLatestExchangeRate();
+    private static IngestionJobResponseDTO job(IngestionJobStatus status, Integer ratesStored, String error) {
+        return new IngestionJobResponseDTO(JOB_ID, status, "2024-01-01T00:01:00+09:00",
+                null, null, ratesStored, error);
     }
 }
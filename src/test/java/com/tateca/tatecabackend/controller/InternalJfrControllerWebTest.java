@@ -0,0 +1,113 @@
+package com.tateca.tatecabackend.controller;
+
+import com.tateca.tatecabackend.config.TestSecurityConfig;
+import com.tateca.tatecabackend.exception.ErrorCode;
+import com.tateca.tatecabackend.exception.GlobalExceptionHandler;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.service.JfrRecordingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(InternalJfrController.class)
+@Import({GlobalExceptionHandler.class, TestSecurityConfig.class})
+@ActiveProfiles("test")
+@DisplayName("JFR Recording Internal API Controller Tests")
+class InternalJfrControllerWebTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JfrRecordingService jfrRecordingService;
+
+    private static final String ENDPOINT = "/internal/jfr/recording";
+
+    @Test
+    @DisplayName("Should return 204 and pass duration and settings when starting")
+    void shouldStartRecording() throws Exception {
+        mockMvc.perform(post(ENDPOINT).param("duration", "PT2M").param("settings", "default"))
+                .andExpect(status().isNoContent());
+
+        verify(jfrRecordingService).start(Duration.ofMinutes(2), "default");
+    }
+
+    @Test
+    @DisplayName("Should default to a 5 minute profile recording")
+    void shouldStartRecordingWithDefaults() throws Exception {
+        mockMvc.perform(post(ENDPOINT))
+                .andExpect(status().isNoContent());
+
+        verify(jfrRecordingService).start(Duration.ofMinutes(5), "profile");
+    }
+
+    @Test
+    @DisplayName("Should return 409 when a recording is already running")
+    void shouldReturn409WhenAlreadyRunning() throws Exception {
+        doThrow(new BusinessRuleViolationException(ErrorCode.JFR_RECORDING_ALREADY_RUNNING))
+                .when(jfrRecordingService).start(any(), any());
+
+        mockMvc.perform(post(ENDPOINT))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error_code").value("JFR.RECORDING_ALREADY_RUNNING"));
+    }
+
+    @Test
+    @DisplayName("Should return 204 when stopping")
+    void shouldStopRecording() throws Exception {
+        mockMvc.perform(delete(ENDPOINT))
+                .andExpect(status().isNoContent());
+
+        verify(jfrRecordingService).stop();
+    }
+
+    @Test
+    @DisplayName("Should stream the recording as an attachment")
+    void shouldDownloadRecording() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("jfr-bytes".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(jfrRecordingService).download(any());
+
+        MvcResult result = mockMvc.perform(get(ENDPOINT)).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tateca-recording.jfr\""))
+                .andExpect(content().bytes("jfr-bytes".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when no recording exists")
+    void shouldReturn404WhenNoRecording() throws Exception {
+        doThrow(new EntityNotFoundException(ErrorCode.JFR_RECORDING_NOT_FOUND))
+                .when(jfrRecordingService).requireRecording();
+
+        mockMvc.perform(get(ENDPOINT))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,166 @@
+package com.tateca.tatecabackend.interceptor;
+
+import com.tateca.tatecabackend.metrics.JdbcMetricsQueryListener;
+import com.tateca.tatecabackend.metrics.NPlusOneDetector;
+import com.tateca.tatecabackend.metrics.SqlStatementStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JdbcMetricsInterceptor Unit Tests")
+class JdbcMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NPlusOneDetector nPlusOneDetector =
+            new NPlusOneDetector(meterRegistry, 2, Duration.ofMinutes(1), true);
+    private final JdbcMetricsInterceptor interceptor = new JdbcMetricsInterceptor(meterRegistry, nPlusOneDetector);
+    private final JdbcMetricsQueryListener listener = new JdbcMetricsQueryListener(
+            new SqlStatementStats(100, Duration.ofSeconds(1), Duration.ofMinutes(1)));
+
+    @Nested
+    @DisplayName("Given a request that executes statements")
+    class WhenRequestExecutesStatements {
+
+        @Test
+        @DisplayName("Then should record statement count and JDBC time tagged by route")
+        void thenShouldRecordPerRouteJdbcMetrics() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups/123");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/groups/{groupId}");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, new Object());
+            executeQuery(new ExecutionInfo());
+            executeQuery(new ExecutionInfo());
+            ExecutionInfo batch = new ExecutionInfo();
+            batch.setBatch(true);
+            batch.setBatchSize(3);
+            executeQuery(batch);
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            DistributionSummary statements = meterRegistry.get("http.server.requests.jdbc.statements")
+                    .tags("uri", "/groups/{groupId}", "method", "GET", "status", "200")
+                    .summary();
+            Timer jdbcTime = meterRegistry.get("http.server.requests.jdbc.time")
+                    .tags("uri", "/groups/{groupId}")
+                    .timer();
+            assertThat(statements.count()).isEqualTo(1);
+            assertThat(statements.totalAmount()).isEqualTo(5);
+            assertThat(jdbcTime.count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a request that repeats the same statement")
+    class WhenRequestRepeatsStatement {
+
+        @Test
+        @DisplayName("Then should count and collect an N+1 violation once past the threshold")
+        void thenShouldFlagRepeatedStatement() {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/groups/123/transactions");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/groups/{groupId}/transactions");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, new Object());
+            for (int i = 0; i < 3; i++) {
+                executeQuery(new ExecutionInfo(), "select * from users where uuid=?");
+            }
+            executeQuery(new ExecutionInfo(), "select * from groups where uuid=?");
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(nPlusOneDetector.drainViolations())
+                    .containsExactly(new NPlusOneDetector.Violation(
+                            "POST", "/groups/{groupId}/transactions", "select * from users where uuid=?", 3));
+            assertThat(meterRegistry.get("jdbc.repeated.statements")
+                    .tags("uri", "/groups/{groupId}/transactions").counter().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should group statements that differ only in literals under one fingerprint")
+        void thenShouldFlagByFingerprint() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups/list");
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/groups/list");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, new Object());
+            for (int i = 0; i < 3; i++) {
+                executeQuery(new ExecutionInfo(), "select * from users where id=" + i);
+            }
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(nPlusOneDetector.drainViolations())
+                    .containsExactly(new NPlusOneDetector.Violation(
+                            "GET", "/groups/list", "select * from users where id=?", 3));
+        }
+
+        @Test
+        @DisplayName("Then should count a batch as one round trip")
+        void thenShouldNotFlagSingleBatch() {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/groups");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            ExecutionInfo batch = new ExecutionInfo();
+            batch.setBatch(true);
+            batch.setBatchSize(5);
+
+            interceptor.preHandle(request, response, new Object());
+            executeQuery(batch, "insert into transaction_obligations (uuid, amount) values (?, ?)");
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(nPlusOneDetector.drainViolations()).isEmpty();
+            assertThat(meterRegistry.get("http.server.requests.jdbc.statements").summary().totalAmount())
+                    .isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Then should not flag statements at the threshold")
+        void thenShouldNotFlagAtThreshold() {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            interceptor.preHandle(request, response, new Object());
+            executeQuery(new ExecutionInfo(), "select * from users where uuid=?");
+            executeQuery(new ExecutionInfo(), "select * from users where uuid=?");
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(nPlusOneDetector.drainViolations()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given statements outside a request")
+    class WhenNoRequestIsActive {
+
+        @Test
+        @DisplayName("Then should not record anything")
+        void thenShouldNotRecord() {
+            executeQuery(new ExecutionInfo());
+
+            interceptor.afterCompletion(new MockHttpServletRequest(), new MockHttpServletResponse(), new Object(), null);
+
+            assertThat(meterRegistry.find("http.server.requests.jdbc.statements").summary()).isNull();
+        }
+    }
+
+    private void executeQuery(ExecutionInfo executionInfo) {
+        listener.beforeQuery(executionInfo, List.of());
+        listener.afterQuery(executionInfo, List.of());
+    }
+
+    private void executeQuery(ExecutionInfo executionInfo, String sql) {
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(executionInfo, queries);
+        listener.afterQuery(executionInfo, queries);
+    }
+}
@@ -0,0 +1,265 @@
+package com.tateca.tatecabackend.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("BetterStackAppender Unit Tests")
+class BetterStackAppenderTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ReceivedRequest> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private HttpServer server;
+    private LoggerContext loggerContext;
+    private BetterStackAppender appender;
+
+    @TempDir
+    Path spillDirectory;
+
+    record ReceivedRequest(String contentEncoding, String authorization, byte[] body) {
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] body = in.readAllBytes();
+                if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    exchange.sendResponseHeaders(503, -1);
+                    exchange.close();
+                    return;
+                }
+                requests.add(new ReceivedRequest(
+                        exchange.getRequestHeaders().getFirst("Content-Encoding"),
+                        exchange.getRequestHeaders().getFirst("Authorization"),
+                        body));
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.start();
+
+        loggerContext = new LoggerContext();
+        loggerContext.setMDCAdapter(new LogbackMDCAdapter());
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(loggerContext);
+
+        appender = new BetterStackAppender();
+        appender.setContext(loggerContext);
+        appender.setSourceToken("test-token");
+        appender.setEndpoint("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        appender.setEncoder(encoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender.isStarted()) {
+            appender.stop();
+        }
+        server.stop(0);
+    }
+
+    @Nested
+    @DisplayName("Given events queued within one linger window")
+    class WhenEventsAreQueuedTogether {
+
+        @Test
+        @DisplayName("Then should ship them as a single gzipped JSON array")
+        void thenShouldShipSingleCompressedBatch() throws IOException {
+            appender.setMaxLingerMillis(5_000);
+            appender.start();
+
+            for (int i = 0; i < 5; i++) {
+                appender.doAppend(event("message-" + i));
+            }
+            appender.stop();
+
+            assertThat(requests).hasSize(1);
+            ReceivedRequest request = requests.getFirst();
+            assertThat(request.contentEncoding()).isEqualTo("gzip");
+            assertThat(request.authorization()).isEqualTo("Bearer test-token");
+
+            JsonNode body = objectMapper.readTree(gunzip(request.body()));
+            assertThat(body.isArray()).isTrue();
+            assertThat(body).hasSize(5);
+            assertThat(body.get(0).get("message").asText()).isEqualTo("message-0");
+            assertThat(body.get(4).get("message").asText()).isEqualTo("message-4");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given more events than the batch bounds allow")
+    class WhenBatchBoundsAreExceeded {
+
+        @Test
+        @DisplayName("Then should split by event count")
+        void thenShouldSplitByEventCount() throws IOException {
+            appender.setBatchMaxEvents(2);
+            appender.setMaxLingerMillis(5_000);
+            appender.start();
+
+            for (int i = 0; i < 5; i++) {
+                appender.doAppend(event("message-" + i));
+            }
+            appender.stop();
+
+            assertThat(requests).hasSize(3);
+            int total = 0;
+            for (ReceivedRequest request : requests) {
+                total += objectMapper.readTree(gunzip(request.body())).size();
+            }
+            assertThat(total).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Then should split by uncompressed byte size")
+        void thenShouldSplitByByteSize() throws IOException {
+            appender.setBatchMaxBytes(1);
+            appender.setCompress(false);
+            appender.setMaxLingerMillis(5_000);
+            appender.start();
+
+            appender.doAppend(event("first"));
+            appender.doAppend(event("second"));
+            appender.stop();
+
+            assertThat(requests).hasSize(2);
+            assertThat(requests.getFirst().contentEncoding()).isNull();
+            assertThat(objectMapper.readTree(requests.getFirst().body())).hasSize(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given Better Stack is unavailable and spillover is enabled")
+    class WhenEndpointIsUnavailable {
+
+        @Test
+        @DisplayName("Then should spill the failed batch and replay it once the endpoint recovers")
+        void thenShouldReplaySpilledEvents() {
+            failuresRemaining.set(1);
+            appender.setSpillDirectory(spillDirectory.toString());
+            appender.setSpillReplayRetryMillis(100);
+            appender.setMaxLingerMillis(100);
+            appender.start();
+
+            appender.doAppend(event("during-outage-0"));
+            appender.doAppend(event("during-outage-1"));
+
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(receivedMessages())
+                            .containsExactly("during-outage-0", "during-outage-1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the event queue is full and spillover is enabled")
+    class WhenQueueOverflows {
+
+        @Test
+        @DisplayName("Then should spill overflowing events on the worker, not the logging thread")
+        void thenShouldSpillOffTheLoggingThread() {
+            Set<Thread> encodingThreads = ConcurrentHashMap.newKeySet();
+            LogstashEncoder encoder = new LogstashEncoder() {
+                @Override
+                public byte[] encode(ILoggingEvent event) {
+                    encodingThreads.add(Thread.currentThread());
+                    return super.encode(event);
+                }
+            };
+            encoder.setContext(loggerContext);
+            appender.setEncoder(encoder);
+            appender.setQueueSize(10);
+            appender.setSpillDirectory(spillDirectory.toString());
+            appender.setMaxLingerMillis(100);
+            appender.start();
+
+            for (int i = 0; i < 15; i++) {
+                appender.doAppend(event("burst-" + i));
+            }
+
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(receivedMessages()).hasSize(15));
+            assertThat(encodingThreads).doesNotContain(Thread.currentThread());
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a spill backlog when the appender starts")
+    class WhenSpillBacklogExists {
+
+        @Test
+        @DisplayName("Then should interleave live batches with the replay instead of waiting for it")
+        void thenShouldInterleaveLiveEvents() throws IOException {
+            try (DiskSpillBuffer backlog = new DiskSpillBuffer(spillDirectory, 64 * 1024, 1024 * 1024)) {
+                for (int i = 0; i < 50; i++) {
+                    backlog.append(("{\"message\":\"spilled-" + i + "\"}").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            appender.setSpillDirectory(spillDirectory.toString());
+            appender.setBatchMaxEvents(1);
+            appender.setMaxLingerMillis(0);
+            appender.start();
+
+            appender.doAppend(event("live"));
+
+            await().atMost(Duration.ofSeconds(10))
+                    .untilAsserted(() -> assertThat(receivedMessages()).hasSize(51));
+            assertThat(receivedMessages().indexOf("live")).isLessThan(10);
+        }
+    }
+
+    private List<String> receivedMessages() throws IOException {
+        List<String> messages = new ArrayList<>();
+        for (ReceivedRequest request : requests) {
+            for (JsonNode event : objectMapper.readTree(gunzip(request.body()))) {
+                messages.add(event.get("message").asText());
+            }
+        }
+        return messages;
+    }
+
+    private LoggingEvent event(String message) {
+        Logger logger = loggerContext.getLogger("test");
+        return new LoggingEvent(Logger.FQCN, logger, Level.INFO, message, null, null);
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
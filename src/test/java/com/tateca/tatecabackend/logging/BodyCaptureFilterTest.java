@@ -0,0 +1,121 @@
+package com.tateca.tatecabackend.logging;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BodyCaptureFilter Unit Tests")
+class BodyCaptureFilterTest {
+
+    private final AtomicReference<ServletRequest> chainRequest = new AtomicReference<>();
+    private final AtomicReference<ServletResponse> chainResponse = new AtomicReference<>();
+
+    @Nested
+    @DisplayName("Given route filters")
+    class WhenRouteIsFiltered {
+
+        @Test
+        @DisplayName("Then should not wrap an excluded route")
+        void thenShouldNotWrapExcludedRoute() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(16, List.of(), List.of("/actuator/**"), 1.0);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/health");
+
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> chainRequest.set(req));
+
+            assertThat(chainRequest.get()).isSameAs(request);
+            assertThat(BodyCaptureFilter.shouldLogBodies(request, 500)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Then should not wrap a route outside the include list")
+        void thenShouldNotWrapRouteOutsideIncludeList() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(16, List.of("/groups/**"), List.of(), 1.0);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/exchange-rate/2026-01-01");
+
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> chainRequest.set(req));
+
+            assertThat(chainRequest.get()).isSameAs(request);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a captured route")
+    class WhenRouteIsCaptured {
+
+        @Test
+        @DisplayName("Then should cap the captured response body but send it in full")
+        void thenShouldCapResponseBody() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(8, List.of(), List.of(), 1.0);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/groups/list"), response, (req, res) -> {
+                chainResponse.set(res);
+                res.getOutputStream().write("0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+            });
+
+            CappedContentCachingResponseWrapper wrapper = (CappedContentCachingResponseWrapper) chainResponse.get();
+            assertThat(response.getContentAsString()).isEqualTo("0123456789abcdef");
+            assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8)).isEqualTo("01234567");
+            assertThat(wrapper.isTruncated()).isTrue();
+            assertThat(wrapper.getTotalBytes()).isEqualTo(16);
+        }
+
+        @Test
+        @DisplayName("Then should send and capture a body written through an unflushed writer")
+        void thenShouldFlushWriterBody() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(64, List.of(), List.of(), 1.0);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/groups/list"), response, (req, res) -> {
+                chainResponse.set(res);
+                res.setCharacterEncoding("UTF-8");
+                res.getWriter().write("{\"error\":\"overloaded\"}");
+            });
+
+            CappedContentCachingResponseWrapper wrapper = (CappedContentCachingResponseWrapper) chainResponse.get();
+            assertThat(response.getContentAsString()).isEqualTo("{\"error\":\"overloaded\"}");
+            assertThat(new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"error\":\"overloaded\"}");
+        }
+
+        @Test
+        @DisplayName("Then should cap the captured request body")
+        void thenShouldCapRequestBody() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(8, List.of(), List.of(), 1.0);
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/groups");
+            request.setContent("0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                chainRequest.set(req);
+                req.getInputStream().readAllBytes();
+            });
+
+            CappedContentCachingRequestWrapper wrapper = (CappedContentCachingRequestWrapper) chainRequest.get();
+            assertThat(wrapper.getContentAsByteArray()).hasSize(8);
+            assertThat(wrapper.isTruncated()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Then should always log error bodies and skip unsampled success bodies")
+        void thenShouldSampleByStatusClass() throws Exception {
+            BodyCaptureFilter filter = new BodyCaptureFilter(16, List.of(), List.of(), 0.0);
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/groups/list");
+
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+
+            assertThat(BodyCaptureFilter.shouldLogBodies(request, 200)).isFalse();
+            assertThat(BodyCaptureFilter.shouldLogBodies(request, 404)).isTrue();
+            assertThat(BodyCaptureFilter.shouldLogBodies(request, 500)).isTrue();
+        }
+    }
+}
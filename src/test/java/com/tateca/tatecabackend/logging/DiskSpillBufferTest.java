@@ -0,0 +1,119 @@
+package com.tateca.tatecabackend.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("DiskSpillBuffer Unit Tests")
+class DiskSpillBufferTest {
+
+    private static final int SEGMENT_BYTES = 64;
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("Given records appended across segments")
+    class WhenRecordsSpanSegments {
+
+        @Test
+        @DisplayName("Then should replay them in append order")
+        void thenShouldReplayInOrder() throws IOException {
+            try (DiskSpillBuffer buffer = new DiskSpillBuffer(directory, SEGMENT_BYTES, 1024)) {
+                for (int i = 0; i < 10; i++) {
+                    assertThat(buffer.append(bytes("event-" + i))).isTrue();
+                }
+
+                assertThat(drain(buffer)).containsExactly(
+                        "event-0", "event-1", "event-2", "event-3", "event-4",
+                        "event-5", "event-6", "event-7", "event-8", "event-9");
+                assertThat(buffer.isEmpty()).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("Then should keep records when the replay is not committed")
+        void thenShouldKeepUncommittedRecords() throws IOException {
+            try (DiskSpillBuffer buffer = new DiskSpillBuffer(directory, SEGMENT_BYTES, 1024)) {
+                buffer.append(bytes("event-0"));
+
+                assertThat(buffer.peek(10, 1024)).hasSize(1);
+                assertThat(buffer.peek(10, 1024)).hasSize(1);
+                assertThat(buffer.size()).isEqualTo(1);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the size cap is reached")
+    class WhenSizeCapIsReached {
+
+        @Test
+        @DisplayName("Then should evict the oldest segment and report the lost records")
+        void thenShouldEvictOldestSegment() throws IOException {
+            try (DiskSpillBuffer buffer = new DiskSpillBuffer(directory, SEGMENT_BYTES, SEGMENT_BYTES * 2)) {
+                for (int i = 0; i < 12; i++) {
+                    buffer.append(bytes("event-" + i));
+                }
+
+                List<String> remaining = drain(buffer);
+                assertThat(remaining).doesNotContain("event-0").contains("event-11");
+                assertThat(buffer.drainEvictedCount()).isEqualTo(12 - remaining.size());
+            }
+        }
+
+        @Test
+        @DisplayName("Then should reject a record larger than a segment")
+        void thenShouldRejectOversizedRecord() throws IOException {
+            try (DiskSpillBuffer buffer = new DiskSpillBuffer(directory, SEGMENT_BYTES, 1024)) {
+                assertThat(buffer.append(new byte[SEGMENT_BYTES])).isFalse();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the buffer is reopened")
+    class WhenReopened {
+
+        @Test
+        @DisplayName("Then should resume from the last committed record")
+        void thenShouldResumeFromCommittedRecord() throws IOException {
+            try (DiskSpillBuffer buffer = new DiskSpillBuffer(directory, SEGMENT_BYTES, 1024)) {
+                buffer.append(bytes("event-0"));
+                buffer.append(bytes("event-1"));
+                buffer.peek(1, 1024);
+                buffer.commit();
+            }
+
+            try (DiskSpillBuffer reopened = new DiskSpillBuffer(directory, SEGMENT_BYTES, 1024)) {
+                reopened.append(bytes("event-2"));
+
+                assertThat(drain(reopened)).containsExactly("event-1", "event-2");
+            }
+        }
+    }
+
+    private static List<String> drain(DiskSpillBuffer buffer) {
+        List<String> records = new ArrayList<>();
+        while (!buffer.isEmpty()) {
+            for (byte[] record : buffer.peek(3, 1024)) {
+                records.add(new String(record, StandardCharsets.UTF_8));
+            }
+            buffer.commit();
+        }
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tateca.tatecabackend.metrics;
+
+import com.tateca.tatecabackend.repository.ObligationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RepositoryQueryMetrics Unit Tests")
+class RepositoryQueryMetricsTest {
+
+    private static final String FIND_BY_TRANSACTION_ID_JPQL =
+            "SELECT o FROM TransactionObligationEntity o WHERE o.transaction.uuid = :loanId";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Statistics statistics = mock(Statistics.class);
+
+    @Nested
+    @DisplayName("Given a repository with JPQL queries")
+    class WhenRepositoryHasJpqlQueries {
+
+        @Test
+        @DisplayName("Then should publish max time and executions read from the query's statistics")
+        void thenShouldPublishPerQueryMetrics() {
+            QueryStatistics findByTransactionId = mock(QueryStatistics.class);
+            when(findByTransactionId.getExecutionMaxTime()).thenReturn(42L);
+            when(findByTransactionId.getExecutionCount()).thenReturn(7L);
+            when(statistics.getQueryStatistics(anyString())).thenReturn(mock(QueryStatistics.class));
+            when(statistics.getQueryStatistics(eq(FIND_BY_TRANSACTION_ID_JPQL))).thenReturn(findByTransactionId);
+
+            new RepositoryQueryMetrics(statistics, List.of(ObligationRepository.class)).bindTo(meterRegistry);
+
+            assertThat(meterRegistry.get("hibernate.query.execution.max")
+                    .tag("query", "ObligationRepository.findByTransactionId").gauge().value()).isEqualTo(42.0);
+            assertThat(meterRegistry.get("hibernate.query.executions")
+                    .tag("query", "ObligationRepository.findByTransactionId").functionCounter().count()).isEqualTo(7.0);
+        }
+
+        @Test
+        @DisplayName("Then should only bind methods declared with @Query")
+        void thenShouldSkipDerivedQueries() {
+            new RepositoryQueryMetrics(statistics, List.of(ObligationRepository.class)).bindTo(meterRegistry);
+
+            assertThat(meterRegistry.find("hibernate.query.execution.max").gauges())
+                    .extracting(gauge -> gauge.getId().getTag("query"))
+                    .containsExactlyInAnyOrder(
+                            "ObligationRepository.deleteAllByTransactionId",
+                            "ObligationRepository.findByGroupId",
+                            "ObligationRepository.findByTransactionId");
+        }
+    }
+}
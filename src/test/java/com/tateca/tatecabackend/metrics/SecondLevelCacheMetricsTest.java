@@ -0,0 +1,58 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("SecondLevelCacheMetrics Unit Tests")
+class SecondLevelCacheMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Statistics statistics = mock(Statistics.class);
+
+    @Nested
+    @DisplayName("Given regions with hits and misses")
+    class WhenRegionsHaveBeenRead {
+
+        @Test
+        @DisplayName("Then should publish hits / (hits + misses) per region")
+        void thenShouldPublishHitRatio() {
+            CacheRegionStatistics currencies = mock(CacheRegionStatistics.class);
+            when(currencies.getHitCount()).thenReturn(3L);
+            when(currencies.getMissCount()).thenReturn(1L);
+            when(statistics.getCacheRegionStatistics("currencies")).thenReturn(currencies);
+
+            new SecondLevelCacheMetrics(statistics, List.of("currencies")).bindTo(meterRegistry);
+
+            assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                    .tag("region", "currencies").gauge().value()).isEqualTo(0.75);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a region that has not been read or does not exist")
+    class WhenRegionHasNoRequests {
+
+        @Test
+        @DisplayName("Then should publish NaN instead of a misleading ratio")
+        void thenShouldPublishNaN() {
+            when(statistics.getCacheRegionStatistics("exchange-rates")).thenReturn(mock(CacheRegionStatistics.class));
+
+            new SecondLevelCacheMetrics(statistics, List.of("exchange-rates", "unknown")).bindTo(meterRegistry);
+
+            assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                    .tag("region", "exchange-rates").gauge().value()).isNaN();
+            assertThat(meterRegistry.get("hibernate.cache.region.hit.ratio")
+                    .tag("region", "unknown").gauge().value()).isNaN();
+        }
+    }
+}
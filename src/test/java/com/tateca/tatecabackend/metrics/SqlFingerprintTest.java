@@ -0,0 +1,72 @@
+package com.tateca.tatecabackend.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlFingerprint Unit Tests")
+class SqlFingerprintTest {
+
+    @Nested
+    @DisplayName("Given SQL with literals")
+    class WhenSqlHasLiterals {
+
+        @Test
+        @DisplayName("Then should replace string and numeric literals with placeholders")
+        void thenShouldStripLiterals() {
+            String fingerprint = SqlFingerprint.of(
+                    "SELECT * FROM users WHERE name = 'O''Brien' AND age > 42 AND score < 3.5");
+
+            assertThat(fingerprint).isEqualTo("select * from users where name = ? and age > ? and score < ?");
+        }
+
+        @Test
+        @DisplayName("Then should keep digits that are part of identifiers")
+        void thenShouldKeepIdentifierDigits() {
+            String fingerprint = SqlFingerprint.of("select u1_0.uuid from users u1_0 where u1_0.id=7");
+
+            assertThat(fingerprint).isEqualTo("select u1_0.uuid from users u1_0 where u1_0.id=?");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given IN lists of different sizes")
+    class WhenInListsDiffer {
+
+        @Test
+        @DisplayName("Then should produce the same fingerprint")
+        void thenShouldCollapseInLists() {
+            String two = SqlFingerprint.of("select * from t where id in (?, ?)");
+            String five = SqlFingerprint.of("select * from t where id in (1,2,3,4,5)");
+
+            assertThat(two).isEqualTo("select * from t where id in (?+)");
+            assertThat(five).isEqualTo(two);
+        }
+
+        @Test
+        @DisplayName("Then should not collapse a single parenthesized placeholder")
+        void thenShouldKeepSinglePlaceholder() {
+            assertThat(SqlFingerprint.of("select count(?) from t")).isEqualTo("select count(?) from t");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given formatting differences")
+    class WhenFormattingDiffers {
+
+        @Test
+        @DisplayName("Then should ignore case, comments and whitespace")
+        void thenShouldNormalizeFormatting() {
+            String formatted = SqlFingerprint.of("""
+                    /* load user */
+                    SELECT  uuid
+                      FROM users   -- by id
+                     WHERE uuid = ?
+                    """);
+
+            assertThat(formatted).isEqualTo(SqlFingerprint.of("select uuid from users where uuid = ?"));
+        }
+    }
+}
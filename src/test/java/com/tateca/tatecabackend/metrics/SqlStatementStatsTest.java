@@ -0,0 +1,134 @@
+package com.tateca.tatecabackend.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SqlStatementStats Unit Tests")
+class SqlStatementStatsTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final SqlStatementStats stats = new SqlStatementStats(100, Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+    @Nested
+    @DisplayName("Given executions of the same statement shape")
+    class WhenSameFingerprint {
+
+        @Test
+        @DisplayName("Then should aggregate calls, total and max time, rows and histogram")
+        void thenShouldAggregate() {
+            stats.record("UPDATE users SET name = 'a' WHERE id = 1", 3 * MILLIS, 1);
+            stats.record("update users set name = 'b' where id = 2", 40 * MILLIS, 1);
+
+            SqlStatementStats.Snapshot snapshot = stats.top(10).get(0);
+
+            assertThat(snapshot.fingerprint()).isEqualTo("update users set name = ? where id = ?");
+            assertThat(snapshot.calls()).isEqualTo(2);
+            assertThat(snapshot.totalMs()).isEqualTo(43.0);
+            assertThat(snapshot.maxMs()).isEqualTo(40.0);
+            assertThat(snapshot.rows()).isEqualTo(2);
+            assertThat(snapshot.histogram()).containsEntry("le_5ms", 1L).containsEntry("le_50ms", 1L);
+        }
+
+        @Test
+        @DisplayName("Then should not lose counts under concurrent recording")
+        void thenShouldCountConcurrently() throws Exception {
+            try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                IntStream.range(0, 8).forEach(i -> executor.submit(() -> {
+                    for (int n = 0; n < 1000; n++) {
+                        stats.record("select * from t where id = ?", MILLIS, -1);
+                    }
+                }));
+            }
+
+            assertThat(stats.top(1).get(0).calls()).isEqualTo(8000);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given several fingerprints")
+    class WhenSeveralFingerprints {
+
+        @Test
+        @DisplayName("Then should return the top N by total time")
+        void thenShouldOrderByTotalTime() {
+            stats.record("select a from t", 5 * MILLIS, -1);
+            stats.record("select b from t", 50 * MILLIS, -1);
+            stats.record("select c from t", 20 * MILLIS, -1);
+
+            assertThat(stats.top(2))
+                    .extracting(SqlStatementStats.Snapshot::fingerprint)
+                    .containsExactly("select b from t", "select c from t");
+        }
+
+        @Test
+        @DisplayName("Then should group fingerprints beyond the cap as other")
+        void thenShouldCapFingerprints() {
+            SqlStatementStats capped = new SqlStatementStats(2, Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+            capped.record("select a from t", MILLIS, -1);
+            capped.record("select b from t", MILLIS, -1);
+            capped.record("select c from t", MILLIS, -1);
+            capped.record("select d from t", MILLIS, -1);
+
+            assertThat(capped.top(10))
+                    .extracting(SqlStatementStats.Snapshot::fingerprint)
+                    .contains(SqlStatementStats.OTHER_FINGERPRINT)
+                    .hasSize(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the same SQL string again")
+    class WhenSameSqlAgain {
+
+        @Test
+        @DisplayName("Then should return the cached fingerprint instead of normalizing it again")
+        void thenShouldReuseCachedFingerprint() {
+            String sql = "select * from t where id in (?, ?) and name = 'x'";
+
+            String first = stats.fingerprint(sql);
+
+            assertThat(first).isEqualTo("select * from t where id in (?+) and name = ?");
+            assertThat(stats.fingerprint(sql)).isSameAs(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the datasource-proxy listener")
+    class WhenRecordedThroughListener {
+
+        @Test
+        @DisplayName("Then should time the execution in nanoseconds and take the update count")
+        void thenShouldRecordExecution() {
+            AtomicLong clock = new AtomicLong(1_000);
+            SqlStatsQueryListener listener = new SqlStatsQueryListener(stats, clock::get);
+            List<QueryInfo> queries = List.of(new QueryInfo("delete from t where id in (?, ?, ?)"));
+            ExecutionInfo executionInfo = new ExecutionInfo();
+            executionInfo.setElapsedTime(0);
+            executionInfo.setResult(3);
+
+            listener.beforeQuery(executionInfo, queries);
+            clock.addAndGet(MILLIS / 4);
+            listener.afterQuery(executionInfo, queries);
+
+            SqlStatementStats.Snapshot snapshot = stats.top(1).get(0);
+            assertThat(snapshot.fingerprint()).isEqualTo("delete from t where id in (?+)");
+            assertThat(snapshot.totalMs()).isEqualTo(0.25);
+            assertThat(snapshot.rows()).isEqualTo(3);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.tateca.tatecabackend.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VirtualThreadPinningMonitor Unit Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final List<String> FIREBASE_STACK = List.of(
+            "jdk.internal.misc.Unsafe.park:-1",
+            "java.lang.VirtualThread.parkOnCarrierThread:675",
+            "java.lang.Thread.sleep:509",
+            "com.google.firebase.internal.FirebaseThreadManagers.getThreadFactory:55",
+            "com.tateca.tatecabackend.service.impl.FirebaseServiceImpl.initialize:40");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final VirtualThreadPinningMonitor monitor =
+            new VirtualThreadPinningMonitor(meterRegistry, Duration.ofMillis(20), 2);
+
+    @Nested
+    @DisplayName("Given pinned parks")
+    class WhenPinned {
+
+        @Test
+        @DisplayName("Then should aggregate by the first non-JDK frame")
+        void thenShouldAggregateByOffendingFrame() {
+            monitor.record(FIREBASE_STACK, 30 * MILLIS);
+            monitor.record(FIREBASE_STACK, 50 * MILLIS);
+
+            VirtualThreadPinningMonitor.FrameSnapshot snapshot = monitor.top(10).get(0);
+
+            assertThat(snapshot.frame()).isEqualTo("com.google.firebase.internal.FirebaseThreadManagers.getThreadFactory:55");
+            assertThat(snapshot.count()).isEqualTo(2);
+            assertThat(snapshot.totalMs()).isEqualTo(80.0);
+            assertThat(snapshot.maxMs()).isEqualTo(50.0);
+            assertThat(snapshot.sampleStack()).contains("FirebaseServiceImpl.initialize");
+        }
+
+        @Test
+        @DisplayName("Then should publish the pinned timer")
+        void thenShouldPublishTimer() {
+            monitor.record(FIREBASE_STACK, 30 * MILLIS);
+
+            assertThat(meterRegistry.get("jvm.threads.virtual.pinned").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should group frames beyond the cap as other")
+        void thenShouldCapFrames() {
+            monitor.record(List.of("com.example.A.a:1"), MILLIS);
+            monitor.record(List.of("com.example.B.b:1"), MILLIS);
+            monitor.record(List.of("com.example.C.c:1"), MILLIS);
+
+            assertThat(monitor.top(10))
+                    .extracting(VirtualThreadPinningMonitor.FrameSnapshot::frame)
+                    .containsExactlyInAnyOrder("com.example.A.a:1", "com.example.B.b:1",
+                            VirtualThreadPinningMonitor.OTHER_FRAME);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a stack with only JDK frames")
+    class WhenOnlyJdkFrames {
+
+        @Test
+        @DisplayName("Then should fall back to the top frame")
+        void thenShouldUseTopFrame() {
+            assertThat(VirtualThreadPinningMonitor.offendingFrame(
+                    List.of("jdk.internal.misc.Unsafe.park:-1", "java.lang.Object.wait0:-1")))
+                    .isEqualTo("jdk.internal.misc.Unsafe.park:-1");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the monitor lifecycle")
+    class WhenStartedAndStopped {
+
+        @Test
+        @DisplayName("Then should start and stop the recording stream")
+        void thenShouldStartAndStop() {
+            monitor.start();
+            assertThat(monitor.isRunning()).isTrue();
+
+            monitor.stop();
+            assertThat(monitor.isRunning()).isFalse();
+        }
+    }
+}
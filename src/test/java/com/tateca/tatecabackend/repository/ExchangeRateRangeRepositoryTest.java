@@ -0,0 +1,112 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.CurrencyEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.fixtures.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExchangeRateRangeRepository Tests")
+@Transactional
+class ExchangeRateRangeRepositoryTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ExchangeRateRangeRepository repository;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @BeforeEach
+    void setUp() {
+        CurrencyEntity inactive = TestFixtures.Currencies.eur();
+        inactive.setActive(false);
+
+        currencyRepository.save(TestFixtures.Currencies.usd());
+        currencyRepository.save(inactive);
+        flushAndClear();
+
+        // USD: 148.00 in January, 150.75 from February on
+        repository.save(createRange("USD", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), "148.00"));
+        repository.save(createRange("USD", LocalDate.of(2024, 2, 1), ExchangeRateRangeEntity.OPEN_END, "150.75"));
+        repository.save(createRange("EUR", LocalDate.of(2024, 1, 1), ExchangeRateRangeEntity.OPEN_END, "160.00"));
+        flushAndClear();
+    }
+
+    @Nested
+    @DisplayName("Given a currency with a closed and an open range")
+    class WhenCurrencyHasClosedAndOpenRange {
+
+        @Test
+        @DisplayName("Then should resolve dates inside and at the bounds of the closed range to it")
+        void thenShouldResolveClosedRange() {
+            assertThat(repository.findEffectiveOn("USD", LocalDate.of(2024, 1, 1)))
+                    .get().extracting(ExchangeRateRangeEntity::getEffectiveFrom).isEqualTo(LocalDate.of(2024, 1, 1));
+            assertThat(repository.findEffectiveOn("USD", LocalDate.of(2024, 1, 31)))
+                    .get().extracting(ExchangeRateRangeEntity::getEffectiveFrom).isEqualTo(LocalDate.of(2024, 1, 1));
+        }
+
+        @Test
+        @DisplayName("Then should resolve any later date to the open range")
+        void thenShouldResolveOpenRange() {
+            Optional<ExchangeRateRangeEntity> result = repository.findEffectiveOn("USD", LocalDate.of(2030, 6, 1));
+
+            assertThat(result).isPresent();
+            assertThat(result.get().getEffectiveFrom()).isEqualTo(LocalDate.of(2024, 2, 1));
+            assertThat(result.get().getExchangeRate()).isEqualByComparingTo(new BigDecimal("150.75"));
+            assertThat(result.get().getCurrency().getCurrencyCode()).isEqualTo("USD");
+        }
+
+        @Test
+        @DisplayName("Then should return empty for a date before the first range")
+        void thenShouldReturnEmptyBeforeFirstRange() {
+            assertThat(repository.findEffectiveOn("USD", LocalDate.of(2023, 12, 31))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Then should return the open range as the latest and as the range ending on OPEN_END")
+        void thenShouldReturnOpenRangeAsLatest() {
+            assertThat(repository.findLatestByCurrencyCode("USD"))
+                    .get().extracting(ExchangeRateRangeEntity::getEffectiveFrom).isEqualTo(LocalDate.of(2024, 2, 1));
+            assertThat(repository.findByCurrencyCodeInAndEffectiveTo(List.of("USD"), ExchangeRateRangeEntity.OPEN_END))
+                    .extracting(ExchangeRateRangeEntity::getEffectiveFrom)
+                    .containsExactly(LocalDate.of(2024, 2, 1));
+        }
+    }
+
+    @Nested
+    @DisplayName("Given ranges of active and inactive currencies")
+    class WhenActiveAndInactiveCurrencies {
+
+        @Test
+        @DisplayName("Then should return only the active currencies' ranges effective on the date")
+        void thenShouldReturnOnlyActiveRanges() {
+            List<ExchangeRateRangeEntity> result = repository.findAllActiveEffectiveOn(LocalDate.of(2024, 1, 15));
+
+            assertThat(result).singleElement().satisfies(range -> {
+                assertThat(range.getCurrencyCode()).isEqualTo("USD");
+                assertThat(range.getExchangeRate()).isEqualByComparingTo(new BigDecimal("148.00"));
+            });
+        }
+    }
+
+    private ExchangeRateRangeEntity createRange(String currencyCode, LocalDate from, LocalDate to, String rate) {
+        return ExchangeRateRangeEntity.builder()
+                .currencyCode(currencyCode)
+                .effectiveFrom(from)
+                .effectiveTo(to)
+                .exchangeRate(new BigDecimal(rate))
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
+import com.tateca.tatecabackend.entity.TransactionObligationEntity;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The settlement and history queries load a large group read-only: no entity keeps a loaded-state snapshot,
+ * and flushing does not dirty-check them, even inside a read-write transaction.
+ */
+@DisplayName("Read-Only Query Tests")
+@Transactional
+class ReadOnlyQueryTest extends AbstractIntegrationTest {
+
+    private static final int MEMBERS = 10;
+    private static final int TRANSACTIONS = 500;
+    private static final int OBLIGATIONS_PER_TRANSACTION = 3;
+    private static final LocalDate RATE_DATE = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObligationRepository obligationRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final UUID groupUuid = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO currencies (currency_code, jp_currency_name, eng_currency_name, jp_country_name,
+                                        eng_country_name, is_active)
+                VALUES ('JPY', '日本円', 'Japanese Yen', '日本', 'Japan', TRUE)""");
+        jdbcTemplate.update("INSERT INTO exchange_rates (date, currency_code, exchange_rate) VALUES (?, 'JPY', 1)",
+                RATE_DATE);
+        jdbcTemplate.update("INSERT INTO `groups` (uuid, name, join_token, token_expires) VALUES (?, ?, ?, ?)",
+                bytes(groupUuid), "Large Group", bytes(UUID.randomUUID()), LocalDateTime.now().plusDays(1));
+
+        List<UUID> members = new ArrayList<>();
+        for (int m = 0; m < MEMBERS; m++) {
+            UUID member = UUID.randomUUID();
+            members.add(member);
+            jdbcTemplate.update("INSERT INTO users (uuid, name) VALUES (?, ?)", bytes(member), "Member " + m);
+            jdbcTemplate.update("INSERT INTO user_groups (user_uuid, group_uuid) VALUES (?, ?)",
+                    bytes(member), bytes(groupUuid));
+        }
+
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> obligations = new ArrayList<>();
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            UUID transaction = UUID.randomUUID();
+            LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(t);
+            transactions.add(new Object[]{bytes(transaction), bytes(groupUuid), RATE_DATE, createdAt,
+                    bytes(members.get(t % MEMBERS)), createdAt});
+            for (int o = 1; o <= OBLIGATIONS_PER_TRANSACTION; o++) {
+                obligations.add(new Object[]{bytes(UUID.randomUUID()), bytes(transaction),
+                        bytes(members.get((t + o) % MEMBERS))});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_history (uuid, transaction_type, group_uuid, title, amount, currency_code,
+                                                 exchange_rate_date, transaction_date, payer_id, created_at)
+                VALUES (?, 'LOAN', ?, 'Lunch', 3000, 'JPY', ?, ?, ?, ?)""", transactions);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_obligations (uuid, transaction_uuid, user_uuid, amount)
+                VALUES (?, ?, ?, 1000)""", obligations);
+    }
+
+    @Nested
+    @DisplayName("Given the settlement query on a large group")
+    class WhenSettlementQuery {
+
+        @Test
+        @DisplayName("Then should load every obligation and fetched association read-only without snapshots")
+        void thenShouldLoadReadOnly() {
+            List<TransactionObligationEntity> obligations = obligationRepository.findByGroupId(groupUuid);
+
+            assertThat(obligations).hasSize(TRANSACTIONS * OBLIGATIONS_PER_TRANSACTION);
+            assertThat(obligations.stream().flatMap(o -> Stream.of(o, o.getTransaction(), o.getUser(),
+                    o.getTransaction().getPayer(), o.getTransaction().getExchangeRate())))
+                    .allSatisfy(ReadOnlyQueryTest.this::assertReadOnlyWithoutSnapshot);
+        }
+
+        @Test
+        @DisplayName("Then should not dirty-check or update loaded entities on flush")
+        void thenShouldSkipDirtyChecking() {
+            List<TransactionObligationEntity> obligations = obligationRepository.findByGroupId(groupUuid);
+            obligations.forEach(obligation -> obligation.setAmount(obligation.getAmount() + 1));
+
+            Statistics statistics = clearStatistics();
+            flush();
+
+            assertThat(statistics.getEntityUpdateCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the history query on a large group")
+    class WhenHistoryQuery {
+
+        @Test
+        @DisplayName("Then should load transactions, payers and rates read-only without snapshots")
+        void thenShouldLoadReadOnly() {
+            List<TransactionHistoryEntity> transactions =
+                    transactionRepository.findTransactionsByGroupWithLimit(groupUuid, TRANSACTIONS);
+
+            assertThat(transactions).hasSize(TRANSACTIONS);
+            assertThat(transactions.stream().flatMap(t -> Stream.of(t, t.getPayer(), t.getExchangeRate())))
+                    .allSatisfy(ReadOnlyQueryTest.this::assertReadOnlyWithoutSnapshot);
+        }
+    }
+
+    private void assertReadOnlyWithoutSnapshot(Object entity) {
+        EntityEntry entry = entityManager.unwrap(SessionImplementor.class).getPersistenceContextInternal()
+                .getEntry(entity);
+        assertThat(entry).as("Entry of %s", entity.getClass().getSimpleName()).isNotNull();
+        assertThat(entry.getStatus()).isEqualTo(Status.READ_ONLY);
+        assertThat(entry.getLoadedState()).as("Snapshot of %s", entity.getClass().getSimpleName()).isNull();
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
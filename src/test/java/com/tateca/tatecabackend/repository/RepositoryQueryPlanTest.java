@@ -0,0 +1,545 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code EXPLAIN} on the statement each repository query sends, with the parameters it was bound with,
+ * and checks the plan: the expected index, no full table scan and no filesort or temporary table.
+ *
+ * <p>The dataset is seeded once and analyzed, so that the optimizer works from realistic statistics
+ * (on near-empty tables it prefers full scans).
+ */
+@DisplayName("Repository Query Plan Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+class RepositoryQueryPlanTest extends AbstractIntegrationTest {
+
+    private static final int CURRENCIES = 40;
+    private static final int DAYS = 60;
+    private static final int RANGE_DAYS = 10;
+    private static final int GROUPS = 20;
+    private static final int MEMBERS_PER_GROUP = 6;
+    private static final int TRANSACTIONS_PER_GROUP = 30;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime FIRST_CREATED_AT = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    // Reference table of a few hundred rows, cached in the second-level cache; scanning it is a valid plan
+    private static final Set<String> SCANNABLE_TABLES = Set.of("currencies");
+    private static final Pattern TABLE_ALIAS = Pattern.compile(
+            "\\b(?:from|join|update)\\s+`?(\\w+)`?(?:\\s+(?:as\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NOT_ALIASES = Set.of("where", "join", "left", "inner", "on", "set", "order");
+
+    @Autowired private StatementRecorder recorder;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private TransactionRepository transactionRepository;
+    @Autowired private ObligationRepository obligationRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private UserGroupRepository userGroupRepository;
+    @Autowired private AuthUserRepository authUserRepository;
+    @Autowired private ExchangeRateRepository exchangeRateRepository;
+    @Autowired private ExchangeRateRangeRepository exchangeRateRangeRepository;
+    @Autowired private TransactionArchiveRepository archiveRepository;
+
+    private final List<UUID> groupUuids = new ArrayList<>();
+    private final List<UUID> userUuids = new ArrayList<>();
+    private final List<UUID> transactionUuids = new ArrayList<>();
+
+    @TestConfiguration
+    static class StatementRecorderConfig {
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> currencies = new ArrayList<>();
+        List<Object[]> rates = new ArrayList<>();
+        List<Object[]> ranges = new ArrayList<>();
+        for (int c = 0; c < CURRENCIES; c++) {
+            String code = currencyCode(c);
+            currencies.add(new Object[]{code, code, code, code, code, c % 10 != 0});
+            for (int d = 0; d < DAYS; d++) {
+                rates.add(new Object[]{FIRST_DAY.plusDays(d), code, 1.0 + c + d / 100.0});
+            }
+            for (int d = 0; d < DAYS; d += RANGE_DAYS) {
+                LocalDate to = d + RANGE_DAYS >= DAYS ? ExchangeRateRangeEntity.OPEN_END : FIRST_DAY.plusDays(d + RANGE_DAYS - 1);
+                ranges.add(new Object[]{code, FIRST_DAY.plusDays(d), to, 1.0 + c + d / 100.0});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO currencies (currency_code, jp_currency_name, eng_currency_name, jp_country_name,
+                                        eng_country_name, is_active)
+                VALUES (?, ?, ?, ?, ?, ?)""", currencies);
+        jdbcTemplate.batchUpdate("INSERT INTO exchange_rates (date, currency_code, exchange_rate) VALUES (?, ?, ?)", rates);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO exchange_rate_ranges (currency_code, effective_from, effective_to, exchange_rate)
+                VALUES (?, ?, ?, ?)""", ranges);
+
+        List<Object[]> authUsers = new ArrayList<>();
+        List<Object[]> groups = new ArrayList<>();
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> userGroups = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        List<Object[]> obligations = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            String uid = authUid(g);
+            authUsers.add(new Object[]{uid, "auth-" + g, uid + "@example.com"});
+            UUID group = UUID.randomUUID();
+            groupUuids.add(group);
+            groups.add(new Object[]{bytes(group), "group-" + g, bytes(UUID.randomUUID()), FIRST_CREATED_AT.plusYears(1)});
+
+            List<UUID> members = new ArrayList<>();
+            for (int m = 0; m < MEMBERS_PER_GROUP; m++) {
+                UUID user = UUID.randomUUID();
+                members.add(user);
+                userUuids.add(user);
+                users.add(new Object[]{bytes(user), "user-" + g + "-" + m, m == 0 ? uid : null});
+                userGroups.add(new Object[]{bytes(user), bytes(group)});
+            }
+            for (int t = 0; t < TRANSACTIONS_PER_GROUP; t++) {
+                UUID transaction = UUID.randomUUID();
+                transactionUuids.add(transaction);
+                LocalDateTime createdAt = FIRST_CREATED_AT.plusMinutes((long) t * GROUPS + g);
+                transactions.add(new Object[]{bytes(transaction), bytes(group), 3000,
+                        currencyCode(t % CURRENCIES), FIRST_DAY.plusDays(t % DAYS), createdAt,
+                        bytes(members.get(t % MEMBERS_PER_GROUP)), createdAt});
+                for (int o = 1; o <= 2; o++) {
+                    obligations.add(new Object[]{bytes(UUID.randomUUID()), bytes(transaction),
+                            bytes(members.get((t + o) % MEMBERS_PER_GROUP)), 1500});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO auth_users (uid, name, email) VALUES (?, ?, ?)", authUsers);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO `groups` (uuid, name, join_token, token_expires) VALUES (?, ?, ?, ?)""", groups);
+        jdbcTemplate.batchUpdate("INSERT INTO users (uuid, name, auth_user_uid) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO user_groups (user_uuid, group_uuid) VALUES (?, ?)", userGroups);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_history (uuid, transaction_type, group_uuid, title, amount, currency_code,
+                                                 exchange_rate_date, transaction_date, payer_id, created_at)
+                VALUES (?, 'LOAN', ?, 'title', ?, ?, ?, ?, ?, ?)""", transactions);
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transaction_obligations (uuid, transaction_uuid, user_uuid, amount)
+                VALUES (?, ?, ?, ?)""", obligations);
+
+        jdbcTemplate.execute("""
+                ANALYZE TABLE currencies, exchange_rates, exchange_rate_ranges, auth_users, `groups`, users,
+                              user_groups, transaction_history, transaction_obligations""");
+    }
+
+    @Nested
+    @DisplayName("Given the transaction history queries")
+    class WhenTransactionHistoryQueries {
+
+        @Test
+        @DisplayName("Then should read a group's latest transactions in index order")
+        void thenShouldReadHistoryInIndexOrder() {
+            Plan plan = explain(() -> transactionRepository.findTransactionsByGroupWithLimit(groupUuids.get(3), 5));
+
+            assertUsesIndex(plan, "transaction_history", "idx_transaction_history_group_uuid_created_at");
+            assertUsesIndex(plan, "users", "PRIMARY");
+            assertUsesIndex(plan, "exchange_rates", "PRIMARY");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should count a group's transactions from the index alone")
+        void thenShouldCountFromIndex() {
+            Plan plan = explain(() -> transactionRepository.countByGroup_Uuid(groupUuids.get(3)));
+
+            assertUsesIndex(plan, "transaction_history", "idx_transaction_history_group_uuid_created_at");
+            assertThat(plan.row("transaction_history").extra()).as(plan.sql()).contains("Using index");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should check payers through the payer index")
+        void thenShouldCheckPayerThroughIndex() {
+            Plan plan = explain(() -> transactionRepository.existsByPayer(userRepository.getReferenceById(userUuids.get(7))));
+
+            assertUsesIndex(plan, "transaction_history", "idx_transaction_history_payer_id");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should load a transaction detail by primary key")
+        void thenShouldLoadDetailByPrimaryKey() {
+            Plan plan = explain(() -> transactionRepository.findDetailByUuid(transactionUuids.get(42)));
+
+            assertUsesIndex(plan, "transaction_history", "PRIMARY");
+            assertUsesIndex(plan, "users", "PRIMARY");
+            assertUsesIndex(plan, "auth_users", "PRIMARY");
+            assertUsesIndex(plan, "exchange_rates", "PRIMARY");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should page groups by primary key and probe their activity through an index")
+        void thenShouldScanInactiveGroupsThroughIndexes() {
+            Plan plan = explain(() -> archiveRepository.findInactiveGroups(
+                    groupUuids.get(3), FIRST_CREATED_AT.plusYears(1).toInstant(ZoneOffset.UTC), 10));
+
+            assertUsesIndex(plan, "groups", "PRIMARY");
+            assertUsesIndex(plan, "transaction_history",
+                    "idx_transaction_history_group_uuid_updated_at", "idx_transaction_history_group_uuid_created_at");
+            assertEfficient(plan);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the obligation queries")
+    class WhenObligationQueries {
+
+        @Test
+        @DisplayName("Then should read a transaction's obligations through the transaction index")
+        void thenShouldReadByTransaction() {
+            Plan plan = explain(() -> obligationRepository.findByTransactionId(transactionUuids.get(42)));
+
+            assertUsesIndex(plan, "transaction_obligations", "idx_transaction_obligations_transaction_uuid");
+            assertUsesIndex(plan, "users", "PRIMARY");
+            assertUsesIndex(plan, "auth_users", "PRIMARY");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should read a group's obligations from the group's transactions")
+        void thenShouldReadByGroup() {
+            Plan plan = explain(() -> obligationRepository.findByGroupId(groupUuids.get(3)));
+
+            assertUsesIndex(plan, "transaction_history", "idx_transaction_history_group_uuid_created_at");
+            assertUsesIndex(plan, "transaction_obligations", "idx_transaction_obligations_transaction_uuid");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should check obligation users through the user index")
+        void thenShouldCheckUserThroughIndex() {
+            Plan plan = explain(() -> obligationRepository.existsByUser(userRepository.getReferenceById(userUuids.get(7))));
+
+            assertUsesIndex(plan, "transaction_obligations", "idx_transaction_obligations_user_uuid");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should delete a transaction's obligations through the transaction index")
+        void thenShouldDeleteByTransaction() {
+            Plan plan = explain(() -> transactionTemplate.executeWithoutResult(status -> {
+                obligationRepository.deleteAllByTransactionId(transactionUuids.get(43));
+                status.setRollbackOnly();
+            }));
+
+            assertUsesIndex(plan, "transaction_obligations", "idx_transaction_obligations_transaction_uuid");
+            assertEfficient(plan);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the user and membership queries")
+    class WhenUserQueries {
+
+        @Test
+        @DisplayName("Then should find an auth user's users through the auth user index")
+        void thenShouldFindByAuthUser() {
+            Plan plan = explain(() -> userRepository.findByAuthUserUid(authUid(5)));
+
+            assertUsesIndex(plan, "users", "auth_user_uid");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should load users with their auth users by primary key")
+        void thenShouldLoadUsersWithAuthUsers() {
+            Plan single = explain(() -> userRepository.findWithAuthUserByUuid(userUuids.get(7)));
+            Plan batch = explain(() -> userRepository.findAllWithAuthUserByUuidIn(userUuids.subList(6, 12)));
+
+            for (Plan plan : List.of(single, batch)) {
+                assertUsesIndex(plan, "users", "PRIMARY");
+                assertUsesIndex(plan, "auth_users", "PRIMARY");
+                assertEfficient(plan);
+            }
+        }
+
+        @Test
+        @DisplayName("Then should read a group's members from the covering group index")
+        void thenShouldReadMembersFromCoveringIndex() {
+            Plan plan = explain(() -> userGroupRepository.findByGroupUuidWithUserDetails(groupUuids.get(3)));
+
+            assertUsesIndex(plan, "user_groups", "idx_user_groups_group_uuid_user_uuid");
+            assertThat(plan.row("user_groups").extra()).as(plan.sql()).contains("Using index");
+            assertUsesIndex(plan, "users", "PRIMARY");
+            assertUsesIndex(plan, "auth_users", "PRIMARY");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should resolve memberships by primary key")
+        void thenShouldResolveMembershipsByPrimaryKey() {
+            Plan single = explain(() -> userGroupRepository.findByUserUuidAndGroupUuid(userUuids.get(0), groupUuids.get(0)));
+            Plan batch = explain(() -> userGroupRepository.findByUserUuidListWithGroup(userUuids.subList(0, 3)));
+
+            for (Plan plan : List.of(single, batch)) {
+                assertUsesIndex(plan, "user_groups", "PRIMARY");
+                assertEfficient(plan);
+            }
+            assertUsesIndex(batch, "groups", "PRIMARY");
+        }
+
+        @Test
+        @DisplayName("Then should read an auth user's group ids without touching group rows")
+        void thenShouldReadGroupIdsFromIndexes() {
+            Plan plan = explain(() -> userGroupRepository.findGroupUuidsByAuthUserUid(authUid(5)));
+
+            assertUsesIndex(plan, "users", "auth_user_uid");
+            assertUsesIndex(plan, "user_groups", "PRIMARY");
+            assertThat(plan.row("user_groups").extra()).as(plan.sql()).contains("Using index");
+            assertEfficient(plan);
+        }
+
+        @Test
+        @DisplayName("Then should check emails through the unique email index")
+        void thenShouldCheckEmailThroughIndex() {
+            Plan plan = explain(() -> authUserRepository.existsByEmail(authUid(5) + "@example.com"));
+
+            assertUsesIndex(plan, "auth_users", "email");
+            assertEfficient(plan);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the exchange rate queries")
+    class WhenExchangeRateQueries {
+
+        @Test
+        @DisplayName("Then should read daily rates through the primary key")
+        void thenShouldReadDailyRatesByPrimaryKey() {
+            LocalDate date = FIRST_DAY.plusDays(20);
+            List<Plan> plans = List.of(
+                    explain(() -> exchangeRateRepository.findByCurrencyCodeAndDate(currencyCode(1), date)),
+                    explain(() -> exchangeRateRepository.findByCurrencyCodeInAndDate(
+                            List.of(currencyCode(1), currencyCode(2)), date)),
+                    explain(() -> exchangeRateRepository.findAllActiveByDate(date)));
+
+            for (Plan plan : plans) {
+                assertUsesIndex(plan, "exchange_rates", "PRIMARY");
+                assertEfficient(plan);
+            }
+        }
+
+        @Test
+        @DisplayName("Then should read a currency's rates without sorting")
+        void thenShouldReadCurrencyRatesWithoutSorting() {
+            List<Plan> plans = List.of(
+                    explain(() -> exchangeRateRepository.findByCurrencyCodeAndDates(
+                            currencyCode(1), List.of(FIRST_DAY, FIRST_DAY.plusDays(5)))),
+                    explain(() -> exchangeRateRepository.findLatestByCurrencyCode(currencyCode(1))));
+
+            for (Plan plan : plans) {
+                assertUsesIndex(plan, "exchange_rates", "PRIMARY", "currency_code");
+                assertEfficient(plan);
+            }
+        }
+
+        @Test
+        @DisplayName("Then should read a currency's ranges through the primary key")
+        void thenShouldReadCurrencyRangesByPrimaryKey() {
+            List<Plan> plans = List.of(
+                    explain(() -> exchangeRateRangeRepository.findEffectiveOn(currencyCode(1), FIRST_DAY.plusDays(15))),
+                    explain(() -> exchangeRateRangeRepository.findLatestByCurrencyCode(currencyCode(1))));
+
+            for (Plan plan : plans) {
+                assertUsesIndex(plan, "exchange_rate_ranges", "PRIMARY");
+                assertEfficient(plan);
+            }
+        }
+
+        @Test
+        @DisplayName("Then should read all currencies' ranges on a date through an index")
+        void thenShouldReadAllRangesThroughIndex() {
+            List<Plan> plans = List.of(
+                    explain(() -> exchangeRateRangeRepository.findAllActiveEffectiveOn(FIRST_DAY.plusDays(DAYS - 1))),
+                    explain(() -> exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(
+                            List.of(currencyCode(1), currencyCode(2)), ExchangeRateRangeEntity.OPEN_END)));
+
+            // Driven from the ranges (effective_to) or from the currencies (primary key prefix); both are indexed
+            for (Plan plan : plans) {
+                assertUsesIndex(plan, "exchange_rate_ranges", "idx_exchange_rate_ranges_effective_to", "PRIMARY");
+                assertEfficient(plan);
+            }
+        }
+    }
+
+    /**
+     * Run {@code query}, then EXPLAIN the first statement it sent with the same parameters.
+     */
+    private Plan explain(Runnable query) {
+        recorder.start();
+        try {
+            query.run();
+        } finally {
+            recorder.stop();
+        }
+        RecordedStatement statement = recorder.first();
+        assertThat(statement).as("Statement sent by the query").isNotNull();
+
+        Map<String, String> tables = tablesByAlias(statement.sql());
+        List<PlanRow> rows = jdbcTemplate.execute((ConnectionCallback<List<PlanRow>>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (ParameterSetOperation parameter : statement.parameters()) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+                List<PlanRow> planRows = new ArrayList<>();
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        String table = resultSet.getString("table");
+                        planRows.add(new PlanRow(tables.getOrDefault(table, table), resultSet.getString("type"),
+                                resultSet.getString("key"), String.valueOf(resultSet.getString("Extra"))));
+                    }
+                }
+                return planRows;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not bind " + statement.sql(), e);
+            }
+        });
+        return new Plan(statement.sql(), rows);
+    }
+
+    private static void assertUsesIndex(Plan plan, String table, String... keys) {
+        PlanRow row = plan.row(table);
+        assertThat(row.type()).as("Access type of %s in %s", table, plan.sql()).isNotEqualTo("ALL");
+        assertThat(row.key()).as("Index used for %s in %s", table, plan.sql()).isIn((Object[]) keys);
+    }
+
+    private static void assertEfficient(Plan plan) {
+        for (PlanRow row : plan.rows()) {
+            if (!SCANNABLE_TABLES.contains(row.table())) {
+                assertThat(row.type()).as("Full scan of %s in %s", row.table(), plan.sql()).isNotEqualTo("ALL");
+            }
+            assertThat(row.extra()).as("Plan of %s", plan.sql())
+                    .doesNotContain("Using filesort")
+                    .doesNotContain("Using temporary");
+        }
+    }
+
+    private static Map<String, String> tablesByAlias(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            String alias = matcher.group(2);
+            if (alias != null && !NOT_ALIASES.contains(alias.toLowerCase(Locale.ROOT))) {
+                tables.put(alias, matcher.group(1));
+            }
+        }
+        return tables;
+    }
+
+    private static String currencyCode(int index) {
+        return String.format("C%02d", index);
+    }
+
+    private static String authUid(int index) {
+        return "plan-auth-" + index;
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private record Plan(String sql, List<PlanRow> rows) {
+        PlanRow row(String table) {
+            return rows.stream()
+                    .filter(row -> row.table().equals(table))
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("No access to " + table + " in plan of " + sql + ": " + rows));
+        }
+    }
+
+    private record PlanRow(String table, String type, String key, String extra) {
+    }
+
+    private record RecordedStatement(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Records the statements sent by the test thread between {@link #start()} and {@link #stop()}.
+     */
+    static class StatementRecorder implements QueryExecutionListener {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile Thread recordingThread;
+
+        void start() {
+            statements.clear();
+            recordingThread = Thread.currentThread();
+        }
+
+        void stop() {
+            recordingThread = null;
+        }
+
+        RecordedStatement first() {
+            return statements.stream()
+                    .filter(statement -> statement.sql().stripLeading().toLowerCase(Locale.ROOT)
+                            .matches("(?s)^(select|update|delete)\\b.*"))
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() != recordingThread) {
+                return;
+            }
+            for (QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of() : List.copyOf(queryInfo.getParametersList().get(0));
+                statements.add(new RecordedStatement(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tateca.tatecabackend.repository;
+
+import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.util.UuidV7Generator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same rows keyed by random (v4) and time-ordered (v7) UUIDs into tables shaped like
+ * {@code transaction_obligations}, and compares throughput and clustered index size.
+ *
+ * <p>Throughput is logged only: on a small, buffer-pool-resident table it is too noisy to assert. The index
+ * size is stable: random keys split pages in the middle and leave them about half full, while ordered keys
+ * fill each page before starting the next.
+ */
+@DisplayName("UUID Primary Key Insert Benchmark")
+class UuidPrimaryKeyInsertBenchmarkTest extends AbstractIntegrationTest {
+    private static final Logger logger = LoggerFactory.getLogger(UuidPrimaryKeyInsertBenchmarkTest.class);
+
+    private static final int ROWS = 50_000;
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS uuid_benchmark_v4, uuid_benchmark_v7");
+    }
+
+    @Nested
+    @DisplayName("Given the same rows inserted with v4 and v7 keys")
+    class WhenInsertingWithBothKeyVersions {
+
+        @Test
+        @DisplayName("Then should build a smaller clustered index with v7 keys")
+        void thenShouldPackV7KeysDenser() {
+            Result v4 = insert("uuid_benchmark_v4", UUID::randomUUID);
+            Result v7 = insert("uuid_benchmark_v7", UuidV7Generator::generate);
+
+            logger.info("UUID insert benchmark: rows={}, v4RowsPerSecond={}, v7RowsPerSecond={}, "
+                            + "v4DataLength={}, v7DataLength={}",
+                    ROWS, v4.rowsPerSecond(), v7.rowsPerSecond(), v4.dataLength(), v7.dataLength());
+            assertThat(v7.dataLength()).isLessThan(v4.dataLength());
+        }
+    }
+
+    private Result insert(String table, Supplier<UUID> keys) {
+        jdbcTemplate.execute("""
+                CREATE TABLE %s (
+                  `uuid` binary(16) NOT NULL,
+                  `transaction_uuid` binary(16) NOT NULL,
+                  `user_uuid` binary(16) NOT NULL,
+                  `amount` int NOT NULL,
+                  `created_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP,
+                  PRIMARY KEY (`uuid`)
+                ) ENGINE=InnoDB""".formatted(table));
+
+        long elapsedNanos = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            long start = System.nanoTime();
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "INSERT INTO " + table + " (uuid, transaction_uuid, user_uuid, amount) VALUES (?, ?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    statement.setBytes(1, bytes(keys.get()));
+                    statement.setBytes(2, bytes(UUID.randomUUID()));
+                    statement.setBytes(3, bytes(UUID.randomUUID()));
+                    statement.setInt(4, i);
+                    statement.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        statement.executeBatch();
+                    }
+                }
+            }
+            return System.nanoTime() - start;
+        });
+
+        long dataLength = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE " + table);
+                // information_schema.TABLES is cached for a day by default
+                statement.execute("SET SESSION information_schema_stats_expiry = 0");
+                try (ResultSet resultSet = statement.executeQuery(
+                        "SELECT data_length FROM information_schema.TABLES "
+                                + "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                    resultSet.next();
+                    return resultSet.getLong(1);
+                }
+            }
+        });
+        return new Result(ROWS * 1_000_000_000L / elapsedNanos, dataLength);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private record Result(long rowsPerSecond, long dataLength) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.tateca.tatecabackend.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicInteger pendingConnections = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 100, 2.0, 0.5, 0.5,
+                pendingConnections::get, clock::get);
+    }
+
+    @Nested
+    @DisplayName("Given the limit is reached")
+    class WhenLimitReached {
+
+        @Test
+        @DisplayName("Then should shed normal requests but admit critical ones")
+        void thenShouldShedNormalButAdmitCritical() {
+            AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+            assertThat(limiter.tryAcquire(RoutePriority.NORMAL)).isTrue();
+            assertThat(limiter.tryAcquire(RoutePriority.NORMAL)).isTrue();
+
+            assertThat(limiter.tryAcquire(RoutePriority.NORMAL)).isFalse();
+            assertThat(limiter.tryAcquire(RoutePriority.CRITICAL)).isTrue();
+            assertThat(limiter.getInflight()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Then should shed low priority requests at their share of the limit")
+        void thenShouldShedLowPriorityFirst() {
+            AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+            assertThat(limiter.tryAcquire(RoutePriority.LOW)).isTrue();
+            assertThat(limiter.tryAcquire(RoutePriority.LOW)).isTrue();
+            assertThat(limiter.tryAcquire(RoutePriority.LOW)).isFalse();
+            assertThat(limiter.tryAcquire(RoutePriority.NORMAL)).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given completed requests")
+    class WhenRequestsComplete {
+
+        @Test
+        @DisplayName("Then should back off when threads wait for a DB connection")
+        void thenShouldBackOffOnPoolWait() {
+            AdaptiveConcurrencyLimiter limiter = limiter(40);
+            complete(limiter, 10 * MILLIS);
+
+            pendingConnections.set(3);
+            complete(limiter, 10 * MILLIS);
+
+            assertThat(limiter.getLimit()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Then should back off at most once per interval")
+        void thenShouldRateLimitDecreases() {
+            AdaptiveConcurrencyLimiter limiter = limiter(40);
+            complete(limiter, 10 * MILLIS);
+            pendingConnections.set(1);
+
+            complete(limiter, 10 * MILLIS);
+            complete(limiter, 10 * MILLIS);
+            assertThat(limiter.getLimit()).isEqualTo(20);
+
+            clock.addAndGet(AdaptiveConcurrencyLimiter.DECREASE_INTERVAL_NANOS);
+            complete(limiter, 10 * MILLIS);
+            assertThat(limiter.getLimit()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Then should back off when latency rises above the tolerated gradient")
+        void thenShouldBackOffOnLatencyGradient() {
+            AdaptiveConcurrencyLimiter limiter = limiter(40);
+            complete(limiter, 10 * MILLIS);
+
+            for (int i = 0; i < 10; i++) {
+                complete(limiter, 200 * MILLIS);
+            }
+
+            assertThat(limiter.getLimit()).isLessThan(40);
+        }
+
+        @Test
+        @DisplayName("Then should grow while the limit is in use and latency is stable")
+        void thenShouldGrowWhenHealthy() {
+            AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+            for (int i = 0; i < 40; i++) {
+                int admitted = 0;
+                while (limiter.tryAcquire(RoutePriority.NORMAL)) {
+                    admitted++;
+                }
+                for (int j = 0; j < admitted; j++) {
+                    limiter.release(10 * MILLIS);
+                }
+            }
+
+            assertThat(limiter.getLimit()).isGreaterThan(4);
+            assertThat(limiter.getInflight()).isZero();
+        }
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        limiter.tryAcquire(RoutePriority.CRITICAL);
+        limiter.release(latencyNanos);
+    }
+}
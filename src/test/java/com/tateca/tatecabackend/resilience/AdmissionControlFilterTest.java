@@ -0,0 +1,80 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdmissionControlFilter Unit Tests")
+class AdmissionControlFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0, 0.9, 0.5, () -> 0, System::nanoTime);
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(limiter,
+            List.of("/internal/**", "/actuator/**"), List.of("/groups/*/transactions/history"),
+            3, new ObjectMapper(), meterRegistry);
+
+    @Nested
+    @DisplayName("Given the server is at its limit")
+    class WhenAtLimit {
+
+        @Test
+        @DisplayName("Then should reject user requests with 503 and Retry-After")
+        void thenShouldShedUserRequests() throws Exception {
+            limiter.tryAcquire(RoutePriority.NORMAL);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/groups/list"), response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("3");
+            JsonNode body = new ObjectMapper().readTree(response.getContentAsString());
+            assertThat(body.get("status").asInt()).isEqualTo(503);
+            assertThat(body.get("error_code").asText()).isEqualTo("SYSTEM.OVERLOADED");
+            assertThat(body.get("path").asText()).isEqualTo("/groups/list");
+            assertThat(response.isCommitted()).isTrue();
+            assertThat(chain.getRequest()).isNull();
+            assertThat(meterRegistry.get("http.server.requests.shed").tag("priority", "normal").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should still admit exchange-rate ingestion")
+        void thenShouldAdmitInternalRequests() throws Exception {
+            limiter.tryAcquire(RoutePriority.NORMAL);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(new MockHttpServletRequest("POST", "/internal/exchange-rates"), response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(200);
+            assertThat(chain.getRequest()).isNotNull();
+            assertThat(limiter.getInflight()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given route patterns")
+    class WhenClassifyingRoutes {
+
+        @Test
+        @DisplayName("Then should classify critical, low and normal routes")
+        void thenShouldClassifyRoutes() {
+            assertThat(filter.priorityOf("/internal/exchange-rates")).isEqualTo(RoutePriority.CRITICAL);
+            assertThat(filter.priorityOf("/actuator/health")).isEqualTo(RoutePriority.CRITICAL);
+            assertThat(filter.priorityOf("/groups/abc/transactions/history")).isEqualTo(RoutePriority.LOW);
+            assertThat(filter.priorityOf("/groups/abc/transactions")).isEqualTo(RoutePriority.NORMAL);
+        }
+    }
+}
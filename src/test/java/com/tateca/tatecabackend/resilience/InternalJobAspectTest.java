@@ -0,0 +1,114 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("InternalJobAspect Unit Tests")
+class InternalJobAspectTest {
+
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final Jobs jobs = proxy(new Jobs(started, release));
+
+    @Nested
+    @DisplayName("Given a free bulkhead")
+    class WhenBulkheadFree {
+
+        @Test
+        @DisplayName("Then should run the job as the internal workload and restore the user workload")
+        void thenShouldRunAsInternalWorkload() {
+            assertThat(jobs.currentWorkload()).isEqualTo(Workload.INTERNAL);
+            assertThat(Workload.current()).isEqualTo(Workload.USER);
+        }
+
+        @Test
+        @DisplayName("Then should propagate the job's exception unchanged")
+        void thenShouldPropagateJobException() {
+            assertThatThrownBy(jobs::fail)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("provider down");
+            assertThat(Workload.current()).isEqualTo(Workload.USER);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the job is already running")
+    class WhenBulkheadFull {
+
+        @Test
+        @DisplayName("Then should reject a concurrent run with INTERNAL.JOB_BUSY")
+        void thenShouldRejectConcurrentRun() throws Exception {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> running = executor.submit(() -> {
+                    jobs.block();
+                    return null;
+                });
+                assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+                assertThatThrownBy(jobs::currentWorkload)
+                        .isInstanceOf(BusinessRuleViolationException.class)
+                        .extracting("errorCode").isEqualTo("INTERNAL.JOB_BUSY");
+
+                release.countDown();
+                running.get(5, TimeUnit.SECONDS);
+                assertThat(jobs.currentWorkload()).isEqualTo(Workload.INTERNAL);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private Jobs proxy(Jobs target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new InternalJobAspect(bulkheadRegistry));
+        return factory.getProxy();
+    }
+
+    static class Jobs {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        Jobs(CountDownLatch started, CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @InternalJob("ingestion")
+        public Workload currentWorkload() {
+            return Workload.current();
+        }
+
+        @InternalJob("ingestion")
+        public void fail() {
+            throw new IllegalStateException("provider down");
+        }
+
+        @InternalJob("ingestion")
+        public void block() throws InterruptedException {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
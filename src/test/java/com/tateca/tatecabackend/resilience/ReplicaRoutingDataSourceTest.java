@@ -0,0 +1,191 @@
+package com.tateca.tatecabackend.resilience;
+
+import com.tateca.tatecabackend.security.FirebaseAuthentication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReplicaRoutingDataSource Unit Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primaryPool = mock(DataSource.class);
+    private final DataSource replicaPool = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1), 100);
+    private final ReplicaRoutingDataSource dataSource =
+            new ReplicaRoutingDataSource(primaryPool, replicaPool, tracker, meterRegistry);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(primaryPool.getConnection()).thenReturn(primaryConnection);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        SecurityContextHolder.getContext().setAuthentication(new FirebaseAuthentication("uid-1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Nested
+    @DisplayName("Given a user without recent writes")
+    class WhenNoRecentWrites {
+
+        @Test
+        @DisplayName("Then should read from the replica and count the routing")
+        void thenShouldReadFromReplica() throws Exception {
+            assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+            assertThat(routed("replica", "read-only")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Then should keep internal jobs on the primary side")
+        void thenShouldKeepInternalJobsOnPrimary() throws Exception {
+            Connection connection = Workload.callAs(Workload.INTERNAL, dataSource::getConnection);
+
+            assertThat(connection).isSameAs(primaryConnection);
+            assertThat(routed("primary", "internal-job")).isEqualTo(1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a user who committed a write")
+    class WhenUserWrote {
+
+        @Test
+        @DisplayName("Then should read that user's data from the primary")
+        void thenShouldReadOwnWritesFromPrimary() throws Exception {
+            tracker.afterCommit(execution(false), null);
+
+            assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+            assertThat(routed("primary", "read-your-writes")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Then should keep other users on the replica")
+        void thenShouldKeepOtherUsersOnReplica() throws Exception {
+            tracker.afterCommit(execution(false), null);
+            SecurityContextHolder.getContext().setAuthentication(new FirebaseAuthentication("uid-2"));
+
+            assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Then should ignore read-only, failed and anonymous commits")
+        void thenShouldIgnoreCommitsWithoutWrites() throws Exception {
+            tracker.afterCommit(execution(true), null);
+            tracker.afterCommit(execution(false), new IllegalStateException("commit failed"));
+            SecurityContextHolder.clearContext();
+            tracker.afterCommit(execution(false), null);
+            SecurityContextHolder.getContext().setAuthentication(new FirebaseAuthentication("uid-1"));
+
+            assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Then should return to the replica after the window")
+        void thenShouldReturnToReplicaAfterWindow() throws Exception {
+            ReadYourWritesTracker expired = new ReadYourWritesTracker(Duration.ZERO, 100);
+            ReplicaRoutingDataSource routing =
+                    new ReplicaRoutingDataSource(primaryPool, replicaPool, expired, meterRegistry);
+            expired.recordWrite("uid-1");
+            Thread.sleep(1);
+
+            assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        }
+
+        @Test
+        @DisplayName("Then should keep recent writers when dropping expired marks at capacity")
+        void thenShouldKeepRecentWritersAtCapacity() {
+            ReadYourWritesTracker small = new ReadYourWritesTracker(Duration.ofMinutes(1), 2);
+            small.recordWrite("uid-1");
+            small.recordWrite("uid-2");
+            small.recordWrite("uid-3");
+
+            assertThat(small.isSticky("uid-1")).isTrue();
+            assertThat(small.isSticky("uid-3")).isTrue();
+            assertThat(small.isSticky("uid-4")).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a request served by another instance")
+    class WhenServedByAnotherInstance {
+
+        @Test
+        @DisplayName("Then should set one read-your-writes cookie per writing request")
+        void thenShouldSetCookieOnce() {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            RequestContextHolder.setRequestAttributes(
+                    new ServletRequestAttributes(new MockHttpServletRequest(), response));
+
+            tracker.afterCommit(execution(false), null);
+            tracker.afterCommit(execution(false), null);
+
+            assertThat(response.getHeaders("Set-Cookie")).singleElement().asString()
+                    .startsWith(ReadYourWritesTracker.COOKIE_NAME + "=")
+                    .contains("Max-Age=60", "HttpOnly", "Secure");
+        }
+
+        @Test
+        @DisplayName("Then should read from the primary when the client carries a live cookie")
+        void thenShouldHonourCookie() throws Exception {
+            withCookie(Long.toString(System.currentTimeMillis() + 30_000));
+
+            assertThat(dataSource.getConnection()).isSameAs(primaryConnection);
+            assertThat(routed("primary", "read-your-writes")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Then should ignore expired, malformed and over-long cookies")
+        void thenShouldIgnoreInvalidCookies() throws Exception {
+            for (String value : new String[] {
+                    Long.toString(System.currentTimeMillis() - 1),
+                    "not-a-time",
+                    Long.toString(System.currentTimeMillis() + Duration.ofHours(1).toMillis())}) {
+                withCookie(value);
+
+                assertThat(dataSource.getConnection()).isSameAs(replicaConnection);
+            }
+        }
+
+        private void withCookie(String value) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME, value));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("jdbc.connections.routed").tag("target", target).tag("reason", reason)
+                .counter().count();
+    }
+
+    private static TransactionExecution execution(boolean readOnly) {
+        TransactionExecution execution = mock(TransactionExecution.class);
+        when(execution.isNewTransaction()).thenReturn(true);
+        when(execution.isReadOnly()).thenReturn(readOnly);
+        return execution;
+    }
+}
@@ -0,0 +1,33 @@
+package com.tateca.tatecabackend.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("WorkloadRoutingDataSource Unit Tests")
+class WorkloadRoutingDataSourceTest {
+
+    @Test
+    @DisplayName("Then should hand out connections from the pool of the current workload")
+    void thenShouldRouteByWorkload() throws Exception {
+        DataSource userPool = mock(DataSource.class);
+        DataSource internalPool = mock(DataSource.class);
+        Connection userConnection = mock(Connection.class);
+        Connection internalConnection = mock(Connection.class);
+        when(userPool.getConnection()).thenReturn(userConnection);
+        when(internalPool.getConnection()).thenReturn(internalConnection);
+
+        WorkloadRoutingDataSource dataSource = new WorkloadRoutingDataSource(userPool, internalPool);
+
+        assertThat(dataSource.getConnection()).isSameAs(userConnection);
+        Connection connection = Workload.callAs(Workload.INTERNAL, dataSource::getConnection);
+        assertThat(connection).isSameAs(internalConnection);
+        assertThat(dataSource.getConnection()).isSameAs(userConnection);
+    }
+}
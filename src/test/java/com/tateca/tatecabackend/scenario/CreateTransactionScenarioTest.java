@@ -3,8 +3,10 @@ package com.tateca.tatecabackend.scenario;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.AuthUserEntity;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.UserEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
@@ -344,4 +346,25 @@ class CreateTransactionScenarioTest extends AbstractIntegrationTest {
             assertThat(result.getResponse().getStatus()).isEqualTo(404);
         }
     }
+
+    @Nested
+    @DisplayName("Req8: クエリ数")
+    class Req8_QueryCount {
+
+        @Test
+        @DisplayName("AC1: 支払者・義務者とその認証ユーザーを1件ずつ取得しない")
+        void ac1_shouldNotFetchUsersOrAuthUsersLazily() throws Exception {
+            List<Map<String, Object>> obligations = List.of(
+                    Map.of("amount", 1000, "user_uuid", member1Uuid),
+                    Map.of("amount", 2000, "user_uuid", member2Uuid)
+            );
+
+            clearStatistics();
+            MvcResult result = createLoanTransaction(payerUuid, obligations);
+
+            assertThat(result.getResponse().getStatus()).isEqualTo(201);
+            assertThat(lazyFetches(UserEntity.class)).isZero();
+            assertThat(lazyFetches(AuthUserEntity.class)).isZero();
+        }
+    }
 }
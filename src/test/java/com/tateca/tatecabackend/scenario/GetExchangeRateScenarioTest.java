@@ -4,11 +4,11 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.model.SymbolPosition;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -40,7 +40,7 @@ class GetExchangeRateScenarioTest extends AbstractIntegrationTest {
     @Autowired private MockMvc mockMvc;
     @Autowired private ObjectMapper objectMapper;
     @Autowired private CurrencyRepository currencyRepository;
-    @Autowired private ExchangeRateRepository exchangeRateRepository;
+    @Autowired private ExchangeRateRangeRepository exchangeRateRangeRepository;
 
     private LocalDate testDate;
     private String userUid;
@@ -57,14 +57,16 @@ class GetExchangeRateScenarioTest extends AbstractIntegrationTest {
         currencyRepository.save(usd);
         currencyRepository.save(eur);
 
-        exchangeRateRepository.save(ExchangeRateEntity.builder()
+        exchangeRateRangeRepository.save(ExchangeRateRangeEntity.builder()
                 .currencyCode("USD")
-                .date(testDate)
+                .effectiveFrom(testDate)
+                .effectiveTo(testDate)
                 .exchangeRate(new BigDecimal("150.25"))
                 .build());
-        exchangeRateRepository.save(ExchangeRateEntity.builder()
+        exchangeRateRangeRepository.save(ExchangeRateRangeEntity.builder()
                 .currencyCode("EUR")
-                .date(testDate)
+                .effectiveFrom(testDate)
+                .effectiveTo(testDate)
                 .exchangeRate(new BigDecimal("165.50"))
                 .build());
     }
@@ -140,9 +142,10 @@ class GetExchangeRateScenarioTest extends AbstractIntegrationTest {
         void ac3_shouldReturnOnlyActiveCurrencyRates() throws Exception {
             setupActiveCurrenciesAndRates();
             createInactiveCurrency();
-            exchangeRateRepository.save(ExchangeRateEntity.builder()
+            exchangeRateRangeRepository.save(ExchangeRateRangeEntity.builder()
                     .currencyCode("XXX")
-                    .date(testDate)
+                    .effectiveFrom(testDate)
+                    .effectiveTo(testDate)
                     .exchangeRate(new BigDecimal("999.99"))
                     .build());
 
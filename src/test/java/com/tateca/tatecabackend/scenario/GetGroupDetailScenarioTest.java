@@ -100,4 +100,26 @@ class GetGroupDetailScenarioTest extends AbstractIntegrationTest {
                     .andExpect(jsonPath("$.error_code").value("GROUP.NOT_FOUND"));
         }
     }
+
+    @Nested
+    @DisplayName("Req4: Access control")
+    class Req4_AccessControl {
+
+        @Test
+        @DisplayName("AC1: Should reject when requester is not a group member")
+        void ac1_shouldRejectNonGroupMember() throws Exception {
+            String outsiderUid = "outsider-uid-" + System.nanoTime();
+            mockMvc.perform(post("/auth/users")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .header(X_UID_HEADER, outsiderUid)
+                            .content(objectMapper.writeValueAsString(Map.of("email", outsiderUid + "@example.com"))))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/groups/{groupId}", groupId)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .header(X_UID_HEADER, outsiderUid))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.error_code").value("USER.NOT_GROUP_MEMBER"));
+        }
+    }
 }
@@ -3,8 +3,10 @@ package com.tateca.tatecabackend.scenario;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.AuthUserEntity;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.UserEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
@@ -204,4 +206,24 @@ class GetTransactionDetailScenarioTest extends AbstractIntegrationTest {
                     .andExpect(status().isNotFound());
         }
     }
+
+    @Nested
+    @DisplayName("Req5: クエリ数")
+    class Req5_QueryCount {
+
+        @Test
+        @DisplayName("AC1: 支払者・義務者とその認証ユーザーを1件ずつ取得しない")
+        void ac1_shouldNotFetchUsersOrAuthUsersLazily() throws Exception {
+            String transactionId = createLoanTransaction();
+
+            clearStatistics();
+            mockMvc.perform(get("/groups/{groupId}/transactions/{transactionId}", groupId, transactionId)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .header(X_UID_HEADER, userUid))
+                    .andExpect(status().isOk());
+
+            assertThat(lazyFetches(UserEntity.class)).isZero();
+            assertThat(lazyFetches(AuthUserEntity.class)).isZero();
+        }
+    }
 }
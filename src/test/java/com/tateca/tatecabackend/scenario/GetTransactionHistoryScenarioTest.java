@@ -3,11 +3,14 @@ package com.tateca.tatecabackend.scenario;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.AuthUserEntity;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.UserEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -197,4 +200,23 @@ class GetTransactionHistoryScenarioTest extends AbstractIntegrationTest {
             assertThat(entry.path("date").asText()).isNotEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("Req2: クエリ数")
+    class Req2_QueryCount {
+
+        @Test
+        @DisplayName("AC1: 支払者の認証ユーザーを読み込まず、ユーザーを1件ずつ取得しない")
+        void ac1_shouldNotLoadAuthUsersOrFetchUsersLazily() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                createLoanTransaction("Tx" + i, 1000 + i);
+            }
+
+            Statistics statistics = clearStatistics();
+            getTransactionHistory(null);
+
+            assertThat(statistics.getEntityStatistics(AuthUserEntity.class.getName()).getLoadCount()).isZero();
+            assertThat(lazyFetches(UserEntity.class)).isZero();
+        }
+    }
 }
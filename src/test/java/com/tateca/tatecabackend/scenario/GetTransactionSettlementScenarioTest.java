@@ -3,8 +3,10 @@ package com.tateca.tatecabackend.scenario;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.entity.AuthUserEntity;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.UserEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
@@ -347,4 +349,27 @@ class GetTransactionSettlementScenarioTest extends AbstractIntegrationTest {
             assertThat(settlements.size()).isLessThanOrEqualTo(2);
         }
     }
+
+    @Nested
+    @DisplayName("Req5: クエリ数")
+    class Req5_QueryCount {
+
+        @Test
+        @DisplayName("AC1: 義務者・支払者とその認証ユーザーを1件ずつ取得しない")
+        void ac1_shouldNotFetchUsersOrAuthUsersLazily() throws Exception {
+            createLoanTransaction(payerUuid, 3000, List.of(
+                    Map.of("amount", 1000, "user_uuid", member1Uuid),
+                    Map.of("amount", 2000, "user_uuid", member2Uuid)
+            ));
+            createLoanTransaction(member1Uuid, 1500, List.of(
+                    Map.of("amount", 1500, "user_uuid", payerUuid)
+            ));
+
+            clearStatistics();
+            getSettlement();
+
+            assertThat(lazyFetches(UserEntity.class)).isZero();
+            assertThat(lazyFetches(AuthUserEntity.class)).isZero();
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.entity.SchedulerLeaseEntity;
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import com.tateca.tatecabackend.service.InternalExchangeRateService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.tateca.tatecabackend.scheduler.ExchangeRateIngestionScheduler.LEASE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The lease protocol is covered by {@link LeasedScheduledJobTest}; this checks the ingestion's wiring.
+ */
+@DisplayName("ExchangeRateIngestionScheduler Unit Tests")
+class ExchangeRateIngestionSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T00:06:00Z");
+
+    private final InternalExchangeRateService exchangeRateService = mock(InternalExchangeRateService.class);
+    private final SchedulerLeaseRepository leaseRepository = mock(SchedulerLeaseRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExchangeRateIngestionScheduler scheduler = new ExchangeRateIngestionScheduler(
+            exchangeRateService, leaseRepository, meterRegistry, "0 1 0 * * *",
+            Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    @Nested
+    @DisplayName("Given the daily cycle fired since the last success")
+    class WhenCycleDue {
+
+        @Test
+        @DisplayName("Then should run the ingestion on the exchange-rate-ingestion lease and count it")
+        void thenShouldRunIngestion() {
+            givenLastSuccessAt(Instant.parse("2026-03-09T00:01:30Z"));
+            when(leaseRepository.tryAcquire(eq("exchange-rate-ingestion"), eq(7L), anyString(), eq(NOW),
+                    eq(NOW.plus(Duration.ofMinutes(10))))).thenReturn(1);
+
+            assertThat(scheduler.runIfDue(NOW)).isTrue();
+
+            verify(exchangeRateService).fetchAndStoreLatestExchangeRate();
+            assertThat(meterRegistry.get("exchange.rate.ingestion.scheduled").tag("outcome", "success").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given today's cycle already succeeded")
+    class WhenCycleNotDue {
+
+        @Test
+        @DisplayName("Then should wait for the next 00:01 UTC cycle")
+        void thenShouldWaitForCron() {
+            givenLastSuccessAt(Instant.parse("2026-03-10T00:01:20Z"));
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(leaseRepository, never()).tryAcquire(anyString(), anyLong(), anyString(), any(), any());
+        }
+    }
+
+    private void givenLastSuccessAt(Instant lastSuccessAt) {
+        SchedulerLeaseEntity lease = SchedulerLeaseEntity.builder()
+                .name(LEASE_NAME)
+                .generation(7)
+                .lastSuccessAt(lastSuccessAt)
+                .build();
+        when(leaseRepository.findById(LEASE_NAME)).thenReturn(Optional.of(lease));
+    }
+}
@@ -0,0 +1,169 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.entity.SchedulerLeaseEntity;
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LeasedScheduledJob Unit Tests")
+class LeasedScheduledJobTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T00:06:00Z");
+
+    private static final String LEASE_NAME = "test-job";
+
+    private final IntSupplier job = mock(IntSupplier.class);
+    private final SchedulerLeaseRepository leaseRepository = mock(SchedulerLeaseRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LeasedScheduledJob scheduler = new LeasedScheduledJob(
+            LEASE_NAME, "test job", job, leaseRepository, meterRegistry, "test.job.scheduled", "0 1 0 * * *",
+            Duration.ofMinutes(10), Duration.ofMinutes(1), Duration.ofMinutes(30));
+
+    @Nested
+    @DisplayName("Given the cycle is due")
+    class WhenCycleDue {
+
+        @Test
+        @DisplayName("Then should run the job once the lease is acquired and record the success")
+        void thenShouldRunWhenLeaseAcquired() {
+            givenLease(Instant.parse("2026-03-09T00:01:30Z"), 0, null);
+            when(leaseRepository.tryAcquire(eq(LEASE_NAME), eq(7L), anyString(), eq(NOW), eq(NOW.plus(Duration.ofMinutes(10)))))
+                    .thenReturn(1);
+
+            assertThat(scheduler.runIfDue(NOW)).isTrue();
+
+            verify(job).getAsInt();
+            verify(leaseRepository).releaseAfterSuccess(eq(LEASE_NAME), anyString(), any(Instant.class));
+            assertThat(meterRegistry.get("test.job.scheduled").tag("outcome", "success").counter().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should catch up a run missed while no instance was up")
+        void thenShouldCatchUpMissedRun() {
+            givenLease(Instant.parse("2026-03-05T00:01:30Z"), 0, null);
+            when(leaseRepository.tryAcquire(anyString(), anyLong(), anyString(), any(), any())).thenReturn(1);
+
+            assertThat(scheduler.runIfDue(NOW)).isTrue();
+
+            verify(job).getAsInt();
+        }
+
+        @Test
+        @DisplayName("Then should skip when another instance holds the lease")
+        void thenShouldSkipWhenLeaseHeldElsewhere() {
+            givenLease(null, 0, null);
+            when(leaseRepository.tryAcquire(anyString(), anyLong(), anyString(), any(), any())).thenReturn(0);
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(job, never()).getAsInt();
+        }
+
+        @Test
+        @DisplayName("Then should release the lease with a backed-off next attempt when the run fails")
+        void thenShouldBackOffAfterFailure() {
+            givenLease(null, 2, null);
+            when(leaseRepository.tryAcquire(anyString(), anyLong(), anyString(), any(), any())).thenReturn(1);
+            when(job.getAsInt()).thenThrow(new IllegalStateException("API down"));
+
+            Instant before = Instant.now();
+            assertThat(scheduler.runIfDue(NOW)).isTrue();
+            Instant after = Instant.now();
+
+            ArgumentCaptor<Instant> nextAttemptAt = ArgumentCaptor.forClass(Instant.class);
+            verify(leaseRepository).releaseAfterFailure(eq(LEASE_NAME), anyString(), nextAttemptAt.capture());
+            // Third failure: 4 minutes backoff, jittered into [2m, 4m)
+            assertThat(nextAttemptAt.getValue())
+                    .isBetween(before.plus(Duration.ofMinutes(2)), after.plus(Duration.ofMinutes(4)));
+            assertThat(meterRegistry.get("test.job.scheduled").tag("outcome", "failure").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the cycle is not due")
+    class WhenCycleNotDue {
+
+        @Test
+        @DisplayName("Then should skip when today's run already succeeded")
+        void thenShouldSkipWhenAlreadyRun() {
+            givenLease(Instant.parse("2026-03-10T00:01:20Z"), 0, null);
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(leaseRepository, never()).tryAcquire(anyString(), anyLong(), anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Then should wait for the retry backoff after a failure")
+        void thenShouldWaitForBackoff() {
+            givenLease(null, 1, NOW.plusSeconds(30));
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(leaseRepository, never()).tryAcquire(anyString(), anyLong(), anyString(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the lease row is missing")
+    class WhenLeaseMissing {
+
+        @Test
+        @DisplayName("Then should skip without running the job")
+        void thenShouldSkip() {
+            when(leaseRepository.findById(LEASE_NAME)).thenReturn(Optional.empty());
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(job, never()).getAsInt();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given consecutive failures")
+    class WhenComputingRetryDelay {
+
+        @Test
+        @DisplayName("Then should double the delay, cap it and jitter it over its upper half")
+        void thenShouldBackOffExponentiallyWithJitter() {
+            Duration base = Duration.ofMinutes(1);
+            Duration max = Duration.ofMinutes(30);
+
+            assertThat(LeasedScheduledJob.retryDelay(1, base, max, 0.0)).isEqualTo(Duration.ofSeconds(30));
+            assertThat(LeasedScheduledJob.retryDelay(1, base, max, 0.999)).isLessThan(base);
+            assertThat(LeasedScheduledJob.retryDelay(4, base, max, 0.0)).isEqualTo(Duration.ofMinutes(4));
+            assertThat(LeasedScheduledJob.retryDelay(40, base, max, 0.0)).isEqualTo(Duration.ofMinutes(15));
+        }
+    }
+
+    private void givenLease(Instant lastSuccessAt, int failureCount, Instant nextAttemptAt) {
+        SchedulerLeaseEntity lease = SchedulerLeaseEntity.builder()
+                .name(LEASE_NAME)
+                .generation(7)
+                .lastSuccessAt(lastSuccessAt)
+                .failureCount(failureCount)
+                .nextAttemptAt(nextAttemptAt)
+                .build();
+        when(leaseRepository.findById(LEASE_NAME)).thenReturn(Optional.of(lease));
+    }
+}
@@ -0,0 +1,83 @@
+package com.tateca.tatecabackend.scheduler;
+
+import com.tateca.tatecabackend.entity.SchedulerLeaseEntity;
+import com.tateca.tatecabackend.repository.SchedulerLeaseRepository;
+import com.tateca.tatecabackend.service.TransactionArchiveService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.tateca.tatecabackend.scheduler.TransactionArchiveScheduler.LEASE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The lease protocol is covered by {@link LeasedScheduledJobTest}; this checks the archival's wiring.
+ */
+@DisplayName("TransactionArchiveScheduler Unit Tests")
+class TransactionArchiveSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T18:10:00Z");
+
+    private final TransactionArchiveService archiveService = mock(TransactionArchiveService.class);
+    private final SchedulerLeaseRepository leaseRepository = mock(SchedulerLeaseRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionArchiveScheduler scheduler = new TransactionArchiveScheduler(
+            archiveService, leaseRepository, meterRegistry, "0 0 18 * * *",
+            Duration.ofHours(1), Duration.ofMinutes(5), Duration.ofHours(2));
+
+    @Nested
+    @DisplayName("Given the daily cycle fired since the last success")
+    class WhenCycleDue {
+
+        @Test
+        @DisplayName("Then should run the archival on the transaction-archival lease and count it")
+        void thenShouldRunArchival() {
+            givenLastSuccessAt(Instant.parse("2026-03-09T18:00:30Z"));
+            when(leaseRepository.tryAcquire(eq("transaction-archival"), eq(3L), anyString(), eq(NOW),
+                    eq(NOW.plus(Duration.ofHours(1))))).thenReturn(1);
+
+            assertThat(scheduler.runIfDue(NOW)).isTrue();
+
+            verify(archiveService).archiveInactiveGroups();
+            assertThat(meterRegistry.get("transaction.archive.scheduled").tag("outcome", "success").counter().count())
+                    .isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given today's cycle already succeeded")
+    class WhenCycleNotDue {
+
+        @Test
+        @DisplayName("Then should wait for the next 18:00 UTC cycle")
+        void thenShouldWaitForCron() {
+            givenLastSuccessAt(Instant.parse("2026-03-10T18:00:20Z"));
+
+            assertThat(scheduler.runIfDue(NOW)).isFalse();
+
+            verify(leaseRepository, never()).tryAcquire(anyString(), anyLong(), anyString(), any(), any());
+        }
+    }
+
+    private void givenLastSuccessAt(Instant lastSuccessAt) {
+        SchedulerLeaseEntity lease = SchedulerLeaseEntity.builder()
+                .name(LEASE_NAME)
+                .generation(3)
+                .lastSuccessAt(lastSuccessAt)
+                .build();
+        when(leaseRepository.findById(LEASE_NAME)).thenReturn(Optional.of(lease));
+    }
+}
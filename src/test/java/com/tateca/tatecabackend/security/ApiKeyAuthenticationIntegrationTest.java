@@ -2,9 +2,12 @@ package com.tateca.tatecabackend.security;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
+import com.tateca.tatecabackend.model.IngestionJobStatus;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
+import com.tateca.tatecabackend.service.ExchangeRateIngestionJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,10 +19,12 @@ import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @DisplayName("API Key Authentication Integration Tests")
@@ -32,6 +37,9 @@ class ApiKeyAuthenticationIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private CurrencyRepository currencyRepository;
 
+    @Autowired
+    private ExchangeRateIngestionJobService ingestionJobService;
+
     @Value("${lambda.api.key}")
     private String validApiKey;
 
@@ -90,15 +98,16 @@ class ApiKeyAuthenticationIntegrationTest extends AbstractIntegrationTest {
             HttpEntity<Void> httpEntity = new HttpEntity<>(headers);
 
             // When: Full integration test (authentication -> controller -> service -> repository -> external API)
-            ResponseEntity<Void> response = restTemplate.exchange(
+            ResponseEntity<IngestionJobResponseDTO> response = restTemplate.exchange(
                     ENDPOINT,
                     HttpMethod.POST,
                     httpEntity,
-                    Void.class
+                    IngestionJobResponseDTO.class
             );
 
-            // Then: Should successfully update exchange rates
-            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+            // Then: Should accept the update job
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            awaitJobFinished(response.getBody().jobId());
         }
 
         @Test
@@ -113,15 +122,16 @@ class ApiKeyAuthenticationIntegrationTest extends AbstractIntegrationTest {
             HttpEntity<Void> httpEntity = new HttpEntity<>(headers);
 
             // When: Full integration test
-            ResponseEntity<Void> response = restTemplate.exchange(
+            ResponseEntity<IngestionJobResponseDTO> response = restTemplate.exchange(
                     ENDPOINT,
                     HttpMethod.POST,
                     httpEntity,
-                    Void.class
+                    IngestionJobResponseDTO.class
             );
 
-            // Then: Should successfully update exchange rates
-            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+            // Then: Should accept the update job
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            awaitJobFinished(response.getBody().jobId());
         }
     }
 
@@ -214,4 +224,13 @@ class ApiKeyAuthenticationIntegrationTest extends AbstractIntegrationTest {
         }
     }
 
+    /**
+     * Ingestion runs in the background; wait for it so it does not overlap the next test's trigger.
+     */
+    private void awaitJobFinished(String jobId) {
+        await().atMost(Duration.ofSeconds(30)).until(() -> {
+            IngestionJobStatus status = ingestionJobService.getJob(jobId).status();
+            return status == IngestionJobStatus.SUCCEEDED || status == IngestionJobStatus.FAILED;
+        });
+    }
 }
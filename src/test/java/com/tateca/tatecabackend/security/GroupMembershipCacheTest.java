@@ -0,0 +1,129 @@
+package com.tateca.tatecabackend.security;
+
+import com.tateca.tatecabackend.repository.UserGroupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupMembershipCache Unit Tests")
+class GroupMembershipCacheTest {
+
+    private static final String UID = "member-uid";
+    private static final UUID GROUP_ID = UUID.randomUUID();
+    private static final UUID OTHER_GROUP_ID = UUID.randomUUID();
+
+    @Mock
+    private UserGroupRepository userGroupRepository;
+
+    private GroupMembershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GroupMembershipCache(userGroupRepository, Duration.ofMinutes(5), 100);
+    }
+
+    @Nested
+    @DisplayName("isMember")
+    class IsMemberTests {
+
+        @Test
+        @DisplayName("Should load memberships once and serve repeated hits from memory")
+        void shouldServeRepeatedHitsFromMemory() {
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID)).thenReturn(List.of(GROUP_ID));
+
+            assertThat(cache.isMember(UID, GROUP_ID)).isTrue();
+            assertThat(cache.isMember(UID, GROUP_ID)).isTrue();
+
+            verify(userGroupRepository, times(1)).findGroupUuidsByAuthUserUid(UID);
+        }
+
+        @Test
+        @DisplayName("Should reload on a negative hit so memberships created elsewhere are seen")
+        void shouldReloadOnNegativeHit() {
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID))
+                    .thenReturn(List.of(GROUP_ID))
+                    .thenReturn(List.of(GROUP_ID, OTHER_GROUP_ID));
+
+            assertThat(cache.isMember(UID, GROUP_ID)).isTrue();
+            assertThat(cache.isMember(UID, OTHER_GROUP_ID)).isTrue();
+
+            verify(userGroupRepository, times(2)).findGroupUuidsByAuthUserUid(UID);
+        }
+
+        @Test
+        @DisplayName("Should reject when the user has no membership in the group")
+        void shouldRejectNonMember() {
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID)).thenReturn(List.of(OTHER_GROUP_ID));
+
+            assertThat(cache.isMember(UID, GROUP_ID)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should reload once the entry has expired")
+        void shouldReloadExpiredEntry() {
+            cache = new GroupMembershipCache(userGroupRepository, Duration.ZERO, 100);
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID)).thenReturn(List.of(GROUP_ID));
+
+            cache.isMember(UID, GROUP_ID);
+            cache.isMember(UID, GROUP_ID);
+
+            verify(userGroupRepository, times(2)).findGroupUuidsByAuthUserUid(UID);
+        }
+
+        @Test
+        @DisplayName("Should stay within the configured entry cap")
+        void shouldStayWithinEntryCap() {
+            cache = new GroupMembershipCache(userGroupRepository, Duration.ofMinutes(5), 2);
+
+            cache.isMember("uid-1", GROUP_ID);
+            cache.isMember("uid-2", GROUP_ID);
+            cache.isMember("uid-3", GROUP_ID);
+
+            assertThat(cache.size()).isLessThanOrEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should reload after the user entry is evicted")
+        void shouldReloadAfterEvict() {
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID)).thenReturn(List.of(GROUP_ID));
+
+            cache.isMember(UID, GROUP_ID);
+            cache.evict(UID);
+            cache.isMember(UID, GROUP_ID);
+
+            verify(userGroupRepository, times(2)).findGroupUuidsByAuthUserUid(UID);
+        }
+
+        @Test
+        @DisplayName("Should drop only entries that reference the evicted group")
+        void shouldEvictEntriesReferencingGroup() {
+            when(userGroupRepository.findGroupUuidsByAuthUserUid(UID)).thenReturn(List.of(GROUP_ID));
+            when(userGroupRepository.findGroupUuidsByAuthUserUid("other-uid")).thenReturn(List.of(OTHER_GROUP_ID));
+
+            cache.isMember(UID, GROUP_ID);
+            cache.isMember("other-uid", OTHER_GROUP_ID);
+            cache.evictGroup(GROUP_ID);
+
+            assertThat(cache.size()).isEqualTo(1);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.model.AppReviewStatus;
 import com.tateca.tatecabackend.repository.AuthUserRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
 import com.tateca.tatecabackend.service.impl.AuthUserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -40,6 +41,7 @@ class AuthUserServiceUnitTest {
 
     @Mock private AuthUserRepository repository;
     @Mock private UserRepository userRepository;
+    @Mock private GroupMembershipCache groupMembershipCache;
     @InjectMocks private AuthUserServiceImpl authUserService;
 
     private static final String TEST_UID = "test-uid-123";
@@ -0,0 +1,134 @@
+package com.tateca.tatecabackend.service;
+
+import com.tateca.tatecabackend.dto.response.IngestionJobResponseDTO;
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.model.IngestionJobStatus;
+import com.tateca.tatecabackend.service.impl.ExchangeRateIngestionJobServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ExchangeRateIngestionJobServiceImpl Unit Tests")
+class ExchangeRateIngestionJobServiceUnitTest {
+
+    private final InternalExchangeRateService exchangeRateService = mock(InternalExchangeRateService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExchangeRateIngestionJobServiceImpl jobService =
+            new ExchangeRateIngestionJobServiceImpl(exchangeRateService, meterRegistry, 2);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    @Nested
+    @DisplayName("Given a submitted job")
+    class WhenJobSubmitted {
+
+        @Test
+        @DisplayName("Then should run it in the background and record the stored rate count")
+        void thenShouldRunInBackground() {
+            when(exchangeRateService.fetchAndStoreLatestExchangeRate()).thenReturn(6);
+
+            IngestionJobResponseDTO submitted = jobService.submit();
+
+            assertThat(submitted.status()).isEqualTo(IngestionJobStatus.QUEUED);
+            IngestionJobResponseDTO finished = awaitFinished(submitted.jobId());
+            assertThat(finished.status()).isEqualTo(IngestionJobStatus.SUCCEEDED);
+            assertThat(finished.ratesStored()).isEqualTo(6);
+            assertThat(finished.finishedAt()).isNotNull();
+            assertThat(meterRegistry.get("exchange.rate.ingestion").tag("outcome", "success").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should record the failure")
+        void thenShouldRecordFailure() {
+            when(exchangeRateService.fetchAndStoreLatestExchangeRate())
+                    .thenThrow(new IllegalStateException("API unavailable"));
+
+            IngestionJobResponseDTO finished = awaitFinished(jobService.submit().jobId());
+
+            assertThat(finished.status()).isEqualTo(IngestionJobStatus.FAILED);
+            assertThat(finished.error()).isEqualTo("API unavailable");
+            assertThat(meterRegistry.get("exchange.rate.ingestion").tag("outcome", "failure").timer().count())
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should fail the job and accept the next submission when an Error escapes")
+        void thenShouldReleaseAfterError() {
+            when(exchangeRateService.fetchAndStoreLatestExchangeRate())
+                    .thenThrow(new NoClassDefFoundError("com/example/Missing"))
+                    .thenReturn(6);
+
+            IngestionJobResponseDTO failed = awaitFinished(jobService.submit().jobId());
+
+            assertThat(failed.status()).isEqualTo(IngestionJobStatus.FAILED);
+            assertThat(failed.error()).isEqualTo("Terminated unexpectedly");
+            assertThat(meterRegistry.get("exchange.rate.ingestion").tag("outcome", "failure").timer().count())
+                    .isEqualTo(1);
+            assertThat(awaitFinished(jobService.submit().jobId()).status()).isEqualTo(IngestionJobStatus.SUCCEEDED);
+        }
+
+        @Test
+        @DisplayName("Then should reject another submission until it finishes")
+        void thenShouldRejectConcurrentSubmission() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            when(exchangeRateService.fetchAndStoreLatestExchangeRate()).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return 6;
+            });
+
+            String jobId = jobService.submit().jobId();
+
+            assertThatThrownBy(jobService::submit)
+                    .isInstanceOf(BusinessRuleViolationException.class)
+                    .extracting("errorCode").isEqualTo("INTERNAL.JOB_BUSY");
+
+            release.countDown();
+            awaitFinished(jobId);
+            assertThat(jobService.submit().jobId()).isNotEqualTo(jobId);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given the job history is full")
+    class WhenHistoryFull {
+
+        @Test
+        @DisplayName("Then should evict the oldest finished job")
+        void thenShouldEvictOldestJob() {
+            when(exchangeRateService.fetchAndStoreLatestExchangeRate()).thenReturn(6);
+
+            String first = awaitFinished(jobService.submit().jobId()).jobId();
+            awaitFinished(jobService.submit().jobId());
+            awaitFinished(jobService.submit().jobId());
+
+            assertThatThrownBy(() -> jobService.getJob(first))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+    }
+
+    private IngestionJobResponseDTO awaitFinished(String jobId) {
+        // The worker thread's uncaught Errors are what the job status records, not test failures
+        await().atMost(Duration.ofSeconds(5)).dontCatchUncaughtExceptions().until(() -> {
+            IngestionJobStatus status = jobService.getJob(jobId).status();
+            return status == IngestionJobStatus.SUCCEEDED || status == IngestionJobStatus.FAILED;
+        });
+        return jobService.getJob(jobId);
+    }
+}
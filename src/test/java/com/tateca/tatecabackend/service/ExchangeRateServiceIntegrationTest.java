@@ -3,10 +3,10 @@ package com.tateca.tatecabackend.service;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -27,7 +27,7 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
     private ExchangeRateService exchangeRateService;
 
     @Autowired
-    private ExchangeRateRepository exchangeRateRepository;
+    private ExchangeRateRangeRepository exchangeRateRangeRepository;
 
     @Autowired
     private CurrencyRepository currencyRepository;
@@ -48,30 +48,33 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
         currencyRepository.save(gbpCurrency);
 
         // Create exchange rates for test date
-        ExchangeRateEntity usdRate = ExchangeRateEntity.builder()
+        ExchangeRateRangeEntity usdRate = ExchangeRateRangeEntity.builder()
                 .currencyCode("USD")
-                .date(testDate)
+                .effectiveFrom(testDate)
+                .effectiveTo(testDate)
                 .exchangeRate(new BigDecimal("150.25"))
                 .isNew(true)
                 .build();
 
-        ExchangeRateEntity eurRate = ExchangeRateEntity.builder()
+        ExchangeRateRangeEntity eurRate = ExchangeRateRangeEntity.builder()
                 .currencyCode("EUR")
-                .date(testDate)
+                .effectiveFrom(testDate)
+                .effectiveTo(testDate)
                 .exchangeRate(new BigDecimal("165.50"))
                 .isNew(true)
                 .build();
 
-        ExchangeRateEntity gbpRate = ExchangeRateEntity.builder()
+        ExchangeRateRangeEntity gbpRate = ExchangeRateRangeEntity.builder()
                 .currencyCode("GBP")
-                .date(testDate)
+                .effectiveFrom(testDate)
+                .effectiveTo(testDate)
                 .exchangeRate(new BigDecimal("190.75"))
                 .isNew(true)
                 .build();
 
-        exchangeRateRepository.save(usdRate);
-        exchangeRateRepository.save(eurRate);
-        exchangeRateRepository.save(gbpRate);
+        exchangeRateRangeRepository.save(usdRate);
+        exchangeRateRangeRepository.save(eurRate);
+        exchangeRateRangeRepository.save(gbpRate);
 
         flushAndClear();
     }
@@ -142,13 +145,14 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
         @DisplayName("Then should preserve decimal precision from database")
         void thenShouldPreserveDecimalPrecisionFromDatabase() {
             // Given: Exchange rate with high precision
-            ExchangeRateEntity preciseRate = ExchangeRateEntity.builder()
+            ExchangeRateRangeEntity preciseRate = ExchangeRateRangeEntity.builder()
                     .currencyCode("USD")
-                    .date(testDate.plusDays(1))
+                    .effectiveFrom(testDate.plusDays(1))
+                    .effectiveTo(testDate.plusDays(1))
                     .exchangeRate(new BigDecimal("150.123456"))
                     .isNew(true)
                     .build();
-            exchangeRateRepository.save(preciseRate);
+            exchangeRateRangeRepository.save(preciseRate);
             flushAndClear();
 
             // When: Getting exchange rate
@@ -192,14 +196,15 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
             // Given: Exchange rates for different dates
             LocalDate anotherDate = testDate.plusDays(1);
 
-            ExchangeRateEntity usdRateAnotherDate = ExchangeRateEntity.builder()
+            ExchangeRateRangeEntity usdRateAnotherDate = ExchangeRateRangeEntity.builder()
                     .currencyCode("USD")
-                    .date(anotherDate)
+                    .effectiveFrom(anotherDate)
+                    .effectiveTo(anotherDate)
                     .exchangeRate(new BigDecimal("151.00"))
                     .isNew(true)
                     .build();
 
-            exchangeRateRepository.save(usdRateAnotherDate);
+            exchangeRateRangeRepository.save(usdRateAnotherDate);
             flushAndClear();
 
             // When: Getting exchange rate for original test date
@@ -235,13 +240,14 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
                     .build();
             currencyRepository.save(inactiveCurrency);
 
-            ExchangeRateEntity inactiveRate = ExchangeRateEntity.builder()
+            ExchangeRateRangeEntity inactiveRate = ExchangeRateRangeEntity.builder()
                     .currencyCode("XXX")
-                    .date(testDate)
+                    .effectiveFrom(testDate)
+                    .effectiveTo(testDate)
                     .exchangeRate(new BigDecimal("999.99"))
                     .isNew(true)
                     .build();
-            exchangeRateRepository.save(inactiveRate);
+            exchangeRateRangeRepository.save(inactiveRate);
             flushAndClear();
 
             // When: Getting exchange rate
@@ -263,13 +269,14 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
         void thenShouldSupportPastDates() {
             // Given: Past date (5 years ago)
             LocalDate pastDate = LocalDate.now().minusYears(5);
-            ExchangeRateEntity pastRate = ExchangeRateEntity.builder()
+            ExchangeRateRangeEntity pastRate = ExchangeRateRangeEntity.builder()
                     .currencyCode("USD")
-                    .date(pastDate)
+                    .effectiveFrom(pastDate)
+                    .effectiveTo(pastDate)
                     .exchangeRate(new BigDecimal("108.50"))
                     .isNew(true)
                     .build();
-            exchangeRateRepository.save(pastRate);
+            exchangeRateRangeRepository.save(pastRate);
             flushAndClear();
 
             // When: Getting exchange rate for past date
@@ -285,13 +292,14 @@ class ExchangeRateServiceIntegrationTest extends AbstractIntegrationTest {
         void thenShouldSupportFutureDates() {
             // Given: Future date (5 years from now)
             LocalDate futureDate = LocalDate.now().plusYears(5);
-            ExchangeRateEntity futureRate = ExchangeRateEntity.builder()
+            ExchangeRateRangeEntity futureRate = ExchangeRateRangeEntity.builder()
                     .currencyCode("EUR")
-                    .date(futureDate)
+                    .effectiveFrom(futureDate)
+                    .effectiveTo(futureDate)
                     .exchangeRate(new BigDecimal("180.00"))
                     .isNew(true)
                     .build();
-            exchangeRateRepository.save(futureRate);
+            exchangeRateRangeRepository.save(futureRate);
             flushAndClear();
 
             // When: Getting exchange rate for future date
@@ -1,10 +1,14 @@
 package com.tateca.tatecabackend.service;
 
+import com.tateca.tatecabackend.cache.ExchangeRateVectorCache;
+import com.tateca.tatecabackend.dto.request.CurrencyConversionRequestDTO;
+import com.tateca.tatecabackend.dto.response.CurrencyConversionResponseDTO;
 import com.tateca.tatecabackend.dto.response.ExchangeRateResponseDTO;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.service.impl.ExchangeRateServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,10 +24,12 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +37,10 @@ import static org.mockito.Mockito.when;
 class ExchangeRateServiceUnitTest {
 
     @Mock
-    private ExchangeRateRepository exchangeRateRepository;
+    private ExchangeRateRangeRepository exchangeRateRangeRepository;
+
+    @Mock
+    private ExchangeRateVectorCache exchangeRateVectorCache;
 
     @InjectMocks
     private ExchangeRateServiceImpl exchangeRateService;
@@ -45,16 +54,16 @@ class ExchangeRateServiceUnitTest {
         void shouldCallRepositoryWithCorrectDateAndReturnConvertedDTO() {
             // Given
             LocalDate testDate = LocalDate.now();
-            List<ExchangeRateEntity> entities = List.of(
+            List<ExchangeRateRangeEntity> entities = List.of(
                     createExchangeRateEntity(TestFixtures.Currencies.usd(), testDate, new BigDecimal("150.25"))
             );
-            when(exchangeRateRepository.findAllActiveByDate(testDate)).thenReturn(entities);
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(testDate)).thenReturn(entities);
 
             // When
             ExchangeRateResponseDTO result = exchangeRateService.getExchangeRate(testDate);
 
             // Then
-            verify(exchangeRateRepository).findAllActiveByDate(testDate);
+            verify(exchangeRateRangeRepository).findAllActiveEffectiveOn(testDate);
             assertThat(result).isNotNull();
             assertThat(result.exchangeRateResponseResponseList()).isNotEmpty();
         }
@@ -64,7 +73,7 @@ class ExchangeRateServiceUnitTest {
         void shouldReturnEmptyDTOWhenRepositoryReturnsEmptyList() {
             // Given
             LocalDate testDate = LocalDate.now();
-            when(exchangeRateRepository.findAllActiveByDate(testDate)).thenReturn(Collections.emptyList());
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(testDate)).thenReturn(Collections.emptyList());
 
             // When
             ExchangeRateResponseDTO result = exchangeRateService.getExchangeRate(testDate);
@@ -72,7 +81,7 @@ class ExchangeRateServiceUnitTest {
             // Then
             assertThat(result).isNotNull();
             assertThat(result.exchangeRateResponseResponseList()).isEmpty();
-            verify(exchangeRateRepository).findAllActiveByDate(testDate);
+            verify(exchangeRateRangeRepository).findAllActiveEffectiveOn(testDate);
         }
 
         @Test
@@ -80,22 +89,112 @@ class ExchangeRateServiceUnitTest {
         void shouldPropagateDataAccessExceptionFromRepositoryLayer() {
             // Given
             LocalDate testDate = LocalDate.now();
-            when(exchangeRateRepository.findAllActiveByDate(testDate))
+            when(exchangeRateRangeRepository.findAllActiveEffectiveOn(testDate))
                     .thenThrow(new DataAccessException("Database connection error") {});
 
             // When & Then
             assertThatThrownBy(() -> exchangeRateService.getExchangeRate(testDate))
                     .isInstanceOf(DataAccessException.class)
                     .hasMessageContaining("Database connection error");
-            verify(exchangeRateRepository).findAllActiveByDate(testDate);
+            verify(exchangeRateRangeRepository).findAllActiveEffectiveOn(testDate);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given 通貨換算")
+    class Convert {
+
+        private final LocalDate testDate = LocalDate.of(2024, 1, 15);
+
+        // JPY-based: units of each currency per 1 JPY
+        private final ExchangeRateVectorCache.RateVector vector = new ExchangeRateVectorCache.RateVector(
+                testDate, Map.of("JPY", 0, "USD", 1, "EUR", 2, "IDR", 3),
+                new double[] {1.0, 0.0067, 0.0061, 105.123456}, 0L);
+
+        @Test
+        @DisplayName("Then 2 通貨の JPY レートからクロスレートを計算して換算する")
+        void shouldConvertWithCrossRate() {
+            // Given
+            when(exchangeRateVectorCache.get(testDate)).thenReturn(vector);
+
+            // When
+            CurrencyConversionResponseDTO result = exchangeRateService.convert(testDate,
+                    new CurrencyConversionRequestDTO("EUR", "USD", new BigDecimal("100")));
+
+            // Then
+            assertThat(result.date()).isEqualTo(testDate);
+            assertThat(new BigDecimal(result.rate())).isEqualByComparingTo("1.098360656");
+            assertThat(new BigDecimal(result.convertedAmount())).isEqualByComparingTo("109.836066");
+            verifyNoInteractions(exchangeRateRangeRepository);
+        }
+
+        @Test
+        @DisplayName("Then JPY からの換算は JPY レートそのものになる")
+        void shouldConvertFromJpy() {
+            // Given
+            when(exchangeRateVectorCache.get(testDate)).thenReturn(vector);
+
+            // When
+            CurrencyConversionResponseDTO result = exchangeRateService.convert(testDate,
+                    new CurrencyConversionRequestDTO("JPY", "USD", new BigDecimal("1000")));
+
+            // Then
+            assertThat(result.rate()).isEqualTo("0.0067");
+            assertThat(result.convertedAmount()).isEqualTo("6.7");
+        }
+
+        @Test
+        @DisplayName("Then 大きな金額でも換算結果の整数部を丸めない")
+        void shouldKeepIntegerUnitsOfLargeAmounts() {
+            // Given
+            when(exchangeRateVectorCache.get(testDate)).thenReturn(vector);
+
+            // When
+            CurrencyConversionResponseDTO result = exchangeRateService.convert(testDate,
+                    new CurrencyConversionRequestDTO("JPY", "IDR", new BigDecimal("1234567890")));
+
+            // Then
+            assertThat(result.rate()).isEqualTo("105.123456");
+            assertThat(result.convertedAmount()).isEqualTo("129782043263.42784");
+        }
+
+        @Test
+        @DisplayName("Then レートが存在しない通貨は EntityNotFoundException をスローする")
+        void shouldThrowWhenRateMissing() {
+            // Given
+            when(exchangeRateVectorCache.get(testDate)).thenReturn(vector);
+
+            // When & Then
+            assertThatThrownBy(() -> exchangeRateService.convert(testDate,
+                    new CurrencyConversionRequestDTO("EUR", "GBP", BigDecimal.ONE)))
+                    .isInstanceOf(EntityNotFoundException.class)
+                    .hasMessageContaining("GBP");
+        }
+
+        @Test
+        @DisplayName("Then 一括換算は同じ日付のベクトルを 1 回だけ取得し、リクエスト順に返却する")
+        void shouldConvertAllWithOneVector() {
+            // Given
+            when(exchangeRateVectorCache.get(testDate)).thenReturn(vector);
+
+            // When
+            List<CurrencyConversionResponseDTO> result = exchangeRateService.convertAll(testDate, List.of(
+                    new CurrencyConversionRequestDTO("USD", "JPY", new BigDecimal("1")),
+                    new CurrencyConversionRequestDTO("EUR", "EUR", new BigDecimal("5"))));
+
+            // Then
+            assertThat(result).extracting(CurrencyConversionResponseDTO::from).containsExactly("USD", "EUR");
+            assertThat(result.get(1).convertedAmount()).isEqualTo("5");
+            verify(exchangeRateVectorCache).get(testDate);
         }
     }
 
-    private ExchangeRateEntity createExchangeRateEntity(CurrencyEntity currency, LocalDate date, BigDecimal rate) {
-        return ExchangeRateEntity.builder()
+    private ExchangeRateRangeEntity createExchangeRateEntity(CurrencyEntity currency, LocalDate date, BigDecimal rate) {
+        return ExchangeRateRangeEntity.builder()
                 .currencyCode(currency.getCurrencyCode())
                 .currency(currency)
-                .date(date)
+                .effectiveFrom(date)
+                .effectiveTo(ExchangeRateRangeEntity.OPEN_END)
                 .exchangeRate(rate)
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
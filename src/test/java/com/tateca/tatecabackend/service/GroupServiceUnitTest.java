@@ -20,8 +20,10 @@ import com.tateca.tatecabackend.exception.domain.ForbiddenException;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.AuthUserRepository;
 import com.tateca.tatecabackend.repository.GroupRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
 import com.tateca.tatecabackend.repository.UserGroupRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
 import com.tateca.tatecabackend.service.impl.GroupServiceImpl;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -77,9 +79,15 @@ class GroupServiceUnitTest {
     @Mock
     private ObligationRepository obligationRepository;
 
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
     @Mock
     private BusinessRuleConfig businessRuleConfig;
 
+    @Mock
+    private GroupMembershipCache groupMembershipCache;
+
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -569,6 +577,7 @@ class GroupServiceUnitTest {
             ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
             verify(userRepository).save(captor.capture());
             assertThat(captor.getValue().getAuthUser()).isEqualTo(authUser);
+            verify(groupMembershipCache).evict(TEST_UID);
         }
 
         @Test
@@ -632,6 +641,7 @@ class GroupServiceUnitTest {
             ArgumentCaptor<UserEntity> captor = ArgumentCaptor.forClass(UserEntity.class);
             verify(userRepository).save(captor.capture());
             assertThat(captor.getValue().getAuthUser()).isNull();
+            verify(groupMembershipCache).evict(authUser.getUid());
         }
 
         @Test
@@ -3,9 +3,10 @@ package com.tateca.tatecabackend.service;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.tateca.tatecabackend.AbstractIntegrationTest;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +18,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
@@ -32,6 +36,9 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private InternalExchangeRateService service;
 
+    @Autowired
+    private ExchangeRateRangeRepository exchangeRateRangeRepository;
+
     @Autowired
     private ExchangeRateRepository exchangeRateRepository;
 
@@ -60,97 +67,65 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
     class WhenNewExchangeRateResponseDataNeedsToBeStored {
 
         @Test
-        @DisplayName("Then should create new records in database")
-        void thenShouldCreateNewRecordsInDatabase() {
+        @DisplayName("Then should create one open range per currency starting today")
+        void thenShouldCreateOpenRangesStartingToday() {
             // Given: External API returns valid exchange rates
             givenExternalApiReturnsValidLatestRates();
 
             // When: Updating exchange rates
             int result = service.fetchAndStoreLatestExchangeRate();
 
-            // Then: Should store 6 currency rates in database (3 currencies × 2 dates)
-            assertThat(result).isEqualTo(6);
+            // Then: Should start 3 ranges (one per currency)
+            assertThat(result).isEqualTo(3);
 
-            // And: Database should contain exchange rates for today and tomorrow
+            // And: Each range is effective from today with no end
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).hasSize(6);
-
-            LocalDate today = LocalDate.now();
-            LocalDate tomorrow = today.plusDays(1);
-            long todayCount = savedRates.stream()
-                    .filter(e -> e.getDate().equals(today))
-                    .count();
-            long tomorrowCount = savedRates.stream()
-                    .filter(e -> e.getDate().equals(tomorrow))
-                    .count();
-            assertThat(todayCount).isEqualTo(3);
-            assertThat(tomorrowCount).isEqualTo(3);
-
-            // And: Rates should match API response for today
-            ExchangeRateEntity jpyRateToday = savedRates.stream()
-                    .filter(e -> e.getCurrencyCode().equals("JPY"))
-                    .filter(e -> e.getDate().equals(today))
-                    .findFirst()
-                    .orElseThrow();
-            assertThat(jpyRateToday.getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(1.0));
-
-            ExchangeRateEntity usdRateToday = savedRates.stream()
-                    .filter(e -> e.getCurrencyCode().equals("USD"))
-                    .filter(e -> e.getDate().equals(today))
-                    .findFirst()
-                    .orElseThrow();
-            assertThat(usdRateToday.getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.0067));
+            List<ExchangeRateRangeEntity> savedRanges = exchangeRateRangeRepository.findAll();
+            assertThat(savedRanges).hasSize(3);
+            assertThat(savedRanges).allSatisfy(range -> {
+                assertThat(range.getEffectiveFrom()).isEqualTo(LocalDate.now());
+                assertThat(range.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+            });
+
+            // And: Rates should match API response
+            Map<String, ExchangeRateRangeEntity> byCurrency = byCurrency(savedRanges);
+            assertThat(byCurrency.get("JPY").getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(1.0));
+            assertThat(byCurrency.get("USD").getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.0067));
         }
 
         @Test
-        @DisplayName("Then should handle latest data fetching")
-        void thenShouldHandleLatestDataFetching() {
+        @DisplayName("Then should not write per-day exchange rate rows")
+        void thenShouldNotWritePerDayRows() {
             // Given: External API returns latest exchange rates
             givenExternalApiReturnsValidLatestRates();
 
             // When: Updating exchange rates
-            int result = service.fetchAndStoreLatestExchangeRate();
-
-            // Then: Should successfully store latest data (3 currencies × 2 dates)
-            assertThat(result).isEqualTo(6);
+            service.fetchAndStoreLatestExchangeRate();
 
+            // Then: exchange_rates only holds rates pinned by transactions
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).hasSize(6);
-
-            LocalDate today = LocalDate.now();
-            LocalDate tomorrow = today.plusDays(1);
-            assertThat(savedRates)
-                    .allMatch(e -> e.getDate().equals(today) || e.getDate().equals(tomorrow));
+            assertThat(exchangeRateRepository.findAll()).isEmpty();
         }
 
         @Test
-        @DisplayName("Then should store rates with today and tomorrow dates")
-        void thenShouldStoreRatesWithTodayAndTomorrowDates() {
+        @DisplayName("Then should resolve today and any later date with the same range")
+        void thenShouldResolveLaterDatesWithSameRange() {
             // Given: External API returns latest exchange rates
             givenExternalApiReturnsValidLatestRates();
 
             // When: Updating exchange rates
-            int result = service.fetchAndStoreLatestExchangeRate();
-
-            // Then: Should successfully store data with today and tomorrow dates
-            assertThat(result).isEqualTo(6);
+            service.fetchAndStoreLatestExchangeRate();
 
+            // Then: Lookups for today and next month find the same rate
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).hasSize(6);
-
             LocalDate today = LocalDate.now();
-            LocalDate tomorrow = today.plusDays(1);
-            long todayCount = savedRates.stream()
-                    .filter(e -> e.getDate().equals(today))
-                    .count();
-            long tomorrowCount = savedRates.stream()
-                    .filter(e -> e.getDate().equals(tomorrow))
-                    .count();
-            assertThat(todayCount).isEqualTo(3);
-            assertThat(tomorrowCount).isEqualTo(3);
+            assertThat(exchangeRateRangeRepository.findEffectiveOn("USD", today))
+                    .get().extracting(ExchangeRateRangeEntity::getExchangeRate)
+                    .satisfies(rate -> assertThat(rate).isEqualByComparingTo("0.0067"));
+            assertThat(exchangeRateRangeRepository.findEffectiveOn("USD", today.plusMonths(1)))
+                    .get().extracting(ExchangeRateRangeEntity::getEffectiveFrom)
+                    .isEqualTo(today);
+            assertThat(exchangeRateRangeRepository.findEffectiveOn("USD", today.minusDays(1))).isEmpty();
         }
     }
 
@@ -159,58 +134,69 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
     class WhenExchangeRatesAlreadyExistResponse {
 
         @Test
-        @DisplayName("Then should update existing records when rates change")
-        void thenShouldUpdateExistingRecordsWhenRatesChange() {
+        @DisplayName("Then should correct today's ranges in place when rates change on the same day")
+        void thenShouldCorrectTodaysRangesInPlace() {
             // Given: External API returns valid rates
             givenExternalApiReturnsValidLatestRates();
 
-            // And: First update creates records
+            // And: First update creates ranges
             service.fetchAndStoreLatestExchangeRate();
 
             flushAndClear();
-            List<ExchangeRateEntity> firstUpdate = exchangeRateRepository.findAll();
-            int firstCount = firstUpdate.size();
+            int firstCount = exchangeRateRangeRepository.findAll().size();
 
             // And: API now returns different rates
-            String responseWithDifferentRates = """
-                {
-                    "result": "success",
-                    "time_last_update_unix": "1704067200",
-                    "conversion_rates": {
-                        "JPY": 1.5,
-                        "USD": 0.008,
-                        "EUR": 0.007
-                    }
-                }
-                """;
-            givenExternalApiReturnsCustomResponse(responseWithDifferentRates);
+            givenExternalApiReturnsCustomResponse(responseWithDifferentRates());
 
             // When: Calling service again with different rates
-            service.fetchAndStoreLatestExchangeRate();
+            int result = service.fetchAndStoreLatestExchangeRate();
 
-            // Then: Should have same number of records (updates, not inserts)
+            // Then: Should have same number of ranges (updates, not inserts)
+            assertThat(result).isZero();
             flushAndClear();
-            List<ExchangeRateEntity> secondUpdate = exchangeRateRepository.findAll();
+            List<ExchangeRateRangeEntity> secondUpdate = exchangeRateRangeRepository.findAll();
             assertThat(secondUpdate).hasSize(firstCount);
 
             // And: Rates should be updated to new values
-            ExchangeRateEntity jpyAfterUpdate = secondUpdate.stream()
-                    .filter(e -> e.getCurrencyCode().equals("JPY"))
-                    .findFirst()
-                    .orElseThrow();
-            assertThat(jpyAfterUpdate.getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(1.5));
-
-            ExchangeRateEntity usdAfterUpdate = secondUpdate.stream()
-                    .filter(e -> e.getCurrencyCode().equals("USD"))
-                    .findFirst()
-                    .orElseThrow();
-            assertThat(usdAfterUpdate.getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.008));
-
-            ExchangeRateEntity eurAfterUpdate = secondUpdate.stream()
-                    .filter(e -> e.getCurrencyCode().equals("EUR"))
-                    .findFirst()
-                    .orElseThrow();
-            assertThat(eurAfterUpdate.getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.007));
+            Map<String, ExchangeRateRangeEntity> byCurrency = byCurrency(secondUpdate);
+            assertThat(byCurrency.get("JPY").getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(1.5));
+            assertThat(byCurrency.get("USD").getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.008));
+            assertThat(byCurrency.get("EUR").getExchangeRate()).isEqualByComparingTo(BigDecimal.valueOf(0.007));
+        }
+
+        @Test
+        @DisplayName("Then should close the earlier range and start a new one when rates change on a later day")
+        void thenShouldCloseEarlierRangeWhenRatesChangeLater() {
+            // Given: USD has been 0.0060 since last week
+            LocalDate today = LocalDate.now();
+            exchangeRateRangeRepository.save(ExchangeRateRangeEntity.builder()
+                    .currencyCode("USD")
+                    .effectiveFrom(today.minusDays(7))
+                    .effectiveTo(ExchangeRateRangeEntity.OPEN_END)
+                    .exchangeRate(new BigDecimal("0.006000"))
+                    .build());
+            flushAndClear();
+
+            // And: API returns 0.0067 today
+            givenExternalApiReturnsValidLatestRates();
+
+            // When: Updating exchange rates
+            service.fetchAndStoreLatestExchangeRate();
+
+            // Then: The old rate covers last week up to yesterday, the new rate applies from today
+            flushAndClear();
+            assertThat(exchangeRateRangeRepository.findEffectiveOn("USD", today.minusDays(1)).orElseThrow())
+                    .satisfies(range -> {
+                        assertThat(range.getEffectiveFrom()).isEqualTo(today.minusDays(7));
+                        assertThat(range.getEffectiveTo()).isEqualTo(today.minusDays(1));
+                        assertThat(range.getExchangeRate()).isEqualByComparingTo("0.006000");
+                    });
+            assertThat(exchangeRateRangeRepository.findEffectiveOn("USD", today).orElseThrow())
+                    .satisfies(range -> {
+                        assertThat(range.getEffectiveFrom()).isEqualTo(today);
+                        assertThat(range.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+                        assertThat(range.getExchangeRate()).isEqualByComparingTo("0.006700");
+                    });
         }
 
         @Test
@@ -219,29 +205,24 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
             // Given: External API returns valid rates
             givenExternalApiReturnsValidLatestRates();
 
-            // And: First update creates records
+            // And: First update creates ranges
             service.fetchAndStoreLatestExchangeRate();
 
             flushAndClear();
-            List<ExchangeRateEntity> firstUpdate = exchangeRateRepository.findAll();
-            ExchangeRateEntity jpyBeforeUpdate = firstUpdate.stream()
-                    .filter(e -> e.getCurrencyCode().equals("JPY"))
-                    .findFirst()
-                    .orElseThrow();
+            List<ExchangeRateRangeEntity> firstUpdate = exchangeRateRangeRepository.findAll();
+            ExchangeRateRangeEntity jpyBeforeUpdate = byCurrency(firstUpdate).get("JPY");
 
             // When: Calling service again with same rates
-            service.fetchAndStoreLatestExchangeRate();
+            int result = service.fetchAndStoreLatestExchangeRate();
 
-            // Then: Should have same number of records
+            // Then: Should have same number of ranges
+            assertThat(result).isZero();
             flushAndClear();
-            List<ExchangeRateEntity> secondUpdate = exchangeRateRepository.findAll();
+            List<ExchangeRateRangeEntity> secondUpdate = exchangeRateRangeRepository.findAll();
             assertThat(secondUpdate).hasSize(firstUpdate.size());
 
             // And: Rates should remain the same
-            ExchangeRateEntity jpyAfterUpdate = secondUpdate.stream()
-                    .filter(e -> e.getCurrencyCode().equals("JPY"))
-                    .findFirst()
-                    .orElseThrow();
+            ExchangeRateRangeEntity jpyAfterUpdate = byCurrency(secondUpdate).get("JPY");
             assertThat(jpyAfterUpdate.getExchangeRate())
                     .isEqualByComparingTo(jpyBeforeUpdate.getExchangeRate());
 
@@ -276,16 +257,14 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
             // When: Updating exchange rates
             int result = service.fetchAndStoreLatestExchangeRate();
 
-            // Then: Should save only known currencies (3 currencies × 2 dates = 6 records)
-            assertThat(result).isEqualTo(6);
+            // Then: Should save only known currencies (3 ranges)
+            assertThat(result).isEqualTo(3);
 
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).hasSize(6);
-            assertThat(savedRates)
-                    .extracting(ExchangeRateEntity::getCurrencyCode)
-                    .containsOnly("JPY", "USD", "EUR", "JPY", "USD", "EUR")
-                    .doesNotContain("UNKNOWN_CURRENCY");
+            List<ExchangeRateRangeEntity> savedRanges = exchangeRateRangeRepository.findAll();
+            assertThat(savedRanges)
+                    .extracting(ExchangeRateRangeEntity::getCurrencyCode)
+                    .containsExactlyInAnyOrder("JPY", "USD", "EUR");
         }
     }
 
@@ -305,8 +284,7 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
 
             // And: Database should remain unchanged (transaction rolled back)
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).isEmpty();
+            assertThat(exchangeRateRangeRepository.findAll()).isEmpty();
         }
     }
 
@@ -315,8 +293,8 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
     class WhenApiReturnsEmptyExchangeRatesResponse {
 
         @Test
-        @DisplayName("Then should complete successfully without saving any data")
-        void thenShouldCompleteSuccessfullyWithoutSavingAnyData() {
+        @DisplayName("Then should reject the response without saving any data")
+        void thenShouldRejectResponseWithoutSavingAnyData() {
             // Given: External API returns empty conversion rates
             String emptyResponse = """
                 {
@@ -327,21 +305,38 @@ class InternalExchangeRateIntegrationTest extends AbstractIntegrationTest {
                 """;
             givenExternalApiReturnsCustomResponse(emptyResponse);
 
-            // When: Updating exchange rates
-            int result = service.fetchAndStoreLatestExchangeRate();
-
-            // Then: Should return 0 without error
-            assertThat(result).isZero();
+            // When & Then: An empty rate set is treated as a provider failure
+            assertThatThrownBy(() -> service.fetchAndStoreLatestExchangeRate())
+                    .hasMessageContaining("Exchange rate service unavailable");
 
             // And: Database should remain empty
             flushAndClear();
-            List<ExchangeRateEntity> savedRates = exchangeRateRepository.findAll();
-            assertThat(savedRates).isEmpty();
+            assertThat(exchangeRateRangeRepository.findAll()).isEmpty();
         }
     }
 
     // ========== Helper Methods for Test Setup ==========
 
+    private static Map<String, ExchangeRateRangeEntity> byCurrency(List<ExchangeRateRangeEntity> ranges) {
+        return ranges.stream()
+                .collect(Collectors.toMap(ExchangeRateRangeEntity::getCurrencyCode, Function.identity()));
+    }
+
+    private static String responseWithDifferentRates() {
+        return """
+            {
+                "result": "success",
+                "time_last_update_unix": "1704067200",
+                "conversion_rates": {
+                    "JPY": 1.5,
+                    "USD": 0.008,
+                    "EUR": 0.007
+                }
+            }
+            """;
+    }
+
+
     private void givenExternalApiReturnsValidLatestRates() {
         String responseBody = """
             {
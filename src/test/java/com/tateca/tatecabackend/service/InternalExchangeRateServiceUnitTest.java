@@ -2,11 +2,12 @@ package com.tateca.tatecabackend.service;
 
 import com.tateca.tatecabackend.api.client.ExchangeRateApiClient;
 import com.tateca.tatecabackend.api.response.ExchangeRateClientResponse;
+import com.tateca.tatecabackend.cache.ExchangeRateVectorCache;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
-import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.repository.CurrencyRepository;
-import com.tateca.tatecabackend.repository.ExchangeRateRepository;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.service.impl.InternalExchangeRateServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,21 +19,22 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
-import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,7 +44,7 @@ import static org.mockito.Mockito.when;
 class InternalExchangeRateServiceUnitTest {
 
     @Mock
-    private ExchangeRateRepository exchangeRateRepository;
+    private ExchangeRateRangeRepository exchangeRateRangeRepository;
 
     @Mock
     private CurrencyRepository currencyRepository;
@@ -50,11 +52,17 @@ class InternalExchangeRateServiceUnitTest {
     @Mock
     private ExchangeRateApiClient exchangeRateApiClient;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ExchangeRateVectorCache exchangeRateVectorCache;
+
     @InjectMocks
     private InternalExchangeRateServiceImpl exchangeRateInternalService;
 
     @Captor
-    private ArgumentCaptor<List<ExchangeRateEntity>> entityListCaptor;
+    private ArgumentCaptor<List<ExchangeRateRangeEntity>> rangeListCaptor;
 
     private ExchangeRateClientResponse apiResponse;
     private List<CurrencyEntity> currencies;
@@ -69,6 +77,9 @@ class InternalExchangeRateServiceUnitTest {
                 TestFixtures.Currencies.usd(),
                 TestFixtures.Currencies.eur()
         );
+        // Run the write callback directly; the transaction boundary itself is covered by integration tests
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     // ===== Tests for fetchAndStoreLatestExchangeRate() =====
@@ -79,11 +90,11 @@ class InternalExchangeRateServiceUnitTest {
     @DisplayName("Should orchestrate method calls in correct sequence")
     void shouldOrchestrateMethodCallsInCorrectSequence() {
         // Given: API client, accessor, and repository are available
-        InOrder inOrder = inOrder(exchangeRateApiClient, currencyRepository, exchangeRateRepository);
+        InOrder inOrder = inOrder(exchangeRateApiClient, currencyRepository, exchangeRateRangeRepository);
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
                 .thenReturn(List.of());
 
         // When: Service fetches and stores exchange rates
@@ -92,24 +103,44 @@ class InternalExchangeRateServiceUnitTest {
         // Then: Methods should be called in correct order
         inOrder.verify(exchangeRateApiClient, times(1)).fetchLatestExchangeRate();
         inOrder.verify(currencyRepository, times(1)).findAllById(anyList());
-        inOrder.verify(exchangeRateRepository, times(2)).findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class));
-        inOrder.verify(exchangeRateRepository, times(1)).saveAll(anyList());
+        inOrder.verify(exchangeRateRangeRepository, times(1))
+                .findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class));
+        inOrder.verify(exchangeRateRangeRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should look up the open ranges with one batch query")
+    void shouldLookUpOpenRangesWithOneBatchQuery() {
+        // Given: API returns rates and currencies exist
+        when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
+        when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of());
+
+        // When: Service fetches and stores exchange rates
+        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
+
+        // Then: Only the open-ended ranges are queried, once
+        verify(exchangeRateRangeRepository, times(1))
+                .findByCurrencyCodeInAndEffectiveTo(anyList(), eq(ExchangeRateRangeEntity.OPEN_END));
     }
 
     @Test
-    @DisplayName("Should call repository batch query twice for two dates")
-    void shouldCallRepositoryBatchQueryTwiceForTwoDates() {
+    @DisplayName("Should evict the cached rate vectors from today after writing")
+    void shouldEvictRateVectorsAfterWriting() {
         // Given: API returns rates and currencies exist
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
                 .thenReturn(List.of());
+        InOrder inOrder = inOrder(transactionTemplate, exchangeRateVectorCache);
 
         // When: Service fetches and stores exchange rates
         exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        // Then: Repository findByCurrencyCodeInAndDate should be called twice (today + tomorrow)
-        verify(exchangeRateRepository, times(2)).findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class));
+        // Then: Vectors from today on are evicted once the write transaction has finished
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(exchangeRateVectorCache).evictFrom(today);
     }
 
     // B. Currency Filtering Logic Tests
@@ -133,107 +164,124 @@ class InternalExchangeRateServiceUnitTest {
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(responseWithUnknown);
         when(currencyRepository.findAllById(anyList())).thenReturn(knownCurrencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
                 .thenReturn(List.of());
 
         // When: Service processes rates
         exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        // Then: saveAll should only receive entities for known currencies
-        verify(exchangeRateRepository, times(1)).saveAll(entityListCaptor.capture());
-        List<ExchangeRateEntity> savedEntities = entityListCaptor.getValue();
+        // Then: saveAll should only receive ranges for known currencies
+        verify(exchangeRateRangeRepository, times(1)).saveAll(rangeListCaptor.capture());
 
-        assertThat(savedEntities)
-                .extracting(ExchangeRateEntity::getCurrencyCode)
+        assertThat(rangeListCaptor.getValue())
+                .extracting(ExchangeRateRangeEntity::getCurrencyCode)
                 .containsOnly("JPY", "USD")
                 .doesNotContain("UNKNOWN");
     }
 
     @Test
-    @DisplayName("Should process all currencies when all are found in master data")
-    void shouldProcessAllCurrenciesWhenAllAreFoundInMasterData() {
-        // Given: API returns 3 currencies and all exist in master data
+    @DisplayName("Should start an open range from today for each currency without one")
+    void shouldStartOpenRangeForEachCurrencyWithoutOne() {
+        // Given: API returns 3 currencies, none of which has a range yet
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
                 .thenReturn(List.of());
 
         // When: Service processes rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
-
-        // Then: saveAll should receive entities for all currencies
-        verify(exchangeRateRepository, times(1)).saveAll(entityListCaptor.capture());
-        List<ExchangeRateEntity> savedEntities = entityListCaptor.getValue();
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        assertThat(savedEntities)
-                .extracting(ExchangeRateEntity::getCurrencyCode)
-                .containsOnly("JPY", "USD", "EUR", "JPY", "USD", "EUR");
+        // Then: One open range per currency, starting today, with the rate at column scale
+        verify(exchangeRateRangeRepository, times(1)).saveAll(rangeListCaptor.capture());
+        List<ExchangeRateRangeEntity> savedRanges = rangeListCaptor.getValue();
+
+        assertThat(result).isEqualTo(3);
+        assertThat(savedRanges)
+                .extracting(ExchangeRateRangeEntity::getCurrencyCode)
+                .containsExactlyInAnyOrder("JPY", "USD", "EUR");
+        assertThat(savedRanges).allSatisfy(range -> {
+            assertThat(range.getEffectiveFrom()).isEqualTo(today);
+            assertThat(range.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+            assertThat(range.getExchangeRate().scale()).isEqualTo(ExchangeRateRangeEntity.RATE_SCALE);
+        });
     }
 
     // C. Rate Change Detection Logic Tests
 
     @Test
-    @DisplayName("Should skip entity update when rate is unchanged")
-    void shouldSkipEntityUpdateWhenRateIsUnchanged() {
-        // Given: Existing entity with same rate as API response
-        ExchangeRateEntity existingJpy = ExchangeRateEntity.builder()
-                .currencyCode("JPY")
-                .date(today)
-                .currency(TestFixtures.Currencies.jpy())
-                .exchangeRate(BigDecimal.valueOf(1.0))
-                .build();
-
-        ExchangeRateEntity spyJpy = spy(existingJpy);
+    @DisplayName("Should keep the open range when rate is unchanged")
+    void shouldKeepOpenRangeWhenRateIsUnchanged() {
+        // Given: Open range since last week with the same rate as the API response
+        ExchangeRateRangeEntity openJpy = openRange(TestFixtures.Currencies.jpy(), today.minusDays(7), "1.000000");
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(List.of(TestFixtures.Currencies.jpy()));
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(List.of(spyJpy));
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of(openJpy));
 
         // When: Service processes rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        // Then: setExchangeRate should NOT be called (rate unchanged)
-        verify(spyJpy, never()).setExchangeRate(any(BigDecimal.class));
+        // Then: No new range, and the open range is untouched
+        verify(exchangeRateRangeRepository, never()).saveAll(anyList());
+        assertThat(result).isZero();
+        assertThat(openJpy.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+        assertThat(openJpy.getExchangeRate()).isEqualByComparingTo("1.000000");
     }
 
     @Test
-    @DisplayName("Should update entity when rate has changed")
-    void shouldUpdateEntityWhenRateHasChanged() {
-        // Given: Existing entity with different rate from API response
-        ExchangeRateEntity existingJpy = ExchangeRateEntity.builder()
-                .currencyCode("JPY")
-                .date(today)
-                .currency(TestFixtures.Currencies.jpy())
-                .exchangeRate(BigDecimal.valueOf(0.95))
-                .build();
+    @DisplayName("Should close the open range yesterday and start a new one today when rate has changed")
+    void shouldCloseOpenRangeAndStartNewOneWhenRateHasChanged() {
+        // Given: Open range since last week with a different rate from the API response
+        ExchangeRateRangeEntity openJpy = openRange(TestFixtures.Currencies.jpy(), today.minusDays(7), "0.950000");
+
+        when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
+        when(currencyRepository.findAllById(anyList())).thenReturn(List.of(TestFixtures.Currencies.jpy()));
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of(openJpy));
+
+        // When: Service processes rates
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
+
+        // Then: The old range ends yesterday with its rate kept; the new rate is effective from today
+        assertThat(openJpy.getEffectiveTo()).isEqualTo(today.minusDays(1));
+        assertThat(openJpy.getExchangeRate()).isEqualByComparingTo("0.950000");
+
+        verify(exchangeRateRangeRepository, times(1)).saveAll(rangeListCaptor.capture());
+        assertThat(rangeListCaptor.getValue()).singleElement().satisfies(range -> {
+            assertThat(range.getEffectiveFrom()).isEqualTo(today);
+            assertThat(range.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+            assertThat(range.getExchangeRate()).isEqualByComparingTo("1.000000");
+        });
+        assertThat(result).isEqualTo(1);
+    }
 
-        ExchangeRateEntity spyJpy = spy(existingJpy);
+    @Test
+    @DisplayName("Should correct the rate in place when the open range starts today")
+    void shouldCorrectRateInPlaceWhenOpenRangeStartsToday() {
+        // Given: Range started today by an earlier run, with a different rate
+        ExchangeRateRangeEntity openJpy = openRange(TestFixtures.Currencies.jpy(), today, "0.950000");
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(List.of(TestFixtures.Currencies.jpy()));
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(List.of(spyJpy));
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of(openJpy));
 
         // When: Service processes rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        // Then: setExchangeRate should be called with new rate
-        verify(spyJpy, times(1)).setExchangeRate(BigDecimal.valueOf(1.0));
+        // Then: The same range now carries the new rate; nothing is inserted
+        verify(exchangeRateRangeRepository, never()).saveAll(anyList());
+        assertThat(result).isZero();
+        assertThat(openJpy.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
+        assertThat(openJpy.getExchangeRate()).isEqualByComparingTo("1.000000");
     }
 
     @Test
     @DisplayName("Should detect rate change with high precision comparison")
     void shouldDetectRateChangeWithHighPrecisionComparison() {
-        // Given: Existing entity with rate 0.006700, API returns 0.006701
-        ExchangeRateEntity existingUsd = ExchangeRateEntity.builder()
-                .currencyCode("USD")
-                .date(today)
-                .currency(TestFixtures.Currencies.usd())
-                .exchangeRate(new BigDecimal("0.006700"))
-                .build();
-
-        ExchangeRateEntity spyUsd = spy(existingUsd);
+        // Given: Open range with rate 0.006700, API returns 0.006701
+        ExchangeRateRangeEntity openUsd = openRange(TestFixtures.Currencies.usd(), today.minusDays(1), "0.006700");
 
         Map<String, Double> precisionRates = new HashMap<>();
         precisionRates.put("USD", 0.006701);
@@ -243,113 +291,73 @@ class InternalExchangeRateServiceUnitTest {
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(precisionResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(List.of(TestFixtures.Currencies.usd()));
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(List.of(spyUsd));
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of(openUsd));
 
         // When: Service processes rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
-
-        // Then: setExchangeRate should be called (precision difference detected)
-        verify(spyUsd, times(1)).setExchangeRate(BigDecimal.valueOf(0.006701));
-    }
-
-    // D. Multi-Date Processing Logic Tests
-
-    @Test
-    @DisplayName("Should process rates for both today and tomorrow dates")
-    void shouldProcessRatesForBothTodayAndTomorrowDates() {
-        // Given: API returns rates and no existing records
-        ArgumentCaptor<LocalDate> dateCaptor = ArgumentCaptor.forClass(LocalDate.class);
-
-        when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
-        when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(List.of());
-
-        // When: Service fetches and stores exchange rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
-
-        // Then: findByCurrencyCodeInAndDate should be called with both today and tomorrow
-        verify(exchangeRateRepository, times(2)).findByCurrencyCodeInAndDate(anyList(), dateCaptor.capture());
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        List<LocalDate> capturedDates = dateCaptor.getAllValues();
-        assertThat(capturedDates).hasSize(2);
-        assertThat(capturedDates.get(0)).isEqualTo(today);
-        assertThat(capturedDates.get(1)).isEqualTo(today.plusDays(1));
+        // Then: The precision difference starts a new range
+        assertThat(result).isEqualTo(1);
+        assertThat(openUsd.getEffectiveTo()).isEqualTo(today.minusDays(1));
     }
 
     @Test
-    @DisplayName("Should combine today and tomorrow entities before saving")
-    void shouldCombineTodayAndTomorrowEntitiesBeforeSaving() {
-        // Given: API returns rates for 3 currencies, no existing records
-        when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
-        when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(List.of());
+    @DisplayName("Should treat differences below the column scale as unchanged")
+    void shouldTreatDifferencesBelowColumnScaleAsUnchanged() {
+        // Given: Open range with rate 0.006700, API returns 0.0067000001 (same at 6 decimal places)
+        ExchangeRateRangeEntity openUsd = openRange(TestFixtures.Currencies.usd(), today.minusDays(1), "0.006700");
 
-        // When: Service fetches and stores exchange rates
-        exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
+        Map<String, Double> noisyRates = new HashMap<>();
+        noisyRates.put("USD", 0.0067000001);
 
-        // Then: saveAll should be called once with combined list (3 currencies × 2 dates)
-        verify(exchangeRateRepository, times(1)).saveAll(entityListCaptor.capture());
-        List<ExchangeRateEntity> savedEntities = entityListCaptor.getValue();
+        when(exchangeRateApiClient.fetchLatestExchangeRate())
+                .thenReturn(TestFixtures.ExchangeRateApiResponses.withRates(noisyRates));
+        when(currencyRepository.findAllById(anyList())).thenReturn(List.of(TestFixtures.Currencies.usd()));
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(List.of(openUsd));
 
-        LocalDate tomorrow = today.plusDays(1);
-        long todayCount = savedEntities.stream().filter(e -> e.getDate().equals(today)).count();
-        long tomorrowCount = savedEntities.stream().filter(e -> e.getDate().equals(tomorrow)).count();
+        // When: Service processes rates
+        int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
-        assertThat(todayCount).isGreaterThan(0);
-        assertThat(tomorrowCount).isGreaterThan(0);
+        // Then: No new range (the stored value would be identical)
+        verify(exchangeRateRangeRepository, never()).saveAll(anyList());
+        assertThat(result).isZero();
+        assertThat(openUsd.getEffectiveTo()).isEqualTo(ExchangeRateRangeEntity.OPEN_END);
     }
 
-    // E. Edge Cases Tests
+    // D. Edge Cases Tests
 
     @Test
-    @DisplayName("Should skip saveAll when no new entities exist")
-    void shouldSkipSaveAllWhenNoNewEntitiesExist() {
-        // Given: All entities exist with unchanged rates
-        List<ExchangeRateEntity> existingEntities = List.of(
-                ExchangeRateEntity.builder()
-                        .currencyCode("JPY")
-                        .date(today)
-                        .currency(TestFixtures.Currencies.jpy())
-                        .exchangeRate(BigDecimal.valueOf(1.0))
-                        .build(),
-                ExchangeRateEntity.builder()
-                        .currencyCode("USD")
-                        .date(today)
-                        .currency(TestFixtures.Currencies.usd())
-                        .exchangeRate(BigDecimal.valueOf(0.0067))
-                        .build(),
-                ExchangeRateEntity.builder()
-                        .currencyCode("EUR")
-                        .date(today)
-                        .currency(TestFixtures.Currencies.eur())
-                        .exchangeRate(BigDecimal.valueOf(0.0061))
-                        .build()
+    @DisplayName("Should skip saveAll when no rate changed")
+    void shouldSkipSaveAllWhenNoRateChanged() {
+        // Given: All currencies have open ranges with unchanged rates
+        List<ExchangeRateRangeEntity> openRanges = List.of(
+                openRange(TestFixtures.Currencies.jpy(), today.minusDays(3), "1.000000"),
+                openRange(TestFixtures.Currencies.usd(), today.minusDays(3), "0.006700"),
+                openRange(TestFixtures.Currencies.eur(), today.minusDays(3), "0.006100")
         );
 
         when(exchangeRateApiClient.fetchLatestExchangeRate()).thenReturn(apiResponse);
         when(currencyRepository.findAllById(anyList())).thenReturn(currencies);
-        when(exchangeRateRepository.findByCurrencyCodeInAndDate(anyList(), any(LocalDate.class)))
-                .thenReturn(existingEntities);
+        when(exchangeRateRangeRepository.findByCurrencyCodeInAndEffectiveTo(anyList(), any(LocalDate.class)))
+                .thenReturn(openRanges);
 
         // When: Service processes rates
         int result = exchangeRateInternalService.fetchAndStoreLatestExchangeRate();
 
         // Then: saveAll should NOT be called
-        verify(exchangeRateRepository, never()).saveAll(anyList());
+        verify(exchangeRateRangeRepository, never()).saveAll(anyList());
         assertThat(result).isZero();
     }
 
-    private ExchangeRateEntity createExchangeRateEntity(CurrencyEntity currency, LocalDate date, BigDecimal rate) {
-        return ExchangeRateEntity.builder()
+    private ExchangeRateRangeEntity openRange(CurrencyEntity currency, LocalDate effectiveFrom, String rate) {
+        return ExchangeRateRangeEntity.builder()
                 .currencyCode(currency.getCurrencyCode())
                 .currency(currency)
-                .date(date)
-                .exchangeRate(rate)
-                .createdAt(Instant.now())
-                .updatedAt(Instant.now())
+                .effectiveFrom(effectiveFrom)
+                .effectiveTo(ExchangeRateRangeEntity.OPEN_END)
+                .exchangeRate(new BigDecimal(rate))
                 .isNew(false)
                 .build();
     }
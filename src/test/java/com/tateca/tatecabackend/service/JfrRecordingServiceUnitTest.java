@@ -0,0 +1,100 @@
+package com.tateca.tatecabackend.service;
+
+import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
+import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
+import com.tateca.tatecabackend.jfr.SettlementComputationEvent;
+import com.tateca.tatecabackend.service.impl.JfrRecordingServiceImpl;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JfrRecordingServiceImpl — Recording Lifecycle")
+class JfrRecordingServiceUnitTest {
+
+    private final JfrRecordingServiceImpl service =
+            new JfrRecordingServiceImpl(Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        try {
+            service.stop();
+        } catch (EntityNotFoundException ignored) {
+            // Not running
+        }
+    }
+
+    @Nested
+    @DisplayName("Given no recording")
+    class WhenNoRecording {
+
+        @Test
+        @DisplayName("Then should reject stop and download with not found")
+        void thenShouldRejectStopAndDownload() {
+            assertThatThrownBy(service::stop).isInstanceOf(EntityNotFoundException.class);
+            assertThatThrownBy(() -> service.download(OutputStream.nullOutputStream()))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Then should reject unknown settings")
+        void thenShouldRejectUnknownSettings() {
+            assertThatThrownBy(() -> service.start(Duration.ofSeconds(30), "/etc/passwd"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a running recording")
+    class WhenRecordingRunning {
+
+        @Test
+        @DisplayName("Then should reject a second start")
+        void thenShouldRejectSecondStart() {
+            service.start(Duration.ofSeconds(30), "default");
+
+            assertThatThrownBy(() -> service.start(Duration.ofSeconds(30), "default"))
+                    .isInstanceOf(BusinessRuleViolationException.class)
+                    .hasFieldOrPropertyWithValue("errorCode", "JFR.RECORDING_ALREADY_RUNNING");
+        }
+
+        @Test
+        @DisplayName("Then should download custom events after stop")
+        void thenShouldDownloadCustomEvents() throws Exception {
+            service.start(Duration.ofSeconds(30), "default");
+            SettlementComputationEvent event = new SettlementComputationEvent();
+            event.groupSize = 4;
+            event.obligationCount = 12;
+            event.commit();
+            service.stop();
+
+            Path file = tempDir.resolve("recording.jfr");
+            try (OutputStream outputStream = Files.newOutputStream(file)) {
+                service.download(outputStream);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(recorded -> recorded.getEventType().getName().equals("com.tateca.SettlementComputation"))
+                    .toList();
+            assertThat(events).hasSize(1);
+            assertThat(events.get(0).getInt("groupSize")).isEqualTo(4);
+            assertThat(events.get(0).getInt("obligationCount")).isEqualTo(12);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.tateca.tatecabackend.service;
+
+import com.tateca.tatecabackend.AbstractIntegrationTest;
+import com.tateca.tatecabackend.dto.request.CreateTransactionRequestDTO;
+import com.tateca.tatecabackend.dto.response.CreateTransactionResponseDTO;
+import com.tateca.tatecabackend.dto.response.TransactionHistoryResponseDTO;
+import com.tateca.tatecabackend.dto.response.TransactionSettlementResponseDTO;
+import com.tateca.tatecabackend.model.TransactionType;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The archival job commits one transaction per batch, so the data is committed here too and reset by
+ * cleanup.sql instead of rolling back.
+ */
+@Sql(scripts = "/cleanup.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@DisplayName("TransactionArchiveService Integration Tests")
+class TransactionArchiveServiceIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int MEMBERS = 3;
+    private static final int TRANSACTIONS = 6;
+    private static final LocalDate RATE_DATE = LocalDate.of(2025, 1, 1);
+    private static final LocalDateTime YEAR_AGO = LocalDateTime.now(ZoneOffset.UTC).minusYears(1);
+
+    @Autowired private TransactionArchiveService archiveService;
+    @Autowired private TransactionArchiveRepository archiveRepository;
+    @Autowired private TransactionService transactionService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final UUID inactiveGroup = UUID.randomUUID();
+    private final UUID activeGroup = UUID.randomUUID();
+    private final List<UUID> members = new ArrayList<>();
+    private final List<UUID> inactiveTransactions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO currencies (currency_code, jp_currency_name, eng_currency_name, jp_country_name,
+                                        eng_country_name, is_active)
+                VALUES ('JPY', '日本円', 'Japanese Yen', '日本', 'Japan', TRUE)""");
+        jdbcTemplate.update("INSERT INTO exchange_rates (date, currency_code, exchange_rate) VALUES (?, 'JPY', 1)",
+                RATE_DATE);
+
+        for (UUID group : List.of(inactiveGroup, activeGroup)) {
+            jdbcTemplate.update("INSERT INTO `groups` (uuid, name, join_token, token_expires) VALUES (?, ?, ?, ?)",
+                    bytes(group), "Trip", bytes(UUID.randomUUID()), LocalDateTime.now().plusDays(1));
+        }
+        for (int m = 0; m < MEMBERS; m++) {
+            UUID member = UUID.randomUUID();
+            members.add(member);
+            jdbcTemplate.update("INSERT INTO users (uuid, name) VALUES (?, ?)", bytes(member), "Member " + m);
+            jdbcTemplate.update("INSERT INTO user_groups (user_uuid, group_uuid) VALUES (?, ?)",
+                    bytes(member), bytes(inactiveGroup));
+        }
+        UUID activeMember = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (uuid, name) VALUES (?, ?)", bytes(activeMember), "Active Member");
+        jdbcTemplate.update("INSERT INTO user_groups (user_uuid, group_uuid) VALUES (?, ?)",
+                bytes(activeMember), bytes(activeGroup));
+
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            UUID transaction = UUID.randomUUID();
+            inactiveTransactions.add(transaction);
+            insertTransaction(transaction, inactiveGroup, members.get(t % MEMBERS), YEAR_AGO.plusHours(t),
+                    members.get((t + 1) % MEMBERS), 1000 + t);
+        }
+        insertTransaction(UUID.randomUUID(), activeGroup, activeMember, LocalDateTime.now(ZoneOffset.UTC),
+                activeMember, 500);
+    }
+
+    @Nested
+    @DisplayName("Given a group inactive for longer than the configured months and an active group")
+    class WhenArchivalRuns {
+
+        @Test
+        @DisplayName("Then should move only the inactive group's transactions and obligations")
+        void thenShouldArchiveInactiveGroupOnly() {
+            int archived = archiveService.archiveInactiveGroups();
+
+            assertThat(archived).isEqualTo(1);
+            assertThat(countHot(inactiveGroup)).isZero();
+            assertThat(countHot(activeGroup)).isEqualTo(1);
+            assertThat(count("SELECT COUNT(*) FROM transaction_history_archive")).isEqualTo(TRANSACTIONS);
+            assertThat(count("SELECT COUNT(*) FROM transaction_obligations_archive")).isEqualTo(TRANSACTIONS);
+            assertThat(count("SELECT COUNT(*) FROM transaction_obligations")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Then should read history, settlement and detail back unchanged")
+        void thenShouldReadBackUnchanged() {
+            TransactionHistoryResponseDTO history = transactionService.getTransactionHistory(10, inactiveGroup);
+            TransactionSettlementResponseDTO settlement = transactionService.getSettlements(inactiveGroup);
+            CreateTransactionResponseDTO detail = transactionService.getTransactionDetail(inactiveTransactions.get(2));
+
+            archiveService.archiveInactiveGroups();
+
+            assertThat(transactionService.getTransactionHistory(10, inactiveGroup)).isEqualTo(history);
+            assertThat(transactionService.getTransactionHistory(2, inactiveGroup).transactionsHistory())
+                    .isEqualTo(history.transactionsHistory().subList(0, 2));
+            assertThat(transactionService.getSettlements(inactiveGroup)).isEqualTo(settlement);
+            assertThat(transactionService.getTransactionDetail(inactiveTransactions.get(2))).isEqualTo(detail);
+        }
+
+        @Test
+        @DisplayName("Then should skip a group that had activity since the cutoff")
+        void thenShouldSkipReactivatedGroup() {
+            Instant cutoff = Instant.now().minus(30, ChronoUnit.DAYS);
+            jdbcTemplate.update("UPDATE transaction_history SET title = 'Edited', updated_at = NOW() WHERE uuid = ?",
+                    bytes(inactiveTransactions.getFirst()));
+
+            int moved = transactionTemplate.execute(
+                    status -> archiveRepository.archiveOldestTransactions(inactiveGroup, cutoff, TRANSACTIONS));
+
+            assertThat(moved).isZero();
+            assertThat(countHot(inactiveGroup)).isEqualTo(TRANSACTIONS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a group with nothing archived")
+    class WhenNothingArchived {
+
+        @Test
+        @DisplayName("Then should leave the group's hot transactions as they are on restore")
+        void thenShouldRestoreNothing() {
+            int restored = transactionTemplate.execute(status -> archiveRepository.restoreGroup(activeGroup));
+
+            assertThat(restored).isZero();
+            assertThat(countHot(activeGroup)).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a group archived in part")
+    class WhenPartlyArchived {
+
+        @Test
+        @DisplayName("Then should move the oldest transactions first and merge both parts on read")
+        void thenShouldMergeOldestArchivedAfterHot() {
+            TransactionHistoryResponseDTO history = transactionService.getTransactionHistory(10, inactiveGroup);
+            TransactionSettlementResponseDTO settlement = transactionService.getSettlements(inactiveGroup);
+
+            int moved = transactionTemplate.execute(status -> archiveRepository.archiveOldestTransactions(
+                    inactiveGroup, Instant.now().minus(30, ChronoUnit.DAYS), 2));
+
+            assertThat(moved).isEqualTo(2);
+            assertThat(archiveRepository.findGroupIdByTransactionId(inactiveTransactions.get(0))).contains(inactiveGroup);
+            assertThat(archiveRepository.findGroupIdByTransactionId(inactiveTransactions.get(2))).isEmpty();
+            assertThat(transactionService.getTransactionHistory(10, inactiveGroup)).isEqualTo(history);
+            assertThat(transactionService.getSettlements(inactiveGroup)).isEqualTo(settlement);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given an archived group that is written to")
+    class WhenArchivedGroupWritten {
+
+        @Test
+        @DisplayName("Then should restore the group before creating a transaction")
+        void thenShouldRestoreOnCreate() {
+            archiveService.archiveInactiveGroups();
+
+            var loan = new CreateTransactionRequestDTO.Loan(List.of(
+                    new CreateTransactionRequestDTO.Loan.Obligation(300, members.get(1))));
+            transactionService.createTransaction(inactiveGroup, new CreateTransactionRequestDTO(
+                    TransactionType.LOAN, "Reunion", 300, "JPY", "2025-01-01T12:00:00+09:00",
+                    members.getFirst(), loan, null));
+
+            assertThat(countHot(inactiveGroup)).isEqualTo(TRANSACTIONS + 1);
+            assertThat(count("SELECT COUNT(*) FROM transaction_history_archive")).isZero();
+            assertThat(count("SELECT COUNT(*) FROM transaction_obligations_archive")).isZero();
+        }
+
+        @Test
+        @DisplayName("Then should restore the group before deleting an archived transaction")
+        void thenShouldRestoreOnDelete() {
+            archiveService.archiveInactiveGroups();
+
+            transactionService.deleteTransaction(inactiveTransactions.getFirst());
+
+            assertThat(countHot(inactiveGroup)).isEqualTo(TRANSACTIONS - 1);
+            assertThat(count("SELECT COUNT(*) FROM transaction_history_archive")).isZero();
+        }
+    }
+
+    private void insertTransaction(UUID transaction, UUID group, UUID payer, LocalDateTime createdAt,
+                                   UUID obligationUser, int amount) {
+        jdbcTemplate.update("""
+                INSERT INTO transaction_history (uuid, transaction_type, group_uuid, title, amount, currency_code,
+                                                 exchange_rate_date, transaction_date, payer_id, created_at,
+                                                 updated_at)
+                VALUES (?, 'LOAN', ?, ?, ?, 'JPY', ?, ?, ?, ?, ?)""",
+                bytes(transaction), bytes(group), "Dinner " + amount, amount, RATE_DATE, createdAt, bytes(payer),
+                createdAt, createdAt);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_obligations (uuid, transaction_uuid, user_uuid, amount, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)""",
+                bytes(UUID.randomUUID()), bytes(transaction), bytes(obligationUser), amount, createdAt, createdAt);
+    }
+
+    private int countHot(UUID group) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transaction_history WHERE group_uuid = ?",
+                Integer.class, bytes(group));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
@@ -0,0 +1,138 @@
+package com.tateca.tatecabackend.service;
+
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository.GroupScan;
+import com.tateca.tatecabackend.service.impl.TransactionArchiveServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("TransactionArchiveServiceImpl Unit Tests")
+class TransactionArchiveServiceUnitTest {
+
+    private static final int BATCH_SIZE = 200;
+
+    private final TransactionArchiveRepository archiveRepository = mock(TransactionArchiveRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionArchiveServiceImpl archiveService = new TransactionArchiveServiceImpl(
+            archiveRepository, transactionTemplate, meterRegistry, 6, BATCH_SIZE, 1000);
+
+    private final UUID groupId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(archiveRepository.findScanPosition()).thenReturn(Optional.empty());
+        when(archiveRepository.findInactiveGroups(isNull(), any(Instant.class), eq(100)))
+                .thenReturn(new GroupScan(List.of(groupId), 1, groupId));
+    }
+
+    @Nested
+    @DisplayName("Given an inactive group larger than one batch")
+    class WhenGroupSpansBatches {
+
+        @Test
+        @DisplayName("Then should move it one transaction per batch until a batch comes back short")
+        void thenShouldMoveInBatches() {
+            when(archiveRepository.archiveOldestTransactions(eq(groupId), any(Instant.class), eq(BATCH_SIZE)))
+                    .thenReturn(BATCH_SIZE, BATCH_SIZE, 37);
+
+            assertThat(archiveService.archiveInactiveGroups()).isEqualTo(1);
+
+            verify(transactionTemplate, times(4)).execute(any());
+            assertThat(meterRegistry.get("transaction.archive.transactions").counter().count())
+                    .isEqualTo(2 * BATCH_SIZE + 37);
+        }
+
+        @Test
+        @DisplayName("Then should archive groups inactive since the configured number of months")
+        void thenShouldUseMonthsCutoff() {
+            Instant before = Instant.now().atZone(ZoneOffset.UTC).minusMonths(6).toInstant();
+            archiveService.archiveInactiveGroups();
+            Instant after = Instant.now().atZone(ZoneOffset.UTC).minusMonths(6).toInstant();
+
+            ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+            verify(archiveRepository).findInactiveGroups(isNull(), cutoff.capture(), eq(100));
+            assertThat(cutoff.getValue()).isBetween(before, after);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a candidate group written to since it was found")
+    class WhenGroupReactivated {
+
+        @Test
+        @DisplayName("Then should leave it and not count it as archived")
+        void thenShouldSkipGroup() {
+            when(archiveRepository.archiveOldestTransactions(eq(groupId), any(Instant.class), anyInt())).thenReturn(0);
+
+            assertThat(archiveService.archiveInactiveGroups()).isZero();
+
+            assertThat(meterRegistry.get("transaction.archive.groups").counter().count()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Given more groups than one run scans")
+    class WhenGroupsExceedRun {
+
+        private final UUID resumeAfter = UUID.randomUUID();
+        private final UUID lastOfPage = UUID.randomUUID();
+        private final TransactionArchiveServiceImpl smallRunService = new TransactionArchiveServiceImpl(
+                archiveRepository, transactionTemplate, meterRegistry, 6, BATCH_SIZE, 150);
+
+        @Test
+        @DisplayName("Then should scan in pages from the saved position and save where it stopped")
+        void thenShouldResumeAndSavePosition() {
+            UUID lastOfRun = UUID.randomUUID();
+            when(archiveRepository.findScanPosition()).thenReturn(Optional.of(resumeAfter));
+            when(archiveRepository.findInactiveGroups(eq(resumeAfter), any(Instant.class), eq(100)))
+                    .thenReturn(new GroupScan(List.of(), 100, lastOfPage));
+            when(archiveRepository.findInactiveGroups(eq(lastOfPage), any(Instant.class), eq(50)))
+                    .thenReturn(new GroupScan(List.of(), 50, lastOfRun));
+
+            smallRunService.archiveInactiveGroups();
+
+            verify(archiveRepository).saveScanPosition(lastOfPage);
+            verify(archiveRepository).saveScanPosition(lastOfRun);
+            verify(archiveRepository, never()).saveScanPosition(null);
+        }
+
+        @Test
+        @DisplayName("Then should start the next run at the first group once the last group was scanned")
+        void thenShouldWrapAround() {
+            when(archiveRepository.findScanPosition()).thenReturn(Optional.of(resumeAfter));
+            when(archiveRepository.findInactiveGroups(eq(resumeAfter), any(Instant.class), eq(100)))
+                    .thenReturn(new GroupScan(List.of(), 30, lastOfPage));
+
+            smallRunService.archiveInactiveGroups();
+
+            verify(archiveRepository).saveScanPosition(null);
+            verify(archiveRepository, times(1)).findInactiveGroups(any(), any(Instant.class), anyInt());
+        }
+    }
+}
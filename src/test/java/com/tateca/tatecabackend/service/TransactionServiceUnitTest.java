@@ -9,6 +9,7 @@ import com.tateca.tatecabackend.dto.response.TransactionSettlementResponseDTO.Tr
 import com.tateca.tatecabackend.entity.AuthUserEntity;
 import com.tateca.tatecabackend.entity.CurrencyEntity;
 import com.tateca.tatecabackend.entity.ExchangeRateEntity;
+import com.tateca.tatecabackend.entity.ExchangeRateRangeEntity;
 import com.tateca.tatecabackend.entity.GroupEntity;
 import com.tateca.tatecabackend.entity.TransactionHistoryEntity;
 import com.tateca.tatecabackend.entity.TransactionObligationEntity;
@@ -17,9 +18,11 @@ import com.tateca.tatecabackend.entity.UserGroupEntity;
 import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.fixtures.TestFixtures;
 import com.tateca.tatecabackend.model.TransactionType;
+import com.tateca.tatecabackend.repository.ExchangeRateRangeRepository;
 import com.tateca.tatecabackend.repository.ExchangeRateRepository;
 import com.tateca.tatecabackend.repository.GroupRepository;
 import com.tateca.tatecabackend.repository.ObligationRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
 import com.tateca.tatecabackend.repository.TransactionRepository;
 import com.tateca.tatecabackend.repository.UserGroupRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
@@ -48,6 +51,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
@@ -65,6 +69,8 @@ class TransactionServiceUnitTest {
     @Mock private TransactionRepository transactionRepository;
     @Mock private ObligationRepository obligationRepository;
     @Mock private ExchangeRateRepository exchangeRateRepository;
+    @Mock private ExchangeRateRangeRepository exchangeRateRangeRepository;
+    @Mock private TransactionArchiveRepository transactionArchiveRepository;
 
     @InjectMocks
     private TransactionServiceImpl transactionService;
@@ -122,10 +128,9 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, testBorrower));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(savedTransaction);
-                when(userRepository.findById(testBorrower.getUuid())).thenReturn(Optional.of(testBorrower));
                 when(obligationRepository.saveAll(anyList())).thenReturn(List.of(savedObligation));
 
                 CreateTransactionResponseDTO result = transactionService.createTransaction(testGroup.getUuid(), request);
@@ -154,10 +159,9 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, testBorrower));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(savedTransaction);
-                when(userRepository.findById(testBorrower.getUuid())).thenReturn(Optional.of(testBorrower));
                 when(obligationRepository.save(any(TransactionObligationEntity.class))).thenReturn(savedObligation);
 
                 CreateTransactionResponseDTO result = transactionService.createTransaction(testGroup.getUuid(), request);
@@ -180,10 +184,9 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, testBorrower));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(buildTransaction(TransactionType.LOAN, "Test", 5000));
-                when(userRepository.findById(testBorrower.getUuid())).thenReturn(Optional.of(testBorrower));
                 when(obligationRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
 
                 transactionService.createTransaction(testGroup.getUuid(), request);
@@ -215,11 +218,10 @@ class TransactionServiceUnitTest {
                 when(exchangeRateRepository.findLatestByCurrencyCode("JPY"))
                         .thenReturn(Optional.of(latestRate));
                 when(exchangeRateRepository.save(any(ExchangeRateEntity.class))).thenReturn(newRate);
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, testBorrower));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(
                         buildTransactionWithRate(TransactionType.LOAN, "Test", 5000, newRate));
-                when(userRepository.findById(testBorrower.getUuid())).thenReturn(Optional.of(testBorrower));
                 when(obligationRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
 
                 transactionService.createTransaction(testGroup.getUuid(), request);
@@ -228,6 +230,45 @@ class TransactionServiceUnitTest {
             }
         }
 
+        @Nested
+        @DisplayName("Given a rate range covers the specified date")
+        class GivenRateRangeCoversDate {
+
+            @Test
+            @DisplayName("Should pin the range's rate for the date")
+            void shouldPinRangeRateForDate() {
+                LocalDate date = LocalDate.now().minusDays(3);
+                String dateStr = date.atStartOfDay().atZone(ZoneOffset.UTC).format(DATE_FORMAT);
+                var request = buildLoanRequest("JPY", dateStr);
+
+                var range = ExchangeRateRangeEntity.builder()
+                        .currencyCode("JPY").effectiveFrom(date.minusDays(10)).effectiveTo(ExchangeRateRangeEntity.OPEN_END)
+                        .exchangeRate(new BigDecimal("1.000000")).currency(jpyCurrency).build();
+                var pinnedRate = ExchangeRateEntity.builder()
+                        .currencyCode("JPY").date(date)
+                        .exchangeRate(new BigDecimal("1.000000")).currency(jpyCurrency).build();
+
+                when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), eq(date)))
+                        .thenReturn(Optional.empty());
+                when(exchangeRateRangeRepository.findEffectiveOn("JPY", date)).thenReturn(Optional.of(range));
+                when(exchangeRateRepository.save(any(ExchangeRateEntity.class))).thenReturn(pinnedRate);
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, testBorrower));
+                when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
+                when(transactionRepository.save(any())).thenReturn(
+                        buildTransactionWithRate(TransactionType.LOAN, "Test", 5000, pinnedRate));
+                when(obligationRepository.saveAll(anyList())).thenReturn(new ArrayList<>());
+
+                transactionService.createTransaction(testGroup.getUuid(), request);
+
+                ArgumentCaptor<ExchangeRateEntity> pinned = ArgumentCaptor.forClass(ExchangeRateEntity.class);
+                verify(exchangeRateRepository).save(pinned.capture());
+                assertThat(pinned.getValue().getDate()).isEqualTo(date);
+                assertThat(pinned.getValue().getExchangeRate()).isEqualByComparingTo("1.000000");
+                verify(exchangeRateRangeRepository, never()).findLatestByCurrencyCode(any());
+                verify(exchangeRateRepository, never()).findLatestByCurrencyCode(any());
+            }
+        }
+
         @Nested
         @DisplayName("Given no exchange rate exists for currency at all")
         class GivenNoExchangeRateExists {
@@ -261,7 +302,7 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.empty());
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of());
 
                 assertThatThrownBy(() -> transactionService.createTransaction(testGroup.getUuid(), request))
                         .isInstanceOf(EntityNotFoundException.class)
@@ -282,7 +323,7 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> transactionService.createTransaction(testGroup.getUuid(), request))
@@ -309,10 +350,9 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(buildTransaction(TransactionType.LOAN, "Test", 5000));
-                when(userRepository.findById(nonExistentUser)).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> transactionService.createTransaction(testGroup.getUuid(), request))
                         .isInstanceOf(EntityNotFoundException.class)
@@ -337,11 +377,10 @@ class TransactionServiceUnitTest {
 
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer));
                 when(groupRepository.findById(testGroup.getUuid())).thenReturn(Optional.of(testGroup));
                 when(transactionRepository.save(any())).thenReturn(
                         buildTransaction(TransactionType.REPAYMENT, "Repay", 3000));
-                when(userRepository.findById(nonExistentRecipient)).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> transactionService.createTransaction(testGroup.getUuid(), request))
                         .isInstanceOf(EntityNotFoundException.class)
@@ -372,14 +411,14 @@ class TransactionServiceUnitTest {
                 transaction.setUuid(transactionId);
                 var obligation = buildObligation(transaction, testBorrower, 5000);
 
-                when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+                when(transactionRepository.findDetailByUuid(transactionId)).thenReturn(Optional.of(transaction));
                 when(obligationRepository.findByTransactionId(transactionId)).thenReturn(List.of(obligation));
 
                 CreateTransactionResponseDTO result = transactionService.getTransactionDetail(transactionId);
 
                 assertThat(result.loan()).isNotNull();
                 assertThat(result.repayment()).isNull();
-                verify(transactionRepository).findById(transactionId);
+                verify(transactionRepository).findDetailByUuid(transactionId);
                 verify(obligationRepository).findByTransactionId(transactionId);
             }
         }
@@ -396,7 +435,7 @@ class TransactionServiceUnitTest {
                 transaction.setUuid(transactionId);
                 var obligation = buildObligation(transaction, testBorrower, 3000);
 
-                when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
+                when(transactionRepository.findDetailByUuid(transactionId)).thenReturn(Optional.of(transaction));
                 when(obligationRepository.findByTransactionId(transactionId)).thenReturn(List.of(obligation));
 
                 CreateTransactionResponseDTO result = transactionService.getTransactionDetail(transactionId);
@@ -414,7 +453,7 @@ class TransactionServiceUnitTest {
             @DisplayName("Should throw EntityNotFoundException")
             void shouldThrowEntityNotFoundException() {
                 UUID transactionId = UUID.randomUUID();
-                when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+                when(transactionRepository.findDetailByUuid(transactionId)).thenReturn(Optional.empty());
 
                 assertThatThrownBy(() -> transactionService.getTransactionDetail(transactionId))
                         .isInstanceOf(EntityNotFoundException.class)
@@ -423,6 +462,27 @@ class TransactionServiceUnitTest {
                 verify(obligationRepository, never()).findByTransactionId(any());
             }
         }
+
+        @Nested
+        @DisplayName("Given transaction is archived")
+        class GivenTransactionArchived {
+
+            @Test
+            @DisplayName("Should read transaction and obligations back from the archive")
+            void shouldReadFromArchive() {
+                var transaction = buildTransaction(TransactionType.LOAN, "Archived", 3000);
+                UUID transactionId = transaction.getUuid();
+                when(transactionRepository.findDetailByUuid(transactionId)).thenReturn(Optional.empty());
+                when(transactionArchiveRepository.findDetailByUuid(transactionId)).thenReturn(Optional.of(transaction));
+                when(transactionArchiveRepository.findByTransactionId(transactionId))
+                        .thenReturn(List.of(buildObligation(transaction, testPayer, 3000)));
+
+                CreateTransactionResponseDTO result = transactionService.getTransactionDetail(transactionId);
+
+                assertThat(result.title()).isEqualTo("Archived");
+                verify(obligationRepository, never()).findByTransactionId(any());
+            }
+        }
     }
 
     // =========================================================================
@@ -461,6 +521,34 @@ class TransactionServiceUnitTest {
 
             assertThat(result.transactionsHistory()).hasSize(1);
         }
+
+        @Test
+        @DisplayName("Should fill a short page with the group's archived transactions")
+        void shouldAppendArchivedTransactions() {
+            UUID groupId = UUID.randomUUID();
+            var hot = buildTransaction(TransactionType.LOAN, "Hot", 5000);
+            var archived = buildTransaction(TransactionType.LOAN, "Archived", 3000);
+
+            when(transactionRepository.findTransactionsByGroupWithLimit(groupId, 10)).thenReturn(List.of(hot));
+            when(transactionArchiveRepository.existsByGroup(groupId)).thenReturn(true);
+            when(transactionArchiveRepository.findTransactionsByGroupWithLimit(groupId, 9)).thenReturn(List.of(archived));
+
+            TransactionHistoryResponseDTO result = transactionService.getTransactionHistory(10, groupId);
+
+            assertThat(result.transactionsHistory()).extracting("title").containsExactly("Hot", "Archived");
+        }
+
+        @Test
+        @DisplayName("Should not look at the archive when the page is full")
+        void shouldSkipArchiveForFullPage() {
+            UUID groupId = UUID.randomUUID();
+            when(transactionRepository.findTransactionsByGroupWithLimit(groupId, 1))
+                    .thenReturn(List.of(buildTransaction(TransactionType.LOAN, "Hot", 5000)));
+
+            transactionService.getTransactionHistory(1, groupId);
+
+            verify(transactionArchiveRepository, never()).existsByGroup(any());
+        }
     }
 
     // =========================================================================
@@ -549,8 +637,7 @@ class TransactionServiceUnitTest {
 
                 when(transactionRepository.findById(transactionId))
                         .thenReturn(Optional.of(existingLoanTransaction));
-                when(userRepository.findById(newPayer.getUuid())).thenReturn(Optional.of(newPayer));
-                when(userRepository.findById(obligUser.getUuid())).thenReturn(Optional.of(obligUser));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(newPayer, obligUser));
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("USD"), any(LocalDate.class)))
                         .thenReturn(Optional.of(usdRate));
                 when(transactionRepository.save(any())).thenReturn(existingLoanTransaction);
@@ -587,8 +674,7 @@ class TransactionServiceUnitTest {
 
                 when(transactionRepository.findById(transactionId))
                         .thenReturn(Optional.of(existingLoanTransaction));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
-                when(userRepository.findById(obligUser.getUuid())).thenReturn(Optional.of(obligUser));
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer, obligUser));
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
                 when(transactionRepository.save(any())).thenReturn(existingLoanTransaction);
@@ -673,7 +759,7 @@ class TransactionServiceUnitTest {
                 UUID nonExistentPayer = UUID.randomUUID();
                 when(transactionRepository.findById(transactionId))
                         .thenReturn(Optional.of(existingLoanTransaction));
-                when(userRepository.findById(nonExistentPayer)).thenReturn(Optional.empty());
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of());
 
                 var request = new UpdateTransactionRequestDTO(
                         "Title", 5000, "JPY", "2024-01-15T18:30:00+09:00",
@@ -697,8 +783,7 @@ class TransactionServiceUnitTest {
                 UUID nonExistentUser = UUID.randomUUID();
                 when(transactionRepository.findById(transactionId))
                         .thenReturn(Optional.of(existingLoanTransaction));
-                when(userRepository.findById(testPayer.getUuid())).thenReturn(Optional.of(testPayer));
-                when(userRepository.findById(nonExistentUser)).thenReturn(Optional.empty());
+                when(userRepository.findAllWithAuthUserByUuidIn(anyCollection())).thenReturn(List.of(testPayer));
                 when(exchangeRateRepository.findByCurrencyCodeAndDate(eq("JPY"), any(LocalDate.class)))
                         .thenReturn(Optional.of(jpyExchangeRate));
 
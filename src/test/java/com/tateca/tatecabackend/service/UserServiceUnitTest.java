@@ -71,7 +71,7 @@ class UserServiceUnitTest {
         @Test
         @DisplayName("Should throw EntityNotFoundException")
         void shouldThrowEntityNotFoundException() {
-            when(repository.findById(USER_ID)).thenReturn(Optional.empty());
+            when(repository.findWithAuthUserByUuid(USER_ID)).thenReturn(Optional.empty());
 
             var request = new UpdateUserNameRequestDTO("NewName");
 
@@ -88,7 +88,7 @@ class UserServiceUnitTest {
         @Test
         @DisplayName("Should throw ForbiddenException")
         void shouldThrowForbiddenException() {
-            when(repository.findById(USER_ID)).thenReturn(Optional.of(existingUser));
+            when(repository.findWithAuthUserByUuid(USER_ID)).thenReturn(Optional.of(existingUser));
 
             var request = new UpdateUserNameRequestDTO("NewName");
 
@@ -109,7 +109,7 @@ class UserServiceUnitTest {
                     .createdAt(Instant.now())
                     .updatedAt(Instant.now())
                     .build();
-            when(repository.findById(USER_ID)).thenReturn(Optional.of(userWithoutAuth));
+            when(repository.findWithAuthUserByUuid(USER_ID)).thenReturn(Optional.of(userWithoutAuth));
 
             var request = new UpdateUserNameRequestDTO("NewName");
 
@@ -128,7 +128,7 @@ class UserServiceUnitTest {
         @Test
         @DisplayName("Should save and return updated user")
         void shouldSaveAndReturnUpdatedUser() {
-            when(repository.findById(USER_ID)).thenReturn(Optional.of(existingUser));
+            when(repository.findWithAuthUserByUuid(USER_ID)).thenReturn(Optional.of(existingUser));
             when(repository.save(existingUser)).thenReturn(existingUser);
 
             var request = new UpdateUserNameRequestDTO("NewName");
@@ -148,7 +148,7 @@ class UserServiceUnitTest {
         @Test
         @DisplayName("Should NOT call save and return current state")
         void shouldSkipSaveAndReturnCurrentState() {
-            when(repository.findById(USER_ID)).thenReturn(Optional.of(existingUser));
+            when(repository.findWithAuthUserByUuid(USER_ID)).thenReturn(Optional.of(existingUser));
 
             var request = new UpdateUserNameRequestDTO("OldName");
             UserResponseDTO response = service.updateUserName(AUTH_UID, USER_ID, request);
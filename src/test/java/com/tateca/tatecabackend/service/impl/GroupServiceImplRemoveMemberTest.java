@@ -9,9 +9,11 @@ import com.tateca.tatecabackend.exception.domain.BusinessRuleViolationException;
 import com.tateca.tatecabackend.exception.domain.EntityNotFoundException;
 import com.tateca.tatecabackend.exception.domain.ForbiddenException;
 import com.tateca.tatecabackend.repository.ObligationRepository;
+import com.tateca.tatecabackend.repository.TransactionArchiveRepository;
 import com.tateca.tatecabackend.repository.TransactionRepository;
 import com.tateca.tatecabackend.repository.UserGroupRepository;
 import com.tateca.tatecabackend.repository.UserRepository;
+import com.tateca.tatecabackend.security.GroupMembershipCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -50,6 +52,12 @@ class GroupServiceImplRemoveMemberTest {
     @Mock
     private ObligationRepository obligationRepository;
 
+    @Mock
+    private TransactionArchiveRepository transactionArchiveRepository;
+
+    @Mock
+    private GroupMembershipCache groupMembershipCache;
+
     @InjectMocks
     private GroupServiceImpl service;
 
@@ -255,6 +263,22 @@ class GroupServiceImplRemoveMemberTest {
             verify(userRepository, never()).delete(any());
             verify(userGroupRepository, never()).delete(any());
         }
+
+        @Test
+        @DisplayName("Should restore the group's archived transactions before checking them")
+        void shouldRestoreArchivedTransactionsFirst() {
+            when(userGroupRepository.findByGroupUuidWithUserDetails(GROUP_ID))
+                    .thenReturn(List.of(requesterUserGroup, targetUserGroup));
+            when(transactionRepository.existsByPayer(unjoinedTargetUser))
+                    .thenReturn(true);
+
+            assertThatThrownBy(() -> service.removeMember(GROUP_ID, TARGET_USER_UUID, REQUESTER_UID))
+                    .isInstanceOf(BusinessRuleViolationException.class);
+
+            InOrder inOrder = inOrder(transactionArchiveRepository, transactionRepository);
+            inOrder.verify(transactionArchiveRepository).restoreGroup(GROUP_ID);
+            inOrder.verify(transactionRepository).existsByPayer(unjoinedTargetUser);
+        }
     }
 
     @Nested
@@ -0,0 +1,200 @@
+package com.tateca.tatecabackend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JsonBodyMaskingUtil Unit Tests")
+class JsonBodyMaskingUtilTest {
+
+    private final PiiMaskingUtil piiMaskingUtil = new PiiMaskingUtil();
+
+    @BeforeEach
+    void setUp() {
+        piiMaskingUtil.setActiveProfile("prod");
+    }
+
+    @AfterEach
+    void tearDown() {
+        piiMaskingUtil.setActiveProfile("dev");
+    }
+
+    @Nested
+    @DisplayName("Given a JSON body with sensitive fields")
+    class WhenBodyHasSensitiveFields {
+
+        @Test
+        @DisplayName("Then should mask sensitive values and keep business data")
+        void thenShouldMaskSensitiveValues() {
+            String masked = JsonBodyMaskingUtil.maskJsonBody(
+                    "{\"uid\":\"abcdefghijklmnop\",\"email\":\"user@example.com\",\"amount\":1000}");
+
+            assertThat(masked).isEqualTo("{\"uid\":\"abcd****\",\"email\":\"u****@example.com\",\"amount\":1000}");
+        }
+
+        @Test
+        @DisplayName("Then should match field names case-insensitively")
+        void thenShouldMatchCaseInsensitively() {
+            String masked = JsonBodyMaskingUtil.maskJsonBody("{\"APIKEY\":\"secret-value\",\"Email\":\"a@b.c\"}");
+
+            assertThat(masked).isEqualTo("{\"APIKEY\":\"secr****\",\"Email\":\"a****@b.c\"}");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a JSON body with duplicate keys")
+    class WhenBodyHasDuplicateKeys {
+
+        @Test
+        @DisplayName("Then should keep every occurrence and mask each sensitive one")
+        void thenShouldKeepAndMaskEachOccurrence() throws Exception {
+            String body = "{\"email\":\"first@example.com\",\"title\":\"a\",\"email\":\"second@example.com\",\"title\":\"b\"}";
+
+            String masked = JsonBodyMaskingUtil.maskJsonBody(body);
+
+            assertThat(masked).isEqualTo("{\"email\":\"f****@example.com\",\"title\":\"a\","
+                    + "\"email\":\"s****@example.com\",\"title\":\"b\"}");
+            // The tree-based masker collapsed duplicates into the first position with the last value
+            assertThat(TreeMasker.mask(body)).isEqualTo("{\"email\":\"s****@example.com\",\"title\":\"b\"}");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given a body cut off at the capture limit")
+    class WhenBodyIsTruncated {
+
+        @Test
+        @DisplayName("Then should mask the captured prefix without closing it")
+        void thenShouldMaskCapturedPrefix() {
+            String masked = JsonBodyMaskingUtil.maskTruncatedJsonBody(
+                    "{\"email\":\"user@example.com\",\"items\":[{\"title\":\"Dinner\"},{\"ti");
+
+            assertThat(masked).isEqualTo("{\"email\":\"u****@example.com\",\"items\":[{\"title\":\"Dinner\"},{");
+        }
+
+        @Test
+        @DisplayName("Then should drop a sensitive value that was cut in the middle")
+        void thenShouldDropPartialSensitiveValue() {
+            String masked = JsonBodyMaskingUtil.maskTruncatedJsonBody("{\"amount\":100,\"uid\":\"firebase-ui");
+
+            assertThat(masked).isEqualTo("{\"amount\":100,\"uid\"");
+        }
+    }
+
+    @Nested
+    @DisplayName("Given bodies the masker cannot parse")
+    class WhenBodyIsNotJson {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"plain text", "{\"uid\":", "   ", "<xml/>"})
+        @DisplayName("Then should return the original body")
+        void thenShouldReturnOriginalBody(String body) {
+            assertThat(JsonBodyMaskingUtil.maskJsonBody(body)).isEqualTo(body);
+        }
+    }
+
+    @Nested
+    @DisplayName("Given typical group and transaction payloads")
+    class WhenComparedWithTreeMasker {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                // Group detail response
+                "{\"group\":{\"uuid\":\"9a8b7c6d-1234-5678-9abc-def012345678\",\"name\":\"Trip\","
+                        + "\"join_token\":\"3f2e1d0c-aaaa-bbbb-cccc-111122223333\",\"token_expires\":\"2026-01-01T00:00:00+09:00\"},"
+                        + "\"users\":[{\"uuid\":\"11111111-2222-3333-4444-555555555555\",\"name\":\"Alice\","
+                        + "\"auth_user\":{\"uid\":\"firebase-uid-000001\",\"email\":\"alice@example.com\",\"name\":\"Alice\"}}],"
+                        + "\"transaction_count\":3}",
+                // Create transaction request
+                "{\"transaction_type\":\"LOAN\",\"title\":\"Dinner\",\"amount\":12000,\"currency_code\":\"JPY\","
+                        + "\"date_str\":\"2026-01-01T19:00:00+09:00\",\"payer_id\":\"11111111-2222-3333-4444-555555555555\","
+                        + "\"loan\":{\"obligations\":[{\"amount\":6000,\"user_uuid\":\"aaaaaaaa-2222-3333-4444-555555555555\"},"
+                        + "{\"amount\":6000.5,\"user_uuid\":\"bbbbbbbb-2222-3333-4444-555555555555\"}]}}",
+                // Sensitive non-string values
+                "{\"userId\":12345678901,\"token\":{\"nested\":[1,2.5,\"x\"]},\"uuid\":[\"a\",\"b\"],"
+                        + "\"password\":true,\"api_key\":null,\"ratio\":1.0E10,\"big\":123456789012345678901234567890}",
+                // Top-level arrays and scalars
+                "[{\"email\":\"x@y.z\"},{\"note\":\"\\u00e9\\n\\\"quoted\\\"\"}]",
+                "42",
+                "\"just a string\""
+        })
+        @DisplayName("Then should produce the same output as the tree-based masker")
+        void thenShouldMatchTreeMasker(String body) throws Exception {
+            assertThat(JsonBodyMaskingUtil.maskJsonBody(body)).isEqualTo(TreeMasker.mask(body));
+        }
+    }
+
+    /**
+     * Reference implementation: the former parse → copy → re-serialize masker.
+     */
+    private static final class TreeMasker {
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+        private static final Set<String> SENSITIVE_FIELDS = Set.of(
+                "userId", "user_id", "uid", "uuid",
+                "email", "emailAddress", "email_address",
+                "phone", "phoneNumber", "phone_number",
+                "password", "passwd", "currentPassword", "newPassword",
+                "token", "accessToken", "refreshToken", "idToken",
+                "access_token", "refresh_token", "id_token",
+                "joinToken", "join_token",
+                "apiKey", "api_key", "secretKey", "secret_key",
+                "authorization");
+
+        static String mask(String body) throws Exception {
+            return OBJECT_MAPPER.writeValueAsString(maskObject(OBJECT_MAPPER.readValue(body, Object.class)));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Object maskObject(Object obj) {
+            if (obj instanceof Map) {
+                Map<String, Object> masked = new LinkedHashMap<>();
+                for (Map.Entry<String, Object> entry : ((Map<String, Object>) obj).entrySet()) {
+                    masked.put(entry.getKey(), isSensitive(entry.getKey())
+                            ? maskValue(entry.getValue())
+                            : maskObject(entry.getValue()));
+                }
+                return masked;
+            }
+            if (obj instanceof List) {
+                List<Object> masked = new ArrayList<>();
+                for (Object item : (List<Object>) obj) {
+                    masked.add(maskObject(item));
+                }
+                return masked;
+            }
+            return obj;
+        }
+
+        private static boolean isSensitive(String key) {
+            String lower = key.toLowerCase(Locale.ROOT);
+            return SENSITIVE_FIELDS.stream().anyMatch(s -> lower.equals(s.toLowerCase(Locale.ROOT)));
+        }
+
+        private static String maskValue(Object value) {
+            if (value == null) {
+                return null;
+            }
+            String s = value.toString();
+            if (s.contains("@")) {
+                return PiiMaskingUtil.maskEmail(s);
+            } else if (s.length() > 20 && s.contains("-")) {
+                return PiiMaskingUtil.maskUid(s);
+            }
+            return PiiMaskingUtil.maskToken(s);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tateca.tatecabackend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorTest {
+
+    @Nested
+    @DisplayName("generate Tests")
+    class GenerateTests {
+
+        @Test
+        @DisplayName("Should set the version 7 and RFC 9562 variant bits")
+        void shouldSetVersionAndVariant() {
+            UUID uuid = UuidV7Generator.generate();
+
+            assertThat(uuid.version()).isEqualTo(7);
+            assertThat(uuid.variant()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should encode the current Unix epoch milliseconds in the first 48 bits")
+        void shouldEncodeCurrentTime() {
+            long before = System.currentTimeMillis();
+            UUID uuid = UuidV7Generator.generate();
+            long after = System.currentTimeMillis();
+
+            // Ahead only when bursts of more than 4096 ids per millisecond borrowed timestamps
+            assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after + 1_000);
+        }
+
+        @Test
+        @DisplayName("Should increase strictly in byte order, also within one millisecond")
+        void shouldIncreaseStrictly() {
+            byte[] previous = bytes(UuidV7Generator.generate());
+            for (int i = 0; i < 100_000; i++) {
+                byte[] current = bytes(UuidV7Generator.generate());
+                // BINARY(16) compares unsigned bytes
+                assertThat(Arrays.compareUnsigned(current, previous)).isPositive();
+                previous = current;
+            }
+        }
+
+        @Test
+        @DisplayName("Should hand out unique ids to concurrent callers")
+        void shouldBeUniqueAcrossThreads() throws Exception {
+            int threads = 8;
+            int perThread = 20_000;
+            List<Future<List<UUID>>> futures = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (int t = 0; t < threads; t++) {
+                    futures.add(executor.submit(() -> {
+                        List<UUID> ids = new ArrayList<>(perThread);
+                        for (int i = 0; i < perThread; i++) {
+                            ids.add(UuidV7Generator.generate());
+                        }
+                        return ids;
+                    }));
+                }
+                Set<UUID> all = new HashSet<>();
+                for (Future<List<UUID>> future : futures) {
+                    all.addAll(future.get());
+                }
+
+                assertThat(all).hasSize(threads * perThread);
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (uuid.getMostSignificantBits() >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (uuid.getLeastSignificantBits() >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+}
@@ -1,9 +1,12 @@
 SET FOREIGN_KEY_CHECKS = 0;
+TRUNCATE TABLE transaction_obligations_archive;
+TRUNCATE TABLE transaction_history_archive;
 TRUNCATE TABLE transaction_obligations;
 TRUNCATE TABLE transaction_history;
 TRUNCATE TABLE user_groups;
 TRUNCATE TABLE users;
 TRUNCATE TABLE exchange_rates;
+TRUNCATE TABLE exchange_rate_ranges;
 TRUNCATE TABLE `groups`;
 TRUNCATE TABLE auth_users;
 TRUNCATE TABLE currencies;